@@ -5,6 +5,8 @@ import exceptions.game.MaxPlayerException;
 import model.Game;
 import network.message.GameVoteMessage;
 import network.message.LobbyMessage;
+import utility.persistency.SnapshotInput;
+import utility.persistency.SnapshotOutput;
 
 import java.io.Serializable;
 import java.util.*;
@@ -36,6 +38,66 @@ class GameLobby implements Serializable {
         this.skullNum = skullNum;
     }
 
+    /**
+     * Creates a copy of a lobby, messages are immutable and shared
+     *
+     * @param other the lobby to be copied
+     */
+    GameLobby(GameLobby other) {
+        this.inLobbyPlayers = new ArrayList<>(other.inLobbyPlayers);
+        this.votedPlayers = new ArrayList<>(other.votedPlayers);
+
+        this.terminator = other.terminator;
+        this.skullNum = other.skullNum;
+    }
+
+    /**
+     * Creates a lobby reading it from a snapshot written by {@link #writeSnapshot(SnapshotOutput) writeSnapshot}
+     *
+     * @param in the snapshot reader
+     */
+    GameLobby(SnapshotInput in) {
+        int inLobbyCount = in.readInt();
+        this.inLobbyPlayers = new ArrayList<>(inLobbyCount);
+        for (int i = 0; i < inLobbyCount; ++i) {
+            inLobbyPlayers.add(new LobbyMessage(in.readString(), in.readString(), in.readEnum(PlayerColor.class), in.readBoolean()));
+        }
+
+        int votedCount = in.readInt();
+        this.votedPlayers = new ArrayList<>(votedCount);
+        for (int i = 0; i < votedCount; ++i) {
+            votedPlayers.add(new GameVoteMessage(in.readString(), in.readString(), in.readSignedInt()));
+        }
+
+        this.terminator = in.readBoolean();
+        this.skullNum = in.readInt();
+    }
+
+    /**
+     * Writes the lobby to a snapshot
+     *
+     * @param out the snapshot writer
+     */
+    void writeSnapshot(SnapshotOutput out) {
+        out.writeInt(inLobbyPlayers.size());
+        for (LobbyMessage inLobbyPlayer : inLobbyPlayers) {
+            out.writeString(inLobbyPlayer.getSenderUsername());
+            out.writeString(inLobbyPlayer.getToken());
+            out.writeEnum(inLobbyPlayer.getChosenColor());
+            out.writeBoolean(inLobbyPlayer.isDisconnection());
+        }
+
+        out.writeInt(votedPlayers.size());
+        for (GameVoteMessage votedPlayer : votedPlayers) {
+            out.writeString(votedPlayer.getSenderUsername());
+            out.writeString(votedPlayer.getToken());
+            out.writeSignedInt(votedPlayer.getMapVote());
+        }
+
+        out.writeBoolean(terminator);
+        out.writeInt(skullNum);
+    }
+
     /**
      * Adds a {@link model.player.UserPlayer UserPlayer} to the lobby. This means adding a {@link LobbyMessage LobbyMessage}
      * containing his name
@@ -108,7 +170,7 @@ class GameLobby implements Serializable {
      * @return a random Integer between 1 and 4 in case the Map did not receive any vote
      */
     private int getRandomMap() {
-        return Game.rand.nextInt(4) + 1;
+        return Game.getInstance().getRandom().nextInt(4) + 1;
     }
 
     /**
@@ -6,15 +6,21 @@ import exceptions.game.InvalidGameStateException;
 import exceptions.game.InvalidKillshotNumberException;
 import exceptions.game.InvalidMapNumberException;
 import model.Game;
+import model.GameRandom;
 import model.actions.BotAction;
+import model.map.Square;
 import model.player.*;
 import network.message.*;
 import network.server.Server;
 import utility.InputValidator;
 import utility.LobbyTimer;
 import utility.TimerRunListener;
+import utility.persistency.ModelCodec;
 import utility.persistency.SaveGame;
+import utility.persistency.SnapshotInput;
+import utility.persistency.SnapshotOutput;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.*;
 import java.util.logging.Level;
@@ -30,6 +36,7 @@ public class GameManager implements TimerRunListener, Serializable {
     private static final long serialVersionUID = 7587280124972034331L;
 
     private final transient Server server;
+    private final String matchId;
     private PossibleGameState gameState;
     private final Game gameInstance;
     private final GameLobby lobby;
@@ -39,6 +46,56 @@ public class GameManager implements TimerRunListener, Serializable {
     private final transient int lobbyTimeoutTime;
     private transient Timer lobbyTimer;
     private transient boolean lobbyTimerRunning = false;
+    private transient boolean manualStart;
+
+    private transient boolean replaying;
+    private transient boolean snapshotRequested;
+    private transient Scoreboard scoreboard;
+
+    private transient MatchShellPool shellPool;
+    private transient File saveDirectory;
+    private transient long setupTime = -1;
+
+    /**
+     * Messages accepted from the turn owner that is playing, for each state of the game
+     */
+    private static final TransitionTable<PossibleGameState> GAME_TRANSITIONS = new TransitionTable<>(PossibleGameState.class)
+            .accept(MessageContent.BOT_ACTION, GameManager::terminatorCheckState, PossibleGameState.GAME_STARTED,
+                    PossibleGameState.SECOND_ACTION, PossibleGameState.FINAL_FRENZY, PossibleGameState.ACTIONS_DONE,
+                    PossibleGameState.FRENZY_ACTIONS_DONE)
+            .accept(MessageContent.POWERUP_USAGE, GameManager::powerupCheckState, PossibleGameState.GAME_STARTED,
+                    PossibleGameState.SECOND_ACTION, PossibleGameState.FINAL_FRENZY, PossibleGameState.ACTIONS_DONE,
+                    PossibleGameState.FRENZY_ACTIONS_DONE, PossibleGameState.MISSING_TERMINATOR_ACTION)
+            .accept(MessageContent.MOVE, GameManager::moveCheckState, PossibleGameState.GAME_STARTED,
+                    PossibleGameState.SECOND_ACTION, PossibleGameState.FINAL_FRENZY)
+            .accept(MessageContent.MOVE_PICK, GameManager::pickCheckState, PossibleGameState.GAME_STARTED,
+                    PossibleGameState.SECOND_ACTION, PossibleGameState.FINAL_FRENZY)
+            .accept(MessageContent.SHOOT, GameManager::shootCheckState, PossibleGameState.GAME_STARTED,
+                    PossibleGameState.SECOND_ACTION, PossibleGameState.FINAL_FRENZY)
+            .accept(MessageContent.RELOAD, GameManager::reloadCheckState, PossibleGameState.ACTIONS_DONE)
+            .accept(MessageContent.PASS_TURN, GameManager::passCheckState, PossibleGameState.ACTIONS_DONE,
+                    PossibleGameState.FRENZY_ACTIONS_DONE)
+            // special states
+            .accept(MessageContent.POWERUP_USAGE, GameManager::granadeCheckContent, PossibleGameState.GRANADE_USAGE)
+            .accept(MessageContent.PASS_TURN, GameManager::onGrenadePass, PossibleGameState.GRANADE_USAGE)
+            .accept(MessageContent.POWERUP_USAGE, GameManager::scopeCheckContent, PossibleGameState.SCOPE_USAGE)
+            .accept(MessageContent.BOT_SPAWN, GameManager::checkTerminatorRespawn, PossibleGameState.TERMINATOR_RESPAWN)
+            .accept(MessageContent.BOT_ACTION, GameManager::handleTerminatorAsLastAction, PossibleGameState.MISSING_TERMINATOR_ACTION);
+
+    /**
+     * Messages accepted from the dead players that have not chosen how to respawn yet, for each state of the game
+     */
+    private static final TransitionTable<PossibleGameState> RESPAWN_TRANSITIONS = new TransitionTable<>(PossibleGameState.class)
+            .accept(MessageContent.DISCARD_POWERUP, GameManager::checkPlayerRespawn, PossibleGameState.MANAGE_DEATHS,
+                    PossibleGameState.TERMINATOR_RESPAWN);
+
+    /**
+     * Messages accepted during the very first round from the turn owner that has not spawned yet, for each state of
+     * the turn owner
+     */
+    private static final TransitionTable<PossiblePlayerState> FIRST_ROUND_TRANSITIONS = new TransitionTable<>(PossiblePlayerState.class)
+            .accept(MessageContent.BOT_SPAWN, GameManager::terminatorSpawnCheckState, PossiblePlayerState.SPAWN_TERMINATOR)
+            .accept(MessageContent.DISCARD_POWERUP, GameManager::discardPowerupCheckState, PossiblePlayerState.FIRST_SPAWN);
 
     /**
      * Creates an instance of {@link GameManager GameManager} binding the server tha will send messages to him
@@ -48,10 +105,24 @@ public class GameManager implements TimerRunListener, Serializable {
      * @param lobbyTimeoutTime the lobby timeout time in seconds
      */
     public GameManager(Server server, boolean terminator, int skullNum, int lobbyTimeoutTime) {
+        this(server, Game.getInstance(), terminator, skullNum, lobbyTimeoutTime);
+    }
+
+    /**
+     * Creates an instance of {@link GameManager GameManager} playing on a given {@link Game Game}
+     *
+     * @param server           the Server to be bind, {@code null} for a headless match
+     * @param game             the game played
+     * @param terminator       {@code true} if the terminator plays
+     * @param skullNum         number of skulls in this game
+     * @param lobbyTimeoutTime the lobby timeout time in seconds
+     */
+    private GameManager(Server server, Game game, boolean terminator, int skullNum, int lobbyTimeoutTime) {
         this.server = server;
+        this.matchId = UUID.randomUUID().toString();
         this.gameState = PossibleGameState.GAME_ROOM;
         this.lobby = new GameLobby(terminator, skullNum);
-        this.gameInstance = Game.getInstance();
+        this.gameInstance = game;
         this.roundManager = new RoundManager(this);
 
         this.lobbyTimeoutTime = lobbyTimeoutTime * 1000;
@@ -66,16 +137,301 @@ public class GameManager implements TimerRunListener, Serializable {
      * @param lobbyTimeoutTime the lobby timeout time in seconds
      */
     public GameManager(Server server, GameManager savedGameManager, int lobbyTimeoutTime) {
+        this(server, savedGameManager, Game.getInstance(), lobbyTimeoutTime);
+    }
+
+    private GameManager(Server server, GameManager savedGameManager, Game game, int lobbyTimeoutTime) {
         this.server = server;
+        this.matchId = savedGameManager.matchId != null ? savedGameManager.matchId : UUID.randomUUID().toString();
         this.gameState = savedGameManager.gameState;
         this.lobby = savedGameManager.lobby;
-        this.gameInstance = Game.getInstance();
+        this.gameInstance = game;
         this.shootParameters = savedGameManager.shootParameters;
 
         this.lobbyTimeoutTime = lobbyTimeoutTime * 1000;
         this.roundManager = new RoundManager(this);
     }
 
+    /**
+     * Creates a detached copy of a {@link GameManager GameManager} with its own copy of the {@link Game Game} and of the
+     * turn state, see {@link #snapshot() snapshot}
+     *
+     * @param other        the {@link GameManager GameManager} to be copied
+     * @param server       the Server bound to the copy, {@code null} for a simulation
+     * @param gameInstance the copy of the {@link Game Game} of the other {@link GameManager GameManager}
+     */
+    private GameManager(GameManager other, Server server, Game gameInstance) {
+        this.server = server;
+        this.matchId = other.matchId;
+        this.gameState = other.gameState;
+        this.lobby = new GameLobby(other.lobby);
+        this.gameInstance = gameInstance;
+        this.shootParameters = other.shootParameters != null ?
+                new ShootParameters(other.shootParameters.shootRequest, other.shootParameters.secondAction) : null;
+
+        this.lobbyTimeoutTime = other.lobbyTimeoutTime;
+
+        TurnManager turnManager = other.roundManager.getTurnManager();
+        this.roundManager = new RoundManager(this, turnManager != null ? new TurnManager(turnManager, gameInstance) : null);
+    }
+
+    /**
+     * Creates a detached {@link GameManager GameManager} reading it from a snapshot, see
+     * {@link #readSnapshot(SnapshotInput) readSnapshot}
+     *
+     * @param in the snapshot reader
+     */
+    private GameManager(SnapshotInput in) {
+        this.server = null;
+        this.matchId = in.readString();
+        this.gameState = in.readEnum(PossibleGameState.class);
+        this.lobby = new GameLobby(in);
+        this.gameInstance = ModelCodec.readGame(in);
+        this.shootParameters = in.readBoolean() ? new ShootParameters(readShootRequest(in), in.readBoolean()) : null;
+
+        this.lobbyTimeoutTime = 0;
+        this.roundManager = new RoundManager(this, in.readBoolean() ? new TurnManager(in, gameInstance) : null);
+    }
+
+    /**
+     * Reads a {@link GameManager GameManager} written by {@link #writeSnapshot(SnapshotOutput) writeSnapshot}. As a
+     * {@link #snapshot() snapshot} the result is detached from the singleton {@link Game Game} and is not bound to
+     * any server
+     *
+     * @param in the snapshot reader
+     * @return the detached {@link GameManager GameManager}
+     */
+    public static GameManager readSnapshot(SnapshotInput in) {
+        return new GameManager(in);
+    }
+
+    /**
+     * Writes the whole state of the match to a snapshot
+     *
+     * @param out the snapshot writer
+     */
+    public void writeSnapshot(SnapshotOutput out) {
+        out.writeString(matchId);
+        out.writeEnum(gameState);
+        lobby.writeSnapshot(out);
+        ModelCodec.writeGame(out, gameInstance);
+
+        out.writeBoolean(shootParameters != null);
+        if (shootParameters != null) {
+            writeShootRequest(out, shootParameters.shootRequest);
+            out.writeBoolean(shootParameters.secondAction);
+        }
+
+        TurnManager turnManager = roundManager.getTurnManager();
+        out.writeBoolean(turnManager != null);
+        if (turnManager != null) {
+            turnManager.writeSnapshot(out);
+        }
+    }
+
+    private static void writeShootRequest(SnapshotOutput out, ShootRequest shootRequest) {
+        out.writeString(shootRequest.getSenderUsername());
+        out.writeString(shootRequest.getToken());
+        out.writeSignedInt(shootRequest.getWeaponID());
+        out.writeSignedInt(shootRequest.getEffect());
+
+        out.writeStrings(shootRequest.getTargetPlayersUsername());
+        ModelCodec.writePositions(out, shootRequest.getTargetPositions());
+        out.writeEnum(shootRequest.getTargetRoomColor());
+
+        ModelCodec.writePosition(out, shootRequest.getMoveBeforeShootPosition());
+        ModelCodec.writePosition(out, shootRequest.getSenderMovePosition());
+        ModelCodec.writePositions(out, shootRequest.getTargetPlayersMovePositions());
+
+        out.writeBoolean(shootRequest.isMoveSenderFirst());
+        out.writeBoolean(shootRequest.isMoveInMiddle());
+        out.writeBoolean(shootRequest.isMoveTargetsFirst());
+        out.writeBoolean(shootRequest.isMoveToLastTarget());
+
+        out.writeInts(shootRequest.getPaymentPowerups());
+        out.writeInts(shootRequest.getRechargingWeapons());
+    }
+
+    private static ShootRequest readShootRequest(SnapshotInput in) {
+        return new ShootRequest.ShootRequestBuilder(in.readString(), in.readString(), in.readSignedInt(), in.readSignedInt())
+                .targetPlayersUsernames(in.readStrings())
+                .targetPositions(ModelCodec.readPositions(in))
+                .targetRoomColor(in.readEnum(RoomColor.class))
+                .moveBeforeShootPosition(ModelCodec.readPosition(in))
+                .senderMovePosition(ModelCodec.readPosition(in))
+                .targetPlayersMovePositions(ModelCodec.readPositions(in))
+                .moveSenderFirst(in.readBoolean())
+                .moveInMiddle(in.readBoolean())
+                .moveTargetsFirst(in.readBoolean())
+                .moveToLastTarget(in.readBoolean())
+                .paymentPowerups(in.readInts())
+                .rechargingWeapons(in.readInts())
+                .build();
+    }
+
+    /**
+     * Takes a consistent copy of the whole state of the match that shares nothing mutable with it. It must be called
+     * by the thread of the match between two messages, then the copy can be read by any other thread while the game goes on
+     *
+     * @return the copy of this {@link GameManager GameManager}
+     */
+    public GameManager snapshot() {
+        return new GameManager(this, server, new Game(gameInstance));
+    }
+
+    /**
+     * Forks the match: takes a detached copy, as a {@link #snapshot() snapshot}, on which messages can be played with
+     * {@link #onSimulatedMessage(Message) onSimulatedMessage} to simulate or validate them without touching this one.
+     * The fork is not bound to any server, so it never sends updates to the clients and is never saved. Immutable
+     * parts such as cards and effects are shared and the decks are only copied when they change, so a fork allocates
+     * little more than the players, the map squares and the turn state. The fork draws its own random numbers, see
+     * {@link Game#fork() Game.fork}
+     *
+     * @return the fork of this {@link GameManager GameManager}
+     */
+    public GameManager fork() {
+        return new GameManager(this, null, gameInstance.fork());
+    }
+
+    /**
+     * Handles a message on a {@link #fork() fork} binding its {@link Game Game} to the calling thread, so that the
+     * model acts on the fork and not on the real game
+     *
+     * @param simulatedMessage the message to be played on the fork
+     * @return a {@link Message Message} which contains the result of the message
+     */
+    public Message onSimulatedMessage(Message simulatedMessage) {
+        if (server != null) {
+            throw new InvalidGameStateException();
+        }
+
+        Game previous = Game.bind(gameInstance);
+
+        try {
+            return handleMessage(simulatedMessage);
+        } finally {
+            Game.bind(previous);
+        }
+    }
+
+    /**
+     * Creates a headless match: it is not bound to any server and plays on a new {@link Game Game} detached from the
+     * singleton instance, so that many matches can be played together by different threads. Players join with
+     * {@link LobbyMessage LobbyMessages} and every message is played with
+     * {@link #onSimulatedMessage(Message) onSimulatedMessage}
+     *
+     * @param terminator {@code true} if the terminator plays
+     * @param skullNum   number of skulls in the game
+     * @param seed       seed of every random choice of the game, the same seed and messages always give the same match
+     * @return the new match
+     */
+    public static GameManager headless(boolean terminator, int skullNum, long seed) {
+        Game game = Game.newDetachedGame();
+        game.setSeed(seed);
+
+        GameManager headless = new GameManager(null, game, terminator, skullNum, 0);
+        headless.manualStart = true;
+        return headless;
+    }
+
+    /**
+     * Creates a match of the match pool of a server: it plays on a new {@link Game Game} detached from the singleton
+     * instance, so that it runs together with the main game and the other matches of the pool. Its players are put in
+     * the lobby by the server that then starts it with {@link #startMatch() startMatch}, so the lobby timer is never
+     * used
+     *
+     * @param server     the Server to be bind
+     * @param terminator {@code true} if the terminator plays
+     * @param skullNum   number of skulls in the game
+     * @return the new match
+     */
+    public static GameManager poolMatch(Server server, boolean terminator, int skullNum) {
+        GameManager poolMatch = new GameManager(server, Game.newDetachedGame(), terminator, skullNum, 0);
+        poolMatch.manualStart = true;
+        return poolMatch;
+    }
+
+    /**
+     * Creates the {@link GameManager GameManager} of a saved match that is reloaded as a match of the pool of a
+     * server: as for {@link #poolMatch(Server, boolean, int) poolMatch} it plays on a new {@link Game Game} detached
+     * from the singleton instance
+     *
+     * @param server           the Server to be bind
+     * @param savedGameManager the saved {@link GameManager GameManager} from which the {@link Game Game} is going to restart
+     * @return the reloaded match
+     */
+    public static GameManager reloadedPoolMatch(Server server, GameManager savedGameManager) {
+        GameManager poolMatch = new GameManager(server, savedGameManager, Game.newDetachedGame(), 0);
+        poolMatch.manualStart = true;
+        return poolMatch;
+    }
+
+    /**
+     * Starts a headless or pool match with the players in its lobby as the lobby timer would, a full lobby starts the
+     * match by itself
+     *
+     * @return {@code true} if the match is started, {@code false} if the players in the lobby are not enough
+     */
+    public boolean startMatch() {
+        Game previous = Game.bind(gameInstance);
+
+        try {
+            if (gameState == PossibleGameState.GAME_ROOM && lobby.getInLobbyPlayers().size() >= MIN_PLAYERS) {
+                gameSetupHandler();
+
+                if (server != null && gameState != PossibleGameState.GAME_ROOM) {
+                    SaveGame.saveGame(this);
+                }
+            }
+        } finally {
+            Game.bind(previous);
+        }
+
+        return gameState != PossibleGameState.GAME_ROOM;
+    }
+
+    /**
+     * @return the directory where the match is saved, the {@link SaveGame#getDefaultDirectory() default} one if none
+     * has been set
+     */
+    public File getSaveDirectory() {
+        return saveDirectory != null ? saveDirectory : SaveGame.getDefaultDirectory();
+    }
+
+    /**
+     * Sets the directory where the match is saved, before the match starts
+     *
+     * @param saveDirectory the directory of the saves
+     */
+    public void setSaveDirectory(File saveDirectory) {
+        this.saveDirectory = saveDirectory;
+    }
+
+    /**
+     * Sets the pool of {@link model.MatchShell MatchShells} from which the match takes its decks and maps when it
+     * starts
+     *
+     * @param shellPool the pool, {@code null} to build them when the match starts
+     */
+    public void setShellPool(MatchShellPool shellPool) {
+        this.shellPool = shellPool;
+    }
+
+    /**
+     * @return the time in milliseconds from the completion of the lobby to the first turn, -1 if the match has not
+     * started
+     */
+    public long getSetupTime() {
+        return setupTime;
+    }
+
+    /**
+     * @return the id of the match, used as the key of its saves
+     */
+    public String getMatchId() {
+        return this.matchId;
+    }
+
     /**
      * @return the instance of the {@link Game Game} instance present in the saved {@link GameManager GameManager}
      */
@@ -105,11 +461,43 @@ public class GameManager implements TimerRunListener, Serializable {
      */
     void endGame() {
         WinnersResponse winners;
-        handleLastPointsDistribution();
-        handleKillShotTrackDistribution();
+
+        // in the last distribution each damaged player counts as a dead one, the points are already on the scoreboard
+        for (UserPlayer player : gameInstance.getDeathPlayers()) {
+            moveSkull(player);
+        }
+
+        getScoreboard().finalizePoints();
         winners = declareWinner(initPlayerPoints());
         changeState(PossibleGameState.GAME_ENDED);
-        server.sendMessageToAll(winners);
+        sendBroadcastMessage(winners);
+    }
+
+    /**
+     * @return the live scoreboard of the game, built again if the players of the game changed
+     */
+    Scoreboard getScoreboard() {
+        if (scoreboard == null || !scoreboard.isAttachedTo(gameInstance)) {
+            scoreboard = new Scoreboard(this);
+        }
+
+        return scoreboard;
+    }
+
+    /**
+     * @return the {@link PlayerPoints PlayerPoints} of each player with the points he would have if the game ended
+     * now, the best first
+     */
+    public List<PlayerPoints> getStandings() {
+        return getScoreboard().getStandings();
+    }
+
+    /**
+     * @param username the username of a player
+     * @return the points that the player would have if the game ended now
+     */
+    public int getProjectedPoints(String username) {
+        return getScoreboard().getProjectedPoints(username);
     }
 
     /**
@@ -125,6 +513,19 @@ public class GameManager implements TimerRunListener, Serializable {
             return null;
         }
 
+        if (gameState == PossibleGameState.GRANADE_USAGE) {
+            // the shooting player waits for the damaged ones
+            return getActingPlayers().contains(username) ? UserPlayerState.GRENADE_USAGE : UserPlayerState.FIRST_ACTION;
+        }
+
+        if (isRespawning(username)) {
+            return UserPlayerState.DEAD;
+        } else if (gameState == PossibleGameState.MANAGE_DEATHS ||
+                (gameState == PossibleGameState.TERMINATOR_RESPAWN && !getActingPlayers().contains(username))) {
+            // the turn owner waits for the dead players
+            return UserPlayerState.FIRST_ACTION;
+        }
+
         if (roundManager.getTurnManager().getTurnOwner().equals(userPlayer)) {
             if (gameInstance.isBotPresent() && gameInstance.getBot().getPosition() == null) {
                 if (gameInstance.getBot().isDead()) {
@@ -220,6 +621,35 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a {@link Message Message} which contains the result of the received message
      */
     public Message onMessage(Message receivedMessage) {
+        boolean gameRoom = gameState == PossibleGameState.GAME_ROOM;
+        byte[] journalEntry = isJournaling() ? SaveGame.encodeMessage(receivedMessage) : null;
+
+        Game previous = Game.bind(gameInstance);
+        Message response;
+
+        try {
+            response = handleMessage(receivedMessage);
+
+            if (journalEntry != null) {
+                persistAction(journalEntry, false, response);
+            } else if (gameRoom && !replaying && gameState != PossibleGameState.GAME_ROOM) {
+                // the game has just started: the first snapshot creates the save of the match
+                SaveGame.saveGame(this);
+            }
+        } finally {
+            Game.bind(previous);
+        }
+
+        return response;
+    }
+
+    /**
+     * Handles a message received by the server, see {@link #onMessage(Message) onMessage}
+     *
+     * @param receivedMessage Message received by the server from a Client that wants to act
+     * @return a {@link Message Message} which contains the result of the received message
+     */
+    private Message handleMessage(Message receivedMessage) {
         if (gameState == PossibleGameState.GAME_ENDED) {
             return new Response("GAME ENDED", MessageStatus.ERROR);
         }
@@ -230,58 +660,208 @@ public class GameManager implements TimerRunListener, Serializable {
             return buildInvalidResponse();
         }
 
-        Response tempResponse;
-
         // on the game setup messages can be received from any player
         if (gameState == PossibleGameState.GAME_ROOM) {
             return firstStateHandler(receivedMessage);
         }
 
-        // if the message received comes from a client that is not the turn owner it is never executed!
-        if (!gameInstance.getPlayerByName(receivedMessage.getSenderUsername()).equals(roundManager.getTurnManager().getTurnOwner())) {
+        // if the message received comes from a client that is not acting it is never executed!
+        if (!getActingPlayers().contains(receivedMessage.getSenderUsername())) {
             return new Response("Message from a player that is not his turn!", MessageStatus.ERROR);
         }
 
-        // very first round handling
-        if (roundManager.getTurnManager().getTurnOwner().getPlayerState() != PossiblePlayerState.PLAYING) {
-            return veryFirstRoundHandler(receivedMessage);
+        UserPlayer actingPlayer = (UserPlayer) gameInstance.getPlayerByName(receivedMessage.getSenderUsername());
+        TransitionTable.Handler handler;
+
+        if (actingPlayer.getPlayerState() != PossiblePlayerState.PLAYING) {
+            // very first round handling
+            handler = gameState == PossibleGameState.GAME_STARTED ?
+                    FIRST_ROUND_TRANSITIONS.getHandler(actingPlayer.getPlayerState(), receivedMessage.getContent()) : null;
+        } else if (isRespawning(actingPlayer.getUsername())) {
+            handler = RESPAWN_TRANSITIONS.getHandler(gameState, receivedMessage.getContent());
+        } else {
+            handler = GAME_TRANSITIONS.getHandler(gameState, receivedMessage.getContent());
         }
 
-        // SPECIAL STATES handling
-        tempResponse = specialStatesHandler(receivedMessage);
+        // a message that is not accepted in the current state is never executed
+        return handler != null ? handler.handle(this, receivedMessage) : buildInvalidResponse();
+    }
+
+    /**
+     * Computes from the transition tables the content of the messages that a player can send in the current state of
+     * the game, the ones with a different content are refused without being executed
+     *
+     * @param username the username of the player
+     * @return the content of the messages accepted from the player, empty if he is not {@link #getActingPlayers() acting}
+     */
+    public Set<MessageContent> getAllowedMessages(String username) {
+        if (gameState == PossibleGameState.GAME_ROOM || gameState == PossibleGameState.GAME_ENDED) {
+            return EnumSet.noneOf(MessageContent.class);
+        }
 
-        if (tempResponse.getStatus() != MessageStatus.NO_RESPONSE) {
-            return tempResponse;
-        } // else no special States are affected
+        if (!getActingPlayers().contains(username)) {
+            return EnumSet.noneOf(MessageContent.class);
+        }
 
-        switch (receivedMessage.getContent()) {
-            case BOT_ACTION:
-                return terminatorCheckState(receivedMessage);
-            case POWERUP_USAGE:
-                return powerupCheckState(receivedMessage);
-            case MOVE:
-                return moveCheckState(receivedMessage);
-            case MOVE_PICK:
-                return pickCheckState(receivedMessage);
-            case SHOOT:
-                return shootCheckState(receivedMessage);
-            case RELOAD:
-                return reloadCheckState(receivedMessage);
-            case PASS_TURN:
-                return passCheckState();
-            default:    // this must never be reached in a normal Game!
-                return new Response("GAME STATE ERROR FOR THIS MESSAGE", MessageStatus.ERROR);
+        UserPlayer actingPlayer = (UserPlayer) gameInstance.getPlayerByName(username);
+
+        if (actingPlayer.getPlayerState() != PossiblePlayerState.PLAYING) {
+            return gameState == PossibleGameState.GAME_STARTED ?
+                    FIRST_ROUND_TRANSITIONS.getAccepted(actingPlayer.getPlayerState()) : EnumSet.noneOf(MessageContent.class);
+        }
+
+        if (isRespawning(username)) {
+            return RESPAWN_TRANSITIONS.getAccepted(gameState);
+        }
+
+        Set<MessageContent> allowedMessages = GAME_TRANSITIONS.getAccepted(gameState);
+
+        // the table is shared by the games with and without the terminator
+        if (!gameInstance.isBotPresent()) {
+            allowedMessages.remove(MessageContent.BOT_ACTION);
+        }
+
+        return allowedMessages;
+    }
+
+    /**
+     * @return the usernames of the players whose messages are executed: while a TAGBACK GRENADE prompt is in progress
+     * all the damaged players that have not answered yet, while the dead are respawning the ones that have not chosen
+     * yet together with the turn owner if he has to respawn the terminator, otherwise the turn owner
+     */
+    public List<String> getActingPlayers() {
+        TurnManager turnManager = roundManager.getTurnManager();
+
+        if (gameState == PossibleGameState.GRANADE_USAGE) {
+            return toUsernames(turnManager.getPendingGrenadeUsers());
+        }
+
+        if (gameState == PossibleGameState.MANAGE_DEATHS) {
+            return toUsernames(turnManager.getPendingRespawnPlayers());
+        }
+
+        if (gameState == PossibleGameState.TERMINATOR_RESPAWN) {
+            List<UserPlayer> actingPlayers = new ArrayList<>();
+            UserPlayer turnOwner = turnManager.getTurnOwner();
+
+            if (turnManager.getTerminatorRespawnColor() == null && turnOwner.getPlayerState() != PossiblePlayerState.DISCONNECTED) {
+                actingPlayers.add(turnOwner);
+            }
+
+            actingPlayers.addAll(turnManager.getPendingRespawnPlayers());
+            return toUsernames(actingPlayers);
+        }
+
+        return List.of(turnManager.getTurnOwner().getUsername());
+    }
+
+    private static List<String> toUsernames(List<UserPlayer> players) {
+        return players.stream().map(UserPlayer::getUsername).collect(Collectors.toList());
+    }
+
+    /**
+     * @param username the username of a player
+     * @return {@code true} if the player is dead and has not chosen how to respawn yet
+     */
+    private boolean isRespawning(String username) {
+        if (gameState != PossibleGameState.MANAGE_DEATHS && gameState != PossibleGameState.TERMINATOR_RESPAWN) {
+            return false;
+        }
+
+        return roundManager.getTurnManager().getPendingRespawnPlayers().stream()
+                .anyMatch(player -> player.getUsername().equals(username));
+    }
+
+    /**
+     * @return {@code true} if more than one player, or a player different from the turn owner, is asked to act: a
+     * TAGBACK GRENADE prompt or a respawn of dead players is in progress
+     */
+    public boolean isPromptInProgress() {
+        return gameState == PossibleGameState.GRANADE_USAGE || gameState == PossibleGameState.MANAGE_DEATHS ||
+                (gameState == PossibleGameState.TERMINATOR_RESPAWN && !roundManager.getTurnManager().getPendingRespawnPlayers().isEmpty());
+    }
+
+    /**
+     * Builds the message sent on behalf of an acting player that did not answer a prompt in time: the TAGBACK GRENADE
+     * is not used, a dead player respawns with the drawn powerup and the terminator respawns on a random spawn square
+     *
+     * @param username the username of the acting player
+     * @param token    the token of the player
+     * @return the default message, {@code null} if the player has no prompt to answer
+     */
+    public Message getPromptDefault(String username, String token) {
+        if (!getActingPlayers().contains(username)) {
+            return null;
+        }
+
+        if (gameState == PossibleGameState.GRANADE_USAGE) {
+            return new PassTurnRequest(username, token);
+        }
+
+        if (isRespawning(username)) {
+            return new DiscardPowerupRequest(username, token, 3);
+        }
+
+        // the color is drawn from a copy of the source of randomness: it is journaled with the message, so a reloaded
+        // game must not draw it again to go on drawing the same numbers
+        if (gameState == PossibleGameState.TERMINATOR_RESPAWN) {
+            return new BotSpawnRequest(username, token, RoomColor.getRandomSpawnColor(new GameRandom(gameInstance.getRandom())));
+        }
+
+        return null;
+    }
+
+    /**
+     * @param username the username of a player
+     * @return the turn owner shown to the player: an acting player sees himself so that all the players asked by a
+     * prompt answer at the same time, the others see the first one still to answer
+     */
+    private String getShownTurnOwner(String username) {
+        List<String> actingPlayers = getActingPlayers();
+
+        if (actingPlayers.contains(username)) {
+            return username;
+        } else if (isPromptInProgress() && !actingPlayers.isEmpty()) {
+            return actingPlayers.get(0);
+        } else {
+            return roundManager.getTurnManager().getTurnOwner().getUsername();
         }
     }
 
     /**
      * Sub method of the class only used while during the game the {@link Server server} receives disconnection messages from
-     * the {@link UserPlayer userPLayers} in the game
+     * the {@link UserPlayer userPLayers} in the game, or the move time of the turn owner ends and a
+     * {@link PassTurnRequest PassTurnRequest} is played in his place
      *
      * @param receivedConnectionMessage Message received by the server from a connecting or disconnecting {@link UserPlayer UserPlayer}
      * @return a {@link Message Message} which contains the result of the received message
      */
     public Message onConnectionMessage(Message receivedConnectionMessage) {
+        byte[] journalEntry = isJournaling() ? SaveGame.encodeMessage(receivedConnectionMessage) : null;
+
+        Game previous = Game.bind(gameInstance);
+        Message response;
+
+        try {
+            response = handleConnectionMessage(receivedConnectionMessage);
+
+            if (journalEntry != null) {
+                persistAction(journalEntry, true, response);
+            }
+        } finally {
+            Game.bind(previous);
+        }
+
+        return response;
+    }
+
+    /**
+     * Handles a connection message received by the server, see {@link #onConnectionMessage(Message) onConnectionMessage}
+     *
+     * @param receivedConnectionMessage Message received by the server from a connecting or disconnecting {@link UserPlayer UserPlayer}
+     * @return a {@link Message Message} which contains the result of the received message
+     */
+    private Message handleConnectionMessage(Message receivedConnectionMessage) {
         if (gameState == PossibleGameState.GAME_ENDED) {
             return new Response("GAME ENDED", MessageStatus.ERROR);
         }
@@ -296,11 +876,70 @@ public class GameManager implements TimerRunListener, Serializable {
             } else {
                 return reconnectionHandler((LobbyMessage) receivedConnectionMessage);
             }
+        } else if (gameState != PossibleGameState.GAME_ROOM && receivedConnectionMessage.getContent() == MessageContent.PASS_TURN) {
+            return moveTimeoutHandler((PassTurnRequest) receivedConnectionMessage);
         } else {
             throw new InvalidGameStateException();
         }
     }
 
+    /**
+     * Applies again a message read from the journal of a reloaded game, without journaling it a second time
+     *
+     * @param journaledMessage  the {@link Message Message} read from the journal
+     * @param connectionMessage {@code true} if the message was handled as a connection message
+     */
+    public void replay(Message journaledMessage, boolean connectionMessage) {
+        replaying = true;
+
+        try {
+            if (connectionMessage) {
+                onConnectionMessage(journaledMessage);
+            } else {
+                onMessage(journaledMessage);
+            }
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /**
+     * @return {@code true} if the messages received are added to the journal of the game, that is while the game is
+     * running and is not being reloaded
+     */
+    private boolean isJournaling() {
+        return !replaying && gameState != PossibleGameState.GAME_ROOM && gameState != PossibleGameState.GAME_ENDED;
+    }
+
+    /**
+     * Persists a handled message: rejected messages do not change the game and are skipped, accepted ones are appended
+     * to the journal unless a snapshot has been requested or the journal needs to be compacted
+     *
+     * @param journalEntry      the message serialized before it was handled
+     * @param connectionMessage {@code true} if the message was handled as a connection message
+     * @param response          the {@link Message Message} returned by the handling
+     */
+    private void persistAction(byte[] journalEntry, boolean connectionMessage, Message response) {
+        if (response instanceof Response && ((Response) response).getStatus() == MessageStatus.ERROR) {
+            return;
+        }
+
+        if (snapshotRequested || gameState == PossibleGameState.GAME_ENDED || SaveGame.isSnapshotDue(this)) {
+            // the last snapshot of an ended game marks its save as finished
+            snapshotRequested = false;
+            SaveGame.saveGame(this);
+        } else {
+            SaveGame.journalMessage(this, journalEntry, connectionMessage);
+        }
+    }
+
+    /**
+     * Asks for a full snapshot of the game to be taken once the message being handled has been applied
+     */
+    void requestSnapshot() {
+        snapshotRequested = true;
+    }
+
     /**
      * Method that handels the disconnection of a {@link UserPlayer UserPlayer}.
      * Care, if a player disconnects while using a TAGBACK GRENADE he will not
@@ -314,15 +953,25 @@ public class GameManager implements TimerRunListener, Serializable {
         boolean gameEnded;
 
         if (inLobbyPlayers.contains(receivedConnectionMessage)) {
+            UserPlayer disconnectedPlayer = (UserPlayer) gameInstance.getPlayerByName(receivedConnectionMessage.getSenderUsername());
+            boolean grenadeUser = gameState == PossibleGameState.GRANADE_USAGE && getActingPlayers().contains(disconnectedPlayer.getUsername());
+            boolean respawnPrompt = gameState == PossibleGameState.MANAGE_DEATHS || gameState == PossibleGameState.TERMINATOR_RESPAWN;
+
             // if I receive a disconnection message I remove it from the lobby and set the corresponding player state to DISCONNECTED
             inLobbyPlayers.remove(receivedConnectionMessage);
-            ((UserPlayer) gameInstance.getPlayerByName(receivedConnectionMessage.getSenderUsername())).setPlayerState(PossiblePlayerState.DISCONNECTED);
+            disconnectedPlayer.setPlayerState(PossiblePlayerState.DISCONNECTED);
 
             // then I check if in the lobby there are still enough players to continue the game, if not the game ends
             gameEnded = checkStartedLobby();
 
             if (gameEnded) {
                 return new Response("Player disconnected, game has now less then 3 players and then is ending...", MessageStatus.OK);
+            } else if (grenadeUser) {   // a damaged player that has not answered does not use his grenades
+                roundManager.handleGrenadePass(disconnectedPlayer);
+                return new Response("Player disconnected, his grenades are not used", MessageStatus.OK);
+            } else if (respawnPrompt) {   // the dead players respawn without waiting for him
+                onRespawnDisconnection(disconnectedPlayer);
+                return new Response("Player disconnected, his respawn is chosen by default", MessageStatus.OK);
             } else if (getRoundManager().getTurnManager().getTurnOwner().getUsername().equals(receivedConnectionMessage.getSenderUsername())) {    // if game hasn't ended I check if the disconnected player is the turn owner, if so I change the state, otherwise nothing happens
                 if (roundManager.getTurnManager().getTurnOwner().getPossibleActions().contains(PossibleAction.CHOOSE_SPAWN) || roundManager.getTurnManager().getTurnOwner().getPossibleActions().contains(PossibleAction.SPAWN_BOT)) {
                     roundManager.handleRandomSpawn(roundManager.getTurnManager().getTurnOwner().getPosition() == null, gameInstance.isBotPresent() && gameInstance.getBot().getPosition() == null);
@@ -337,6 +986,109 @@ public class GameManager implements TimerRunListener, Serializable {
         }
     }
 
+    /**
+     * Method that plays a fast default move for the turn owner whose move time ended, so that he is not disconnected:
+     * if he has not spawned yet he spawns as a disconnected player would, the terminator is respawned on a random
+     * spawn square, a missing terminator action is played by default, then his turn is passed. The
+     * {@link PassTurnRequest PassTurnRequest} is sent by the server as a connection message, as it is accepted in any
+     * state of the turn
+     *
+     * @param timeoutMessage the {@link PassTurnRequest PassTurnRequest} of the player whose move time ended
+     * @return the {@link Response Response} of the default move, negative if no default move can be played
+     */
+    private Response moveTimeoutHandler(PassTurnRequest timeoutMessage) {
+        // the prompts have their own deadline
+        if (!isMoveOf(timeoutMessage.getSenderUsername())) {
+            return new Response("Move timeout of a player that is not his turn", MessageStatus.ERROR);
+        }
+
+        UserPlayer turnOwner = roundManager.getTurnManager().getTurnOwner();
+
+        try {
+            if (gameState == PossibleGameState.TERMINATOR_RESPAWN) {
+                roundManager.getTurnManager().setTerminatorRespawnColor(RoomColor.getRandomSpawnColor());
+                commitRespawns();
+                return new Response("Move time ended, terminator respawned and turn passed", MessageStatus.OK);
+            }
+
+            if (turnOwner.getPossibleActions().contains(PossibleAction.CHOOSE_SPAWN) || turnOwner.getPossibleActions().contains(PossibleAction.SPAWN_BOT)) {
+                roundManager.handleRandomSpawn(turnOwner.getPosition() == null, gameInstance.isBotPresent() && gameInstance.getBot().getPosition() == null);
+            }
+
+            if (gameState == PossibleGameState.MISSING_TERMINATOR_ACTION) {
+                Response terminatorResponse = defaultTerminatorAction(timeoutMessage);
+
+                // the damaged players are asked for their grenades before the turn is passed
+                if (terminatorResponse.getStatus() != MessageStatus.OK || gameState == PossibleGameState.GRANADE_USAGE) {
+                    return terminatorResponse;
+                }
+            }
+
+            return roundManager.handlePassAction();
+        } catch (InvalidGameStateException e) {
+            return new Response("Move time ended, no default move can be played", MessageStatus.ERROR);
+        }
+    }
+
+    /**
+     * Plays the first legal {@link BotAction BotAction} for the turn owner that has not used the terminator yet: the
+     * terminator shoots a player it sees, staying on its square when possible, or moves to a square from which it
+     * sees nobody
+     *
+     * @param timeoutMessage the {@link PassTurnRequest PassTurnRequest} of the player whose move time ended
+     * @return the {@link Response Response} of the terminator action, negative if none can be played
+     */
+    private Response defaultTerminatorAction(PassTurnRequest timeoutMessage) {
+        Response response = new Response("Move time ended, no terminator action can be played", MessageStatus.ERROR);
+        PlayerPosition botPosition = gameInstance.getBot().getPosition();
+
+        if (botPosition == null) {
+            return response;
+        }
+
+        List<PlayerPosition> positions = new ArrayList<>(List.of(botPosition));
+        Square[][] rooms = gameInstance.getGameMap().getRooms();
+
+        for (int i = 0; i < rooms.length; ++i) {
+            for (int j = 0; j < rooms[i].length; ++j) {
+                if (rooms[i][j] != null) {
+                    positions.add(new PlayerPosition(i, j));
+                }
+            }
+        }
+
+        List<String> targets = new ArrayList<>();
+        for (UserPlayer player : gameInstance.getPlayers()) {
+            if (player.getPosition() != null && !player.getUsername().equals(timeoutMessage.getSenderUsername())) {
+                targets.add(player.getUsername());
+            }
+        }
+        targets.add(null);
+
+        for (PlayerPosition position : positions) {
+            for (String target : targets) {
+                response = roundManager.handleTerminatorAction(new BotUseRequest(timeoutMessage.getSenderUsername(),
+                        timeoutMessage.getToken(), position, target), PossibleGameState.MISSING_TERMINATOR_ACTION);
+
+                if (response.getStatus() == MessageStatus.OK) {
+                    return response;
+                }
+            }
+        }
+
+        return response;
+    }
+
+    /**
+     * @param username the username of a player
+     * @return {@code true} if the game is waiting for a move of the player, that is he is the turn owner of a running
+     * game and no prompt is in progress
+     */
+    public boolean isMoveOf(String username) {
+        return gameState != PossibleGameState.GAME_ROOM && gameState != PossibleGameState.GAME_ENDED &&
+                !isPromptInProgress() && getTurnOwnerUsername().equals(username);
+    }
+
     /**
      * Method that handles the reconnection of a {@link UserPlayer UserPlayer}.
      * Care, if a player reconnects while he would be using a TAGBACK GRENADE
@@ -354,14 +1106,31 @@ public class GameManager implements TimerRunListener, Serializable {
             lobby.addPlayer(receivedConnectionMessage);
             ((UserPlayer) gameInstance.getPlayerByName(receivedConnectionMessage.getSenderUsername())).setPlayerState(PossiblePlayerState.PLAYING);
 
-            return new ReconnectionMessage(receivedConnectionMessage.getToken(),
-                    new GameStateMessage(receivedConnectionMessage.getSenderUsername(),
-                            roundManager.getTurnManager().getTurnOwner().getUsername(), false));
+            return getReconnectionMessage(receivedConnectionMessage.getSenderUsername(), receivedConnectionMessage.getToken());
         } else {
             return new Response("Reconnection message from already in lobby Player", MessageStatus.ERROR);
         }
     }
 
+    /**
+     * Builds the message that brings a player back in the started game, also used when the server gives him back the
+     * seat it played in his place while he was away, that the game never saw empty
+     *
+     * @param username the username of the player
+     * @param token    the new token of the player
+     * @return the {@link ReconnectionMessage ReconnectionMessage} with the state of the game
+     */
+    public ReconnectionMessage getReconnectionMessage(String username, String token) {
+        Game previous = Game.bind(gameInstance);
+
+        try {
+            return new ReconnectionMessage(token, new GameStateMessage(username, getShownTurnOwner(username), false,
+                    getAllowedMessages(username), getStandings()));
+        } finally {
+            Game.bind(previous);
+        }
+    }
+
     /**
      * @return {@code true} if the lobby is full, otherwise false
      */
@@ -370,165 +1139,124 @@ public class GameManager implements TimerRunListener, Serializable {
     }
 
     /**
-     * This method handles both the extemporary usage of a powerup like: TAGBACK GRANADE or TARGETING SCOPE and the
-     * Respawn actions of the {@link Bot Terminator} and {@link UserPlayer UserPlayer}
+     * Method used to oblige a player to use the {@link BotAction BotAction} in case he hasn't
+     * already performed it, a powerup can still be used with {@link #powerupCheckState(Message) powerupCheckState}
      *
-     * @param receivedMessage the {@link Message Message} received
-     * @return a positive or negative {@link Response Response} in case that one of the cases is matched; default case
-     * returns a {@link Response Response} with {@link MessageStatus MessageStatus.NO_RESPONSE} used by the main receiving
-     * method {@link #onMessage(Message) onMessage} that will continue handling the {@link Message Message} not handled
-     * in this method
+     * @param receivedMessage the {@link BotUseRequest UseTerminatorRequest} received
+     * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response specialStatesHandler(Message receivedMessage) {
-        switch (gameState) {
-            case GRANADE_USAGE:
-                return granadeCheckContent(receivedMessage);
-            case SCOPE_USAGE:
-                return scopeCheckContent(receivedMessage);
-            case TERMINATOR_RESPAWN:
-                return checkTerminatorRespawn(receivedMessage);
-            case MANAGE_DEATHS:
-                return checkPlayerRespawn(receivedMessage);
-            case MISSING_TERMINATOR_ACTION:
-                return handleTerminatorAsLastAction(receivedMessage);
-            default:
-                return new Response("Utility Response", MessageStatus.NO_RESPONSE);
-        }
+    private Response handleTerminatorAsLastAction(Message receivedMessage) {
+        return roundManager.handleTerminatorAction((BotUseRequest) receivedMessage, PossibleGameState.MISSING_TERMINATOR_ACTION);
     }
 
     /**
-     * This method handles the very first round of a {@link Game Game}; in this state {@link UserPlayer players}, need
-     * to spawn before starting acting. Remember that if the {@link Bot Terminator} is present, the first
-     * {@link UserPlayer UserPlayer} is the one who spawns it and this must be done before spawning itself
+     * Method that executes a TAGBACK GRANADE {@link PowerupRequest PowerupRequest}
      *
      * @param receivedMessage the {@link Message Message} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response veryFirstRoundHandler(Message receivedMessage) {
-        switch (receivedMessage.getContent()) {
-            case BOT_SPAWN:
-                return terminatorSpawnCheckState(receivedMessage);
-            case DISCARD_POWERUP:
-                return discardPowerupCheckState(receivedMessage);
-            default:
-                return buildInvalidResponse();
-        }
+    private Response granadeCheckContent(Message receivedMessage) {
+        return roundManager.handleGranadeUsage((PowerupRequest) receivedMessage);
     }
 
     /**
-     * Method used to oblige a player to use the {@link BotAction BotAction} in case he hasn't
-     * already performed it
+     * Method that executes a TARGETING SCOPE {@link PowerupRequest PowerupRequest}
      *
-     * @param receivedMessage the {@link Message Message} received that can be both: {@link BotUseRequest UseTerminatorRequest}
-     *                        or a {@link PowerupRequest PowerupRequest}
+     * @param receivedMessage the {@link Message Message} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response handleTerminatorAsLastAction(Message receivedMessage) {
-        // only messages to use the terminator action and a powerup can be used!
-        switch (receivedMessage.getContent()) {
-            case BOT_ACTION:
-                return roundManager.handleTerminatorAction((BotUseRequest) receivedMessage, PossibleGameState.MISSING_TERMINATOR_ACTION);
-            case POWERUP_USAGE:
-                return roundManager.handlePowerupAction((PowerupRequest) receivedMessage);
-            default:
-                return buildInvalidResponse();
-        }
+    private Response scopeCheckContent(Message receivedMessage) {
+        return roundManager.handleScopeUsage((PowerupRequest) receivedMessage);
     }
 
     /**
-     * Method that checks and executes a TAGBACK GRANADE {@link PowerupRequest PowerupRequest}
+     * Method that checks and records the Respawn of the {@link Bot Terminator} chosen by the TurnOwner
      *
      * @param receivedMessage the {@link Message Message} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response granadeCheckContent(Message receivedMessage) {
-        if (receivedMessage.getContent() == MessageContent.POWERUP_USAGE || receivedMessage.getContent() == MessageContent.PASS_TURN) {
-            return onGrenadeMessage(receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+    private Response checkTerminatorRespawn(Message receivedMessage) {
+        return afterRespawnChoice(roundManager.handleTerminatorRespawn((BotSpawnRequest) receivedMessage));
     }
 
     /**
-     * Method that checks and execute a TARGETING SCOPE {@link PowerupRequest PowerupRequest}
+     * Method that checks and records the Respawn of a dead {@link UserPlayer UserPlayer}
      *
      * @param receivedMessage the {@link Message Message} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response scopeCheckContent(Message receivedMessage) {
-        if (receivedMessage.getContent() == MessageContent.POWERUP_USAGE) {
-            return roundManager.handleScopeUsage((PowerupRequest) receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+    private Response checkPlayerRespawn(Message receivedMessage) {
+        return afterRespawnChoice(roundManager.handlePlayerRespawn((DiscardPowerupRequest) receivedMessage));
     }
 
     /**
-     * Method that checks and execute the methods related to the Respawn of the {@link Bot Terminator}
+     * Respawns the dead when the last choice of the respawn prompt has been recorded, otherwise the players are
+     * updated about the ones still to choose
      *
-     * @param receivedMessage the {@link Message Message} received
+     * @param tempResponse the {@link Response Response} of the recorded choice
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response checkTerminatorRespawn(Message receivedMessage) {
-        Bot terminator = (Bot) gameInstance.getBot();
-        Response tempResponse;
-        if (receivedMessage.getContent() == MessageContent.BOT_SPAWN) {
-            tempResponse = roundManager.handleTerminatorRespawn((BotSpawnRequest) receivedMessage);
-            if (tempResponse.getStatus() == MessageStatus.OK) {
-                // if the Respawn message is validated I can distribute the points of the terminator's playerboard, move the skull from the tracker and then reset his playerboard
-                distributePoints(terminator);
-                moveSkull(terminator);
-
-                // if the death bot has been overkilled, he marks his overkiller
-                if (terminator.getPlayerBoard().getDamageCount() > 11) {
-                    getRoundManager().getTurnManager().getTurnOwner().getPlayerBoard().addMark(terminator, 1);
-                }
+    private Response afterRespawnChoice(Response tempResponse) {
+        if (tempResponse.getStatus() == MessageStatus.OK && getActingPlayers().isEmpty()) {
+            commitRespawns();
+            return tempResponse;
+        }
 
-                // then I set back the playerboard to the initial state
-                gameInstance.getBot().getPlayerBoard().onDeath();
+        sendPrivateUpdates();
+        return tempResponse;
+    }
 
-                return checkFrenzy(tempResponse);
-            } else {
-                sendPrivateUpdates();
-                return tempResponse;
-            }
-        } else {
-            return buildInvalidResponse();
-        }
+    /**
+     * Respawns together all the dead, each with the choice recorded by the respawn prompt or the default one
+     *
+     * @return the {@link Response Response} of the passed turn
+     */
+    Response commitRespawns() {
+        return checkFrenzy(roundManager.respawnDeadPlayers());
     }
 
     /**
-     * Method that checks and execute the methods related to the Respawn of a {@link UserPlayer UserPlayer}
+     * A player disconnected during the respawn prompt is not waited: a dead player respawns with the drawn powerup and
+     * the terminator respawns on a random spawn square
      *
-     * @param receivedMessage the {@link Message Message} received
-     * @return a positive or negative {@link Response Response} handled by the server
+     * @param disconnectedPlayer the {@link UserPlayer UserPlayer} disconnected
      */
-    private Response checkPlayerRespawn(Message receivedMessage) {
-        Response tempResponse;
-        if (receivedMessage.getContent() == MessageContent.DISCARD_POWERUP) {
-            tempResponse = roundManager.handlePlayerRespawn((DiscardPowerupRequest) receivedMessage);
-            if (tempResponse.getStatus() == MessageStatus.OK) {
-                // if the player respawn is validated I can distribute the points of the terminator's playerboard, move the skull from the tracker and then reset his playerboard
-                UserPlayer respawnedPlayer = (UserPlayer) gameInstance.getUserPlayerByUsername(receivedMessage.getSenderUsername());
-                distributePoints(respawnedPlayer);
-                moveSkull(respawnedPlayer);
-
-                // if the death player has been overkilled, he marks his overkiller
-                if (respawnedPlayer.getPlayerBoard().getDamageCount() > 11) {
-                    gameInstance.getPlayerByName(respawnedPlayer.getPlayerBoard().getDamages().get(11)).getPlayerBoard().addMark(respawnedPlayer, 1);
-                }
+    private void onRespawnDisconnection(UserPlayer disconnectedPlayer) {
+        TurnManager turnManager = roundManager.getTurnManager();
 
-                // then I set back the playerboard to the inistial state
-                respawnedPlayer.getPlayerBoard().onDeath();
+        if (gameState == PossibleGameState.TERMINATOR_RESPAWN && disconnectedPlayer.equals(turnManager.getTurnOwner()) &&
+                turnManager.getTerminatorRespawnColor() == null) {
+            turnManager.setTerminatorRespawnColor(RoomColor.getRandomSpawnColor());
+        }
 
-                return checkFrenzy(tempResponse);
+        if (getActingPlayers().isEmpty()) {
+            commitRespawns();
+        } else {
+            sendPrivateUpdates();
+        }
+    }
+
+    /**
+     * Distributes the points of a dead {@link Player Player} that is respawning, moves the skull from the tracker,
+     * marks his overkiller and then resets his playerboard
+     *
+     * @param deathPlayer the dead {@link Player Player}
+     */
+    void scoreDeath(Player deathPlayer) {
+        distributePoints(deathPlayer);
+        moveSkull(deathPlayer);
+
+        // if the death player has been overkilled, he marks his overkiller
+        if (deathPlayer.getPlayerBoard().getDamageCount() > 11) {
+            if (deathPlayer instanceof Bot) {
+                roundManager.getTurnManager().getTurnOwner().getPlayerBoard().addMark(deathPlayer, 1);
             } else {
-                sendPrivateUpdates();
-                return tempResponse;
+                gameInstance.getPlayerByName(deathPlayer.getPlayerBoard().getDamages().get(11)).getPlayerBoard().addMark(deathPlayer, 1);
             }
-        } else {
-            return buildInvalidResponse();
         }
+
+        // then I set back the playerboard to the initial state
+        deathPlayer.getPlayerBoard().onDeath();
     }
 
     /**
@@ -538,12 +1266,8 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response terminatorSpawnCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED && roundManager.getTurnManager().getTurnOwner().getPlayerState() == PossiblePlayerState.SPAWN_TERMINATOR) {
-            // remember a player must see the powerups he has drawn before spawning the terminator!
-            return roundManager.handleTerminatorFirstSpawn((BotSpawnRequest) receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+        // remember a player must see the powerups he has drawn before spawning the terminator!
+        return roundManager.handleTerminatorFirstSpawn((BotSpawnRequest) receivedMessage);
     }
 
     /**
@@ -554,11 +1278,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response discardPowerupCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED && roundManager.getTurnManager().getTurnOwner().getPlayerState() == PossiblePlayerState.FIRST_SPAWN) {
-            return roundManager.handleFirstSpawn((DiscardPowerupRequest) receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handleFirstSpawn((DiscardPowerupRequest) receivedMessage);
     }
 
     /**
@@ -568,12 +1288,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response terminatorCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.SECOND_ACTION || gameState == PossibleGameState.FINAL_FRENZY
-                || gameState == PossibleGameState.ACTIONS_DONE || gameState == PossibleGameState.FRENZY_ACTIONS_DONE) {
-            return roundManager.handleTerminatorAction((BotUseRequest) receivedMessage, gameState);
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handleTerminatorAction((BotUseRequest) receivedMessage, gameState);
     }
 
     /**
@@ -583,12 +1298,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response powerupCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.SECOND_ACTION || gameState == PossibleGameState.FINAL_FRENZY
-                || gameState == PossibleGameState.ACTIONS_DONE || gameState == PossibleGameState.FRENZY_ACTIONS_DONE) {
-            return roundManager.handlePowerupAction((PowerupRequest) receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handlePowerupAction((PowerupRequest) receivedMessage);
     }
 
     /**
@@ -598,11 +1308,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response moveCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.SECOND_ACTION || gameState == PossibleGameState.FINAL_FRENZY) {
-            return roundManager.handleMoveAction((MoveRequest) receivedMessage, handleSecondAction());
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handleMoveAction((MoveRequest) receivedMessage, handleSecondAction());
     }
 
     /**
@@ -612,11 +1318,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response pickCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.SECOND_ACTION || gameState == PossibleGameState.FINAL_FRENZY) {
-            return roundManager.handlePickAction((MovePickRequest) receivedMessage, handleSecondAction());
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handlePickAction((MovePickRequest) receivedMessage, handleSecondAction());
     }
 
     /**
@@ -626,11 +1328,7 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response shootCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.SECOND_ACTION || gameState == PossibleGameState.FINAL_FRENZY) {
-            return roundManager.handleShootAction((ShootRequest) receivedMessage, handleSecondAction());
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handleShootAction((ShootRequest) receivedMessage, handleSecondAction());
     }
 
     /**
@@ -640,24 +1338,17 @@ public class GameManager implements TimerRunListener, Serializable {
      * @return a positive or negative {@link Response Response} handled by the server
      */
     private Response reloadCheckState(Message receivedMessage) {
-        if (gameState == PossibleGameState.ACTIONS_DONE) {
-            return roundManager.handleReloadAction((ReloadRequest) receivedMessage);
-        } else {
-            return buildInvalidResponse();
-        }
+        return roundManager.handleReloadAction((ReloadRequest) receivedMessage);
     }
 
     /**
      * Method that checks and executes the {@link PassTurnRequest PassTurnRequest}
      *
+     * @param receivedMessage the {@link Message Message} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response passCheckState() {
-        if (gameState == PossibleGameState.ACTIONS_DONE || gameState == PossibleGameState.FRENZY_ACTIONS_DONE) {
-            return roundManager.handlePassAction();
-        } else {
-            return buildInvalidResponse();
-        }
+    private Response passCheckState(Message receivedMessage) {
+        return roundManager.handlePassAction();
     }
 
     /**
@@ -694,6 +1385,13 @@ public class GameManager implements TimerRunListener, Serializable {
      * it is started with the method {@link #startingStateHandler() startingStateHandler}
      */
     private void gameSetupHandler() {
+        long setupStart = System.nanoTime();
+
+        // the decks and the maps may have been built while the lobby was filling
+        if (shellPool != null) {
+            gameInstance.useShell(shellPool.take());
+        }
+
         // first of all I set the terminator presence
         gameInstance.setBot(lobby.getTerminatorPresence());
 
@@ -723,6 +1421,9 @@ public class GameManager implements TimerRunListener, Serializable {
         // at this point gme should always be ready to start
         if (gameInstance.isGameReadyToStart() && (lobby.getInLobbyPlayers().size() >= MIN_PLAYERS || lobby.getInLobbyPlayers().size() >= MIN_PLAYERS && lobby.getTerminatorPresence())) {
             startingStateHandler();
+
+            setupTime = (System.nanoTime() - setupStart) / 1000000;
+            Server.LOGGER.log(Level.INFO, "Match {0} first turn {1} ms after the lobby was complete", new Object[]{matchId, setupTime});
         }
         // nothing to do here as we said game should always be ready to start at this point
     }
@@ -748,7 +1449,7 @@ public class GameManager implements TimerRunListener, Serializable {
         roundManager.pickTwoPowerups();
 
         sendPrivateUpdates();
-        server.sendMessageToAll(new GameStartMessage(roundManager.getTurnManager().getTurnOwner().getUsername()));
+        sendBroadcastMessage(new GameStartMessage(roundManager.getTurnManager().getTurnOwner().getUsername()));
     }
 
     /**
@@ -767,7 +1468,7 @@ public class GameManager implements TimerRunListener, Serializable {
                     lobbyMessage.getChosenColor() != null && unusedColors.contains(lobbyMessage.getChosenColor())) {
                 lobby.addPlayer(lobbyMessage);
 
-                server.sendMessageToAll(new LobbyPlayersResponse(new ArrayList<>(lobby.getInLobbyPlayers().stream().map(LobbyMessage::getSenderUsername).collect(Collectors.toList()))));
+                sendBroadcastMessage(new LobbyPlayersResponse(new ArrayList<>(lobby.getInLobbyPlayers().stream().map(LobbyMessage::getSenderUsername).collect(Collectors.toList()))));
                 Server.LOGGER.log(Level.INFO, "{0} joined the lobby", lobbyMessage.getSenderUsername());
                 timerCheck();
             } else {
@@ -776,7 +1477,7 @@ public class GameManager implements TimerRunListener, Serializable {
         } else if (lobbyMessage.getContent() == MessageContent.GET_IN_LOBBY && inLobbyPlayers.contains(lobbyMessage) && lobbyMessage.isDisconnection()) {
             inLobbyPlayers.remove(lobbyMessage);
             removeVote(lobbyMessage.getSenderUsername());
-            server.sendMessageToAll(new LobbyPlayersResponse(new ArrayList<>(lobby.getInLobbyPlayers().stream().map(LobbyMessage::getSenderUsername).collect(Collectors.toList()))));
+            sendBroadcastMessage(new LobbyPlayersResponse(new ArrayList<>(lobby.getInLobbyPlayers().stream().map(LobbyMessage::getSenderUsername).collect(Collectors.toList()))));
             Server.LOGGER.log(Level.INFO, "{0} left the lobby", lobbyMessage.getSenderUsername());
             timerCheck();
             sendPrivateUpdates();
@@ -793,6 +1494,11 @@ public class GameManager implements TimerRunListener, Serializable {
     private void timerCheck() {
         ArrayList<LobbyMessage> inLobbyPlayers = lobby.getInLobbyPlayers();
 
+        if (manualStart || server == null) {
+            // headless and pool matches are started by who plays them, see startMatch
+            return;
+        }
+
         if (lobbyTimerRunning) {
             if (inLobbyPlayers.size() < MIN_PLAYERS) {
                 lobbyTimer.cancel();
@@ -810,10 +1516,42 @@ public class GameManager implements TimerRunListener, Serializable {
 
     }
 
+    /**
+     * Stops the lobby timer, the game is not started by it anymore
+     */
+    public void stopLobbyTimer() {
+        if (lobbyTimerRunning) {
+            lobbyTimer.cancel();
+            lobbyTimerRunning = false;
+        }
+    }
+
     @Override
     public void onTimerRun() {
         Server.LOGGER.info("Lobby timer ended, game is starting");
-        gameSetupHandler();
+
+        if (server != null) {
+            server.onLobbyTimeout(this::lobbyTimeout);
+        } else {
+            lobbyTimeout();
+        }
+    }
+
+    /**
+     * Starts the game once the lobby timer is ended
+     */
+    private void lobbyTimeout() {
+        Game previous = Game.bind(gameInstance);
+
+        try {
+            gameSetupHandler();
+
+            if (server != null && gameState != PossibleGameState.GAME_ROOM) {
+                SaveGame.saveGame(this);
+            }
+        } finally {
+            Game.bind(previous);
+        }
     }
 
     /**
@@ -827,8 +1565,10 @@ public class GameManager implements TimerRunListener, Serializable {
 
         if ((lobby.getTerminatorPresence() && inLobbyPlayers.size() == MAX_PLAYERS - 1) ||
                 (!lobby.getTerminatorPresence() && inLobbyPlayers.size() == MAX_PLAYERS)) {
-            lobbyTimer.cancel();
-            lobbyTimerRunning = false;
+            if (lobbyTimerRunning) {
+                lobbyTimer.cancel();
+                lobbyTimerRunning = false;
+            }
             gameSetupHandler();
             return new Response("Last player added to lobby, game is starting...", MessageStatus.OK);
         } else {
@@ -885,39 +1625,14 @@ public class GameManager implements TimerRunListener, Serializable {
     }
 
     /**
-     * Method used to handle the decision of a player to use or not a TAGBACK GRENADE when damaged.
+     * Method used to handle the decision of a player not to use a TAGBACK GRENADE when damaged. This is a "false"
+     * PASS_TURN, the shooting player goes back to play once every damaged player has answered
      *
-     * @param receivedMessage the {@link Message Message} received that can be handled if a {@link PowerupRequest PowerupRequest}
-     *                        or a {@link PassTurnRequest PassTurnRequest}
+     * @param receivedMessage the {@link PassTurnRequest PassTurnRequest} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
-    private Response onGrenadeMessage(Message receivedMessage) {
-        switch (receivedMessage.getContent()) {
-            case POWERUP_USAGE:
-                return roundManager.handleGranadeUsage((PowerupRequest) receivedMessage);
-            case PASS_TURN:     // this is a "false" PASS_TURN, turn goes to the next damaged player by the "real" turnOwner
-                // implementation then goes directly here
-
-                roundManager.getTurnManager().increaseCount();
-                // if the player is the last one to use the granade I set back the state to the previous one and give the turn to the next player
-                if (roundManager.getTurnManager().getTurnCount() > roundManager.getTurnManager().getGrenadePossibleUsers().size() - 1) {
-                    roundManager.getTurnManager().giveTurn(roundManager.getTurnManager().getMarkedByGrenadePlayer());
-                    if (roundManager.getTurnManager().getMarkingTerminator()) {
-                        roundManager.afterTerminatorActionHandler(roundManager.getTurnManager().getArrivingGameState());
-                        sendPrivateUpdates();
-                        return new Response("Granade not used, shooting player is going back to play", MessageStatus.OK);
-                    }
-                    changeState(roundManager.handleAfterActionState(roundManager.getTurnManager().isSecondAction()));
-                    sendPrivateUpdates();
-                    return new Response("Granade not used, shooting player is going back to play", MessageStatus.OK);
-                }
-
-                sendGrenadePrivateUpdates();
-                roundManager.getTurnManager().giveTurn(roundManager.getTurnManager().getGrenadePossibleUsers().get(roundManager.getTurnManager().getTurnCount()));
-                return new Response("Granade not used", MessageStatus.OK);
-            default:
-                return new Response("Invalid Message while in granade state", MessageStatus.ERROR);
-        }
+    private Response onGrenadePass(Message receivedMessage) {
+        return roundManager.handleGrenadePass((UserPlayer) gameInstance.getPlayerByName(receivedMessage.getSenderUsername()));
     }
 
     /**
@@ -952,7 +1667,7 @@ public class GameManager implements TimerRunListener, Serializable {
             finalFrenzySetup();
         }
 
-        SaveGame.saveGame(this);
+        requestSnapshot();
         sendPrivateUpdates();
         return tempResponse;
     }
@@ -989,34 +1704,10 @@ public class GameManager implements TimerRunListener, Serializable {
      * @param deathPlayer the {@link Player Player} that died and gives points to the ones that damaged him
      */
     private void distributePoints(Player deathPlayer) {
-        PlayerBoard deathsPlayerBoard = deathPlayer.getPlayerBoard();
-        Integer[] boardPoints = deathsPlayerBoard.getBoardPoints();
-        List<String> pointsReceivers = deathsPlayerBoard.getDamages().stream().distinct().collect(Collectors.toList());
-        Map<String, DamageCountWrapper> receivers = new HashMap<>();
-        Player firstBlooder;
-
-        for (int i = 0; i < pointsReceivers.size(); ++i) {
-            int frequency = Collections.frequency(deathsPlayerBoard.getDamages(), pointsReceivers.get(i));
-            DamageCountWrapper damageCountWrapper = new DamageCountWrapper(i, frequency);
-            receivers.put(pointsReceivers.get(i), damageCountWrapper);
-        }
-
-        Map<String, DamageCountWrapper> orderedReceivers = receivers
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByValue())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
-
-        if (!deathsPlayerBoard.isBoardFlipped()) {     // first blood assignment
-            firstBlooder = gameInstance.getUserPlayerByUsername(deathsPlayerBoard.getDamages().get(0));
-            firstBlooder.addPoints(1);
-        }
+        Map<String, Integer> boardPoints = getScoreboard().getBoardPoints(deathPlayer.getPlayerBoard());
 
-        int pointsIndex = 0;
-        for (Map.Entry entry : orderedReceivers.entrySet()) {
-            Player tempReceiver = gameInstance.getUserPlayerByUsername((String) entry.getKey());
-            tempReceiver.addPoints(boardPoints[pointsIndex]);
-            ++pointsIndex;
+        for (Map.Entry<String, Integer> entry : boardPoints.entrySet()) {
+            gameInstance.getUserPlayerByUsername(entry.getKey()).addPoints(entry.getValue());
         }
     }
 
@@ -1043,102 +1734,8 @@ public class GameManager implements TimerRunListener, Serializable {
         } else {
             gameInstance.addKillShot(killShot);
         }
-    }
-
-    /**
-     * Method that distributes the points at the end of the game from the damaged players remained after the FinalFrenzy
-     */
-    private void handleLastPointsDistribution() {
-        List<UserPlayer> players = gameInstance.getPlayers();
-        Bot bot = (Bot) gameInstance.getBot();
-
-        if (gameInstance.isBotPresent() && bot.getPlayerBoard().getDamageCount() > 0) {
-            // in the last distribution each damaged player counts as a dead one to calculate points
-            distributePoints(bot);
-        }
 
-        for (UserPlayer player : players) {
-            if (player.getPlayerBoard().getDamageCount() > 0) {
-                // in the last distribution each damaged player counts as a dead one to calculate points
-                distributePoints(player);
-                if (gameInstance.getDeathPlayers().contains(player)) {
-                    moveSkull(player);
-                }
-            }
-        }
-    }
-
-    /**
-     * Method that distributes the points that the KillShotTrack gives to each player who did a {@link KillShot Killshot}
-     * during the game. Points are given in the same way as in a {@link PlayerBoard PlayerBoard}
-     */
-    private void handleKillShotTrackDistribution() {
-        Integer[] trackerPoints = gameInstance.getTrackerPoints();
-        List<KillShot> killShotTracker = gameInstance.getKillShotTrack();
-        List<KillShot> finalFrenzyTracker = gameInstance.getFinalFrenzyKillShots();
-        List<String> killers = new ArrayList<>();
-        ArrayList<String> distinctKillers;
-        Map<String, DamageCountWrapper> receivers = new HashMap<>();
-
-        // first I add the killers on the tracker
-        for (KillShot killShot : killShotTracker) {
-            killers.add(killShot.getKiller());
-        }
-
-        // then I add the killers of the frenzy mode
-        for (KillShot killShot : finalFrenzyTracker) {
-            killers.add(killShot.getKiller());
-        }
-
-        distinctKillers = killers.stream().distinct().collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
-
-        for (int i = 0; i < distinctKillers.size(); ++i) {
-            int frequency = Collections.frequency(killers, distinctKillers.get(i));
-            frequency += getPointsOnKillShots(distinctKillers.get(i), killShotTracker, finalFrenzyTracker);
-            DamageCountWrapper damageCountWrapper = new DamageCountWrapper(i, frequency);
-            receivers.put(distinctKillers.get(i), damageCountWrapper);
-        }
-
-        Map<String, DamageCountWrapper> orderedReceivers = receivers
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByValue())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
-
-        int pointsIndex = 0;
-        for (Map.Entry entry : orderedReceivers.entrySet()) {
-            Player tempReceiver = gameInstance.getUserPlayerByUsername((String) entry.getKey());
-            tempReceiver.addPoints(trackerPoints[pointsIndex]);
-            ++pointsIndex;
-        }
-    }
-
-    /**
-     * Utility method for {@link #handleKillShotTrackDistribution() handleKillShotTrackDistribution} method used to count
-     * how many {@link KillShot KillShot} each {@code killer} on the KillShotTrack did during the game
-     *
-     * @param killer             String containing the UserName of the counting {@link Player Player} on the KillShotTrack
-     * @param killShotTracker    List of {@link KillShot Killshots} coming from the game map
-     * @param finalFrenzyTracker List of {@link KillShot Killshots} containing all the {@link KillShot Killshots} done
-     *                           during the FinalFrenzy
-     * @return an int that rerpesents the frequency of the Killer's {@link KillShot KillShots} on the KillShotTracker
-     */
-    private int getPointsOnKillShots(String killer, List<KillShot> killShotTracker, List<KillShot> finalFrenzyTracker) {
-        int pointsOnKillShots = 0;
-
-        for (KillShot killShot : killShotTracker) {
-            if (killShot.getKiller().equals(killer)) {
-                pointsOnKillShots += killShot.getPoints();
-            }
-        }
-
-        for (KillShot killShot : finalFrenzyTracker) {
-            if (killShot.getKiller().equals(killer)) {
-                pointsOnKillShots += killShot.getPoints();
-            }
-        }
-
-        return pointsOnKillShots;
+        getScoreboard().onKillShot();
     }
 
     /**
@@ -1254,32 +1851,46 @@ public class GameManager implements TimerRunListener, Serializable {
      * {@link Game Game} everytime that a normal action is completed
      */
     public void sendPrivateUpdates() {
+        if (server == null) {
+            return;
+        }
+
         List<UserPlayer> players = gameInstance.getPlayers();
+        List<PlayerPoints> standings = getStandings();
 
         for (UserPlayer player : players) {
-            server.sendMessage(player.getUsername(), new GameStateMessage(player.getUsername(), roundManager.getTurnManager().getTurnOwner().getUsername(), false));
+            server.sendMessage(player.getUsername(), new GameStateMessage(player.getUsername(), getShownTurnOwner(player.getUsername()), false,
+                    getAllowedMessages(player.getUsername()), standings));
         }
     }
 
     /**
-     * This method sends to all clients the new state of the {@link Game Game} whenever a turn is
-     * assigned to a player that may use a TAGBACK GRENADE
+     * This method sends to all clients the new state of the {@link Game Game} while the players that may use a
+     * TAGBACK GRENADE are asked. Each of them sees himself as the turn owner, so that they all answer at the same time,
+     * the other players see the first one still to answer
      */
     void sendGrenadePrivateUpdates() {
-        List<UserPlayer> players = gameInstance.getPlayers();
+        if (server == null) {
+            return;
+        }
 
+        List<UserPlayer> players = gameInstance.getPlayers();
+        List<PlayerPoints> standings = getStandings();
         for (UserPlayer player : players) {
-            server.sendMessage(player.getUsername(), new GameStateMessage(player.getUsername(), roundManager.getTurnManager().getTurnOwner().getUsername(), true));
+            server.sendMessage(player.getUsername(), new GameStateMessage(player.getUsername(), getShownTurnOwner(player.getUsername()), true,
+                    getAllowedMessages(player.getUsername()), standings));
         }
     }
 
     /**
-     * Utility method to send a broadcast message to all the Clients
+     * Utility method to send a broadcast message to all the Clients of this match
      *
      * @param message the {@link Message Message} to be sent
      */
     void sendBroadcastMessage(Message message) {
-        server.sendMessageToAll(message);
+        if (server != null) {
+            server.sendMessageToMatch(matchId, message);
+        }
     }
 
     public String getTurnOwnerUsername() {
@@ -1311,8 +1922,8 @@ public class GameManager implements TimerRunListener, Serializable {
     }
 
     /**
-     * Utility Class that implements {@link Comparable Comparable} used to handle the points distributions both in methods:
-     * {@link #distributePoints(Player) distributePoints} and {@link #handleKillShotTrackDistribution() handleKillShotTrackDistribution}
+     * Utility Class that implements {@link Comparable Comparable} used to handle the points distributions of both the
+     * {@link PlayerBoard PlayerBoards} and the KillShotTrack on the {@link Scoreboard Scoreboard}
      */
     class DamageCountWrapper implements Comparable<DamageCountWrapper> {
         final int position;
@@ -0,0 +1,122 @@
+package controller;
+
+import model.MatchShell;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A small pool of {@link MatchShell MatchShells} built in background while the lobbies fill, so that a match starts
+ * without parsing its decks and maps. Every shell taken is replaced by a new one; when the pool is empty the match
+ * builds its parts by itself as it always did. The shells taken ready and the ones missing are recorded
+ */
+public class MatchShellPool {
+    private final int size;
+    private final Random random;
+    private final Deque<MatchShell> shells;
+    private final ExecutorService builder;
+
+    private int building;
+    private int readyTaken;
+    private int missingTaken;
+
+    /**
+     * Creates the pool and starts building its shells
+     *
+     * @param size the number of shells kept ready
+     */
+    public MatchShellPool(int size) {
+        this(size, new Random());
+    }
+
+    /**
+     * Creates the pool and starts building its shells, that are shuffled in the same way for the same seed
+     *
+     * @param size the number of shells kept ready
+     * @param seed the seed of the shuffles of the shells
+     */
+    public MatchShellPool(int size, long seed) {
+        this(size, new Random(seed));
+    }
+
+    private MatchShellPool(int size, Random random) {
+        this.size = size;
+        this.random = random;
+        this.shells = new ArrayDeque<>();
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-shells");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        refill();
+    }
+
+    /**
+     * Takes a shell for a match that is starting and builds a new one in its place
+     *
+     * @return a shell ready to be used, {@code null} if none is ready
+     */
+    public synchronized MatchShell take() {
+        MatchShell shell = shells.poll();
+
+        if (shell != null) {
+            ++readyTaken;
+        } else {
+            ++missingTaken;
+        }
+
+        refill();
+        return shell;
+    }
+
+    /**
+     * Schedules the building of the shells missing to fill the pool
+     */
+    private void refill() {
+        while (shells.size() + building < size) {
+            ++building;
+            builder.execute(this::build);
+        }
+    }
+
+    private void build() {
+        MatchShell shell = new MatchShell(random);
+
+        synchronized (this) {
+            --building;
+            shells.add(shell);
+        }
+    }
+
+    /**
+     * @return the number of shells ready to be used
+     */
+    public synchronized int getReadyShells() {
+        return shells.size();
+    }
+
+    /**
+     * @return the number of matches that started with a shell already built
+     */
+    public synchronized int getReadyTaken() {
+        return readyTaken;
+    }
+
+    /**
+     * @return the number of matches that started without a shell as none was ready
+     */
+    public synchronized int getMissingTaken() {
+        return missingTaken;
+    }
+
+    /**
+     * Stops building new shells
+     */
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+}
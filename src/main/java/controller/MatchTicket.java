@@ -0,0 +1,101 @@
+package controller;
+
+import enumerations.PlayerColor;
+
+/**
+ * A player waiting in the {@link Matchmaker Matchmaker} with his preferences about the match he wants to play
+ */
+public class MatchTicket {
+    private final String username;
+    private PlayerColor color;
+    private int mapVote;
+    private int skullNum;
+    private Boolean terminator;
+    private long joinTime = -1;
+
+    /**
+     * Creates the ticket of a player that has not joined the queue yet, he accepts any match
+     *
+     * @param username the username of the player
+     */
+    MatchTicket(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return the color chosen by the player, used in the match if it is still free
+     */
+    public PlayerColor getColor() {
+        return color;
+    }
+
+    /**
+     * @return the map voted by the player, 0 if he did not vote
+     */
+    public int getMapVote() {
+        return mapVote;
+    }
+
+    /**
+     * @return the number of skulls wanted by the player, 0 for any
+     */
+    public int getSkullNum() {
+        return skullNum;
+    }
+
+    /**
+     * @return {@code true} if the player wants the terminator, {@code false} if he does not, {@code null} for both
+     */
+    public Boolean getTerminator() {
+        return terminator;
+    }
+
+    /**
+     * @return the time in milliseconds when the player joined the queue, -1 if he has not joined it yet
+     */
+    public long getJoinTime() {
+        return joinTime;
+    }
+
+    /**
+     * @return {@code true} if the player has joined the queue and can be put in a match
+     */
+    boolean isWaiting() {
+        return joinTime >= 0;
+    }
+
+    void join(PlayerColor color, long joinTime) {
+        this.color = color;
+        this.joinTime = joinTime;
+    }
+
+    void setMapVote(int mapVote) {
+        this.mapVote = mapVote;
+    }
+
+    void setPreferences(int skullNum, Boolean terminator) {
+        this.skullNum = skullNum;
+        this.terminator = terminator;
+    }
+
+    /**
+     * @param matchSkullNum   the number of skulls of a match
+     * @param matchTerminator the presence of the terminator in a match
+     * @return {@code true} if the player accepts a match with these rules
+     */
+    boolean accepts(int matchSkullNum, boolean matchTerminator) {
+        return (skullNum == 0 || skullNum == matchSkullNum) && (terminator == null || terminator == matchTerminator);
+    }
+
+    /**
+     * @param other another ticket
+     * @return {@code true} if the two players did not vote for different maps
+     */
+    boolean agreesOnMap(MatchTicket other) {
+        return mapVote == 0 || other.mapVote == 0 || mapVote == other.mapVote;
+    }
+}
@@ -0,0 +1,307 @@
+package controller;
+
+import enumerations.PlayerColor;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Queue of the players waiting for a match. Players are grouped by the rules they accept, the number of skulls and
+ * the presence of the terminator, and a match is formed as soon as enough of them accept the same rules: at once when
+ * the match is full, after the waiting time of the oldest player when at least three are waiting. Players accepting
+ * any rules play with the default ones unless they join players asking for different ones. When more players
+ * than needed are waiting the ones that voted for the same map of the oldest one are preferred.
+ * The time spent in the queue and the number of matches formed are recorded
+ */
+public class Matchmaker {
+    private static final int MIN_PLAYERS = 3;
+    private static final int MAX_PLAYERS = 5;
+    private static final int MIN_SKULLS = 5;
+    private static final int MAX_SKULLS = 8;
+
+    private final int defaultSkullNum;
+    private final boolean defaultTerminator;
+    private final long waitTime;
+
+    private final Map<String, MatchTicket> tickets;
+    private final long startTime;
+
+    private int formedMatches;
+    private int matchedPlayers;
+    private long totalWait;
+    private long longestWait;
+
+    /**
+     * Creates an empty queue
+     *
+     * @param defaultSkullNum   the number of skulls preferred when the players accept any
+     * @param defaultTerminator the presence of the terminator preferred when the players accept both
+     * @param waitTime          the time in milliseconds after which a match that is not full is formed
+     * @param startTime         the current time in milliseconds, the throughput is measured from it
+     */
+    public Matchmaker(int defaultSkullNum, boolean defaultTerminator, long waitTime, long startTime) {
+        this.defaultSkullNum = defaultSkullNum;
+        this.defaultTerminator = defaultTerminator;
+        this.waitTime = waitTime;
+        this.startTime = startTime;
+        this.tickets = new LinkedHashMap<>();
+    }
+
+    /**
+     * Adds a player that is going to wait for a match, he does not wait until he {@link #join joins} the queue
+     *
+     * @param username the username of the player
+     */
+    public synchronized void addPlayer(String username) {
+        tickets.putIfAbsent(username, new MatchTicket(username));
+    }
+
+    /**
+     * @param username the username of a player
+     * @return {@code true} if the player is in the queue
+     */
+    public synchronized boolean contains(String username) {
+        return tickets.containsKey(username);
+    }
+
+    /**
+     * Removes a player from the queue
+     *
+     * @param username the username of the player
+     */
+    public synchronized void removePlayer(String username) {
+        tickets.remove(username);
+    }
+
+    /**
+     * The player starts waiting for a match, from now on he can be put in one
+     *
+     * @param username the username of the player
+     * @param color    the color he prefers
+     * @param now      the current time in milliseconds
+     * @return {@code false} if the player is not in the queue or is already waiting
+     */
+    public synchronized boolean join(String username, PlayerColor color, long now) {
+        MatchTicket ticket = tickets.get(username);
+
+        if (ticket == null || ticket.isWaiting()) {
+            return false;
+        }
+
+        ticket.join(color, now);
+
+        // waiting players keep their order of arrival
+        tickets.remove(username);
+        tickets.put(username, ticket);
+        return true;
+    }
+
+    /**
+     * @param username the username of the player
+     * @param mapVote  the map voted, from 1 to 4
+     * @return {@code false} if the player is not in the queue or the vote is not valid
+     */
+    public synchronized boolean setMapVote(String username, int mapVote) {
+        MatchTicket ticket = tickets.get(username);
+
+        if (ticket == null || mapVote < 1 || mapVote > 4) {
+            return false;
+        }
+
+        ticket.setMapVote(mapVote);
+        return true;
+    }
+
+    /**
+     * @param username   the username of the player
+     * @param skullNum   the number of skulls wanted, 0 for any
+     * @param terminator the presence of the terminator wanted, {@code null} for both
+     * @return {@code false} if the player is not in the queue or the number of skulls is not valid
+     */
+    public synchronized boolean setPreferences(String username, int skullNum, Boolean terminator) {
+        MatchTicket ticket = tickets.get(username);
+
+        if (ticket == null || (skullNum != 0 && (skullNum < MIN_SKULLS || skullNum > MAX_SKULLS))) {
+            return false;
+        }
+
+        ticket.setPreferences(skullNum, terminator);
+        return true;
+    }
+
+    /**
+     * Forms the matches that are ready and removes their players from the queue
+     *
+     * @param now       the current time in milliseconds
+     * @param maxGroups the maximum number of matches that can be started now
+     * @return the formed matches, the oldest waiting players first
+     */
+    public synchronized List<MatchGroup> formMatches(long now, int maxGroups) {
+        List<MatchGroup> groups = new ArrayList<>();
+
+        while (groups.size() < maxGroups) {
+            MatchGroup group = nextGroup(now);
+
+            if (group == null) {
+                break;
+            }
+
+            for (MatchTicket ticket : group.getTickets()) {
+                tickets.remove(ticket.getUsername());
+
+                long wait = now - ticket.getJoinTime();
+                totalWait += wait;
+                longestWait = Math.max(longestWait, wait);
+            }
+
+            ++formedMatches;
+            matchedPlayers += group.getTickets().size();
+            groups.add(group);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Looks for a match starting from the oldest waiting player, with the rules accepted by most of the players
+     *
+     * @return the match, {@code null} if no match is ready
+     */
+    private MatchGroup nextGroup(long now) {
+        List<MatchTicket> waiting = tickets.values().stream().filter(MatchTicket::isWaiting).collect(Collectors.toList());
+
+        for (MatchTicket oldest : waiting) {
+            MatchGroup best = null;
+
+            for (int[] rules : getRulesOrder()) {
+                int skullNum = rules[0];
+                boolean terminator = rules[1] == 1;
+
+                if (!oldest.accepts(skullNum, terminator)) {
+                    continue;
+                }
+
+                List<MatchTicket> accepting = waiting.stream()
+                        .filter(ticket -> ticket.accepts(skullNum, terminator))
+                        .collect(Collectors.toList());
+
+                // players accepting any rules play with the default ones unless someone else asks for different ones
+                if (skullNum != defaultSkullNum || terminator != defaultTerminator) {
+                    if (accepting.stream().allMatch(ticket -> ticket.accepts(defaultSkullNum, defaultTerminator))) {
+                        continue;
+                    }
+                }
+
+                int maxPlayers = terminator ? MAX_PLAYERS - 1 : MAX_PLAYERS;
+
+                if (accepting.size() >= maxPlayers || (accepting.size() >= MIN_PLAYERS && now - oldest.getJoinTime() >= waitTime)) {
+                    MatchGroup group = new MatchGroup(choosePlayers(oldest, accepting, maxPlayers), skullNum, terminator);
+
+                    if (best == null || group.getTickets().size() > best.getTickets().size()) {
+                        best = group;
+                    }
+                }
+            }
+
+            if (best != null) {
+                return best;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the possible rules of a match, {number of skulls, 1 if the terminator plays}, the default ones first
+     */
+    private List<int[]> getRulesOrder() {
+        List<int[]> rules = new ArrayList<>();
+        rules.add(new int[]{defaultSkullNum, defaultTerminator ? 1 : 0});
+
+        for (int skullNum = MAX_SKULLS; skullNum >= MIN_SKULLS; --skullNum) {
+            for (int terminator = 0; terminator <= 1; ++terminator) {
+                if (skullNum != defaultSkullNum || (terminator == 1) != defaultTerminator) {
+                    rules.add(new int[]{skullNum, terminator});
+                }
+            }
+        }
+
+        return rules;
+    }
+
+    /**
+     * Chooses the players of a match among the ones accepting its rules: the oldest, then the ones agreeing with him
+     * on the map, then the others, each in order of arrival
+     */
+    private static List<MatchTicket> choosePlayers(MatchTicket oldest, List<MatchTicket> accepting, int maxPlayers) {
+        List<MatchTicket> chosen = new ArrayList<>(accepting);
+        chosen.remove(oldest);
+        chosen.sort(Comparator.comparing(ticket -> !ticket.agreesOnMap(oldest)));
+        chosen.add(0, oldest);
+
+        return new ArrayList<>(chosen.subList(0, Math.min(maxPlayers, chosen.size())));
+    }
+
+    /**
+     * @return the number of players waiting for a match
+     */
+    public synchronized int getWaitingPlayers() {
+        return (int) tickets.values().stream().filter(MatchTicket::isWaiting).count();
+    }
+
+    /**
+     * @return the number of matches formed
+     */
+    public synchronized int getFormedMatches() {
+        return formedMatches;
+    }
+
+    /**
+     * @return the average time in milliseconds spent in the queue by the players put in a match
+     */
+    public synchronized long getAverageWait() {
+        return matchedPlayers > 0 ? totalWait / matchedPlayers : 0;
+    }
+
+    /**
+     * @return the longest time in milliseconds spent in the queue by a player put in a match
+     */
+    public synchronized long getLongestWait() {
+        return longestWait;
+    }
+
+    /**
+     * @param now the current time in milliseconds
+     * @return the number of matches formed per minute since the queue was created
+     */
+    public synchronized double getMatchesPerMinute(long now) {
+        return formedMatches * 60000.0 / Math.max(1, now - startTime);
+    }
+
+    /**
+     * The players and the rules of a formed match
+     */
+    public static class MatchGroup {
+        private final List<MatchTicket> tickets;
+        private final int skullNum;
+        private final boolean terminator;
+
+        MatchGroup(List<MatchTicket> tickets, int skullNum, boolean terminator) {
+            this.tickets = tickets;
+            this.skullNum = skullNum;
+            this.terminator = terminator;
+        }
+
+        public List<MatchTicket> getTickets() {
+            return tickets;
+        }
+
+        public int getSkullNum() {
+            return skullNum;
+        }
+
+        public boolean isTerminator() {
+            return terminator;
+        }
+    }
+}
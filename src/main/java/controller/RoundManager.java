@@ -21,7 +21,6 @@ import model.player.Player;
 import model.player.UserPlayer;
 import network.message.*;
 import utility.GameConstants;
-import utility.persistency.SaveGame;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,10 +46,21 @@ public class RoundManager {
      * @param gameManager the {@link GameManager GameManager} of the started {@link Game Game}
      */
     RoundManager(GameManager gameManager) {
-        this.gameInstance = Game.getInstance();
+        this.gameInstance = gameManager.getGameInstance();
         this.gameManager = gameManager;
     }
 
+    /**
+     * Creates an instance of {@link RoundManager RoundManager} for a copy of a {@link GameManager GameManager}
+     *
+     * @param gameManager the copied {@link GameManager GameManager}
+     * @param turnManager the copy of the {@link TurnManager TurnManager} of the original one
+     */
+    RoundManager(GameManager gameManager, TurnManager turnManager) {
+        this(gameManager);
+        this.turnManager = turnManager;
+    }
+
     /**
      * Method that inits the {@link TurnManager TurnManager} for the starting {@link Game Game}
      */
@@ -75,10 +85,20 @@ public class RoundManager {
      * {@link GameState GameState}
      */
     private void setInitialActions() {
-        if (gameInstance.getState() == GameState.NORMAL && turnManager.getTurnOwner().getPlayerState() == PossiblePlayerState.FIRST_SPAWN) {
-            ActionManager.setStartingPossibleActions(turnManager.getTurnOwner(), gameInstance.isBotPresent());
-        } else if (gameInstance.getState() == GameState.NORMAL && turnManager.getTurnOwner().getPlayerState() == PossiblePlayerState.PLAYING) {
-            ActionManager.setPossibleActions(turnManager.getTurnOwner());
+        setInitialActions(turnManager.getTurnOwner());
+    }
+
+    /**
+     * Method that sets the {@link Action Actions} a {@link UserPlayer UserPLayer} can do at the start of his Turn, used
+     * also for the players that respawn while the turn is still to the one that killed them
+     *
+     * @param player the {@link UserPlayer UserPlayer} whose actions are set
+     */
+    private void setInitialActions(UserPlayer player) {
+        if (gameInstance.getState() == GameState.NORMAL && player.getPlayerState() == PossiblePlayerState.FIRST_SPAWN) {
+            ActionManager.setStartingPossibleActions(player, gameInstance.isBotPresent());
+        } else if (gameInstance.getState() == GameState.NORMAL && player.getPlayerState() == PossiblePlayerState.PLAYING) {
+            ActionManager.setPossibleActions(player);
         }
     }
 
@@ -166,8 +186,9 @@ public class RoundManager {
      * @param gameState the {@link GameState GameState} in which the {@link GameManager GameManager} needs to evolve
      */
     void afterTerminatorActionHandler(PossibleGameState gameState) {
-        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.FINAL_FRENZY || gameState == PossibleGameState.SECOND_ACTION) {
-            // if terminator action is done before the 2 actions the game state does not change, otherwise it must be done before passing the turn
+        if (gameState == PossibleGameState.GAME_STARTED || gameState == PossibleGameState.FINAL_FRENZY || gameState == PossibleGameState.SECOND_ACTION ||
+                gameState == PossibleGameState.ACTIONS_DONE || gameState == PossibleGameState.FRENZY_ACTIONS_DONE) {
+            // if terminator action is done during the turn the game state does not change, when it is missing it must be done before passing the turn
             gameManager.changeState(gameState);
             turnManager.getTurnOwner().removeAction(PossibleAction.BOT_ACTION);
         } else if (gameState == PossibleGameState.MISSING_TERMINATOR_ACTION) {
@@ -228,15 +249,14 @@ public class RoundManager {
             return buildNegativeResponse("Player can not do this Action");
         }
 
-        if (!turnManager.getGrenadePossibleUsers().isEmpty()) {
+        if (turnManager.hasGrenadeUsers()) {
             gameManager.changeState(PossibleGameState.GRANADE_USAGE);
             turnManager.setMarkedByGrenadePlayer(turnManager.getTurnOwner());
             turnManager.setMarkingTerminator(true);
-            turnManager.giveTurn(turnManager.getGrenadePossibleUsers().get(0));
-            turnManager.resetCount();
+            turnManager.startGrenadePrompt();
             turnManager.setArrivingGameState(gameState);
 
-            return buildGrenadePositiveResponse("Terminator action used, turn is passing to a possible granade user");
+            return buildGrenadePositiveResponse("Terminator action used, possible granade users are asked");
         } else {
             afterTerminatorActionHandler(gameState);
         }
@@ -245,75 +265,120 @@ public class RoundManager {
     }
 
     /**
-     * Method that handles the usage of a TAGBACK GRANADE by a damaged {@link UserPlayer UserPlayer} in the TurnOwner's Round
+     * Method that handles the usage of a TAGBACK GRANADE by a damaged {@link UserPlayer UserPlayer} in the TurnOwner's Round.
+     * The usage is only checked and recorded, grenades are used once every damaged player has answered
      *
      * @param granadeMessage the {@link PowerupRequest GranadeRequest} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
     Response handleGranadeUsage(PowerupRequest granadeMessage) {
-        Response tempResponse;
+        UserPlayer grenadeUser = (UserPlayer) gameInstance.getUserPlayerByUsername(granadeMessage.getSenderUsername());
+        List<Integer> indexes = granadeMessage.getPowerup();
 
-        if (granadeMessage.getPowerup().size() > turnManager.getTurnOwner().getPowerups().length) {
+        if (indexes.size() > grenadeUser.getPowerups().length) {
             return buildNegativeResponse("Too many powerups");
         }
 
-        // before marking I save the marks of each player as If a multiple action does not work I can set them back
-        List<List<String>> oldMarks = gameInstance.getPlayers().stream().map(player -> player.getPlayerBoard().getMarks()).collect(Collectors.toList());
-        if (gameInstance.isBotPresent()) {
-            oldMarks.add(gameInstance.getBot().getPlayerBoard().getMarks());
+        if (indexes.stream().distinct().count() != indexes.size()) {
+            return buildNegativeResponse("Invalid Powerup Index");
         }
 
-        for (Integer index : granadeMessage.getPowerup()) {
-            tempResponse = grenadeUsage(index, granadeMessage);
-            if (tempResponse.getStatus() == MessageStatus.ERROR) {
-                resetMarks(oldMarks);
-                return tempResponse;
+        for (Integer index : indexes) {
+            if (index < 0 || index >= grenadeUser.getPowerups().length) {
+                return buildNegativeResponse("Invalid Powerup Index");
             }
 
-            // else everything went right and I can discard the grenades used
-        }
-
-        // after having used all the grenades I discard them
-        discardPowerups(granadeMessage.getPowerup());
-
-        turnManager.increaseCount();
-        // if the player is the last one to use the granade I set back the state to the previous one and give the turn to the next player
-        if (turnManager.getTurnCount() > turnManager.getGrenadePossibleUsers().size() - 1) {
-            turnManager.giveTurn(turnManager.getMarkedByGrenadePlayer());
-            if (turnManager.getMarkingTerminator()) {
-                afterTerminatorActionHandler(turnManager.getArrivingGameState());
-                return buildPositiveResponse("Grenade used, turn going back to real turn owner");
+            if (!grenadeUser.getPowerups()[index].getName().equals(TAGBACK_GRANADE)) {
+                return buildNegativeResponse("Invalid Powerup");
             }
-            gameManager.changeState(handleAfterActionState(turnManager.isSecondAction()));
-            return buildPositiveResponse("Grenade used, turn going back to real turn owner");
         }
 
-        // then I give the turn to the next damaged player
-        turnManager.giveTurn(turnManager.getGrenadePossibleUsers().get(turnManager.getTurnCount()));
+        turnManager.answerGrenade(grenadeUser, granadeMessage);
+        return afterGrenadeAnswer("Grenade usage registered");
+    }
 
-        return buildGrenadePositiveResponse("Grenade has been Used, turn passed to the next possible user");
+    /**
+     * Method that handles the decision of a damaged {@link UserPlayer UserPlayer} not to use a TAGBACK GRENADE
+     *
+     * @param grenadeUser the {@link UserPlayer UserPlayer} not using his grenades
+     * @return a positive {@link Response Response} handled by the server
+     */
+    Response handleGrenadePass(UserPlayer grenadeUser) {
+        turnManager.answerGrenade(grenadeUser, null);
+        return afterGrenadeAnswer("Granade not used");
     }
 
     /**
-     * Handles the usage of the grenade passed as an integer index
+     * Waits for the other damaged players or, if everyone has answered, uses the grenades and gives back the action
+     * to the shooting player
      *
-     * @param index          the index of the grenade to be used
-     * @param granadeMessage the {@link PowerupRequest GranadeRequest} received
-     * @return a positive or negative {@link Response Response} handled by the server
+     * @param reason the reason of the answer accepted
+     * @return a positive {@link Response Response} handled by the server
      */
-    private Response grenadeUsage(int index, PowerupRequest granadeMessage) {
-        PowerupCard chosenGranade;
+    private Response afterGrenadeAnswer(String reason) {
+        if (!turnManager.getPendingGrenadeUsers().isEmpty()) {
+            return buildGrenadePositiveResponse(reason + ", waiting for the other damaged players");
+        }
 
-        if (index > turnManager.getTurnOwner().getPowerups().length) {
-            return buildNegativeResponse("Invalid Powerup Index");
+        useAnsweredGrenades();
+
+        if (turnManager.getMarkingTerminator()) {
+            afterTerminatorActionHandler(turnManager.getArrivingGameState());
+        } else {
+            gameManager.changeState(handleAfterActionState(turnManager.isSecondAction()));
         }
 
-        chosenGranade = turnManager.getTurnOwner().getPowerups()[index];
+        return buildPositiveResponse(reason + ", shooting player is going back to play");
+    }
 
-        if (!chosenGranade.getName().equals(TAGBACK_GRANADE)) {
-            return buildNegativeResponse("Invalid Powerup");
+    /**
+     * Uses the grenades of the answers to the prompt in the order the players were damaged, the same order in which
+     * they would have been asked one by one
+     */
+    private void useAnsweredGrenades() {
+        for (UserPlayer grenadeUser : turnManager.getGrenadePossibleUsers()) {
+            PowerupRequest granadeMessage = turnManager.getGrenadeAnswer(grenadeUser);
+
+            if (granadeMessage != null) {
+                useGrenades(grenadeUser, granadeMessage);
+            }
+        }
+
+        turnManager.startGrenadePrompt();
+    }
+
+    /**
+     * Uses the grenades of a player, if one of them can not be used none of them is
+     *
+     * @param grenadeUser    the {@link UserPlayer UserPlayer} using the grenades
+     * @param granadeMessage the {@link PowerupRequest GranadeRequest} of the player
+     */
+    private void useGrenades(UserPlayer grenadeUser, PowerupRequest granadeMessage) {
+        // before marking I save the marks of each player as If a multiple action does not work I can set them back
+        List<List<String>> oldMarks = gameInstance.getPlayers().stream().map(player -> player.getPlayerBoard().getMarks()).collect(Collectors.toList());
+        if (gameInstance.isBotPresent()) {
+            oldMarks.add(gameInstance.getBot().getPlayerBoard().getMarks());
         }
 
+        for (Integer index : granadeMessage.getPowerup()) {
+            if (grenadeUsage(grenadeUser.getPowerups()[index], granadeMessage).getStatus() == MessageStatus.ERROR) {
+                resetMarks(oldMarks);
+                return;
+            }
+        }
+
+        // after having used all the grenades I discard them
+        discardPowerups(grenadeUser, granadeMessage.getPowerup());
+    }
+
+    /**
+     * Handles the usage of a grenade
+     *
+     * @param chosenGranade  the grenade to be used
+     * @param granadeMessage the {@link PowerupRequest GranadeRequest} received
+     * @return a positive or negative {@link Response Response} handled by the server
+     */
+    private Response grenadeUsage(PowerupCard chosenGranade, PowerupRequest granadeMessage) {
         // now I can set the target for the usage of the TAGBACK GRENADE
         if (gameInstance.isBotPresent() && turnManager.getMarkingTerminator()) {
             granadeMessage.setGrenadeTarget(GameConstants.BOT_NAME);
@@ -429,13 +494,22 @@ public class RoundManager {
     }
 
     /**
-     * Method that discards the powerups after actions that can be multiple: SCOPE and GRENADE
+     * Method that discards the powerups of the turn owner after actions that can be multiple, like SCOPE
      *
      * @param discardingIndexes the ArrayList of the indexes of the {@link PowerupCard Powerups} to be discarded
      */
     private void discardPowerups(List<Integer> discardingIndexes) {
+        discardPowerups(turnManager.getTurnOwner(), discardingIndexes);
+    }
+
+    /**
+     * Discards the powerups of a player
+     *
+     * @param powerUpper        the {@link UserPlayer UserPlayer} discarding the powerups
+     * @param discardingIndexes the indexes of the powerups
+     */
+    private void discardPowerups(UserPlayer powerUpper, List<Integer> discardingIndexes) {
         List<Integer> reverseSort = discardingIndexes.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList());
-        UserPlayer powerUpper = turnManager.getTurnOwner();
 
         for (Integer index : reverseSort) {
             try {
@@ -849,15 +923,14 @@ public class RoundManager {
             gameManager.changeState(PossibleGameState.SCOPE_USAGE);
 
             return buildScopePositiveResponse();
-        } else if (!turnManager.getGrenadePossibleUsers().isEmpty()) {
+        } else if (turnManager.hasGrenadeUsers()) {
             gameManager.changeState(PossibleGameState.GRANADE_USAGE);
             turnManager.setMarkedByGrenadePlayer(turnManager.getTurnOwner());
             turnManager.setMarkingTerminator(false);
-            turnManager.giveTurn(turnManager.getGrenadePossibleUsers().get(0));
-            turnManager.resetCount();
+            turnManager.startGrenadePrompt();
             turnManager.setSecondAction(secondAction);
 
-            return buildGrenadePositiveResponse("Shoot Action done, turn is passing to a possible granade user");
+            return buildGrenadePositiveResponse("Shoot Action done, possible granade users are asked");
         } else {
             gameManager.changeState(handleAfterActionState(secondAction));
         }
@@ -962,8 +1035,9 @@ public class RoundManager {
 
     /**
      * Method that handles the Death of the {@link model.player.Player Players} that died after the end of each Turn.
-     * In case the dead {@link UserPlayer UserPlayers} are more than one, the {@link TurnManager TurnManager} handles
-     * their Turns with some parameters set in this method
+     * All the dead {@link UserPlayer UserPlayers}, and the TurnOwner when the {@link Bot Terminator} died, are asked
+     * at the same time how to respawn while the turn stays to the TurnOwner: their choices are applied together by
+     * {@link #respawnDeadPlayers() respawnDeadPlayers} once every one of them has chosen
      *
      * @param nextPassState the {@link PossibleGameState PossibleGameState} in which the {@link GameManager GameManager}
      *                      evolves after every dead {@link UserPlayer Player} is respawned
@@ -981,13 +1055,8 @@ public class RoundManager {
             turnManager.setFrenzyActivator();
             gameInstance.getBot().setPosition(null);
             turnManager.setArrivingGameState(nextPassState);
+            startRespawnPrompt(deathPlayers);
             gameManager.changeState(PossibleGameState.TERMINATOR_RESPAWN);
-
-            if(nextPassState == PossibleGameState.RELOAD_PASS) {
-                return buildPositiveResponse("Reload action done, respawn terminator now");
-            } else {
-                return buildPositiveResponse("Terminator has died respawn him before passing");
-            }
         } else if (!deathPlayers.isEmpty()) {
             // first of all I control if the current player has done a double kill
             if (deathPlayers.size() > 1) {
@@ -996,68 +1065,69 @@ public class RoundManager {
 
             // there are death players I set everything I need to respawn them
             turnManager.setFrenzyActivator();
-            turnManager.setDeathPlayers(deathPlayers);
-            gameManager.changeState(PossibleGameState.MANAGE_DEATHS);
-            turnManager.giveTurn(deathPlayers.get(0));
-            turnManager.getTurnOwner().setSpawningCard(drawPowerup());
-            turnManager.resetCount();
             turnManager.setArrivingGameState(nextPassState);
-
-            if(nextPassState == PossibleGameState.RELOAD_PASS) {
-                return buildPositiveResponse("Reload action done, death players need to respawn");
-            } else {
-                return buildPositiveResponse("Turn passed");
-            }
+            startRespawnPrompt(deathPlayers);
+            gameManager.changeState(PossibleGameState.MANAGE_DEATHS);
         } else {
             // if no players have died the GameState remains the same
             return handleNextTurn(nextPassState);
         }
+
+        // when all the dead players are disconnected nobody has to be waited
+        if (gameManager.getActingPlayers().isEmpty()) {
+            return gameManager.commitRespawns();
+        }
+
+        if (nextPassState == PossibleGameState.RELOAD_PASS) {
+            return buildPositiveResponse("Reload action done, death players need to respawn");
+        } else {
+            return buildPositiveResponse("Turn passed, death players need to respawn");
+        }
+    }
+
+    /**
+     * Starts the respawn prompt of the dead {@link UserPlayer UserPlayers}, each of them draws the powerup he can
+     * respawn with in order of death
+     *
+     * @param deathPlayers the dead {@link UserPlayer UserPlayers}
+     */
+    private void startRespawnPrompt(List<UserPlayer> deathPlayers) {
+        turnManager.setDeathPlayers(deathPlayers);
+
+        for (UserPlayer deathPlayer : deathPlayers) {
+            deathPlayer.setSpawningCard(drawPowerup());
+        }
+
+        turnManager.startRespawnPrompt();
     }
 
     /**
-     * Method that handles the Respawn of the {@link Bot Terminatore} performed by the TurnOwner
+     * Method that records the square where the TurnOwner wants to respawn the {@link Bot Terminator}, the
+     * terminator respawns together with the dead {@link UserPlayer UserPlayers}
      *
      * @param respawnRequest the {@link BotSpawnRequest TerminatorRespawnRequest} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
     Response handleTerminatorRespawn(BotSpawnRequest respawnRequest) {
-        List<UserPlayer> deathPlayers = gameInstance.getDeathPlayers();
-
         try {
-            gameInstance.spawnTerminator(gameInstance.getGameMap().getSpawnSquare(respawnRequest.getSpawnColor()));
+            gameInstance.getGameMap().getSpawnSquare(respawnRequest.getSpawnColor());
         } catch (InvalidSpawnColorException e) {
             return buildNegativeResponse("Invalid Color for Spawning");
         }
 
-        if (!gameInstance.getDeathPlayers().isEmpty()) {
-            // there are death players: I set everything I need to respawn them
-            turnManager.setDeathPlayers(deathPlayers);
-            gameManager.changeState(PossibleGameState.MANAGE_DEATHS);
-            turnManager.giveTurn(deathPlayers.get(0));
-            deathPlayers.get(0).setSpawningCard(drawPowerup());
-            turnManager.resetCount();
-            return buildPositiveResponse("Turn passed after Spawning the Terminator");
-        } else {
-            if (gameInstance.remainingSkulls() == 1) {   // last skull is going to be removed, frenzy mode has to be activated
-                turnManager.setFrenzyPlayers();
-                turnManager.setLastPlayer();
-                return handleNextTurn(PossibleGameState.PASS_FRENZY_TURN);
-            } else {
-                return handleNextTurn(PossibleGameState.PASS_NORMAL_BOT_TURN);
-            }
-        }
+        turnManager.setTerminatorRespawnColor(respawnRequest.getSpawnColor());
+        return new Response("Terminator respawn chosen", MessageStatus.OK);
     }
 
     /**
-     * Method that handles the Respawn of a dead {@link UserPlayer UserPlayer}
+     * Method that records the powerup a dead {@link UserPlayer UserPlayer} wants to respawn with, the dead players
+     * respawn together once all of them have chosen
      *
      * @param respawnRequest the {@link DiscardPowerupRequest RespawnRequest} received
      * @return a positive or negative {@link Response Response} handled by the server
      */
     Response handlePlayerRespawn(DiscardPowerupRequest respawnRequest) {
-        UserPlayer turnOwner = turnManager.getTurnOwner();
-        PowerupCard spawnPowerup;
-        RoomColor spawnColor;
+        UserPlayer deathPlayer = (UserPlayer) gameInstance.getUserPlayerByUsername(respawnRequest.getSenderUsername());
         int powerupIndex = respawnRequest.getPowerup();
 
         // if powerupIndex is 3 means that the player wants to respawn with the drawn powerup, otherwise with the specified one
@@ -1065,52 +1135,109 @@ public class RoundManager {
             return buildNegativeResponse("Invalid powerup index");
         }
 
-        if (powerupIndex != 3 && powerupIndex > turnOwner.getPowerups().length - 1) {
+        if (powerupIndex != 3 && powerupIndex > deathPlayer.getPowerups().length - 1) {
             return buildNegativeResponse("Invalid powerup index");
         }
 
+        turnManager.chooseRespawn(deathPlayer, powerupIndex);
+        return new Response("Respawn chosen", MessageStatus.OK);
+    }
+
+    /**
+     * Applies the choices of the respawn prompt in the same order in which the dead were respawned one at a time: the
+     * {@link Bot Terminator} first, then the dead {@link UserPlayer UserPlayers} in order of death. The players that
+     * did not choose respawn with the drawn powerup, the terminator on a random spawn square. The points of each dead
+     * are distributed by the {@link GameManager GameManager}, then the turn passes to the next player
+     *
+     * @return the {@link Response Response} of the passed turn
+     */
+    Response respawnDeadPlayers() {
+        List<UserPlayer> deathPlayers = turnManager.getDeathPlayers();
+        Response response = null;
+
+        if (gameManager.getGameState() == PossibleGameState.TERMINATOR_RESPAWN) {
+            Player terminator = gameInstance.getBot();
+            RoomColor spawnColor = Objects.requireNonNullElseGet(turnManager.getTerminatorRespawnColor(), RoomColor::getRandomSpawnColor);
+
+            try {
+                gameInstance.spawnTerminator(gameInstance.getGameMap().getSpawnSquare(spawnColor));
+            } catch (InvalidSpawnColorException e) {
+                // never reached, the color has already been validated
+            }
+
+            if (deathPlayers.isEmpty()) {
+                if (gameInstance.remainingSkulls() == 1) {   // last skull is going to be removed, frenzy mode has to be activated
+                    turnManager.setFrenzyPlayers();
+                    turnManager.setLastPlayer();
+                    response = handleNextTurn(PossibleGameState.PASS_FRENZY_TURN);
+                } else {
+                    response = handleNextTurn(PossibleGameState.PASS_NORMAL_BOT_TURN);
+                }
+            }
+
+            gameManager.scoreDeath(terminator);
+
+            if (deathPlayers.isEmpty()) {
+                return response;
+            }
+        }
+
+        for (int i = 0; i < deathPlayers.size(); ++i) {
+            UserPlayer deathPlayer = deathPlayers.get(i);
+            respawnPlayer(deathPlayer, Objects.requireNonNullElse(turnManager.getRespawnChoice(deathPlayer), 3));
+
+            // the points of the last one are distributed after the next turn is chosen
+            if (i < deathPlayers.size() - 1) {
+                gameManager.scoreDeath(deathPlayer);
+            }
+        }
+
+        if ((deathPlayers.size() == 1 && gameInstance.remainingSkulls() == 1) || gameInstance.remainingSkulls() == 0) {   // last skull is going to be removed, frenzy mode has to be activated
+            turnManager.setFrenzyPlayers();
+            turnManager.setLastPlayer();
+            response = handleNextTurn(PossibleGameState.PASS_FRENZY_TURN);
+        } else {
+            response = handleNextTurn(PossibleGameState.PASS_NORMAL_TURN);
+        }
+
+        gameManager.scoreDeath(deathPlayers.get(deathPlayers.size() - 1));
+        return response;
+    }
+
+    /**
+     * Respawns a dead {@link UserPlayer UserPlayer} on the spawn square of the color of the chosen powerup
+     *
+     * @param deathPlayer  the dead {@link UserPlayer UserPlayer}
+     * @param powerupIndex the index of the powerup chosen, 3 for the drawn one
+     */
+    private void respawnPlayer(UserPlayer deathPlayer, int powerupIndex) {
+        PowerupCard spawnPowerup;
+        RoomColor spawnColor;
+
         if (powerupIndex == 3) {
-            spawnPowerup = turnOwner.getSpawningCard();
+            spawnPowerup = deathPlayer.getSpawningCard();
             gameInstance.getPowerupCardsDeck().discardCard(spawnPowerup);
         } else {
-            spawnPowerup = turnOwner.getPowerups()[powerupIndex];
+            spawnPowerup = deathPlayer.getPowerups()[powerupIndex];
             gameInstance.getPowerupCardsDeck().discardCard(spawnPowerup);
             try {
-                turnOwner.discardPowerup(spawnPowerup);
-                turnOwner.addPowerup(turnOwner.getSpawningCard());
+                deathPlayer.discardPowerup(spawnPowerup);
+                deathPlayer.addPowerup(deathPlayer.getSpawningCard());
             } catch (MaxCardsInHandException | EmptyHandException e) {
                 // never happen at this point
             }
         }
 
-        turnOwner.setSpawningCard(null);
+        deathPlayer.setSpawningCard(null);
         spawnColor = Ammo.toColor(spawnPowerup.getValue());
 
         // now that I know the color of the spawning square I can respawn the player and set his initial actions
         try {
-            gameInstance.spawnPlayer(turnOwner, gameInstance.getGameMap().getSpawnSquare(spawnColor));
-            setInitialActions();
+            gameInstance.spawnPlayer(deathPlayer, gameInstance.getGameMap().getSpawnSquare(spawnColor));
+            setInitialActions(deathPlayer);
         } catch (InvalidSpawnColorException e) {
             // never reached, a powerup has always a corresponding spawning color!
         }
-
-        // now I have to pass the turn to the next death player and pick a card for him
-        turnManager.increaseCount();
-        if (turnManager.getTurnCount() > turnManager.getDeathPlayers().size() - 1) {
-            if ((turnManager.getDeathPlayers().size() == 1 && gameInstance.remainingSkulls() == 1) || gameInstance.remainingSkulls() == 0) {   // last skull is going to be removed, frenzy mode has to be activated
-                turnManager.setFrenzyPlayers();
-                turnManager.setLastPlayer();
-                return handleNextTurn(PossibleGameState.PASS_FRENZY_TURN);
-            } else {
-                return handleNextTurn(PossibleGameState.PASS_NORMAL_TURN);
-            }
-        }
-
-        // otherwise there are still death players and the next one has to respawn
-        turnManager.giveTurn(turnManager.getDeathPlayers().get(turnManager.getTurnCount()));
-        turnManager.getTurnOwner().setSpawningCard(drawPowerup());
-
-        return buildPositiveResponse("Player Respawned");
     }
 
     /**
@@ -1184,11 +1311,11 @@ public class RoundManager {
             return buildPositiveResponse("Reload action done and turn passed");
         } else if (arrivingState == PossibleGameState.PASS_FRENZY_TURN) {
             gameManager.changeState(PossibleGameState.FINAL_FRENZY);
-            SaveGame.saveGame(gameManager);
+            gameManager.requestSnapshot();
             return new Response("Turn Passed and Frenzy Starting", MessageStatus.OK);
         } else if (arrivingState == PossibleGameState.PASS_NORMAL_BOT_TURN) {
             gameManager.changeState(PossibleGameState.GAME_STARTED);
-            SaveGame.saveGame(gameManager);
+            gameManager.requestSnapshot();
             return new Response("Turn Passed after bot action", MessageStatus.OK);
         } else {
             throw new InvalidGameStateException();
@@ -1219,7 +1346,7 @@ public class RoundManager {
      * @param spawnTerminator if true the {@link Bot Bot} hasn't spawned yet
      */
     void handleRandomSpawn(boolean spawnPlayer, boolean spawnTerminator) {
-        int randomIndex = Game.rand.nextInt(1);
+        int randomIndex = gameInstance.getRandom().nextInt(1);
 
         PowerupCard spawningPowerup = getTurnManager().getTurnOwner().getPowerups()[randomIndex];
         RoomColor spawnColor = null;
@@ -1267,7 +1394,7 @@ public class RoundManager {
     private PowerupCard drawPowerup() {
         PowerupCard drawnPowerup = (PowerupCard) gameInstance.getPowerupCardsDeck().draw();
         if(drawnPowerup == null) {
-            gameInstance.getPowerupCardsDeck().flush();
+            gameInstance.getPowerupCardsDeck().shuffle(gameInstance.getRandom());
             drawnPowerup = (PowerupCard) gameInstance.getPowerupCardsDeck().draw();
         }
 
@@ -1276,16 +1403,14 @@ public class RoundManager {
 
     /**
      * Method that builds a Positive {@link Response Response}, that has {@link MessageStatus MessageStatus.OK}
-     * For real this method is the most important one of this Class, infact, it also:
-     * (i) send the new Game status to each player
-     * (ii) saves the Game status to have persistency
+     * For real this method is the most important one of this Class, infact, it also sends the new Game status to each
+     * player. The message that led here is then added to the journal of the game by the {@link GameManager GameManager}
      *
      * @param reason the reason why the {@link Response Response} is Positive
      * @return the Positive {@link Response Response} built
      */
     private Response buildPositiveResponse(String reason) {
         gameManager.sendPrivateUpdates();
-        SaveGame.saveGame(gameManager);
         return new Response(reason, MessageStatus.OK);
     }
 
@@ -1299,7 +1424,6 @@ public class RoundManager {
      */
     private Response buildGrenadePositiveResponse(String reason) {
         gameManager.sendGrenadePrivateUpdates();
-        SaveGame.saveGame(gameManager);
         return new Response(reason, MessageStatus.OK);
     }
 
@@ -1311,7 +1435,6 @@ public class RoundManager {
      */
     private Response buildScopePositiveResponse() {
         gameManager.sendPrivateUpdates();
-        SaveGame.saveGame(gameManager);
         return new Response("Shoot Action done, shooter can use a Scope", MessageStatus.NEED_PLAYER_ACTION);
     }
 
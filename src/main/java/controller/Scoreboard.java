@@ -0,0 +1,223 @@
+package controller;
+
+import model.Game;
+import model.player.KillShot;
+import model.player.Player;
+import model.player.PlayerBoard;
+import model.player.PlayerPoints;
+import model.player.UserPlayer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Live scoreboard of a {@link Game Game}. The points that every {@link PlayerBoard PlayerBoard} and the KillShotTrack
+ * would give if the game ended now are updated on each damage, death and {@link KillShot KillShot}, so that the
+ * standings and the projected final points are always available and the end of the game only has to add them
+ */
+class Scoreboard {
+    private final GameManager gameManager;
+    private final Game gameInstance;
+    private final Map<String, Player> players;
+
+    private final Map<String, Map<String, Integer>> pointsByBoard;
+    private final Map<String, Integer> boardsPoints;
+    private Map<String, Integer> trackPoints;
+
+    /**
+     * Creates the scoreboard of the players currently in the game and starts listening to their boards
+     *
+     * @param gameManager the {@link GameManager GameManager} of the game
+     */
+    Scoreboard(GameManager gameManager) {
+        this.gameManager = gameManager;
+        this.gameInstance = gameManager.getGameInstance();
+        this.players = new LinkedHashMap<>();
+        this.pointsByBoard = new HashMap<>();
+        this.boardsPoints = new HashMap<>();
+
+        if (gameInstance.isBotPresent() && gameInstance.getBot() != null) {
+            players.put(gameInstance.getBot().getUsername(), gameInstance.getBot());
+        }
+
+        for (UserPlayer player : gameInstance.getPlayers()) {
+            players.put(player.getUsername(), player);
+        }
+
+        for (Player player : players.values()) {
+            player.getPlayerBoard().setChangeListener(() -> onBoardChanged(player));
+            onBoardChanged(player);
+        }
+
+        onKillShot();
+    }
+
+    /**
+     * @param game the game
+     * @return {@code true} if the scoreboard is listening to the boards of all the players of the game
+     */
+    boolean isAttachedTo(Game game) {
+        int playersNum = game.getPlayers().size();
+
+        if (game.isBotPresent() && game.getBot() != null) {
+            if (players.get(game.getBot().getUsername()) != game.getBot()) {
+                return false;
+            }
+
+            ++playersNum;
+        }
+
+        for (UserPlayer player : game.getPlayers()) {
+            if (players.get(player.getUsername()) != player) {
+                return false;
+            }
+        }
+
+        return players.size() == playersNum;
+    }
+
+    /**
+     * Updates the points given by the board of a player, called every time it changes
+     *
+     * @param owner the owner of the changed board
+     */
+    private void onBoardChanged(Player owner) {
+        Map<String, Integer> newPoints = getBoardPoints(owner.getPlayerBoard());
+        Map<String, Integer> oldPoints = pointsByBoard.put(owner.getUsername(), newPoints);
+
+        if (oldPoints != null) {
+            oldPoints.forEach((receiver, points) -> boardsPoints.merge(receiver, -points, Integer::sum));
+        }
+
+        newPoints.forEach((receiver, points) -> boardsPoints.merge(receiver, points, Integer::sum));
+    }
+
+    /**
+     * Updates the points given by the KillShotTrack, called every time a {@link KillShot KillShot} is added
+     */
+    void onKillShot() {
+        trackPoints = getTrackPoints();
+    }
+
+    /**
+     * @param username the username of a player
+     * @return the points that the player would have if the game ended now
+     */
+    int getProjectedPoints(String username) {
+        Player player = players.get(username);
+
+        if (player == null) {
+            return 0;
+        }
+
+        return player.getPoints() + boardsPoints.getOrDefault(username, 0) + trackPoints.getOrDefault(username, 0);
+    }
+
+    /**
+     * @return the {@link PlayerPoints PlayerPoints} of each player with the points he would have if the game ended
+     * now, the best first
+     */
+    List<PlayerPoints> getStandings() {
+        return players.values().stream()
+                .map(player -> new PlayerPoints(player.getUsername(), player.getColor(), getProjectedPoints(player.getUsername())))
+                .sorted(Comparator.comparingInt(PlayerPoints::getPoints).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gives to each player the points of the boards still damaged and of the KillShotTrack, called when the game ends
+     */
+    void finalizePoints() {
+        Map<String, Integer> lastPoints = new LinkedHashMap<>(boardsPoints);
+        trackPoints.forEach((receiver, points) -> lastPoints.merge(receiver, points, Integer::sum));
+
+        for (Map.Entry<String, Integer> entry : lastPoints.entrySet()) {
+            if (entry.getValue() != 0) {
+                gameInstance.getUserPlayerByUsername(entry.getKey()).addPoints(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Computes the points that a board gives when its owner dies: the first blood point if the board is not flipped
+     * and the board points in order of damage, the first damage dealer winning the ties
+     *
+     * @param playerBoard the board
+     * @return the points of each damage dealer on the board
+     */
+    Map<String, Integer> getBoardPoints(PlayerBoard playerBoard) {
+        List<String> damages = playerBoard.getDamages();
+        Map<String, Integer> points = new HashMap<>();
+
+        if (damages.isEmpty()) {
+            return points;
+        }
+
+        if (!playerBoard.isBoardFlipped()) {     // first blood assignment
+            points.put(damages.get(0), 1);
+        }
+
+        distribute(damages, Collections.emptyList(), playerBoard.getBoardPoints(), points);
+        return points;
+    }
+
+    /**
+     * Computes the points that the KillShotTrack gives: killers are ordered by the number of their killshots plus the
+     * points of their killshots, the first on the track winning the ties
+     *
+     * @return the points of each killer
+     */
+    private Map<String, Integer> getTrackPoints() {
+        List<String> killers = new ArrayList<>();
+        List<Integer> killPoints = new ArrayList<>();
+
+        for (KillShot killShot : gameInstance.getKillShotTrack()) {
+            killers.add(killShot.getKiller());
+            killPoints.add(killShot.getPoints());
+        }
+
+        for (KillShot killShot : gameInstance.getFinalFrenzyKillShots()) {
+            killers.add(killShot.getKiller());
+            killPoints.add(killShot.getPoints());
+        }
+
+        Map<String, Integer> points = new HashMap<>();
+        distribute(killers, killPoints, gameInstance.getTrackerPoints(), points);
+        return points;
+    }
+
+    /**
+     * Gives the available points to the receivers ordered with
+     * {@link GameManager.DamageCountWrapper DamageCountWrapper}
+     *
+     * @param tokens          the receiver of each token, in order
+     * @param tokenWeights    an additional weight of each token, empty if tokens have no weight
+     * @param availablePoints the points to give, the best receiver gets the first
+     * @param points          the map where points are added
+     */
+    private void distribute(List<String> tokens, List<Integer> tokenWeights, Integer[] availablePoints, Map<String, Integer> points) {
+        Map<String, GameManager.DamageCountWrapper> receivers = new LinkedHashMap<>();
+        Map<String, Integer> firstPositions = new HashMap<>();
+        Map<String, Integer> weights = new HashMap<>();
+
+        for (int i = 0; i < tokens.size(); ++i) {
+            String receiver = tokens.get(i);
+
+            firstPositions.putIfAbsent(receiver, firstPositions.size());
+            weights.merge(receiver, 1 + (tokenWeights.isEmpty() ? 0 : tokenWeights.get(i)), Integer::sum);
+        }
+
+        for (Map.Entry<String, Integer> entry : firstPositions.entrySet()) {
+            receivers.put(entry.getKey(), gameManager.new DamageCountWrapper(entry.getValue(), weights.get(entry.getKey())));
+        }
+
+        List<String> orderedReceivers = receivers.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < orderedReceivers.size() && i < availablePoints.length; ++i) {
+            points.merge(orderedReceivers.get(i), availablePoints[i], Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package controller;
+
+import enumerations.MessageContent;
+import network.message.Message;
+import network.message.Response;
+
+import java.util.*;
+
+/**
+ * Table of the messages accepted by the {@link GameManager GameManager} in each state. Every state has its own row
+ * that maps the {@link MessageContent MessageContent} of the accepted messages to the handler that executes them, so
+ * that a message is dispatched with a single lookup and a message without an handler in the current state is refused
+ * before being handled. The same rows tell which messages a player is allowed to send
+ *
+ * @param <S> the enumeration of the states used as rows of the table
+ */
+class TransitionTable<S extends Enum<S>> {
+    private final Map<S, Map<MessageContent, Handler>> rows;
+
+    /**
+     * Creates an empty table
+     *
+     * @param stateClass the class of the states of the table
+     */
+    TransitionTable(Class<S> stateClass) {
+        this.rows = new EnumMap<>(stateClass);
+    }
+
+    /**
+     * Adds to the table the handler of a message in some states
+     *
+     * @param content the content of the accepted message
+     * @param handler the handler of the message
+     * @param states  the states in which the message is accepted
+     * @return this table
+     */
+    @SafeVarargs
+    final TransitionTable<S> accept(MessageContent content, Handler handler, S... states) {
+        for (S state : states) {
+            if (rows.computeIfAbsent(state, s -> new EnumMap<>(MessageContent.class)).putIfAbsent(content, handler) != null) {
+                throw new IllegalArgumentException(content + " has already an handler in state " + state);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * @param state   the current state
+     * @param content the content of the received message
+     * @return the handler of the message in the state, {@code null} if the message is not accepted in the state
+     */
+    Handler getHandler(S state, MessageContent content) {
+        Map<MessageContent, Handler> row = rows.get(state);
+        return row != null ? row.get(content) : null;
+    }
+
+    /**
+     * @param state the current state
+     * @return the content of the messages accepted in the state
+     */
+    Set<MessageContent> getAccepted(S state) {
+        Map<MessageContent, Handler> row = rows.get(state);
+        return row != null ? EnumSet.copyOf(row.keySet()) : EnumSet.noneOf(MessageContent.class);
+    }
+
+    /**
+     * Executes a message accepted in the current state of the {@link GameManager GameManager}
+     */
+    @FunctionalInterface
+    interface Handler {
+        /**
+         * @param gameManager     the {@link GameManager GameManager} that received the message
+         * @param receivedMessage the received message, its content is the one of the handler
+         * @return a positive or negative {@link Response Response} handled by the server
+         */
+        Response handle(GameManager gameManager, Message receivedMessage);
+    }
+}
@@ -1,13 +1,21 @@
 package controller;
 
 import enumerations.PossibleGameState;
+import enumerations.PossiblePlayerState;
+import enumerations.RoomColor;
+import model.Game;
 import model.player.Player;
 import model.player.UserPlayer;
+import network.message.PowerupRequest;
 import utility.GameConstants;
+import utility.persistency.SnapshotInput;
+import utility.persistency.SnapshotOutput;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -28,6 +36,19 @@ public class TurnManager implements Serializable {
     private UserPlayer markedByGrenadePlayer;
     private boolean markingTerminator;
 
+    /**
+     * Answers to the TAGBACK GRENADE prompt in progress by username, {@code null} when the player does not use his
+     * grenades. They are not written in the snapshots: a game reloaded during a prompt asks again the players
+     */
+    private Map<String, PowerupRequest> grenadeAnswers;
+
+    /**
+     * Choices of the respawn prompt in progress: the index of the powerup chosen by each dead player and the color
+     * chosen for the terminator. As the grenade answers they are not written in the snapshots
+     */
+    private Map<String, Integer> respawnChoices;
+    private RoomColor terminatorRespawnColor;
+
     private boolean firstTurn;
     private boolean secondAction;
 
@@ -72,6 +93,9 @@ public class TurnManager implements Serializable {
 
         this.markedByGrenadePlayer = other.markedByGrenadePlayer;
         this.markingTerminator = other.markingTerminator;
+        this.grenadeAnswers = other.grenadeAnswers;
+        this.respawnChoices = other.respawnChoices;
+        this.terminatorRespawnColor = other.terminatorRespawnColor;
 
         this.firstTurn = other.firstTurn;
         this.secondAction = other.secondAction;
@@ -85,6 +109,163 @@ public class TurnManager implements Serializable {
         this.turnCount = other.turnCount;
     }
 
+    /**
+     * Creates a detached copy of a {@link TurnManager TurnManager} bound to a copy of its {@link model.Game Game}:
+     * every player is replaced with the one having the same username in the copied game
+     *
+     * @param other    the {@link TurnManager TurnManager} to be copied
+     * @param gameCopy the copy of the {@link model.Game Game} the new {@link TurnManager TurnManager} refers to
+     */
+    TurnManager(TurnManager other, Game gameCopy) {
+        this.turnOwner = copiedPlayer(other.turnOwner, gameCopy);
+        this.lastPlayer = copiedPlayer(other.lastPlayer, gameCopy);
+        this.lastRoundPlayer = copiedPlayer(other.lastRoundPlayer, gameCopy);
+
+        this.players = copiedPlayers(other.players, gameCopy);
+        this.frenzyActivator = copiedPlayer(other.frenzyActivator, gameCopy);
+        this.damagedPlayers = copiedPlayers(other.damagedPlayers, gameCopy);
+        this.deathPlayers = copiedPlayers(other.deathPlayers, gameCopy);
+
+        this.markedByGrenadePlayer = copiedPlayer(other.markedByGrenadePlayer, gameCopy);
+        this.markingTerminator = other.markingTerminator;
+        this.grenadeAnswers = new LinkedHashMap<>(other.getGrenadeAnswers());
+        this.respawnChoices = new LinkedHashMap<>(other.getRespawnChoices());
+        this.terminatorRespawnColor = other.terminatorRespawnColor;
+
+        this.firstTurn = other.firstTurn;
+        this.secondAction = other.secondAction;
+
+        this.afterFrenzy = copiedPlayers(other.afterFrenzy, gameCopy);
+        this.beforeFrenzy = copiedPlayers(other.beforeFrenzy, gameCopy);
+
+        this.arrivingGameState = other.arrivingGameState;
+
+        this.count = other.count;
+        this.turnCount = other.turnCount;
+    }
+
+    /**
+     * Creates a {@link TurnManager TurnManager} reading it from a snapshot written by
+     * {@link #writeSnapshot(SnapshotOutput) writeSnapshot}
+     *
+     * @param in   the snapshot reader
+     * @param game the restored {@link model.Game Game} the players are taken from
+     */
+    TurnManager(SnapshotInput in, Game game) {
+        this.lastRoundPlayer = readPlayer(in, game);
+        this.turnOwner = readPlayer(in, game);
+        this.lastPlayer = readPlayer(in, game);
+
+        this.players = readPlayers(in, game);
+        this.frenzyActivator = readPlayer(in, game);
+        this.damagedPlayers = readPlayers(in, game);
+        this.deathPlayers = readPlayers(in, game);
+
+        this.markedByGrenadePlayer = readPlayer(in, game);
+        this.markingTerminator = in.readBoolean();
+
+        this.firstTurn = in.readBoolean();
+        this.secondAction = in.readBoolean();
+
+        this.afterFrenzy = readPlayers(in, game);
+        this.beforeFrenzy = readPlayers(in, game);
+
+        this.arrivingGameState = in.readEnum(PossibleGameState.class);
+
+        this.count = in.readInt();
+        this.turnCount = in.readInt();
+    }
+
+    /**
+     * Writes the state of the {@link TurnManager TurnManager} to a snapshot, players are written by their username
+     *
+     * @param out the snapshot writer
+     */
+    void writeSnapshot(SnapshotOutput out) {
+        writePlayer(out, lastRoundPlayer);
+        writePlayer(out, turnOwner);
+        writePlayer(out, lastPlayer);
+
+        writePlayers(out, players);
+        writePlayer(out, frenzyActivator);
+        writePlayers(out, damagedPlayers);
+        writePlayers(out, deathPlayers);
+
+        writePlayer(out, markedByGrenadePlayer);
+        out.writeBoolean(markingTerminator);
+
+        out.writeBoolean(firstTurn);
+        out.writeBoolean(secondAction);
+
+        writePlayers(out, afterFrenzy);
+        writePlayers(out, beforeFrenzy);
+
+        out.writeEnum(arrivingGameState);
+
+        out.writeInt(count);
+        out.writeInt(turnCount);
+    }
+
+    private static void writePlayer(SnapshotOutput out, Player player) {
+        out.writeString(player != null ? player.getUsername() : null);
+    }
+
+    private static void writePlayers(SnapshotOutput out, List<? extends Player> players) {
+        out.writeBoolean(players != null);
+
+        if (players != null) {
+            out.writeInt(players.size());
+
+            for (Player player : players) {
+                writePlayer(out, player);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Player> T readPlayer(SnapshotInput in, Game game) {
+        String username = in.readString();
+        return username != null ? (T) game.getUserPlayerByUsername(username) : null;
+    }
+
+    private static <T extends Player> List<T> readPlayers(SnapshotInput in, Game game) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        int count = in.readInt();
+        List<T> readPlayers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            readPlayers.add(readPlayer(in, game));
+        }
+
+        return readPlayers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Player> T copiedPlayer(T player, Game gameCopy) {
+        if (player == null) {
+            return null;
+        }
+
+        return (T) gameCopy.getUserPlayerByUsername(player.getUsername());
+    }
+
+    private static <T extends Player> List<T> copiedPlayers(List<T> players, Game gameCopy) {
+        if (players == null) {
+            return null;
+        }
+
+        List<T> copiedPlayers = new ArrayList<>(players.size());
+
+        for (T player : players) {
+            copiedPlayers.add(copiedPlayer(player, gameCopy));
+        }
+
+        return copiedPlayers;
+    }
+
     /**
      * @return the {@link UserPlayer UserPlayer} owning the Turn
      */
@@ -152,6 +333,64 @@ public class TurnManager implements Serializable {
         return grenadePossessors;
     }
 
+    /**
+     * @return true if a connected {@link UserPlayer UserPlayer} can use a TAGBACK GRENADE, otherwise false
+     */
+    boolean hasGrenadeUsers() {
+        return getGrenadePossibleUsers().stream().anyMatch(grenadeUser -> grenadeUser.getPlayerState() != PossiblePlayerState.DISCONNECTED);
+    }
+
+    /**
+     * Starts a TAGBACK GRENADE prompt: all the {@link #getGrenadePossibleUsers() possible users} are asked at the same
+     * time while the turn stays to the shooting player
+     */
+    void startGrenadePrompt() {
+        this.grenadeAnswers = new LinkedHashMap<>();
+    }
+
+    /**
+     * @return the {@link UserPlayer UserPlayers} that can use a TAGBACK GRENADE and have not answered the prompt yet,
+     * disconnected players are never waited
+     */
+    List<UserPlayer> getPendingGrenadeUsers() {
+        List<UserPlayer> pendingUsers = new ArrayList<>();
+
+        for (UserPlayer grenadeUser : getGrenadePossibleUsers()) {
+            if (!getGrenadeAnswers().containsKey(grenadeUser.getUsername()) && grenadeUser.getPlayerState() != PossiblePlayerState.DISCONNECTED) {
+                pendingUsers.add(grenadeUser);
+            }
+        }
+
+        return pendingUsers;
+    }
+
+    /**
+     * Records the answer of a player to the TAGBACK GRENADE prompt, it is applied once every player has answered
+     *
+     * @param grenadeUser    the {@link UserPlayer UserPlayer} answering
+     * @param granadeMessage the {@link PowerupRequest GranadeRequest} of the player, {@code null} if he does not use
+     *                       his grenades
+     */
+    void answerGrenade(UserPlayer grenadeUser, PowerupRequest granadeMessage) {
+        getGrenadeAnswers().put(grenadeUser.getUsername(), granadeMessage);
+    }
+
+    /**
+     * @param grenadeUser a {@link UserPlayer UserPlayer} that answered the TAGBACK GRENADE prompt
+     * @return the {@link PowerupRequest GranadeRequest} of the player, {@code null} if he does not use his grenades
+     */
+    PowerupRequest getGrenadeAnswer(UserPlayer grenadeUser) {
+        return getGrenadeAnswers().get(grenadeUser.getUsername());
+    }
+
+    private Map<String, PowerupRequest> getGrenadeAnswers() {
+        if (grenadeAnswers == null) {
+            grenadeAnswers = new LinkedHashMap<>();
+        }
+
+        return grenadeAnswers;
+    }
+
     /**
      * @return an ArrayList of dead {@link UserPlayer UserPlayers}, it is used to give them the turn to Respawn
      */
@@ -171,6 +410,73 @@ public class TurnManager implements Serializable {
         }
     }
 
+    /**
+     * Starts a respawn prompt: all the {@link #getDeathPlayers() dead players}, and the turn owner when the
+     * terminator has to respawn, are asked at the same time while the turn stays to the turn owner
+     */
+    void startRespawnPrompt() {
+        this.respawnChoices = new LinkedHashMap<>();
+        this.terminatorRespawnColor = null;
+    }
+
+    /**
+     * @return the dead {@link UserPlayer UserPlayers} that have not chosen their respawn powerup yet, disconnected
+     * players are never waited
+     */
+    List<UserPlayer> getPendingRespawnPlayers() {
+        List<UserPlayer> pendingPlayers = new ArrayList<>();
+
+        if (deathPlayers != null) {
+            for (UserPlayer deathPlayer : deathPlayers) {
+                if (!getRespawnChoices().containsKey(deathPlayer.getUsername()) && deathPlayer.getPlayerState() != PossiblePlayerState.DISCONNECTED) {
+                    pendingPlayers.add(deathPlayer);
+                }
+            }
+        }
+
+        return pendingPlayers;
+    }
+
+    /**
+     * Records the respawn powerup chosen by a dead player, the players respawn once every choice is done
+     *
+     * @param deathPlayer  the dead {@link UserPlayer UserPlayer}
+     * @param powerupIndex the index of the powerup chosen, 3 for the drawn one
+     */
+    void chooseRespawn(UserPlayer deathPlayer, int powerupIndex) {
+        getRespawnChoices().put(deathPlayer.getUsername(), powerupIndex);
+    }
+
+    /**
+     * @param deathPlayer a dead {@link UserPlayer UserPlayer}
+     * @return the index of the powerup chosen by the player, {@code null} if he has not chosen
+     */
+    Integer getRespawnChoice(UserPlayer deathPlayer) {
+        return getRespawnChoices().get(deathPlayer.getUsername());
+    }
+
+    private Map<String, Integer> getRespawnChoices() {
+        if (respawnChoices == null) {
+            respawnChoices = new LinkedHashMap<>();
+        }
+
+        return respawnChoices;
+    }
+
+    /**
+     * @return the color of the spawn square chosen for the terminator, {@code null} if it has not been chosen
+     */
+    RoomColor getTerminatorRespawnColor() {
+        return terminatorRespawnColor;
+    }
+
+    /**
+     * @param terminatorRespawnColor the color of the spawn square chosen for the terminator
+     */
+    void setTerminatorRespawnColor(RoomColor terminatorRespawnColor) {
+        this.terminatorRespawnColor = terminatorRespawnColor;
+    }
+
     /**
      * @return the "real" turn owner while a TAGBACK GRENADE usage is getting maneged
      */
@@ -262,8 +568,7 @@ public class TurnManager implements Serializable {
     }
 
     /**
-     * Method that resets the parameter {@link #count} used to give the Turn to each {@link UserPlayer UserPlayer} during
-     * the usage of a TAGBACK GRANADE or while Respawning
+     * Method that resets the parameter {@link #count}
      */
     void resetCount() {
         this.turnCount = 0;
@@ -0,0 +1,317 @@
+package controller.ai;
+
+import controller.GameManager;
+import enumerations.MessageContent;
+import enumerations.MessageStatus;
+import enumerations.PossibleGameState;
+import model.player.PlayerPoints;
+import network.message.Message;
+import network.message.Response;
+import network.server.Server;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+
+/**
+ * Time bounded search of the best message that a player can send. Each candidate of the
+ * {@link MoveGenerator MoveGenerator} is played on a {@link GameManager#fork() fork} of the game,
+ * followed by random messages until the player has nothing left to do in his turn, and the copy is then evaluated
+ * on the projected points of the players. Candidates to be tried are chosen with UCB1, so that the most promising
+ * ones are tried more often, and the copies are played in parallel by a worker for each core until the deadline
+ */
+public class MonteCarloSearch {
+    /**
+     * Maximum number of random messages played after a candidate
+     */
+    private static final int PLAYOUT_DEPTH = 6;
+    private static final double EXPLORATION = 3.0;
+
+    private final ExecutorService workers;
+    private final int workersNum;
+
+    /**
+     * Creates a search that uses a worker for each available core
+     */
+    public MonteCarloSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a search that uses a fixed number of workers
+     *
+     * @param workersNum the number of workers
+     */
+    public MonteCarloSearch(int workersNum) {
+        this.workersNum = Math.max(1, workersNum);
+        this.workers = Executors.newFixedThreadPool(this.workersNum, runnable -> {
+            Thread thread = new Thread(runnable, "ai-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the message to be sent by a player until the deadline
+     *
+     * @param root     a {@link GameManager#snapshot() snapshot} of the game, it is only copied and never changed
+     * @param username the username of the player
+     * @param token    the token of the player
+     * @param moveTime the time in milliseconds after which the best message found is returned
+     * @return the best message found, {@code null} if the player can not act
+     */
+    public Message search(GameManager root, String username, String token, long moveTime) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(moveTime);
+        SearchTree tree = new SearchTree(MoveGenerator.generate(root.fork(), username, token).size());
+
+        if (tree.size() == 0) {
+            return null;
+        }
+
+        if (tree.size() > 1) {
+            List<Future<?>> running = new ArrayList<>();
+
+            for (int i = 0; i < workersNum; ++i) {
+                running.add(workers.submit(() -> runWorker(tree, root, username, token, deadline)));
+            }
+
+            awaitDeadline(running, deadline);
+        }
+
+        int best = tree.getBest();
+        if (best < 0) {
+            return firstAccepted(root, username, token);
+        }
+
+        Server.LOGGER.log(Level.INFO, "AI {0} searched {1} playouts over {2} candidates",
+                new Object[]{username, tree.getPlayouts(), tree.size()});
+        return MoveGenerator.generate(root.fork(), username, token).get(best);
+    }
+
+    /**
+     * Used when the deadline comes before any candidate has been tried
+     *
+     * @return the first candidate accepted by a copy of the game, {@code null} if every candidate is refused
+     */
+    private static Message firstAccepted(GameManager root, String username, String token) {
+        int candidatesNum = MoveGenerator.generate(root.fork(), username, token).size();
+
+        for (int i = 0; i < candidatesNum; ++i) {
+            if (isAccepted(play(root.fork(), i, username, token))) {
+                return MoveGenerator.generate(root.fork(), username, token).get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Stops the workers of the search
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void awaitDeadline(List<Future<?>> running, long deadline) {
+        try {
+            for (Future<?> future : running) {
+                long left = deadline - System.nanoTime();
+                if (left > 0) {
+                    future.get(left, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // a playout still running after the deadline is not waited
+        } finally {
+            running.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Plays copies of the game until the deadline, adding the result of each one to the tree
+     */
+    private void runWorker(SearchTree tree, GameManager root, String username, String token, long deadline) {
+        Random random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            int candidate = tree.select();
+            if (candidate < 0) {
+                return;
+            }
+
+            GameManager simulation = root.fork();
+
+            if (!isAccepted(play(simulation, candidate, username, token))) {
+                tree.reject(candidate);
+                continue;
+            }
+
+            playout(simulation, username, token, random);
+            tree.update(candidate, evaluate(simulation, username));
+        }
+    }
+
+    /**
+     * Plays random messages of the player on the copy until his turn ends
+     */
+    private static void playout(GameManager simulation, String username, String token, Random random) {
+        for (int depth = 0; depth < PLAYOUT_DEPTH && simulation.getGameState() != PossibleGameState.GAME_ENDED; ++depth) {
+            List<Message> candidates = MoveGenerator.generate(simulation, username, token);
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            Collections.shuffle(candidates, random);
+            // ending the turn is tried last, so that the random player keeps acting while he can
+            candidates.sort(Comparator.comparing(message -> message.getContent() == MessageContent.PASS_TURN));
+
+            Message played = null;
+            for (Message message : candidates) {
+                Response response = play(simulation, message);
+
+                if (response == null) {
+                    // the copy can not be trusted any more
+                    return;
+                }
+
+                if (isAccepted(response)) {
+                    played = message;
+                    break;
+                }
+            }
+
+            if (played == null) {
+                return;
+            }
+        }
+    }
+
+    private static Response play(GameManager simulation, int candidate, String username, String token) {
+        return play(simulation, MoveGenerator.generate(simulation, username, token).get(candidate));
+    }
+
+    /**
+     * @return the response of the copy, {@code null} if the message broke the copy
+     */
+    private static Response play(GameManager simulation, Message message) {
+        try {
+            Message response = simulation.onSimulatedMessage(message);
+            return response instanceof Response ? (Response) response : new Response("", MessageStatus.OK);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAccepted(Response response) {
+        return response != null && response.getStatus() != MessageStatus.ERROR;
+    }
+
+    /**
+     * @return the projected points of the player minus the ones of his best opponent
+     */
+    private static double evaluate(GameManager simulation, String username) {
+        int own = 0;
+        int bestOpponent = 0;
+
+        for (PlayerPoints playerPoints : simulation.getStandings()) {
+            if (playerPoints.getUserName().equals(username)) {
+                own = playerPoints.getPoints();
+            } else {
+                bestOpponent = Math.max(bestOpponent, playerPoints.getPoints());
+            }
+        }
+
+        return (double) own - bestOpponent;
+    }
+
+    /**
+     * Statistics of the candidates shared by the workers
+     */
+    private static class SearchTree {
+        private final int[] visits;
+        private final double[] totals;
+        private final boolean[] rejected;
+        private int playouts;
+
+        SearchTree(int size) {
+            visits = new int[size];
+            totals = new double[size];
+            rejected = new boolean[size];
+        }
+
+        int size() {
+            return visits.length;
+        }
+
+        /**
+         * Chooses the candidate to be tried: the ones never tried first, then the one with the best UCB1 value. The
+         * choice is counted as a visit at once, so that workers running together spread over the candidates
+         *
+         * @return the chosen candidate, -1 if every candidate is refused
+         */
+        synchronized int select() {
+            int chosen = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logPlayouts = Math.log(Math.max(1, playouts));
+
+            for (int i = 0; i < visits.length; ++i) {
+                if (rejected[i]) {
+                    continue;
+                }
+
+                if (visits[i] == 0) {
+                    chosen = i;
+                    break;
+                }
+
+                double value = totals[i] / visits[i] + EXPLORATION * Math.sqrt(logPlayouts / visits[i]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    chosen = i;
+                }
+            }
+
+            if (chosen >= 0) {
+                ++visits[chosen];
+                ++playouts;
+            }
+
+            return chosen;
+        }
+
+        synchronized void reject(int candidate) {
+            rejected[candidate] = true;
+        }
+
+        synchronized void update(int candidate, double result) {
+            totals[candidate] += result;
+        }
+
+        synchronized int getPlayouts() {
+            return playouts;
+        }
+
+        /**
+         * @return the most tried candidate among the accepted ones, the best average breaking the ties, -1 if every
+         * candidate is refused
+         */
+        synchronized int getBest() {
+            int best = -1;
+
+            for (int i = 0; i < visits.length; ++i) {
+                if (rejected[i] || visits[i] == 0) {
+                    continue;
+                }
+
+                if (best < 0 || visits[i] > visits[best] ||
+                        (visits[i] == visits[best] && totals[i] / visits[i] > totals[best] / visits[best])) {
+                    best = i;
+                }
+            }
+
+            return best;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package controller.ai;
+
+import controller.GameManager;
+import enumerations.Ammo;
+import enumerations.MessageContent;
+import enumerations.PossibleGameState;
+import enumerations.SquareType;
+import model.Game;
+import model.cards.PowerupCard;
+import model.cards.WeaponCard;
+import model.map.Square;
+import model.map.SpawnSquare;
+import model.player.PlayerPosition;
+import model.player.UserPlayer;
+import network.message.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates the candidate messages that a player can send in the current state of a {@link GameManager GameManager}.
+ * Candidates are only shaped on the messages accepted in the state: the ones that break a rule of the game are
+ * refused by the {@link GameManager GameManager} when they are played on a fork of the game.
+ * Candidates are always generated in the same order for equal games, so that the same index refers to the same move
+ * on every copy of a game
+ */
+public class MoveGenerator {
+    /**
+     * Index of the powerup drawn for a dead player in his respawn request
+     */
+    private static final int RESPAWN_DRAWN_POWERUP = 3;
+
+    private MoveGenerator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Generates the candidate messages of a player
+     *
+     * @param gameManager the {@link GameManager GameManager} of the game, the messages can only be played on it
+     *                    as they refer to its cards
+     * @param username    the username of the player
+     * @param token       the token of the player
+     * @return the candidate messages, empty if the player can not act
+     */
+    public static List<Message> generate(GameManager gameManager, String username, String token) {
+        List<Message> candidates = new ArrayList<>();
+        Game game = gameManager.getGameInstance();
+        UserPlayer player = (UserPlayer) game.getUserPlayerByUsername(username);
+
+        for (MessageContent content : gameManager.getAllowedMessages(username)) {
+            switch (content) {
+                case DISCARD_POWERUP:
+                    for (int i = 0; i < player.getPowerups().length; ++i) {
+                        candidates.add(new DiscardPowerupRequest(username, token, i));
+                    }
+
+                    if (player.getSpawningCard() != null) {
+                        // a dead player can also respawn with the powerup drawn for him
+                        candidates.add(new DiscardPowerupRequest(username, token, RESPAWN_DRAWN_POWERUP));
+                    }
+                    break;
+                case BOT_SPAWN:
+                    for (Ammo ammo : Ammo.values()) {
+                        candidates.add(new BotSpawnRequest(username, token, Ammo.toColor(ammo)));
+                    }
+                    break;
+                case MOVE:
+                    for (PlayerPosition position : getPositions(game)) {
+                        candidates.add(new MoveRequest(username, token, position));
+                    }
+                    break;
+                case MOVE_PICK:
+                    addPickCandidates(candidates, game, player, token);
+                    break;
+                case SHOOT:
+                    addShootCandidates(candidates, game, player, token);
+                    break;
+                case RELOAD:
+                    addReloadCandidates(candidates, player, token);
+                    break;
+                case POWERUP_USAGE:
+                    addPowerupCandidates(candidates, gameManager.getGameState(), game, player, token);
+                    break;
+                case BOT_ACTION:
+                    if (!game.isBotPresent() || game.getBot() == null) {
+                        break;
+                    }
+
+                    for (PlayerPosition position : getPositions(game)) {
+                        // the terminator can also move without shooting
+                        candidates.add(new BotUseRequest(username, token, position, null));
+
+                        for (String target : getTargets(game, username)) {
+                            if (!target.equals(game.getBot().getUsername())) {
+                                candidates.add(new BotUseRequest(username, token, position, target));
+                            }
+                        }
+                    }
+                    break;
+                case PASS_TURN:
+                    candidates.add(new PassTurnRequest(username, token));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * @param game the game
+     * @return the position of each square of the map, row by row
+     */
+    private static List<PlayerPosition> getPositions(Game game) {
+        List<PlayerPosition> positions = new ArrayList<>();
+        Square[][] rooms = game.getGameMap().getRooms();
+
+        for (int i = 0; i < rooms.length; ++i) {
+            for (int j = 0; j < rooms[i].length; ++j) {
+                if (rooms[i][j] != null) {
+                    positions.add(new PlayerPosition(i, j));
+                }
+            }
+        }
+
+        return positions;
+    }
+
+    /**
+     * @param game     the game
+     * @param username the username of the acting player
+     * @return the usernames of the players in the game but the acting one, the terminator included
+     */
+    private static List<String> getTargets(Game game, String username) {
+        List<String> targets = new ArrayList<>();
+
+        for (UserPlayer player : game.getPlayers()) {
+            if (!player.getUsername().equals(username)) {
+                targets.add(player.getUsername());
+            }
+        }
+
+        if (game.isBotPresent() && game.getBot() != null) {
+            targets.add(game.getBot().getUsername());
+        }
+
+        return targets;
+    }
+
+    private static void addPickCandidates(List<Message> candidates, Game game, UserPlayer player, String token) {
+        WeaponCard[] ownedWeapons = player.getWeapons();
+
+        for (PlayerPosition position : getPositions(game)) {
+            Square square = game.getGameMap().getSquare(position);
+
+            if (square.getSquareType() == SquareType.SPAWN) {
+                for (WeaponCard weapon : ((SpawnSquare) square).getWeapons()) {
+                    if (weapon == null) {
+                        continue;
+                    }
+
+                    if (ownedWeapons.length < 3) {
+                        candidates.add(new MovePickRequest(player.getUsername(), token, position, Collections.emptyList(), weapon, null));
+                    } else {
+                        for (WeaponCard discarding : ownedWeapons) {
+                            candidates.add(new MovePickRequest(player.getUsername(), token, position, Collections.emptyList(), weapon, discarding));
+                        }
+                    }
+                }
+            } else {
+                candidates.add(new MovePickRequest(player.getUsername(), token, position, Collections.emptyList(), null, null));
+            }
+        }
+    }
+
+    private static void addShootCandidates(List<Message> candidates, Game game, UserPlayer player, String token) {
+        WeaponCard[] weapons = player.getWeapons();
+
+        for (int i = 0; i < weapons.length; ++i) {
+            if (weapons[i].status() != WeaponCard.CHARGED) {
+                continue;
+            }
+
+            for (int effect = 0; effect <= weapons[i].getSecondaryEffects().size(); ++effect) {
+                for (String target : getTargets(game, player.getUsername())) {
+                    candidates.add(new ShootRequest.ShootRequestBuilder(player.getUsername(), token, i, effect)
+                            .targetPlayersUsernames(List.of(target))
+                            .targetPositions(Collections.emptyList())
+                            .targetPlayersMovePositions(Collections.emptyList())
+                            .paymentPowerups(Collections.emptyList())
+                            .rechargingWeapons(Collections.emptyList())
+                            .build());
+                }
+            }
+        }
+    }
+
+    private static void addReloadCandidates(List<Message> candidates, UserPlayer player, String token) {
+        List<Integer> unloaded = new ArrayList<>();
+        WeaponCard[] weapons = player.getWeapons();
+
+        for (int i = 0; i < weapons.length; ++i) {
+            if (weapons[i].status() != WeaponCard.CHARGED) {
+                unloaded.add(i);
+                candidates.add(new ReloadRequest(player.getUsername(), token, List.of(i), Collections.emptyList()));
+            }
+        }
+
+        if (unloaded.size() > 1) {
+            candidates.add(new ReloadRequest(player.getUsername(), token, unloaded, Collections.emptyList()));
+        }
+    }
+
+    private static void addPowerupCandidates(List<Message> candidates, PossibleGameState gameState, Game game, UserPlayer player, String token) {
+        String username = player.getUsername();
+        PowerupCard[] powerups = player.getPowerups();
+
+        if (gameState == PossibleGameState.SCOPE_USAGE) {
+            // a scope can also not be used
+            candidates.add(new PowerupRequest.PowerupRequestBuilder(username, token, Collections.emptyList()).build());
+        }
+
+        for (int i = 0; i < powerups.length; ++i) {
+            List<Integer> powerup = List.of(i);
+
+            switch (gameState) {
+                case GRANADE_USAGE:
+                    candidates.add(new PowerupRequest.PowerupRequestBuilder(username, token, powerup).build());
+                    break;
+                case SCOPE_USAGE:
+                    for (String target : getTargets(game, username)) {
+                        for (Ammo ammo : Ammo.values()) {
+                            candidates.add(new PowerupRequest.PowerupRequestBuilder(username, token, powerup)
+                                    .targetPlayersUsername(List.of(target))
+                                    .ammoColor(List.of(ammo))
+                                    .build());
+                        }
+                    }
+                    break;
+                default:
+                    // moving powerups: the owner or a target is moved to a square
+                    for (PlayerPosition position : getPositions(game)) {
+                        candidates.add(new PowerupRequest.PowerupRequestBuilder(username, token, powerup)
+                                .senderMovePosition(position)
+                                .build());
+
+                        for (String target : getTargets(game, username)) {
+                            candidates.add(new PowerupRequest.PowerupRequestBuilder(username, token, powerup)
+                                    .targetPlayersUsername(List.of(target))
+                                    .targetPlayersMovePositions(List.of(position))
+                                    .build());
+                        }
+                    }
+                    break;
+            }
+        }
+    }
+}
@@ -6,34 +6,43 @@ package enumerations;
  * the validation can be done more fluently
  */
 public enum PossibleAction {
-    SPAWN_BOT("Choose a bot spawn point"),
-    RESPAWN_BOT("Choose a bot respawn point"),
-    CHOOSE_SPAWN("Choose spawn point"),
-    CHOOSE_RESPAWN("Choose respawn point"),
-    POWER_UP("Use a powerup"),
-    GRENADE_USAGE("Use the tagback tagbackGrenade"),
-    SCOPE_USAGE("Choose if use targeting scope"),
-    MOVE("Move up to 3 boxes"),
-    MOVE_AND_PICK("Move up to 1 box and pick up weapon or power up"),
-    SHOOT("Shoot a player"),
-    RELOAD("Reload your weapons"),
-    ADRENALINE_PICK("Move up to 2 boxes and pick up weapon or power up"),
-    ADRENALINE_SHOOT("Move up to 1 box and shoot a player"),
-    FRENZY_MOVE("Move up to 4 boxes"),
-    FRENZY_PICK("Move up to 2 boxes and pick up weapon or power up"),
-    FRENZY_SHOOT("Move up to 1 box and choose first to reload, then shoot a player"),
-    LIGHT_FRENZY_PICK("Move up to 3 boxes and pick up weapon or power up"),
-    LIGHT_FRENZY_SHOOT("Move up to 2 boxes and choose first to reload, then shoot a player"),
-    BOT_ACTION("Do the bot action"),
-    PASS_TURN("Pass the turn");
+    SPAWN_BOT("Choose a bot spawn point", MessageContent.BOT_SPAWN),
+    RESPAWN_BOT("Choose a bot respawn point", MessageContent.BOT_SPAWN),
+    CHOOSE_SPAWN("Choose spawn point", MessageContent.DISCARD_POWERUP),
+    CHOOSE_RESPAWN("Choose respawn point", MessageContent.DISCARD_POWERUP),
+    POWER_UP("Use a powerup", MessageContent.POWERUP_USAGE),
+    GRENADE_USAGE("Use the tagback tagbackGrenade", MessageContent.POWERUP_USAGE),
+    SCOPE_USAGE("Choose if use targeting scope", MessageContent.POWERUP_USAGE),
+    MOVE("Move up to 3 boxes", MessageContent.MOVE),
+    MOVE_AND_PICK("Move up to 1 box and pick up weapon or power up", MessageContent.MOVE_PICK),
+    SHOOT("Shoot a player", MessageContent.SHOOT),
+    RELOAD("Reload your weapons", MessageContent.RELOAD),
+    ADRENALINE_PICK("Move up to 2 boxes and pick up weapon or power up", MessageContent.MOVE_PICK),
+    ADRENALINE_SHOOT("Move up to 1 box and shoot a player", MessageContent.SHOOT),
+    FRENZY_MOVE("Move up to 4 boxes", MessageContent.MOVE),
+    FRENZY_PICK("Move up to 2 boxes and pick up weapon or power up", MessageContent.MOVE_PICK),
+    FRENZY_SHOOT("Move up to 1 box and choose first to reload, then shoot a player", MessageContent.SHOOT),
+    LIGHT_FRENZY_PICK("Move up to 3 boxes and pick up weapon or power up", MessageContent.MOVE_PICK),
+    LIGHT_FRENZY_SHOOT("Move up to 2 boxes and choose first to reload, then shoot a player", MessageContent.SHOOT),
+    BOT_ACTION("Do the bot action", MessageContent.BOT_ACTION),
+    PASS_TURN("Pass the turn", MessageContent.PASS_TURN);
 
     private String description;
+    private MessageContent messageContent;
 
-    PossibleAction(String description) {
+    PossibleAction(String description, MessageContent messageContent) {
         this.description = description;
+        this.messageContent = messageContent;
     }
 
     public String getDescription() {
         return description;
     }
+
+    /**
+     * @return the content of the message sent to do the action
+     */
+    public MessageContent getMessageContent() {
+        return messageContent;
+    }
 }
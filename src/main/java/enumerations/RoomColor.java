@@ -2,7 +2,9 @@ package enumerations;
 
 import exceptions.game.InexistentColorException;
 
-import static model.Game.rand;
+import model.Game;
+
+import java.util.Random;
 
 /**
  * Represents all the possible RoomColors that can appear on the Map
@@ -34,8 +36,17 @@ public enum RoomColor {
      * @return the randomly picked RoomColor
      */
     public static RoomColor getRandomSpawnColor() {
+        return getRandomSpawnColor(Game.getInstance().getRandom());
+    }
 
-        switch (rand.nextInt(2)) {
+    /**
+     * Randomly obtains a spawn RoomColor drawing from the passed source of randomness
+     *
+     * @param random the source of randomness
+     * @return the randomly picked RoomColor
+     */
+    public static RoomColor getRandomSpawnColor(Random random) {
+        switch (random.nextInt(2)) {
             case 0:
                 return RED;
             case 1:
@@ -0,0 +1,11 @@
+package exceptions.file;
+
+import exceptions.AdrenalinaRuntimeException;
+
+public class SnapshotFormatException extends AdrenalinaRuntimeException {
+    private static final long serialVersionUID = 3702317716420574312L;
+
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+}
@@ -20,18 +20,19 @@ import utility.PowerupParser;
 import utility.WeaponParser;
 import utility.persistency.NotTransientPlayer;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 public class Game implements Serializable {
-    public static final Random rand = new Random();
     private static final int MAX_KILLSHOT = 8;
     private static final long serialVersionUID = -7643292361816314018L;
 
     private static Game instance;
+    private static final ThreadLocal<Game> boundInstance = new ThreadLocal<>();
 
     private GameState currentState;
     private boolean gameStarted;
@@ -51,11 +52,109 @@ public class Game implements Serializable {
 
     private GameMap gameMap;
 
+    private transient GameRandom random;
+    private transient MatchShell shell;
+
     /**
      * Initializes singleton Game instance
      */
     private Game() {
         init();
+        random = new GameRandom();
+    }
+
+    /**
+     * Creates a detached copy of a game: players, boards, decks and map are copied, while cards effects and the
+     * other immutable parts are shared with the original game. The copy has its own source of randomness in the same
+     * state as the one of the original game, so it draws the same numbers without advancing the original. The copy is
+     * not bound to the singleton instance
+     *
+     * @param other the game to be copied
+     */
+    public Game(Game other) {
+        this(other, new GameRandom(other.random));
+    }
+
+    /**
+     * Forks the game: takes a detached copy as {@link #Game(Game) Game(Game)} whose source of randomness is seeded
+     * from the one of this game, so that every fork draws its own numbers. Only this game's generator is advanced
+     *
+     * @return the fork of this game
+     */
+    public Game fork() {
+        return new Game(this, new GameRandom(random.nextLong()));
+    }
+
+    private Game(Game other, GameRandom random) {
+        currentState = other.currentState;
+        gameStarted = other.gameStarted;
+        botPresent = other.botPresent;
+        killShotNum = other.killShotNum;
+
+        players = new ArrayList<>(other.players.size());
+        for (UserPlayer player : other.players) {
+            players.add(new UserPlayer(player));
+        }
+        bot = other.bot != null ? new Bot((Bot) other.bot) : null;
+
+        killShotsTrack = Arrays.copyOf(other.killShotsTrack, other.killShotsTrack.length);
+        finalFrenzyKillShots = new ArrayList<>(other.finalFrenzyKillShots);
+
+        weaponsCardsDeck = other.weaponsCardsDeck != null ? Deck.copyOf(other.weaponsCardsDeck) : null;
+        powerupCardsDeck = other.powerupCardsDeck != null ? Deck.copyOf(other.powerupCardsDeck) : null;
+        ammoTileDeck = other.ammoTileDeck != null ? Deck.copyOf(other.ammoTileDeck) : null;
+
+        gameMap = other.gameMap != null ? new GameMap(other.gameMap) : null;
+        this.random = random;
+    }
+
+    /**
+     * Creates a detached game with an already reached state, used to restore a saved game. The game is not bound to
+     * the singleton instance
+     *
+     * @param currentState         the state of the game
+     * @param gameStarted          {@code true} if the game has started
+     * @param players              the players of the game
+     * @param bot                  the terminator, {@code null} if it has not been built
+     * @param botPresent           {@code true} if the terminator is playing
+     * @param killShotNum          the number of skulls of the game
+     * @param killShotsTrack       the killshots on the track
+     * @param finalFrenzyKillShots the killshots done during the final frenzy
+     * @param weaponsCardsDeck     the weapons deck
+     * @param powerupCardsDeck     the powerups deck
+     * @param ammoTileDeck         the ammo tiles deck
+     * @param gameMap              the map of the game
+     */
+    public Game(GameState currentState, boolean gameStarted, List<UserPlayer> players, Player bot, boolean botPresent,
+                int killShotNum, List<KillShot> killShotsTrack, List<KillShot> finalFrenzyKillShots,
+                Deck weaponsCardsDeck, Deck powerupCardsDeck, Deck ammoTileDeck, GameMap gameMap) {
+        this.currentState = currentState;
+        this.gameStarted = gameStarted;
+        this.players = new ArrayList<>(players);
+        this.bot = bot;
+        this.botPresent = botPresent;
+        this.killShotNum = killShotNum;
+
+        this.killShotsTrack = new KillShot[MAX_KILLSHOT];
+        for (int i = 0; i < killShotsTrack.size(); ++i) {
+            this.killShotsTrack[i] = killShotsTrack.get(i);
+        }
+        this.finalFrenzyKillShots = new ArrayList<>(finalFrenzyKillShots);
+
+        this.weaponsCardsDeck = weaponsCardsDeck;
+        this.powerupCardsDeck = powerupCardsDeck;
+        this.ammoTileDeck = ammoTileDeck;
+
+        this.gameMap = gameMap;
+        this.random = new GameRandom();
+    }
+
+    /**
+     * Gives a deserialized game its own source of randomness, as it is not saved with the game
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        random = new GameRandom();
     }
 
     /**
@@ -75,6 +174,7 @@ public class Game implements Serializable {
         powerupCardsDeck = null;
         ammoTileDeck = null;
         gameMap = null;
+        shell = null;
     }
 
     /**
@@ -99,6 +199,7 @@ public class Game implements Serializable {
         ammoTileDeck = savedGame.ammoTileDeck;
 
         gameMap = savedGame.gameMap;
+        random = new GameRandom(savedGame.random);
     }
 
     /**
@@ -134,16 +235,74 @@ public class Game implements Serializable {
     }
 
     /**
-     * The singleton instance of the game returns, if it has not been created it allocates it as well
+     * The singleton instance of the game returns, if it has not been created it allocates it as well. A thread that
+     * has bound a detached game with {@link #bind(Game) bind} gets that game instead
      *
      * @return the singleton instance
      */
     public static Game getInstance() {
+        Game bound = boundInstance.get();
+        if (bound != null)
+            return bound;
+
         if (instance == null)
             instance = new Game();
         return instance;
     }
 
+    /**
+     * Binds a detached copy of a game to the calling thread, so that the model used by that thread acts on the copy
+     * instead of the singleton instance. Used to play simulated games while the real one goes on
+     *
+     * @param game the detached game, see {@link #Game(Game) Game}, {@code null} to go back to the singleton instance
+     * @return the game previously bound to the calling thread, {@code null} if it was using the singleton instance
+     */
+    public static Game bind(Game game) {
+        Game previous = boundInstance.get();
+
+        if (game != null) {
+            boundInstance.set(game);
+        } else {
+            boundInstance.remove();
+        }
+
+        return previous;
+    }
+
+    /**
+     * Creates a new empty game detached from the singleton instance, used to play headless matches that are bound to
+     * their thread with {@link #bind(Game) bind}
+     *
+     * @return the new game
+     */
+    public static Game newDetachedGame() {
+        return new Game();
+    }
+
+    /**
+     * Seeds the source of randomness of this game: the shuffle of the decks, the first player and the random choices
+     * made for the players are then always the same for the same seed
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        random = new GameRandom(seed);
+    }
+
+    /**
+     * @return the source of randomness of this game, unseeded if {@link #setSeed(long)} has never been called
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Removes the game bound to the calling thread, that goes back to use the singleton instance
+     */
+    public static void unbind() {
+        boundInstance.remove();
+    }
+
     public List<KillShot> getFinalFrenzyKillShots() {
         return this.finalFrenzyKillShots;
     }
@@ -186,7 +345,17 @@ public class Game implements Serializable {
         if (mapType < 1 || mapType > 4) {
             throw new InvalidMapNumberException();
         }
-        this.gameMap = new GameMap(mapType);
+        this.gameMap = shell != null ? shell.getMap(mapType) : new GameMap(mapType);
+    }
+
+    /**
+     * Sets the {@link MatchShell MatchShell} built in advance for this game: its map and its decks are used instead of
+     * parsing them while the game starts
+     *
+     * @param shell the shell, {@code null} to build everything when needed
+     */
+    public void useShell(MatchShell shell) {
+        this.shell = shell;
     }
 
     public void setKillShotNum(int killShotNum) throws InvalidKillshotNumberException {
@@ -265,7 +434,7 @@ public class Game implements Serializable {
      * Picks the first player and reorders the players list
      */
     private void pickFirstPlayer() {
-        int first = (new Random()).nextInt(players.size());
+        int first = getRandom().nextInt(players.size());
         players.get(first).setFirstPlayer();
 
         List<UserPlayer> newPlayerList = new ArrayList<>();
@@ -319,9 +488,19 @@ public class Game implements Serializable {
      * Initializes the three decks: {@code weaponsCardDeck}, {@code ammoTileDeck} and {@code powerupCardsDeck}
      */
     public void initializeDecks() {
-        this.weaponsCardsDeck = WeaponParser.parseCards();
-        this.ammoTileDeck = AmmoTileParser.parseCards();
-        this.powerupCardsDeck = PowerupParser.parseCards();
+        if (shell != null) {
+            this.weaponsCardsDeck = shell.getWeaponsCardsDeck();
+            this.ammoTileDeck = shell.getAmmoTileDeck();
+            this.powerupCardsDeck = shell.getPowerupCardsDeck();
+
+            // a shell is used by a single game
+            shell = null;
+            return;
+        }
+
+        this.weaponsCardsDeck = WeaponParser.parseCards(getRandom());
+        this.ammoTileDeck = AmmoTileParser.parseCards(getRandom());
+        this.powerupCardsDeck = PowerupParser.parseCards(getRandom());
     }
 
     public void stopGame() {
@@ -460,7 +639,7 @@ public class Game implements Serializable {
      *
      * @return number of killshot set
      */
-    int getKillShotNum() {
+    public int getKillShotNum() {
         return killShotNum;
     }
 
@@ -0,0 +1,74 @@
+package model;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of randomness of a {@link Game Game}. It draws the same numbers as a {@link Random Random} with the same
+ * seed, but its state can be read and set back, so that a copy or a reloaded save of the game goes on drawing the
+ * same numbers the game would have drawn
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = -2270861426785519034L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // set by setSeed while the superclass is constructed, so it has no initializer
+    private long state;
+
+    /**
+     * Creates a generator with a random seed
+     */
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a generator that draws the same numbers as {@code new Random(seed)}
+     *
+     * @param seed the seed
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Creates an independent copy of a generator: the copy draws the same numbers as the original, without
+     * advancing it
+     *
+     * @param other the generator to be copied
+     */
+    public GameRandom(GameRandom other) {
+        setState(other.getState());
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * @return the internal state of the generator, to be set back with {@link #setState(long) setState}
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * Sets back a state read with {@link #getState() getState}
+     *
+     * @param state the internal state of the generator
+     */
+    public synchronized void setState(long state) {
+        this.state = state & MASK;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import model.cards.Deck;
+import model.map.GameMap;
+import utility.AmmoTileParser;
+import utility.PowerupParser;
+import utility.WeaponParser;
+
+import java.util.Random;
+
+/**
+ * The parts of a {@link Game Game} that do not depend on its players, built before the game starts: the three
+ * shuffled decks and all the four maps, so that the voted one is ready whatever the result of the vote. A shell is
+ * used by a single game, see {@link Game#useShell(MatchShell) useShell}
+ */
+public class MatchShell {
+    private final Deck weaponsCardsDeck;
+    private final Deck powerupCardsDeck;
+    private final Deck ammoTileDeck;
+    private final GameMap[] maps;
+
+    /**
+     * Parses and shuffles the decks and builds the maps
+     *
+     * @param random the source of randomness used to shuffle the decks
+     */
+    public MatchShell(Random random) {
+        this.weaponsCardsDeck = WeaponParser.parseCards(random);
+        this.ammoTileDeck = AmmoTileParser.parseCards(random);
+        this.powerupCardsDeck = PowerupParser.parseCards(random);
+
+        this.maps = new GameMap[GameMap.MAP_4];
+        for (int mapType = GameMap.MAP_1; mapType <= GameMap.MAP_4; ++mapType) {
+            maps[mapType - 1] = new GameMap(mapType);
+        }
+    }
+
+    Deck getWeaponsCardsDeck() {
+        return weaponsCardsDeck;
+    }
+
+    Deck getPowerupCardsDeck() {
+        return powerupCardsDeck;
+    }
+
+    Deck getAmmoTileDeck() {
+        return ammoTileDeck;
+    }
+
+    /**
+     * @param mapType the number of the map, from 1 to 4
+     * @return the map already built
+     */
+    GameMap getMap(int mapType) {
+        return maps[mapType - 1];
+    }
+}
@@ -2,6 +2,8 @@ package model.actions;
 
 import enumerations.PossibleAction;
 import exceptions.actions.InvalidActionException;
+import model.Game;
+import model.map.GameMap;
 import model.player.PlayerPosition;
 import model.player.UserPlayer;
 import utility.InputValidator;
@@ -17,6 +19,7 @@ public class MoveAction implements Action {
     private UserPlayer actingPlayer;
     private PlayerPosition movingPos;
     private PossibleAction actionChosen;
+    private GameMap gameMap;
 
     /**
      * Builds a Move Action, used to execute a movement during the game
@@ -26,9 +29,23 @@ public class MoveAction implements Action {
      * @param actionChosen the kind of move that the actingPlayer can do
      */
     public MoveAction(UserPlayer actingPlayer, PlayerPosition movingPos, PossibleAction actionChosen) {
+        this(actingPlayer, movingPos, actionChosen, null);
+    }
+
+    /**
+     * Builds a Move Action on a map that is not the one of the current {@link Game Game}, as the copy of the state
+     * a client predicts its moves on
+     *
+     * @param actingPlayer the Acting moving player
+     * @param movingPos the target moving position
+     * @param actionChosen the kind of move that the actingPlayer can do
+     * @param gameMap the map where the player moves, {@code null} for the one of the current game
+     */
+    public MoveAction(UserPlayer actingPlayer, PlayerPosition movingPos, PossibleAction actionChosen, GameMap gameMap) {
         this.actingPlayer = actingPlayer;
         this.movingPos = movingPos;
         this.actionChosen = actionChosen;
+        this.gameMap = gameMap;
     }
 
     /**
@@ -40,11 +57,13 @@ public class MoveAction implements Action {
      */
     @Override
     public boolean validate() throws InvalidActionException {
-        if(!InputValidator.validatePosition(movingPos)) {
+        GameMap map = gameMap != null ? gameMap : Game.getInstance().getGameMap();
+
+        if(!InputValidator.validatePosition(movingPos, map)) {
             throw new InvalidActionException();
         }
 
-        int movingDistance = actingPlayer.getPosition().distanceOf(movingPos);
+        int movingDistance = actingPlayer.getPosition().distanceOf(movingPos, map);
 
         if (actionChosen == PossibleAction.MOVE) {
             return (movingDistance >= MIN_MOVE && movingDistance <= MAX_NORMAL_MOVE);
@@ -6,6 +6,7 @@ import exceptions.player.NegativeQuantityException;
 import model.Game;
 import model.player.AmmoQuantity;
 import model.player.UserPlayer;
+import utility.CardCatalog;
 
 import java.util.Objects;
 
@@ -37,14 +38,14 @@ public class AmmoTile extends Card {
     /**
      * @return the {@link Ammo Ammo} on the tile
      */
-    AmmoQuantity getAmmoOnTile() {
+    public AmmoQuantity getAmmoOnTile() {
         return this.ammoOnTile;
     }
 
     /**
      * @return {@code true} if the AmmoTile contains a Powerup, otherwise {@code false}
      */
-    boolean isPickPowerup() {
+    public boolean isPickPowerup() {
         return this.pickPowerup;
     }
 
@@ -63,9 +64,9 @@ public class AmmoTile extends Card {
         if (pickPowerup) {
             PowerupCard drawnPowerup = (PowerupCard) Game.getInstance().getPowerupCardsDeck().draw();
 
-            // if there are no more powerups I need to build a new deck with already used ones, flush it and then draw
+            // if there are no more powerups I need to build a new deck with already used ones, shuffle it and then draw
             if(drawnPowerup == null) {
-                Game.getInstance().getPowerupCardsDeck().flush();
+                Game.getInstance().getPowerupCardsDeck().shuffle(Game.getInstance().getRandom());
                 drawnPowerup = (PowerupCard) Game.getInstance().getPowerupCardsDeck().draw();
             }
 
@@ -127,6 +128,15 @@ public class AmmoTile extends Card {
         }
     }
 
+    /**
+     * An ammo tile of the {@link CardCatalog catalog} is serialized by its image only
+     *
+     * @return the object to be serialized in place of the ammo tile
+     */
+    protected Object writeReplace() {
+        return CardCatalog.isShared(this) ? CardReference.of(this) : this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,79 @@
+package model.cards;
+
+import utility.CardCatalog;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Serialized form of a card whose definition is shared with the {@link CardCatalog CardCatalog}: only what
+ * identifies the card in a match is written, the image, the id and the state of a weapon, and the card is rebuilt from
+ * the catalog when it is read
+ */
+class CardReference implements Serializable {
+    private static final long serialVersionUID = 3942786245381707313L;
+
+    private static final byte WEAPON = 0;
+    private static final byte POWERUP = 1;
+    private static final byte AMMO_TILE = 2;
+
+    private final byte type;
+    private final String imagePath;
+    private final int id;
+    private final byte status;
+
+    private CardReference(byte type, String imagePath, int id, int status) {
+        this.type = type;
+        this.imagePath = imagePath;
+        this.id = id;
+        this.status = (byte) status;
+    }
+
+    static CardReference of(WeaponCard weapon) {
+        return new CardReference(WEAPON, null, weapon.getId(), weapon.status());
+    }
+
+    static CardReference of(PowerupCard powerup) {
+        return new CardReference(POWERUP, powerup.getImagePath(), powerup.getId(), 0);
+    }
+
+    static CardReference of(AmmoTile ammoTile) {
+        return new CardReference(AMMO_TILE, ammoTile.getImagePath(), 0, 0);
+    }
+
+    /**
+     * @return the card rebuilt from the catalog
+     * @throws ObjectStreamException if the catalog has no such card
+     */
+    private Object readResolve() throws ObjectStreamException {
+        Card card;
+
+        try {
+            switch (type) {
+                case WEAPON:
+                    card = CardCatalog.getWeapon(id, status);
+                    break;
+
+                case POWERUP:
+                    card = CardCatalog.getPowerup(imagePath, id);
+                    break;
+
+                case AMMO_TILE:
+                    card = CardCatalog.getAmmoTile(imagePath);
+                    break;
+
+                default:
+                    card = null;
+            }
+        } catch (IllegalArgumentException e) {
+            card = null;
+        }
+
+        if (card == null) {
+            throw new InvalidObjectException("Card " + type + " " + id + " " + imagePath + " not in the catalog");
+        }
+
+        return card;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Class representing a deck of cards, decks contain all same kind of cards
@@ -16,6 +17,16 @@ public class Deck implements Serializable {
     private Boolean garbage;
     private ArrayList<Card> discard;
 
+    /**
+     * {@code true} while the lists of cards may be shared with a copy of the deck, they are then copied before any change
+     */
+    private transient boolean sharedCards;
+
+    /**
+     * {@code true} if the deck has been copied: the weapons in it may be shared with a copy and are copied when drawn
+     */
+    private transient boolean forked;
+
     /**
      * Create a new empty deck without discard
      */
@@ -38,6 +49,56 @@ public class Deck implements Serializable {
         this(other, false);
     }
 
+    /**
+     * Creates a copy of the deck keeping its discarded cards. The lists of cards are shared until one of the two decks
+     * changes and copies them, so a copy costs only the new deck. Weapons are copied when drawn from either deck as
+     * their state changes during the game, the other cards are immutable and always shared
+     *
+     * @param other the deck to be copied
+     * @return the copy of the deck
+     */
+    public static Deck copyOf(Deck other) {
+        Deck copy = new Deck(other.cardsDeck, other.discard, other.garbage);
+
+        copy.sharedCards = other.sharedCards = true;
+        copy.forked = other.forked = true;
+
+        return copy;
+    }
+
+    /**
+     * Creates a deck with the cards it had when it was saved
+     *
+     * @param cards   the cards in the deck, from the top one
+     * @param discard the discarded cards from the last one, {@code null} if the deck has no discard
+     * @return the restored deck
+     */
+    public static Deck restore(List<Card> cards, List<Card> discard) {
+        Deck deck = new Deck(discard != null);
+
+        deck.cardsDeck.addAll(cards);
+        if (discard != null) deck.discard.addAll(discard);
+
+        return deck;
+    }
+
+    private Deck(ArrayList<Card> cardsDeck, ArrayList<Card> discard, Boolean garbage) {
+        this.cardsDeck = cardsDeck;
+        this.discard = discard;
+        this.garbage = garbage;
+    }
+
+    /**
+     * Makes the lists of cards owned only by this deck before they are changed
+     */
+    private void ownCards() {
+        if (sharedCards) {
+            cardsDeck = new ArrayList<>(cardsDeck);
+            if (garbage) discard = new ArrayList<>(discard);
+            sharedCards = false;
+        }
+    }
+
     public Deck(Deck other, boolean garbage) {
         cardsDeck = new ArrayList<>(other.cardsDeck);
         if (garbage) discard = new ArrayList<>(other.discard);
@@ -48,6 +109,7 @@ public class Deck implements Serializable {
      * Empty the decks
      */
     public void flush() {
+        ownCards();
         cardsDeck.clear();
         if (garbage) discard.clear();
     }
@@ -56,11 +118,22 @@ public class Deck implements Serializable {
      * Move the discarded cards into the deck and shuffle it
      */
     public void shuffle() {
+        shuffle(new Random());
+    }
+
+    /**
+     * Move the discarded cards into the deck and shuffle it with a given source of randomness, so that a seeded
+     * source always gives the same order
+     *
+     * @param random the source of randomness
+     */
+    public void shuffle(Random random) {
+        ownCards();
         if (garbage) {
             cardsDeck.addAll(discard);
             discard.clear();
         }
-        Collections.shuffle(cardsDeck);
+        Collections.shuffle(cardsDeck, random);
     }
 
     /**
@@ -70,6 +143,7 @@ public class Deck implements Serializable {
      */
     public void addCard(Card card) {
         if (card == null) throw new NullPointerException("Card cannot be null");
+        ownCards();
         cardsDeck.add(card);
     }
 
@@ -79,11 +153,14 @@ public class Deck implements Serializable {
      * @return <code>null</code> if the deck is empty or if all the cards have been discarded, otherwise returns the top card
      */
     public Card draw() {
-        try {
-            return cardsDeck.remove(0);
-        } catch (IndexOutOfBoundsException e) {
+        if (cardsDeck.isEmpty()) {
             return null;
         }
+
+        ownCards();
+        Card card = cardsDeck.remove(0);
+
+        return forked && card instanceof WeaponCard ? new WeaponCard((WeaponCard) card) : card;
     }
 
     /**
@@ -94,6 +171,7 @@ public class Deck implements Serializable {
     public void discardCard(Card card) {
         if (card == null) throw new NullPointerException("card cannot be null");
 
+        ownCards();
         if (garbage) discard.add(0, card);
         else cardsDeck.add(card);
     }
@@ -126,12 +204,36 @@ public class Deck implements Serializable {
                 "\n}";
     }
 
+    /**
+     * @return the cards left in the deck, from the top one
+     */
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(cardsDeck);
+    }
+
+    /**
+     * @return the discarded cards from the last one, {@code null} if the deck has no discard
+     */
+    public List<Card> getDiscardedCards() {
+        return garbage ? Collections.unmodifiableList(discard) : null;
+    }
+
+    /**
+     * Lists the cards of the deck and then the discarded ones. As when they are drawn, the weapons of a copied deck
+     * are copied
+     *
+     * @return the cards of the deck and its discarded cards
+     */
     public List<Card> toList() {
         List<Card> list = new ArrayList<>();
 
         list.addAll(new ArrayList<>(cardsDeck));
         if (garbage) list.addAll(new ArrayList<>(discard));
 
+        if (forked) {
+            list.replaceAll(card -> card instanceof WeaponCard ? new WeaponCard((WeaponCard) card) : card);
+        }
+
         return list;
     }
 }
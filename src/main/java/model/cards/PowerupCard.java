@@ -10,6 +10,7 @@ import model.player.AmmoQuantity;
 import model.player.UserPlayer;
 import network.message.EffectRequest;
 import network.message.PowerupRequest;
+import utility.CardCatalog;
 
 import java.util.Objects;
 
@@ -44,6 +45,13 @@ public class PowerupCard extends UsableCard {
         this.value = powerupCard.value;
     }
 
+    /**
+     * @return the id of the {@link PowerupCard PowerupCard}
+     */
+    public int getId() {
+        return this.id;
+    }
+
     /**
      * @return the value of the {@link PowerupCard PowerupCard}
      */
@@ -115,6 +123,15 @@ public class PowerupCard extends UsableCard {
         }
     }
 
+    /**
+     * A powerup of the {@link CardCatalog catalog} is serialized by its image and id only
+     *
+     * @return the object to be serialized in place of the powerup
+     */
+    protected Object writeReplace() {
+        return CardCatalog.isShared(this) ? CardReference.of(this) : this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
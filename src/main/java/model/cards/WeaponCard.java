@@ -14,6 +14,7 @@ import model.player.AmmoQuantity;
 import network.message.ActionRequest;
 import network.message.EffectRequest;
 import network.message.ShootRequest;
+import utility.CardCatalog;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,6 +52,20 @@ public class WeaponCard extends UsableCard {
         this.weaponState = weaponState;
     }
 
+    /**
+     * Creates a copy of a weapon. Name, cost and effects are immutable and shared, the state is the only part
+     * of the weapon that changes during the game
+     *
+     * @param other the weapon to be copied
+     */
+    public WeaponCard(WeaponCard other) {
+        super(other.getName(), other.getImagePath(), other.getBaseEffect());
+        this.id = other.id;
+        this.cost = other.cost;
+        this.secondaryEffects = other.secondaryEffects;
+        this.weaponState = other.weaponState;
+    }
+
     /**
      * @return the id of the weapon
      */
@@ -193,6 +208,15 @@ public class WeaponCard extends UsableCard {
         recharge();
     }
 
+    /**
+     * A weapon of the {@link CardCatalog catalog} is serialized by its id and state only
+     *
+     * @return the object to be serialized in place of the weapon
+     */
+    protected Object writeReplace() {
+        return CardCatalog.isShared(this) ? CardReference.of(this) : this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -43,4 +43,27 @@ public interface WeaponState extends Serializable {
      * @throws WeaponNotChargedException exception thrown in case the Weapon is not charged
      */
     void use(Effect effect, EffectRequest request) throws WeaponNotChargedException;
+
+    /**
+     * Returns the state with the given status
+     *
+     * @param status the {@link #status() status} of the state
+     * @return a new WeaponState with that status
+     * @throws IllegalArgumentException if the status is not valid
+     */
+    static WeaponState fromStatus(int status) {
+        switch (status) {
+            case WeaponCard.CHARGED:
+                return new ChargedWeapon();
+
+            case WeaponCard.UNCHARGED:
+                return new UnchargedWeapon();
+
+            case WeaponCard.SEMI_CHARGED:
+                return new SemiChargedWeapon();
+
+            default:
+                throw new IllegalArgumentException("Unknown weapon status " + status);
+        }
+    }
 }
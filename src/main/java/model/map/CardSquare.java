@@ -23,6 +23,12 @@ public class CardSquare extends Square {
         this.hasAmmoTile = true;
     }
 
+    public CardSquare(CardSquare other) {
+        super(other);
+        this.ammoTile = other.ammoTile;
+        this.hasAmmoTile = other.hasAmmoTile;
+    }
+
     public boolean isAmmoTilePresent() {
         return this.hasAmmoTile;
     }
@@ -132,14 +132,26 @@ public class GameMap implements Serializable {
     }
 
     /**
-     * Creates a copy of the map
+     * Creates a copy of the map, every square is copied with the ammo tile or the weapons placed on it
      *
      * @param gameMap the map to be copied
      */
     public GameMap(@NotNull GameMap gameMap) {
-        this.rooms = gameMap.rooms;
+        this.rooms = new Square[MAX_ROWS][MAX_COLUMNS];
         this.imagePath = gameMap.imagePath;
         this.mapID = gameMap.mapID;
+
+        for (int i = 0; i < MAX_ROWS; ++i) {
+            for (int j = 0; j < MAX_COLUMNS; ++j) {
+                Square square = gameMap.rooms[i][j];
+
+                if (square instanceof SpawnSquare) {
+                    rooms[i][j] = new SpawnSquare((SpawnSquare) square);
+                } else if (square != null) {
+                    rooms[i][j] = new CardSquare((CardSquare) square);
+                }
+            }
+        }
     }
 
     /**
@@ -351,7 +363,7 @@ public class GameMap implements Serializable {
         if (!((CardSquare) tempSquare).isAmmoTilePresent()) {
             AmmoTile drawnTile = (AmmoTile) Game.getInstance().getAmmoTileDeck().draw();
             if(drawnTile == null) {
-                Game.getInstance().getAmmoTileDeck().flush();
+                Game.getInstance().getAmmoTileDeck().shuffle(Game.getInstance().getRandom());
                 ((CardSquare) tempSquare).setAmmoTile((AmmoTile) Game.getInstance().getAmmoTileDeck().draw());
             } else {
                 ((CardSquare) tempSquare).setAmmoTile(drawnTile);
@@ -31,6 +31,22 @@ public class SpawnSquare extends Square {
         weapons = new WeaponCard[MAX_WEAPONS];
     }
 
+    /**
+     * Creates a copy of a spawn square, the weapons on it are copied as well
+     *
+     * @param other the spawn square to be copied
+     */
+    public SpawnSquare(SpawnSquare other) {
+        super(other);
+        weapons = new WeaponCard[MAX_WEAPONS];
+
+        for (int i = 0; i < MAX_WEAPONS; ++i) {
+            if (other.weapons[i] != null) {
+                weapons[i] = new WeaponCard(other.weapons[i]);
+            }
+        }
+    }
+
     /**
      * Inserts the <code>weapon</code> card in the first empty space it finds inside the weapons array
      *
@@ -96,6 +112,16 @@ public class SpawnSquare extends Square {
         throw new MissingWeaponOnSquareException(weapon);
     }
 
+    /**
+     * Places a weapon in a specific slot of the square, used to restore a saved game
+     *
+     * @param slot   the index of the slot
+     * @param weapon the weapon to place, {@code null} to leave the slot empty
+     */
+    public void setWeapon(int slot, WeaponCard weapon) {
+        weapons[slot] = weapon;
+    }
+
     public WeaponCard[] getWeapons() {
         return weapons;
     }
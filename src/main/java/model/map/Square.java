@@ -25,6 +25,20 @@ public abstract class Square implements Serializable {
         this.west = west;
     }
 
+    /**
+     * Copies the fixed structure of a square
+     *
+     * @param other the square to be copied
+     */
+    protected Square(Square other) {
+        this.color = other.color;
+        this.squareType = other.squareType;
+        this.north = other.north;
+        this.east = other.east;
+        this.south = other.south;
+        this.west = other.west;
+    }
+
     public RoomColor getRoomColor() {
         return color;
     }
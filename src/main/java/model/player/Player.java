@@ -36,7 +36,7 @@ public abstract class Player implements Serializable, Comparable<Player> {
     public Player(Player other) {
         this.username = other.username;
         this.color = other.color;
-        this.position = new PlayerPosition(other.position);
+        this.position = other.position != null ? new PlayerPosition(other.position) : null;
         this.playerBoard = new PlayerBoard(other.playerBoard);
         this.points = other.points;
     }
@@ -30,6 +30,11 @@ public class PlayerBoard implements Serializable {
      */
     private boolean boardFlipped;
 
+    /**
+     * Notified every time the points that the board gives change, it is not copied with the board
+     */
+    private transient Runnable changeListener;
+
     /**
      * Initialize the PlayerBoard to a not flipped player board
      */
@@ -45,6 +50,28 @@ public class PlayerBoard implements Serializable {
         boardPoints = new ArrayList<>(Arrays.asList(8, 6, 4, 2, 1, 1));
     }
 
+    /**
+     * Creates a player board with an already reached state, used to restore a saved game
+     *
+     * @param damages      the damages on the board
+     * @param marks        the marks on the board
+     * @param skulls       the number of skulls on the board
+     * @param ammo         the ammo of the player
+     * @param boardState   the adrenaline state of the board
+     * @param boardFlipped {@code true} if the board is flipped
+     */
+    public PlayerBoard(List<String> damages, List<String> marks, int skulls, AmmoQuantity ammo,
+                       PlayerBoardState boardState, boolean boardFlipped) {
+        this.damages = new ArrayList<>(damages);
+        this.marks = new ArrayList<>(marks);
+        this.skulls = skulls;
+        this.ammo = ammo;
+        this.boardState = boardState;
+        this.boardFlipped = boardFlipped;
+        this.boardPoints = boardFlipped ?
+                new ArrayList<>(Arrays.asList(2, 1, 1, 1)) : new ArrayList<>(Arrays.asList(8, 6, 4, 2, 1, 1));
+    }
+
     public PlayerBoard(PlayerBoard other) {
         this.damages = new ArrayList<>(other.damages);
         this.marks = new ArrayList<>(other.marks);
@@ -100,6 +127,7 @@ public class PlayerBoard implements Serializable {
      */
     public void setDamages(List<String> damages) {
         this.damages = damages;
+        notifyChange();
     }
 
     /**
@@ -154,6 +182,7 @@ public class PlayerBoard implements Serializable {
         boardFlipped = true;
         boardPoints = new ArrayList<>(Arrays.asList(2, 1, 1, 1));
         skulls = 0;
+        notifyChange();
     }
 
     /**
@@ -246,6 +275,7 @@ public class PlayerBoard implements Serializable {
         }
 
         setBoardState();
+        notifyChange();
     }
 
     /**
@@ -266,6 +296,7 @@ public class PlayerBoard implements Serializable {
         }
 
         setBoardState();
+        notifyChange();
     }
 
     /**
@@ -276,6 +307,22 @@ public class PlayerBoard implements Serializable {
         damages.clear();
         skulls++;
         setBoardState();
+        notifyChange();
+    }
+
+    /**
+     * Sets the listener notified every time damages, skulls or the side of the board change
+     *
+     * @param changeListener the listener, {@code null} to remove it
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void notifyChange() {
+        if (changeListener != null) {
+            changeListener.run();
+        }
     }
 
     @Override
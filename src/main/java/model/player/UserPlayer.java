@@ -36,6 +36,26 @@ public class UserPlayer extends Player {
         powerups = new ArrayList<>();
     }
 
+    /**
+     * Creates a detached copy of a player, the cards in hand are shared as they are immutable except the state
+     * of the weapons that are then copied
+     *
+     * @param other the player to be copied
+     */
+    public UserPlayer(UserPlayer other) {
+        super(other);
+        this.possibleActions = other.possibleActions != null ? EnumSet.copyOf(other.possibleActions) : null;
+        this.playerState = other.playerState;
+        this.weapons = new ArrayList<>(other.weapons.size());
+        this.powerups = other.powerups != null ? new ArrayList<>(other.powerups) : null;
+        this.spawningCard = other.spawningCard;
+        this.firstPlayer = other.firstPlayer;
+
+        for (WeaponCard weapon : other.weapons) {
+            this.weapons.add(new WeaponCard(weapon));
+        }
+    }
+
     public void setFirstPlayer() {
         this.firstPlayer = true;
     }
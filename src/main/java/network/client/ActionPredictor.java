@@ -0,0 +1,133 @@
+package network.client;
+
+import enumerations.MessageContent;
+import enumerations.PossibleAction;
+import exceptions.actions.InvalidActionException;
+import model.GameSerialized;
+import model.actions.MoveAction;
+import model.player.PlayerPosition;
+import model.player.UserPlayer;
+import network.message.Message;
+import network.message.MoveRequest;
+
+import java.io.*;
+
+/**
+ * Predicts the result of an action of the player of the client on a copy of the last game state received, validating
+ * it with the same {@link model.actions.Action Action} the server executes. Only the moves are predicted: the outcome
+ * of the other actions depends on cards the client does not know
+ */
+class ActionPredictor {
+    private int predicted;
+    private int confirmed;
+    private int rolledBack;
+
+    /**
+     * @param state        the last game state received
+     * @param username     the username of the player of the client
+     * @param request      the request the player is sending
+     * @param chosenAction the action the request belongs to
+     * @return the predicted game state, {@code null} if the request is not predicted or the server would refuse it
+     */
+    GameSerialized predict(GameSerialized state, String username, Message request, PossibleAction chosenAction) {
+        if (state == null || request.getContent() != MessageContent.MOVE ||
+                (chosenAction != PossibleAction.MOVE && chosenAction != PossibleAction.FRENZY_MOVE)) {
+            return null;
+        }
+
+        GameSerialized prediction = copy(state);
+        UserPlayer player = prediction == null ? null : prediction.getPlayers().stream()
+                .filter(p -> p.getUsername().equals(username))
+                .findFirst().orElse(null);
+
+        if (player == null || player.getPosition() == null) {
+            return null;
+        }
+
+        MoveAction moveAction = new MoveAction(player, ((MoveRequest) request).getSenderMovePosition(), chosenAction, prediction.getGameMap());
+
+        try {
+            if (!moveAction.validate()) {
+                return null;
+            }
+        } catch (InvalidActionException e) {
+            return null;
+        }
+
+        moveAction.execute();
+        ++predicted;
+        return prediction;
+    }
+
+    /**
+     * Compares a prediction with the state the server sent after the action
+     *
+     * @param prediction the predicted state
+     * @param state      the state sent by the server
+     * @param username   the username of the player of the client
+     * @return {@code true} if the server moved the player where it was predicted
+     */
+    boolean reconcile(GameSerialized prediction, GameSerialized state, String username) {
+        PlayerPosition predictedPosition = getPosition(prediction, username);
+        PlayerPosition position = getPosition(state, username);
+
+        boolean matches = predictedPosition != null && predictedPosition.equals(position);
+
+        if (matches) {
+            ++confirmed;
+        }
+
+        return matches;
+    }
+
+    /**
+     * Records a prediction discarded because the server refused the action
+     */
+    void rollBack() {
+        ++rolledBack;
+    }
+
+    private static PlayerPosition getPosition(GameSerialized state, String username) {
+        return state.getPlayers().stream()
+                .filter(p -> p.getUsername().equals(username))
+                .map(UserPlayer::getPosition)
+                .findFirst().orElse(null);
+    }
+
+    private static GameSerialized copy(GameSerialized state) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(state);
+            }
+
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (GameSerialized) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of actions predicted
+     */
+    int getPredicted() {
+        return predicted;
+    }
+
+    /**
+     * @return the number of predictions the server confirmed
+     */
+    int getConfirmed() {
+        return confirmed;
+    }
+
+    /**
+     * @return the number of predictions discarded because the server refused the action
+     */
+    int getRolledBack() {
+        return rolledBack;
+    }
+}
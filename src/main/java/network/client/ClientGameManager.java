@@ -48,6 +48,11 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
 
     private ClientRoundManager roundManager; // manage the rounds of this client
     private GameSerialized gameSerialized;
+    private final ActionPredictor actionPredictor = new ActionPredictor();
+    private volatile PossibleAction chosenAction;
+    private GameSerialized prediction; // predicted state shown until the server sends the real one
+    private GameSerialized predictedFrom; // state received before the prediction, restored if the action is refused
+    private volatile Set<MessageContent> allowedMessages = EnumSet.noneOf(MessageContent.class);
     private ClientUpdater clientUpdater;
 
     private String firstPlayer;
@@ -169,10 +174,21 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
      */
     public void createConnection(int connection, String username, String address, int port, DisconnectionListener disconnectionListener) throws Exception {
         if (connection == 0) {
-            client = new ClientSocket(username, address, port, disconnectionListener);
+            createConnection(new ClientSocket(username, address, port, disconnectionListener));
         } else {
-            client = new ClientRMI(username, address, port, disconnectionListener);
+            createConnection(new ClientRMI(username, address, port, disconnectionListener));
         }
+    }
+
+    /**
+     * Creates a connection with the server through a given client, as a {@link LoopbackClient LoopbackClient} for a
+     * server in the same JVM
+     *
+     * @param client the client, not connected yet
+     * @throws Exception if something goes wrong with the creation of the connection
+     */
+    public void createConnection(Client client) throws Exception {
+        this.client = client;
 
         client.startConnection();
         startUpdater();
@@ -261,6 +277,7 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
      */
     public void doAction(PossibleAction chosenAction) {
         Runnable action;
+        this.chosenAction = chosenAction;
 
         switch (chosenAction) {
             case SPAWN_BOT:
@@ -358,15 +375,66 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
             checkChangeStateRequest(message);
         }
 
+        // the prediction is shown before sending, so that the state sent back by the server always replaces it
+        boolean predicted = predict(message);
+
         try {
             client.sendMessage(message);
         } catch (IOException e) {
+            if (predicted) {
+                rollBackPrediction();
+            }
+
             return false;
         }
 
         return true;
     }
 
+    /**
+     * Shows at once the predicted result of an action of the player, if it can be predicted
+     *
+     * @param message message that is going to be sent to the server
+     * @return {@code true} if the action was predicted
+     */
+    private boolean predict(Message message) {
+        synchronized (gameSerializedLock) {
+            GameSerialized predictedState = actionPredictor.predict(gameSerialized, getUsername(), message, chosenAction);
+
+            if (predictedState == null) {
+                return false;
+            }
+
+            if (prediction == null) {
+                predictedFrom = gameSerialized;
+            }
+
+            prediction = predictedState;
+            gameSerialized = predictedState;
+        }
+
+        queue.add(this::gameStateUpdate);
+        return true;
+    }
+
+    /**
+     * The server refused the predicted action, the last state it sent is shown again
+     */
+    private void rollBackPrediction() {
+        synchronized (gameSerializedLock) {
+            if (prediction == null) {
+                return;
+            }
+
+            gameSerialized = predictedFrom;
+            prediction = null;
+            predictedFrom = null;
+            actionPredictor.rollBack();
+        }
+
+        queue.add(this::gameStateUpdate);
+    }
+
     /**
      * Checks if the message have to change the state of the machine in case of positive response
      *
@@ -440,6 +508,7 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
             votedMap = false;
         } else {
             if (response.getStatus() == MessageStatus.ERROR) {
+                rollBackPrediction();
                 queue.add(() -> responseError(response.getMessage()));
             } else {
                 onPositiveResponse(response);
@@ -458,9 +527,17 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
         checkFrenzyMode(gameStateMessage);
 
         synchronized (gameSerializedLock) {
+            if (prediction != null && !actionPredictor.reconcile(prediction, gameStateMessage.getGameSerialized(), getUsername())) {
+                LOGGER.log(Level.INFO, "Predicted state replaced by the one of the server");
+            }
+
+            prediction = null;
+            predictedFrom = null;
             gameSerialized = gameStateMessage.getGameSerialized();
         }
 
+        allowedMessages = gameStateMessage.getAllowedMessages();
+
         if (roundManager != null &&
                 getUsername().equals(gameStateMessage.getTurnOwner()) &&
                 isBotPresent &&
@@ -498,6 +575,9 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
         gameEnded = true;
         client.pingTimer.cancel();
 
+        LOGGER.log(Level.INFO, "{0} moves predicted, {1} confirmed by the server, {2} rolled back", new Object[]{
+                actionPredictor.getPredicted(), actionPredictor.getConfirmed(), actionPredictor.getRolledBack()});
+
         synchronized (gameSerializedLock) {
             queue.add(() -> notifyGameEnd(winnerResponse.getWinners()));
         }
@@ -520,6 +600,7 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
             gameSerialized = reconnectionMessage.getGameStateMessage().getGameSerialized();
             isBotPresent = gameSerialized.isBotPresent();
         }
+        allowedMessages = reconnectionMessage.getGameStateMessage().getAllowedMessages();
         roundManager = new ClientRoundManager(isBotPresent);
 
         checkFrenzyMode(reconnectionMessage.getGameStateMessage());
@@ -696,9 +777,30 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
     }
 
     /**
-     * @return a list of possible actions based on the current state of the player
+     * @return a list of possible actions based on the current state of the player, without the ones whose message
+     * would be refused by the server in its current state
      */
     private List<PossibleAction> getPossibleActions() {
+        List<PossibleAction> actions = getStateActions();
+        Set<MessageContent> allowed = allowedMessages;
+
+        // the allowed messages are empty if the last update was sent before the turn passed to this player
+        if (allowed.isEmpty()) {
+            return actions;
+        }
+
+        List<PossibleAction> allowedActions = actions.stream()
+                .filter(action -> allowed.contains(action.getMessageContent()))
+                .collect(Collectors.toList());
+
+        // if the server and the client states do not agree the actions of the client are kept
+        return allowedActions.isEmpty() ? actions : allowedActions;
+    }
+
+    /**
+     * @return a list of possible actions based on the current state of the player
+     */
+    private List<PossibleAction> getStateActions() {
         switch (roundManager.getUserPlayerState()) {
             case BOT_SPAWN:
                 return List.of(PossibleAction.SPAWN_BOT);
@@ -879,6 +981,13 @@ public abstract class ClientGameManager implements ClientGameManagerListener, Cl
         }
     }
 
+    /**
+     * @return the predictor of the actions of the player
+     */
+    ActionPredictor getActionPredictor() {
+        return actionPredictor;
+    }
+
     /**
      * @return the game state object
      */
@@ -31,8 +31,9 @@ public class ClientUpdater implements Runnable {
                     try {
                         client.wait(100);
                     } catch (InterruptedException e) {
-                        ClientGameManager.LOGGER.severe(e.getMessage());
+                        // the updater is stopped
                         Thread.currentThread().interrupt();
+                        return;
                     }
                 } while (messages.isEmpty());
 
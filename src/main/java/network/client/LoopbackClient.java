@@ -0,0 +1,115 @@
+package network.client;
+
+import enumerations.MessageContent;
+import network.message.ConnectionRequest;
+import network.message.Message;
+import network.server.LoopbackConnection;
+import network.server.LoopbackServer;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class represents a client running in the same JVM of the server, connected through a
+ * {@link LoopbackServer LoopbackServer} instead of the network. The messages of the server are queued in a lock-free
+ * queue, so that the server never waits for the client
+ */
+public class LoopbackClient extends Client {
+    private static final long serialVersionUID = 4529412069384731470L;
+    private static final String LOOPBACK_ADDRESS = "loopback";
+
+    private final transient LoopbackServer loopbackServer;
+    private final transient Queue<Message> incoming;
+    private transient LoopbackConnection connection;
+    private transient boolean closed;
+
+    /**
+     * Constructs a loopback client
+     *
+     * @param username              username of the player
+     * @param loopbackServer        the server in the same JVM
+     * @param disconnectionListener told when the server closes the connection
+     * @throws RemoteException never, the client is not exported for RMI
+     */
+    public LoopbackClient(String username, LoopbackServer loopbackServer, DisconnectionListener disconnectionListener) throws RemoteException {
+        super(username, LOOPBACK_ADDRESS, 0, disconnectionListener);
+        UnicastRemoteObject.unexportObject(this, true);
+
+        this.loopbackServer = loopbackServer;
+        this.incoming = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Connects to the server
+     */
+    @Override
+    public void startConnection() {
+        connection = loopbackServer.connect(this::receive, this::onServerDisconnect);
+        sendMessage(new ConnectionRequest(getUsername()));
+    }
+
+    /**
+     * Sends a message to the server, that handles it before returning
+     *
+     * @param message message to send to the server
+     */
+    @Override
+    public void sendMessage(Message message) {
+        if (connection != null) {
+            connection.send(message);
+        }
+    }
+
+    /**
+     * Queues a message of the server, pings reset the disconnection timer as for the other clients
+     */
+    private void receive(Message message) {
+        if (message.getContent() == MessageContent.PING) {
+            pingTimer.cancel();
+            pingTimer = new Timer();
+            pingTimer.schedule(new PingTimerTask(disconnectionListener), Client.DISCONNECTION_TIME);
+        } else {
+            incoming.add(message);
+        }
+    }
+
+    private void onServerDisconnect() {
+        if (!closed && disconnectionListener != null) {
+            disconnectionListener.onDisconnection();
+        }
+    }
+
+    /**
+     * @return the messages received since the last call
+     */
+    @Override
+    List<Message> receiveMessages() {
+        List<Message> messages = new ArrayList<>();
+        Message message;
+
+        while ((message = incoming.poll()) != null) {
+            messages.add(message);
+        }
+
+        return messages;
+    }
+
+    /**
+     * Closes the connection with the server
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pingTimer.cancel();
+
+        if (connection != null) {
+            connection.disconnect();
+            connection = null;
+        }
+    }
+}
@@ -2,8 +2,14 @@ package network.message;
 
 import enumerations.MessageContent;
 import model.GameSerialized;
+import model.player.PlayerPoints;
 import utility.GameConstants;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Message class to inform the clients about a game state update
  */
@@ -13,12 +19,17 @@ public class GameStateMessage extends Message {
     private final GameSerialized gameSerialized;
     private final String turnOwner;
     private boolean grenadeUsage;
+    private final EnumSet<MessageContent> allowedMessages;
+    private final ArrayList<PlayerPoints> standings;
 
-    public GameStateMessage(String username, String turnOwner, boolean grenadeUsage) {
+    public GameStateMessage(String username, String turnOwner, boolean grenadeUsage, Set<MessageContent> allowedMessages,
+                            List<PlayerPoints> standings) {
         super (GameConstants.GOD_NAME, null, MessageContent.GAME_STATE);
         this.gameSerialized = new GameSerialized(username);
         this.turnOwner = turnOwner;
         this.grenadeUsage = grenadeUsage;
+        this.allowedMessages = allowedMessages.isEmpty() ? EnumSet.noneOf(MessageContent.class) : EnumSet.copyOf(allowedMessages);
+        this.standings = new ArrayList<>(standings);
     }
 
     public GameSerialized getGameSerialized() {
@@ -32,4 +43,19 @@ public class GameStateMessage extends Message {
     public boolean isGrenadeUsage() {
         return grenadeUsage;
     }
+
+    /**
+     * @return the content of the messages that the receiver can send in the new state, empty if he is not the turn
+     * owner
+     */
+    public Set<MessageContent> getAllowedMessages() {
+        return allowedMessages;
+    }
+
+    /**
+     * @return the points each player would have if the game ended now, the best first
+     */
+    public List<PlayerPoints> getStandings() {
+        return standings;
+    }
 }
@@ -0,0 +1,44 @@
+package network.message;
+
+import enumerations.MessageContent;
+
+/**
+ * Message class used by a player waiting for a match to choose the rules of the matches he can be put in
+ */
+public class MatchPreferencesMessage extends Message {
+    private static final long serialVersionUID = 4290147763925182086L;
+
+    private final int skullNum;
+    private final Boolean terminator;
+
+    /**
+     * @param username   the username of the player
+     * @param token      the token of the player
+     * @param skullNum   the number of skulls wanted, 0 for any
+     * @param terminator {@code true} to play with the terminator, {@code false} without it, {@code null} for both
+     */
+    public MatchPreferencesMessage(String username, String token, int skullNum, Boolean terminator) {
+        super(username, token, MessageContent.MATCH_PREFERENCES);
+
+        this.skullNum = skullNum;
+        this.terminator = terminator;
+    }
+
+    public int getSkullNum() {
+        return skullNum;
+    }
+
+    public Boolean getTerminator() {
+        return terminator;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchPreferencesMessage{" +
+                "senderUsername=" + getSenderUsername() +
+                ", content=" + getContent() +
+                ", skullNum=" + skullNum +
+                ", terminator=" + terminator +
+                '}';
+    }
+}
@@ -0,0 +1,196 @@
+package network.server;
+
+import controller.GameManager;
+import controller.ai.MonteCarloSearch;
+import enumerations.MessageStatus;
+import enumerations.PossibleGameState;
+import network.message.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * This class represents the connection of a player played by the server. The player joins the lobby as any other
+ * client, or takes the seat of a player that left a started match, and every time it is his turn chooses his message
+ * with a {@link MonteCarloSearch MonteCarloSearch} on a snapshot of his match. Messages received from the server are
+ * only queued, the player acts on his own thread
+ */
+public class AIConnection extends Connection {
+    /**
+     * Number of refused messages in a row after which the player stops retrying and waits for the move timer
+     */
+    private static final int MAX_REFUSED = 5;
+
+    private final Server server;
+    private final String username;
+    private final MonteCarloSearch search;
+    private final long moveTime;
+
+    private final ExecutorService executor;
+    private final AtomicBoolean turnScheduled;
+    private int refusedMessages;
+
+    private volatile boolean connected = true;
+
+    /**
+     * Creates a player played by the server
+     *
+     * @param server   server where the player is connected
+     * @param username username of the player
+     * @param search   the search used to choose the messages
+     * @param moveTime the time in milliseconds given to the search for each message
+     */
+    AIConnection(Server server, String username, MonteCarloSearch search, long moveTime) {
+        this.server = server;
+        this.username = username;
+        this.search = search;
+        this.moveTime = moveTime;
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-" + username);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.turnScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * @return the connection status
+     */
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Receives a message from the server and queues the reaction of the player
+     *
+     * @param message message sent to the player
+     */
+    @Override
+    public void sendMessage(Message message) {
+        if (!connected) {
+            return;
+        }
+
+        switch (message.getContent()) {
+            case CONNECTION_RESPONSE:
+                if (((ConnectionResponse) message).getStatus() == MessageStatus.OK) {
+                    executor.execute(() -> send(new ColorRequest(username, getToken())));
+                }
+                break;
+            case COLOR_RESPONSE:
+                ColorResponse colorResponse = (ColorResponse) message;
+                if (!colorResponse.getColorList().isEmpty()) {
+                    executor.execute(() -> send(new LobbyMessage(username, getToken(), colorResponse.getColorList().get(0), false)));
+                }
+                break;
+            case GAME_STATE:
+                if (!((GameStateMessage) message).getAllowedMessages().isEmpty()) {
+                    scheduleTurn();
+                }
+                break;
+            case READY:
+                scheduleTurn();
+                break;
+            case RESPONSE:
+                MessageStatus status = ((Response) message).getStatus();
+                executor.execute(() -> onResponse(status));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Makes the player act in the current state of his match, used when he takes the seat of a player that left
+     */
+    void play() {
+        scheduleTurn();
+    }
+
+    /**
+     * Queues a search of the next message, once even if more updates arrive before it starts
+     */
+    private void scheduleTurn() {
+        if (turnScheduled.compareAndSet(false, true)) {
+            executor.execute(this::playTurn);
+        }
+    }
+
+    /**
+     * Searches and sends the next message if the player has something to do in the current state of the game
+     */
+    private void playTurn() {
+        turnScheduled.set(false);
+
+        GameManager snapshot = server.snapshotGame(username);
+        if (snapshot.getAllowedMessages(username).isEmpty()) {
+            return;
+        }
+
+        Message chosen = search.search(snapshot, username, getToken(), moveTime);
+        if (chosen != null) {
+            send(chosen);
+        } else {
+            Server.LOGGER.log(Level.WARNING, "AI {0} found no message to send", username);
+        }
+    }
+
+    /**
+     * Tries again after a refused message, the lobby is joined again if the chosen color was taken in the meanwhile
+     *
+     * @param status the status of the response to the last message sent
+     */
+    private void onResponse(MessageStatus status) {
+        if (status != MessageStatus.ERROR) {
+            refusedMessages = 0;
+            return;
+        }
+
+        if (++refusedMessages > MAX_REFUSED) {
+            return;
+        }
+
+        if (server.snapshotGame(username).getGameState() == PossibleGameState.GAME_ROOM) {
+            send(new ColorRequest(username, getToken()));
+        } else {
+            scheduleTurn();
+        }
+    }
+
+    private void send(Message message) {
+        if (connected) {
+            server.onMessage(message);
+        }
+    }
+
+    /**
+     * Disconnects the player and stops him
+     */
+    @Override
+    public void disconnect() {
+        if (connected) {
+            stop();
+            server.onDisconnect(this);
+        }
+    }
+
+    /**
+     * Stops the player without notifying the server, used when the player he replaced gets his seat back
+     */
+    void stop() {
+        connected = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * A player played by the server is always reachable
+     */
+    @Override
+    public void ping() {
+        // nothing to check
+    }
+}
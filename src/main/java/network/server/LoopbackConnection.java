@@ -0,0 +1,87 @@
+package network.server;
+
+import enumerations.MessageContent;
+import network.message.Message;
+import network.message.PingMessage;
+
+import java.util.function.Consumer;
+
+/**
+ * This class represents the connection with a client running in the same JVM of the server, opened by a
+ * {@link LoopbackServer LoopbackServer}
+ */
+public class LoopbackConnection extends Connection {
+    private final LoopbackServer loopbackServer;
+    private final Consumer<Message> receiver;
+    private final Runnable onDisconnect;
+
+    private volatile boolean connected;
+
+    LoopbackConnection(LoopbackServer loopbackServer, Consumer<Message> receiver, Runnable onDisconnect) {
+        this.loopbackServer = loopbackServer;
+        this.receiver = receiver;
+        this.onDisconnect = onDisconnect;
+
+        this.connected = true;
+    }
+
+    /**
+     * Sends a message of the client to the server, a {@link network.message.ConnectionRequest ConnectionRequest}
+     * logs the client in
+     *
+     * @param message the message of the client
+     */
+    public void send(Message message) {
+        if (!connected || message == null) {
+            return;
+        }
+
+        if (message.getContent() == MessageContent.CONNECTION) {
+            loopbackServer.login(message.getSenderUsername(), this);
+        } else {
+            loopbackServer.onMessage(message);
+        }
+    }
+
+    /**
+     * @return the connection status
+     */
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Sends a message to the client
+     *
+     * @param message to send to the client
+     */
+    @Override
+    public void sendMessage(Message message) {
+        if (connected) {
+            loopbackServer.countToClient();
+            receiver.accept(LoopbackServer.copy(message));
+        }
+    }
+
+    /**
+     * Closes the connection, the client is told if it was closed by the server
+     */
+    @Override
+    public void disconnect() {
+        if (connected) {
+            connected = false;
+
+            loopbackServer.onDisconnect(this);
+            onDisconnect.run();
+        }
+    }
+
+    /**
+     * Sends a ping message to client
+     */
+    @Override
+    public void ping() {
+        sendMessage(new PingMessage());
+    }
+}
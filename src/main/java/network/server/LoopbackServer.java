@@ -0,0 +1,94 @@
+package network.server;
+
+import network.message.Message;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Entry point of the clients running in the same JVM of the {@link Server Server}, as the socket and RMI servers are
+ * for remote clients. Messages go through no network: each one is handled by the server on the thread of the client
+ * that sends it, as for the {@link AIConnection players played by the server}, and the messages of the server are
+ * queued for the client. Every message is copied by serialization, so the client and the server never share objects,
+ * as with a real connection
+ */
+public class LoopbackServer {
+    private final Server server;
+
+    private final AtomicLong toServer = new AtomicLong();
+    private final AtomicLong toClients = new AtomicLong();
+
+    /**
+     * @param server the server the clients connect to, usually started without network
+     */
+    public LoopbackServer(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Opens a connection for a client, the client has then to send its
+     * {@link network.message.ConnectionRequest ConnectionRequest} through it
+     *
+     * @param receiver     receives the messages of the server, on the thread of the server, it should only queue them
+     * @param onDisconnect called when the server closes the connection
+     * @return the connection
+     */
+    public LoopbackConnection connect(Consumer<Message> receiver, Runnable onDisconnect) {
+        return new LoopbackConnection(this, receiver, onDisconnect);
+    }
+
+    void login(String username, Connection connection) {
+        toServer.incrementAndGet();
+        server.login(username, connection);
+    }
+
+    void onMessage(Message message) {
+        toServer.incrementAndGet();
+        server.onMessage(copy(message));
+    }
+
+    void onDisconnect(Connection connection) {
+        server.onDisconnect(connection);
+    }
+
+    void countToClient() {
+        toClients.incrementAndGet();
+    }
+
+    /**
+     * @return the number of messages sent by the clients
+     */
+    public long getMessagesToServer() {
+        return toServer.get();
+    }
+
+    /**
+     * @return the number of messages sent to the clients
+     */
+    public long getMessagesToClients() {
+        return toClients.get();
+    }
+
+    /**
+     * Copies a message with a serialization round trip, as if it were sent over a socket
+     *
+     * @param message the message
+     * @return the copy of the message
+     */
+    static Message copy(Message message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        } catch (IOException e) {
+            throw new IllegalStateException("Message not serializable: " + message, e);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Message) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Message not readable: " + message, e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package network.server;
+
+import controller.GameManager;
+import controller.MatchTicket;
+import enumerations.PlayerColor;
+import enumerations.PossibleGameState;
+import network.message.*;
+import utility.LobbyTimer;
+import utility.MoveTimer;
+
+import java.util.*;
+
+/**
+ * A match of the match pool of the {@link Server Server}, played together with the main game on its own
+ * {@link model.Game Game}. The messages of its players are handled one at a time and its own move timer notifies the
+ * server when the turn owner takes too long
+ */
+class PoolMatch {
+    private final Server server;
+    private final GameManager gameManager;
+    private final Set<String> players;
+    private final int moveTime;
+
+    private Timer moveTimer;
+    private boolean promptDeadline;
+
+    /**
+     * Creates a match of the pool that is not started yet
+     *
+     * @param server      the server of the pool
+     * @param gameManager the {@link GameManager#poolMatch(Server, boolean, int) GameManager} of the match
+     * @param players     the usernames of the players of the match
+     * @param moveTime    the time in milliseconds given to each player to act
+     */
+    PoolMatch(Server server, GameManager gameManager, List<String> players, int moveTime) {
+        this.server = server;
+        this.gameManager = gameManager;
+        this.players = Collections.unmodifiableSet(new LinkedHashSet<>(players));
+        this.moveTime = moveTime;
+    }
+
+    String getMatchId() {
+        return gameManager.getMatchId();
+    }
+
+    /**
+     * @return the usernames of the players of the match
+     */
+    Set<String> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Puts the players in the lobby of the match, each with the color he chose if it is still free, adds their votes
+     * and starts the match
+     *
+     * @param tickets the tickets of the players
+     * @return {@code true} if the match started
+     */
+    synchronized boolean start(List<MatchTicket> tickets) {
+        for (MatchTicket ticket : tickets) {
+            String username = ticket.getUsername();
+            String token = server.getToken(username);
+
+            List<PlayerColor> unusedColors = ((ColorResponse) gameManager.onMessage(new ColorRequest(username, token))).getColorList();
+            PlayerColor color = unusedColors.contains(ticket.getColor()) ? ticket.getColor() : unusedColors.get(0);
+
+            gameManager.onMessage(new LobbyMessage(username, token, color, false));
+
+            if (ticket.getMapVote() > 0 && gameManager.getGameState() == PossibleGameState.GAME_ROOM) {
+                gameManager.onMessage(new GameVoteMessage(username, token, ticket.getMapVote()));
+            }
+        }
+
+        boolean started = gameManager.startMatch();
+        updateTimer();
+        return started;
+    }
+
+    /**
+     * Handles a message of a player of the match
+     *
+     * @param message the message
+     * @return the response of the match
+     */
+    synchronized Message onMessage(Message message) {
+        Message response = gameManager.onMessage(message);
+        updateTimer();
+        return response;
+    }
+
+    /**
+     * Handles the disconnection or the reconnection of a player of the match, or the move played in place of the turn
+     * owner whose move time ended
+     *
+     * @param message the {@link LobbyMessage LobbyMessage} or the {@link PassTurnRequest PassTurnRequest} of the player
+     * @return the response of the match
+     */
+    synchronized Message onConnectionMessage(Message message) {
+        Message response = gameManager.onConnectionMessage(message);
+        updateTimer();
+        return response;
+    }
+
+    /**
+     * @param username the username of a player of the match
+     * @return {@code true} if the match is waiting for a move of the player
+     */
+    synchronized boolean isMoveOf(String username) {
+        return gameManager.isMoveOf(username);
+    }
+
+    /**
+     * @return a {@link GameManager#snapshot() snapshot} of the match taken between two messages
+     */
+    synchronized GameManager snapshot() {
+        return gameManager.snapshot();
+    }
+
+    /**
+     * @param username the username of a player that gets back the seat the server played in his place
+     * @param token    the new token of the player
+     * @return the state of the match for the player
+     */
+    synchronized Message getReconnectionMessage(String username, String token) {
+        return gameManager.getReconnectionMessage(username, token);
+    }
+
+    /**
+     * @return {@code true} if the match is ended
+     */
+    synchronized boolean isEnded() {
+        return gameManager.getGameState() == PossibleGameState.GAME_ENDED;
+    }
+
+    /**
+     * The players that did not answer a prompt in time get the
+     * {@link GameManager#getPromptDefault(String, String) default} answer
+     */
+    private void onPromptDeadline() {
+        List<Message> defaults = new ArrayList<>();
+
+        synchronized (this) {
+            if (!gameManager.isPromptInProgress()) {
+                return;
+            }
+
+            for (String username : gameManager.getActingPlayers()) {
+                Message promptDefault = gameManager.getPromptDefault(username, server.getToken(username));
+
+                if (promptDefault != null) {
+                    defaults.add(promptDefault);
+                }
+            }
+        }
+
+        for (Message promptDefault : defaults) {
+            server.onMessage(promptDefault);
+        }
+    }
+
+    /**
+     * Stops the move timer of the match
+     */
+    synchronized void stop() {
+        if (moveTimer != null) {
+            moveTimer.cancel();
+            moveTimer = null;
+        }
+    }
+
+    /**
+     * Gives the full move time to the turn owner, or a single one to all the players asked by a prompt
+     */
+    private void updateTimer() {
+        boolean prompt = gameManager.getGameState() != PossibleGameState.GAME_ROOM && gameManager.isPromptInProgress();
+
+        if (prompt && promptDeadline) {
+            // the deadline is not reset by the answers
+            return;
+        }
+
+        stop();
+        promptDeadline = prompt;
+
+        if (gameManager.getGameState() == PossibleGameState.GAME_ROOM || isEnded()) {
+            return;
+        }
+
+        if (prompt) {
+            moveTimer = new Timer();
+            moveTimer.schedule(new LobbyTimer(this::onPromptDeadline), moveTime);
+            return;
+        }
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+        Connection connection = server.getConnection(turnOwner);
+
+        if (connection != null) {
+            moveTimer = new Timer();
+            moveTimer.schedule(new MoveTimer(server, connection, turnOwner), moveTime);
+        }
+    }
+}
@@ -2,21 +2,29 @@ package network.server;
 
 import com.google.gson.JsonObject;
 import controller.GameManager;
+import controller.MatchShellPool;
+import controller.MatchTicket;
+import controller.Matchmaker;
+import controller.ai.MonteCarloSearch;
 import enumerations.MessageContent;
 import enumerations.MessageStatus;
+import enumerations.PlayerColor;
 import enumerations.PossibleGameState;
 import model.Game;
 import model.player.UserPlayer;
 import network.message.*;
 import utility.ConfigurationParser;
 import utility.GameConstants;
+import utility.LobbyTimer;
 import utility.MoveTimer;
 import utility.persistency.SaveGame;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.FileHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -33,9 +41,18 @@ public class Server implements Runnable {
     private int rmiPort;
 
     private static final String DEFAULT_CONF_FILE_PATH = "conf.json";
+    private static final int DEFAULT_AI_MOVE_TIME = 2000;
+    private static final int MATCHMAKING_PERIOD = 1000;
+    private static final int DEFAULT_IDLE_MOVES = 3;
+    private static final int DEFAULT_MATCH_SHELLS = 1;
 
     private Map<String, Connection> clients;
 
+    /**
+     * Guards every change of the main game: the messages, the logins, the disconnections and the timers. When both
+     * are needed it is taken before the lock of the clients
+     */
+    private final Object gameLock = new Object();
     private GameManager gameManager;
     private boolean waitForLoad;
 
@@ -43,15 +60,60 @@ public class Server implements Runnable {
 
     private int startTime;
     private int moveTime;
+    private int aiPlayers;
+    private int aiMoveTime;
+
+    /**
+     * When enabled a player that leaves a started match, the main game or one of the pool, is replaced by a player
+     * played by the server until he logs in again, so that the match goes on with all its seats
+     */
+    private boolean aiTakeover;
+    private MonteCarloSearch aiSearch;
+    private final Set<String> aiSeats = ConcurrentHashMap.newKeySet();
+    private int matchPoolSize;
+    private int matchShells;
+    private MatchShellPool shellPool;
+    private File saveDirectory = SaveGame.getDefaultDirectory();
+
+    /**
+     * When a capture file is configured the traffic of the server is recorded to be replayed by
+     * {@link TrafficReplay TrafficReplay}, the main game is then seeded so that the replay plays the same game
+     */
+    private String captureFile;
+    private Long seed;
+    private JsonObject configuration;
+    private TrafficCapture capture;
+
+    /**
+     * When the move time of a player ends a default move is played for him, he is disconnected only after
+     * {@link #idleMoves} moves in a row played in his place
+     */
+    private boolean moveFallback;
+    private int idleMoves;
+    private final Map<String, Integer> missedMoves = new ConcurrentHashMap<>();
 
+    private Thread pingThread;
     private Timer moveTimer;
+    private boolean promptDeadline;
+    private Timer matchmakingTimer;
+
+    /**
+     * Players that arrive once the main game is started wait in the matchmaking queue and then play in a match of
+     * the pool, each match has its own lock
+     */
+    private final Object poolLock = new Object();
+    private Matchmaker matchmaker;
+    private final Map<String, PoolMatch> poolMatches = new ConcurrentHashMap<>();
+    private final Map<String, PoolMatch> playerMatches = new ConcurrentHashMap<>();
 
     /**
-     * Starts the server loading a game
+     * Starts the server loading every unfinished game: the requested one is the main game, the others are played in
+     * the match pool
      *
      * @param confFilePath path of the config file
+     * @param matchId      id of the main match to be reloaded, {@code null} to reload the most recently saved one
      */
-    private Server(String confFilePath) {
+    private Server(String confFilePath, String matchId) {
         initLogger();
         synchronized (clientsLock) {
             this.clients = new HashMap<>();
@@ -62,12 +124,18 @@ public class Server implements Runnable {
 
         startServers();
 
-        this.gameManager = SaveGame.loadGame(this, startTime);
+        List<GameManager> loadedGames = SaveGame.loadGames(this, startTime, matchId, saveDirectory);
+        this.gameManager = loadedGames.get(0);
         reserveSlots(gameManager.getGameInstance().getPlayers());
 
+        for (GameManager loadedMatch : loadedGames.subList(1, loadedGames.size())) {
+            reloadPoolMatch(loadedMatch);
+        }
+        startMatchmaking(gameManager.getGameInstance().isBotPresent(), gameManager.getGameInstance().getKillShotNum());
+
         LOGGER.log(Level.INFO, "Game loaded successfully.");
 
-        Thread pingThread = new Thread(this);
+        pingThread = new Thread(this);
         pingThread.start();
 
         moveTimer = new Timer();
@@ -81,6 +149,19 @@ public class Server implements Runnable {
      * @param confFilePath path of the config file
      */
     public Server(boolean bot, int skullNum, String confFilePath) {
+        this(bot, skullNum, confFilePath, true);
+    }
+
+    /**
+     * Starts the server with a new game, optionally without the socket and RMI servers: the clients then connect in
+     * the same JVM through a {@link LoopbackServer LoopbackServer}
+     *
+     * @param bot          {@code true} if the bot is present, {@code false} otherwise
+     * @param skullNum     number of skull
+     * @param confFilePath path of the config file
+     * @param network      {@code false} to start the server without listening on the ports of the config file
+     */
+    public Server(boolean bot, int skullNum, String confFilePath, boolean network) {
         initLogger();
         synchronized (clientsLock) {
             clients = new HashMap<>();
@@ -89,11 +170,23 @@ public class Server implements Runnable {
 
         loadConfigFile(confFilePath);
 
-        startServers();
+        if (network) {
+            startServers();
+        }
 
         gameManager = new GameManager(this, bot, skullNum, startTime);
+        gameManager.setShellPool(shellPool);
+        gameManager.setSaveDirectory(saveDirectory);
+
+        if (seed != null) {
+            gameManager.getGameInstance().setSeed(seed);
+        }
+
+        startCapture(bot, skullNum);
+        addAIPlayers();
+        startMatchmaking(bot, skullNum);
 
-        Thread pingThread = new Thread(this);
+        pingThread = new Thread(this);
         pingThread.start();
 
         moveTimer = new Timer();
@@ -128,11 +221,62 @@ public class Server implements Runnable {
         this.moveTime = jo.get("move_time").getAsInt() * 1000;
         this.socketPort = jo.get("socket_port").getAsInt();
         this.rmiPort = jo.get("rmi_port").getAsInt();
+        this.aiPlayers = jo.has("ai_players") ? jo.get("ai_players").getAsInt() : 0;
+        this.aiMoveTime = jo.has("ai_move_time") ? jo.get("ai_move_time").getAsInt() : DEFAULT_AI_MOVE_TIME;
+        this.aiTakeover = jo.has("ai_takeover") && jo.get("ai_takeover").getAsBoolean();
+        this.matchPoolSize = jo.has("match_pool_size") ? jo.get("match_pool_size").getAsInt() : 0;
+        this.moveFallback = jo.has("move_fallback") && jo.get("move_fallback").getAsBoolean();
+        this.idleMoves = jo.has("idle_moves") ? jo.get("idle_moves").getAsInt() : DEFAULT_IDLE_MOVES;
+        this.matchShells = jo.has("match_shells") ? jo.get("match_shells").getAsInt() : DEFAULT_MATCH_SHELLS;
+        this.saveDirectory = jo.has("save_directory") ? new File(jo.get("save_directory").getAsString()) : SaveGame.getDefaultDirectory();
+        this.captureFile = jo.has("capture_file") ? jo.get("capture_file").getAsString() : null;
+        this.configuration = jo;
+
+        if (jo.has("seed")) {
+            this.seed = jo.get("seed").getAsLong();
+        } else if (captureFile != null) {
+            this.seed = new Random().nextLong();
+        }
 
         LOGGER.log(Level.INFO, "Start time : {0}", startTime);
         LOGGER.log(Level.INFO, "Move time : {0}", moveTime / 1000);
         LOGGER.log(Level.INFO, "Socket port : {0}", socketPort);
         LOGGER.log(Level.INFO, "Rmi port : {0}", rmiPort);
+        LOGGER.log(Level.INFO, "AI players : {0}, AI takeover : {1}", new Object[]{aiPlayers, aiTakeover});
+        LOGGER.log(Level.INFO, "Match pool size : {0}", matchPoolSize);
+        LOGGER.log(Level.INFO, "Move fallback : {0}, idle moves : {1}", new Object[]{moveFallback, idleMoves});
+        LOGGER.log(Level.INFO, "Match shells : {0}", matchShells);
+        LOGGER.log(Level.INFO, "Save directory : {0}", saveDirectory);
+
+        if (seed != null) {
+            LOGGER.log(Level.INFO, "Seed : {0}", String.valueOf(seed));
+        }
+
+        if (matchShells > 0) {
+            shellPool = seed != null ? new MatchShellPool(matchShells, seed) : new MatchShellPool(matchShells);
+        }
+    }
+
+    /**
+     * Starts recording the traffic of the server if a capture file is configured, the file is closed when the server
+     * process ends
+     *
+     * @param bot      the presence of the terminator in the main game
+     * @param skullNum the number of skulls of the main game
+     */
+    private void startCapture(boolean bot, int skullNum) {
+        if (captureFile == null) {
+            return;
+        }
+
+        try {
+            capture = new TrafficCapture(captureFile, seed, bot, skullNum, configuration.toString());
+            Runtime.getRuntime().addShutdownHook(new Thread(capture::close));
+
+            LOGGER.log(Level.INFO, "Traffic capture : {0}", captureFile);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Traffic capture not started: {0}", e.getMessage());
+        }
     }
 
     private void startServers() {
@@ -147,6 +291,119 @@ public class Server implements Runnable {
         LOGGER.info("RMI Server Started");
     }
 
+    /**
+     * Adds to the lobby of the main game the players played by the server, that take some of its seats from the start
+     */
+    private void addAIPlayers() {
+        for (int i = 1; i <= aiPlayers; ++i) {
+            String username = "AI-" + i;
+            login(username, new AIConnection(this, username, getAISearch(), aiMoveTime));
+        }
+    }
+
+    /**
+     * @return the search shared by all the players played by the server, as only the turn owner of each match
+     * searches for his message
+     */
+    private synchronized MonteCarloSearch getAISearch() {
+        if (aiSearch == null) {
+            aiSearch = new MonteCarloSearch();
+        }
+
+        return aiSearch;
+    }
+
+    /**
+     * Starts the matchmaking queue if the server has a match pool. Matches that are not full are formed after the same
+     * time the main lobby waits, with the rules of the main game when the players accept any
+     *
+     * @param terminator the presence of the terminator in the main game
+     * @param skullNum   the number of skulls of the main game
+     */
+    private void startMatchmaking(boolean terminator, int skullNum) {
+        if (matchPoolSize <= 0) {
+            return;
+        }
+
+        matchmaker = new Matchmaker(skullNum, terminator, startTime * 1000L, System.currentTimeMillis());
+
+        matchmakingTimer = new Timer();
+        matchmakingTimer.scheduleAtFixedRate(new LobbyTimer(this::formMatches), MATCHMAKING_PERIOD, MATCHMAKING_PERIOD);
+    }
+
+    /**
+     * Stops the server: the ping of the clients, the timers of the main game and of the matches of the pool, the
+     * building of the match shells and the recording of the traffic end, then the saves still queued are written.
+     * The connections of the clients are left as they are
+     */
+    public void shutdown() {
+        if (pingThread != null) {
+            pingThread.interrupt();
+        }
+
+        if (matchmakingTimer != null) {
+            matchmakingTimer.cancel();
+        }
+
+        synchronized (gameLock) {
+            if (moveTimer != null) {
+                moveTimer.cancel();
+            }
+
+            if (gameManager != null) {
+                gameManager.stopLobbyTimer();
+            }
+        }
+
+        for (PoolMatch poolMatch : poolMatches.values()) {
+            poolMatch.stop();
+        }
+
+        synchronized (clientsLock) {
+            for (Connection connection : clients.values()) {
+                if (connection instanceof AIConnection) {
+                    ((AIConnection) connection).stop();
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (aiSearch != null) {
+                aiSearch.shutdown();
+            }
+        }
+
+        if (shellPool != null) {
+            shellPool.shutdown();
+        }
+
+        if (capture != null) {
+            capture.close();
+        }
+
+        SaveGame.closeStore(saveDirectory);
+        LOGGER.info("Server stopped");
+    }
+
+    /**
+     * Takes a {@link GameManager#snapshot() snapshot} of the match of a player between two messages, used by the
+     * players played by the server to search their message while the match goes on
+     *
+     * @param username the username of the player
+     * @return the snapshot of the match of the player, the main game or a match of the pool
+     */
+    GameManager snapshotGame(String username) {
+        PoolMatch poolMatch = playerMatches.get(username);
+
+        if (poolMatch != null) {
+            return poolMatch.snapshot();
+        }
+
+        synchronized (gameLock) {
+            return gameManager.snapshot();
+        }
+    }
+
     /**
      * Reserves server slots for player loaded from the game save
      *
@@ -165,9 +422,10 @@ public class Server implements Runnable {
         boolean terminator = false;
         int skullNum = 5;
         boolean reloadGame = false;
+        String matchId = null;
 
         // normal complete Server launch should have the following parameters: -l "confFilePath.txt" -b true/false -s #skulls
-        // normal complete Server launch with game Reload should have the following parameter: -l "confFilePath.txt" -r
+        // normal complete Server launch with game Reload should have the following parameter: -l "confFilePath.txt" -r [matchId]
 
         if (args.length > 0 && args.length < 7) {
             int i = 0;
@@ -188,6 +446,10 @@ public class Server implements Runnable {
                             break;
                         case 'r':
                             reloadGame = true;
+                            if (i + 1 < args.length && args[i + 1].charAt(0) != '-') {
+                                matchId = args[i + 1];
+                                ++i;
+                            }
                             break;
                         default:
                             break;
@@ -200,7 +462,7 @@ public class Server implements Runnable {
 
         // if the starting command contains -r it means that a game is going to be reloaded
         if (reloadGame) {
-            new Server(confFilePath);
+            new Server(confFilePath, matchId);
             return;
         }
 
@@ -219,12 +481,30 @@ public class Server implements Runnable {
      * @param connection connection of the client
      */
     void login(String username, Connection connection) {
+        long arrival = System.nanoTime();
+        handleLogin(username, connection);
+
+        if (capture != null) {
+            capture.connect(connection, username, arrival);
+        }
+    }
+
+    private void handleLogin(String username, Connection connection) {
         try {
-            synchronized (clientsLock) {
-                if (clients.containsKey(username)) {
-                    knownPlayerLogin(username, connection);
-                } else {
-                    newPlayerLogin(username, connection);
+            PoolMatch poolMatch = playerMatches.get(username);
+            if (poolMatch != null) {
+                poolPlayerLogin(username, connection, poolMatch);
+                return;
+            }
+
+            // the game is locked before the clients, as the game manager sends its messages holding the game lock
+            synchronized (gameLock) {
+                synchronized (clientsLock) {
+                    if (clients.containsKey(username)) {
+                        knownPlayerLogin(username, connection);
+                    } else {
+                        newPlayerLogin(username, connection);
+                    }
                 }
             }
         } catch (IOException e) {
@@ -240,7 +520,8 @@ public class Server implements Runnable {
      * @throws IOException when send message fails
      */
     private void knownPlayerLogin(String username, Connection connection) throws IOException {
-        if (clients.get(username) == null || !clients.get(username).isConnected()) { // Player Reconnection
+        if (clients.get(username) == null || !clients.get(username).isConnected() || aiSeats.contains(username)) { // Player Reconnection
+            boolean seatPlayed = giveSeatBack(username);
             clients.replace(username, connection);
 
             String token = UUID.randomUUID().toString();
@@ -257,6 +538,8 @@ public class Server implements Runnable {
                     connection.sendMessage(
                             new ConnectionResponse("Successfully reconnected", token, MessageStatus.OK)
                     );
+                } else if (seatPlayed) { // Game started, the seat was played by the server and never left
+                    connection.sendMessage(gameManager.getReconnectionMessage(username, token));
                 } else { // Game started
                     connection.sendMessage(
                             gameManager.onConnectionMessage(new LobbyMessage(username, token, null, false))
@@ -275,6 +558,42 @@ public class Server implements Runnable {
         }
     }
 
+    /**
+     * Handles the login of a player of a match of the pool, the match is reached without holding the clients lock
+     *
+     * @param username   username of the player who is trying to login
+     * @param connection connection of the client
+     * @param poolMatch  the match of the player
+     * @throws IOException when send message fails
+     */
+    private void poolPlayerLogin(String username, Connection connection, PoolMatch poolMatch) throws IOException {
+        String token;
+        boolean seatPlayed;
+
+        synchronized (clientsLock) {
+            Connection oldConnection = clients.get(username);
+
+            if (oldConnection != null && oldConnection.isConnected() && !aiSeats.contains(username)) {
+                connection.sendMessage(
+                        new ConnectionResponse("Player already connected", null, MessageStatus.ERROR)
+                );
+
+                connection.disconnect();
+                LOGGER.log(Level.INFO, "{0} already connected to server!", username);
+                return;
+            }
+
+            seatPlayed = giveSeatBack(username);
+            token = UUID.randomUUID().toString();
+            connection.setToken(token);
+            clients.put(username, connection);
+        }
+
+        connection.sendMessage(seatPlayed ? poolMatch.getReconnectionMessage(username, token) :
+                poolMatch.onConnectionMessage(new LobbyMessage(username, token, null, false)));
+        LOGGER.log(Level.INFO, "{0} reconnected to match {1}!", new Object[]{username, poolMatch.getMatchId()});
+    }
+
     /**
      * Handles a new player login
      *
@@ -283,7 +602,20 @@ public class Server implements Runnable {
      * @throws IOException when send message fails
      */
     private void newPlayerLogin(String username, Connection connection) throws IOException {
-        if (gameManager.getGameInstance().isGameStarted()) { // Game Started
+        if (matchmaker != null && (gameManager.getGameInstance().isGameStarted() || gameManager.isLobbyFull())
+                && isUsernameLegit(username)) { // Main game busy, the player waits for a match of the pool
+            clients.put(username, connection);
+            matchmaker.addPlayer(username);
+
+            String token = UUID.randomUUID().toString();
+            connection.setToken(token);
+
+            connection.sendMessage(
+                    new ConnectionResponse("Successfully connected, waiting for a match", token, MessageStatus.OK)
+            );
+
+            LOGGER.log(Level.INFO, "{0} connected to server and is waiting for a match!", username);
+        } else if (gameManager.getGameInstance().isGameStarted()) { // Game Started
             connection.sendMessage(
                     new ConnectionResponse("Game is already started!", null, MessageStatus.ERROR)
             );
@@ -324,10 +656,12 @@ public class Server implements Runnable {
      * Checks if all player of the loaded game have joined the game
      */
     private void checkLoadReady() {
-        synchronized (clientsLock) {
-            if (clients.entrySet().stream().noneMatch(entry -> entry.getValue() == null || !entry.getValue().isConnected())) {
-                waitForLoad = false;
-                gameManager.sendPrivateUpdates();
+        synchronized (gameLock) {
+            synchronized (clientsLock) {
+                if (clients.entrySet().stream().noneMatch(entry -> entry.getValue() == null || !entry.getValue().isConnected())) {
+                    waitForLoad = false;
+                    gameManager.sendPrivateUpdates();
+                }
             }
         }
     }
@@ -354,6 +688,10 @@ public class Server implements Runnable {
      * @param message message sent to server
      */
     void onMessage(Message message) {
+        if (capture != null && message != null) {
+            capture.message(message.getSenderUsername() != null ? getConnection(message.getSenderUsername()) : null, message, System.nanoTime());
+        }
+
         if (message != null && message.getSenderUsername() != null && (message.getToken() != null || message.getSenderUsername().equals("god"))) {
             if (message.getContent().equals(MessageContent.SHOOT)) {
                 String messageString = message.toString();
@@ -372,32 +710,359 @@ public class Server implements Runnable {
             if (conn == null) {
                 LOGGER.log(Level.INFO, "Message Request {0} - Unknown username {1}", new Object[]{message.getContent().name(), message.getSenderUsername()});
             } else if (msgToken.equals(conn.getToken())) { // Checks that sender is the real player
-                Message response = gameManager.onMessage(message);
+                missedMoves.remove(message.getSenderUsername());
+
+                PoolMatch poolMatch = playerMatches.get(message.getSenderUsername());
+                boolean queued = poolMatch == null && matchmaker != null && matchmaker.contains(message.getSenderUsername());
+                Message response;
+
+                if (poolMatch != null) {
+                    response = poolMatch.onMessage(message);
+                } else if (queued) {
+                    response = onMatchmakingMessage(message);
+                } else {
+                    synchronized (gameLock) {
+                        response = gameManager.onMessage(message);
+                    }
 
-                updateTimer();
+                    updateTimer();
+                }
 
                 // send message to client
                 sendMessage(message.getSenderUsername(), response);
+
+                if (poolMatch != null && poolMatch.isEnded()) {
+                    releaseMatch(poolMatch);
+                } else if (queued) {
+                    formMatches();
+                }
             }
         }
     }
 
+    /**
+     * Handles a message of a player waiting in the matchmaking queue: he can ask the colors, join the queue with his
+     * color, vote a map and choose the rules of the match
+     *
+     * @param message message sent by the player
+     * @return the response to the player
+     */
+    private Message onMatchmakingMessage(Message message) {
+        String username = message.getSenderUsername();
+
+        switch (message.getContent()) {
+            case COLOR:
+                return new ColorResponse(Arrays.asList(PlayerColor.values()));
+            case GET_IN_LOBBY:
+                LobbyMessage lobbyMessage = (LobbyMessage) message;
+
+                if (lobbyMessage.isDisconnection()) {
+                    matchmaker.removePlayer(username);
+                    matchmaker.addPlayer(username);
+                    return new Response("Player removed from the queue", MessageStatus.OK);
+                }
+
+                if (lobbyMessage.getChosenColor() != null && matchmaker.join(username, lobbyMessage.getChosenColor(), System.currentTimeMillis())) {
+                    return new Response("Player added to the queue, waiting for a match", MessageStatus.OK);
+                }
+
+                return new Response("Player already in the queue", MessageStatus.ERROR);
+            case LOBBY_VOTE:
+                if (matchmaker.setMapVote(username, ((GameVoteMessage) message).getMapVote())) {
+                    return new GameVoteResponse("Vote added", MessageStatus.OK);
+                }
+
+                return new GameVoteResponse("Vote NOT added", MessageStatus.ERROR);
+            case MATCH_PREFERENCES:
+                MatchPreferencesMessage preferences = (MatchPreferencesMessage) message;
+
+                if (matchmaker.setPreferences(username, preferences.getSkullNum(), preferences.getTerminator())) {
+                    return new Response("Preferences saved", MessageStatus.OK);
+                }
+
+                return new Response("Invalid preferences", MessageStatus.ERROR);
+            default:
+                return new Response("Waiting for a match", MessageStatus.ERROR);
+        }
+    }
+
+    /**
+     * Starts the matches of the queue that are ready, as long as the pool has room for them
+     */
+    private void formMatches() {
+        synchronized (poolLock) {
+            long now = System.currentTimeMillis();
+
+            for (Matchmaker.MatchGroup group : matchmaker.formMatches(now, matchPoolSize - poolMatches.size())) {
+                startPoolMatch(group);
+
+                LOGGER.log(Level.INFO, "Matchmaking: {0} matches formed ({1} per minute), average wait {2} s, longest wait {3} s, {4} players waiting",
+                        new Object[]{matchmaker.getFormedMatches(), String.format("%.2f", matchmaker.getMatchesPerMinute(now)),
+                                matchmaker.getAverageWait() / 1000.0, matchmaker.getLongestWait() / 1000.0, matchmaker.getWaitingPlayers()});
+            }
+        }
+    }
+
+    /**
+     * Starts a match of the pool with a group of the queue
+     *
+     * @param group the players and the rules of the match
+     */
+    private void startPoolMatch(Matchmaker.MatchGroup group) {
+        List<String> players = new ArrayList<>();
+        for (MatchTicket ticket : group.getTickets()) {
+            players.add(ticket.getUsername());
+        }
+
+        GameManager matchManager = GameManager.poolMatch(this, group.isTerminator(), group.getSkullNum());
+        matchManager.setShellPool(shellPool);
+        matchManager.setSaveDirectory(saveDirectory);
+
+        PoolMatch poolMatch = new PoolMatch(this, matchManager, players, moveTime);
+
+        // the match is registered before it starts so that its first messages already reach its players
+        poolMatches.put(poolMatch.getMatchId(), poolMatch);
+        for (String username : players) {
+            playerMatches.put(username, poolMatch);
+        }
+
+        poolMatch.start(group.getTickets());
+
+        LOGGER.log(Level.INFO, "Match {0} started with {1}, {2} skulls, terminator {3}",
+                new Object[]{poolMatch.getMatchId(), players, group.getSkullNum(), group.isTerminator()});
+    }
+
+    /**
+     * Adds to the pool a match reloaded from its save, its players get back in it when they login again
+     *
+     * @param matchManager the reloaded match
+     */
+    private void reloadPoolMatch(GameManager matchManager) {
+        List<String> players = new ArrayList<>();
+        for (UserPlayer player : matchManager.getGameInstance().getPlayers()) {
+            players.add(player.getUsername());
+        }
+
+        PoolMatch poolMatch = new PoolMatch(this, matchManager, players, moveTime);
+
+        poolMatches.put(poolMatch.getMatchId(), poolMatch);
+        for (String username : players) {
+            playerMatches.put(username, poolMatch);
+        }
+
+        LOGGER.log(Level.INFO, "Match {0} reloaded in the pool with {1}", new Object[]{poolMatch.getMatchId(), players});
+    }
+
+    /**
+     * Frees the place of an ended match in the pool, its players stay bound to it until they disconnect
+     *
+     * @param poolMatch the ended match
+     */
+    private void releaseMatch(PoolMatch poolMatch) {
+        synchronized (poolLock) {
+            if (poolMatches.remove(poolMatch.getMatchId()) == null) {
+                return;
+            }
+
+            poolMatch.stop();
+            LOGGER.log(Level.INFO, "Match {0} ended", poolMatch.getMatchId());
+        }
+
+        // the seats played by the server are left, no one is going to get them back
+        for (String username : poolMatch.getPlayers()) {
+            synchronized (clientsLock) {
+                if (giveSeatBack(username)) {
+                    clients.remove(username);
+                    playerMatches.remove(username);
+                }
+            }
+        }
+
+        formMatches();
+    }
+
+    /**
+     * @param username the username of a client
+     * @return the connection of the client, {@code null} if he is not connected
+     */
+    Connection getConnection(String username) {
+        synchronized (clientsLock) {
+            return clients.get(username);
+        }
+    }
+
+    /**
+     * @param username the username of a client
+     * @return the token of the client, {@code null} if he is not connected
+     */
+    String getToken(String username) {
+        Connection connection = getConnection(username);
+        return connection != null ? connection.getToken() : null;
+    }
+
+    /**
+     * @return the manager of the main game
+     */
+    GameManager getGameManager() {
+        return gameManager;
+    }
+
+    /**
+     * @return the pool of the shells of the matches, {@code null} if the matches are built when they start
+     */
+    MatchShellPool getShellPool() {
+        return shellPool;
+    }
+
+    /**
+     * @return the capture of the traffic, {@code null} if the traffic is not recorded
+     */
+    TrafficCapture getCapture() {
+        return capture;
+    }
+
+    /**
+     * Called when the lobby timer of the main game ends: the game is started holding the lock of the game, as any
+     * other change of the main game
+     *
+     * @param gameSetup the start of the game
+     */
+    public void onLobbyTimeout(Runnable gameSetup) {
+        synchronized (gameLock) {
+            if (capture != null) {
+                capture.lobbyTimeout();
+            }
+
+            gameSetup.run();
+        }
+    }
+
     /**
      * Updates the timer state
      */
     private void updateTimer() {
-        if (Game.getInstance().isGameStarted()) {
-            Connection conn;
+        synchronized (gameLock) {
+            if (Game.getInstance().isGameStarted()) {
+                if (gameManager.isPromptInProgress()) {
+                    startPromptDeadline();
+                    return;
+                }
 
-            synchronized (clientsLock) {
-                conn = clients.get(gameManager.getTurnOwnerUsername());
+                promptDeadline = false;
+                Connection conn;
+
+                synchronized (clientsLock) {
+                    conn = clients.get(gameManager.getTurnOwnerUsername());
+                }
+
+                moveTimer.cancel();
+                moveTimer = new Timer();
+                moveTimer.schedule(new MoveTimer(this, conn, gameManager.getTurnOwnerUsername()), moveTime);
+
+                LOGGER.log(Level.INFO, "Move timer reset for user {0}, {1} seconds left", new Object[]{gameManager.getTurnOwnerUsername(), moveTime / 1000});
+            }
+        }
+    }
+
+    /**
+     * Gives a single move time to all the players asked by a prompt, a TAGBACK GRENADE or the respawn of the dead, the
+     * deadline is not reset by their answers
+     */
+    private void startPromptDeadline() {
+        if (promptDeadline) {
+            return;
+        }
+
+        promptDeadline = true;
+
+        moveTimer.cancel();
+        moveTimer = new Timer();
+        moveTimer.schedule(new LobbyTimer(this::onPromptDeadline), moveTime);
+
+        LOGGER.log(Level.INFO, "Players {0} asked, {1} seconds left", new Object[]{gameManager.getActingPlayers(), moveTime / 1000});
+    }
+
+    /**
+     * The players that did not answer in time get the {@link GameManager#getPromptDefault(String, String) default}
+     * answer
+     */
+    private void onPromptDeadline() {
+        List<Message> defaults = new ArrayList<>();
+
+        synchronized (gameLock) {
+            if (!gameManager.isPromptInProgress()) {
+                return;
+            }
+
+            for (String username : gameManager.getActingPlayers()) {
+                Message promptDefault = gameManager.getPromptDefault(username, getToken(username));
+
+                if (promptDefault != null) {
+                    defaults.add(promptDefault);
+                }
+            }
+        }
+
+        for (Message promptDefault : defaults) {
+            LOGGER.log(Level.INFO, "Prompt deadline ended for user {0}", promptDefault.getSenderUsername());
+            onMessage(promptDefault);
+        }
+    }
+
+    /**
+     * Called when the move time of a player ends: if the move fallback is enabled the server passes his turn, spawning
+     * him first if needed, and keeps him connected, otherwise, when he has been idle for too many moves in a row or
+     * when no default move can be played he is disconnected
+     *
+     * @param connection connection of the player
+     * @param username   username of the player
+     */
+    public void onMoveTimeout(Connection connection, String username) {
+        if (capture != null) {
+            capture.moveTimeout(connection, username);
+        }
+
+        if (!moveFallback || missedMoves.getOrDefault(username, 0) >= idleMoves) {
+            LOGGER.log(Level.INFO, "Player {0} disconnected, move timer ended", username);
+            missedMoves.remove(username);
+            connection.disconnect();
+            return;
+        }
+
+        PoolMatch poolMatch = playerMatches.get(username);
+        Message timeoutMessage = new PassTurnRequest(username, connection.getToken());
+        Message response;
+
+        if (poolMatch != null) {
+            response = poolMatch.onConnectionMessage(timeoutMessage);
+        } else {
+            synchronized (gameLock) {
+                response = gameManager.onConnectionMessage(timeoutMessage);
             }
 
-            moveTimer.cancel();
-            moveTimer = new Timer();
-            moveTimer.schedule(new MoveTimer(conn, gameManager.getTurnOwnerUsername()), moveTime);
+            updateTimer();
+        }
+
+        // the timer may have ended while the player was passing his turn
+        if (response instanceof Response && ((Response) response).getStatus() == MessageStatus.OK) {
+            int missed = missedMoves.merge(username, 1, Integer::sum);
+            LOGGER.log(Level.INFO, "Move timer ended, default move played for {0} ({1} in a row)", new Object[]{username, missed});
+            sendMessage(username, response);
+        } else if (poolMatch != null ? poolMatch.isMoveOf(username) : isMainMoveOf(username)) {
+            // no default move can be played, the player is disconnected as without the move fallback
+            LOGGER.log(Level.INFO, "Player {0} disconnected, no default move can be played", username);
+            missedMoves.remove(username);
+            connection.disconnect();
+        }
+
+        if (poolMatch != null && poolMatch.isEnded()) {
+            releaseMatch(poolMatch);
+        }
+    }
 
-            LOGGER.log(Level.INFO, "Move timer reset for user {0}, {1} seconds left", new Object[]{gameManager.getTurnOwnerUsername(), moveTime / 1000});
+    private boolean isMainMoveOf(String username) {
+        synchronized (gameLock) {
+            return gameManager.isMoveOf(username);
         }
     }
 
@@ -407,11 +1072,116 @@ public class Server implements Runnable {
      * @param playerConnection connection of the player that just disconnected
      */
     void onDisconnect(Connection playerConnection) {
+        if (capture != null) {
+            capture.disconnect(playerConnection);
+        }
+
         String username = getUsernameByConnection(playerConnection);
 
         if (username != null) {
             LOGGER.log(Level.INFO, "{0} disconnected from server!", username);
+            PoolMatch poolMatch = playerMatches.get(username);
+
+            if (playerConnection instanceof AIConnection) {
+                // a player played by the server that leaves the seat empty, as when it is idle for too long
+                aiSeats.remove(username);
+            } else if (takeOverSeat(username, playerConnection, poolMatch)) {
+                return;
+            }
+
+            if (poolMatch != null) {
+                onPoolPlayerDisconnect(username, poolMatch);
+            } else if (matchmaker != null && matchmaker.contains(username)) {
+                matchmaker.removePlayer(username);
+                synchronized (clientsLock) {
+                    clients.remove(username);
+                }
+                LOGGER.log(Level.INFO, "{0} removed from the matchmaking queue!", username);
+            } else {
+                onMainPlayerDisconnect(username);
+            }
+        }
+    }
+
+    /**
+     * Gives the seat of a player that left a started match to a player played by the server, the match never sees
+     * him leave. The seat is given back when he logs in again
+     *
+     * @param username         username of the player
+     * @param playerConnection connection of the player that just disconnected
+     * @param poolMatch        the match of the player, {@code null} if he plays in the main game
+     * @return {@code true} if the seat is now played by the server
+     */
+    private boolean takeOverSeat(String username, Connection playerConnection, PoolMatch poolMatch) {
+        if (!aiTakeover) {
+            return false;
+        }
+
+        AIConnection seatPlayer = new AIConnection(this, username, getAISearch(), aiMoveTime);
+        seatPlayer.setToken(UUID.randomUUID().toString());
+
+        if (poolMatch != null) {
+            if (poolMatch.isEnded() || !replaceConnection(username, playerConnection, seatPlayer)) {
+                return false;
+            }
+        } else {
+            synchronized (gameLock) {
+                PossibleGameState gameState = gameManager.getGameState();
+
+                if (waitForLoad || gameState == PossibleGameState.GAME_ROOM || gameState == PossibleGameState.GAME_ENDED ||
+                        !replaceConnection(username, playerConnection, seatPlayer)) {
+                    return false;
+                }
+            }
+
+            // the move time of the turn is now given to the server
+            updateTimer();
+        }
+
+        missedMoves.remove(username);
+        seatPlayer.play();
+
+        sendMessageToMatch(poolMatch != null ? poolMatch.getMatchId() : gameManager.getMatchId(), new DisconnectionMessage(username));
+        LOGGER.log(Level.INFO, "{0} left, his seat is played by the server", username);
+        return true;
+    }
+
+    private boolean replaceConnection(String username, Connection oldConnection, AIConnection seatPlayer) {
+        synchronized (clientsLock) {
+            if (clients.get(username) != oldConnection) {
+                return false;
+            }
 
+            clients.put(username, seatPlayer);
+            aiSeats.add(username);
+            return true;
+        }
+    }
+
+    /**
+     * Stops the player played by the server in the seat of a player, called holding the lock of the clients
+     *
+     * @param username username of the player
+     * @return {@code true} if the seat was played by the server
+     */
+    private boolean giveSeatBack(String username) {
+        if (!aiSeats.remove(username)) {
+            return false;
+        }
+
+        ((AIConnection) clients.get(username)).stop();
+        LOGGER.log(Level.INFO, "{0} gets back his seat", username);
+        return true;
+    }
+
+    /**
+     * Handles the disconnection of a player of the main game: in the lobby he is forgotten, in a started game he is
+     * marked as disconnected
+     *
+     * @param username username of the player
+     */
+    private void onMainPlayerDisconnect(String username) {
+        synchronized (gameLock) {
             if (gameManager.getGameState() == PossibleGameState.GAME_ROOM) {
                 synchronized (clientsLock) {
                     clients.remove(username);
@@ -426,23 +1196,73 @@ public class Server implements Runnable {
     }
 
     /**
-     * Sends a message to all clients
+     * Handles the disconnection of a player of a match of the pool. Once the match is ended the player is forgotten
+     * and can login again to wait for a new match
+     *
+     * @param username  username of the player
+     * @param poolMatch the match of the player
+     */
+    private void onPoolPlayerDisconnect(String username, PoolMatch poolMatch) {
+        if (poolMatch.isEnded()) {
+            playerMatches.remove(username);
+            synchronized (clientsLock) {
+                clients.remove(username);
+            }
+            return;
+        }
+
+        poolMatch.onConnectionMessage(new LobbyMessage(username, null, null, true));
+        sendMessageToMatch(poolMatch.getMatchId(), new DisconnectionMessage(username));
+
+        if (poolMatch.isEnded()) {
+            releaseMatch(poolMatch);
+        }
+    }
+
+    /**
+     * Sends a message to all the clients of the main game, players waiting for a match or playing in the pool excluded
      *
      * @param message message to send
      */
     public void sendMessageToAll(Message message) {
-        for (Map.Entry<String, Connection> client : clients.entrySet()) {
-            if (client.getValue() != null && client.getValue().isConnected()) {
-                try {
-                    client.getValue().sendMessage(message);
-                } catch (IOException e) {
-                    LOGGER.severe(e.getMessage());
+        synchronized (clientsLock) {
+            for (Map.Entry<String, Connection> client : clients.entrySet()) {
+                if (playerMatches.containsKey(client.getKey()) || (matchmaker != null && matchmaker.contains(client.getKey()))) {
+                    continue;
+                }
+
+                if (client.getValue() != null && client.getValue().isConnected()) {
+                    try {
+                        client.getValue().sendMessage(message);
+                    } catch (IOException e) {
+                        LOGGER.severe(e.getMessage());
+                    }
                 }
             }
         }
+
         LOGGER.log(Level.INFO, "Send to all: {0}", message);
     }
 
+    /**
+     * Sends a message to all the clients of a match
+     *
+     * @param matchId the id of the match, the main game or a match of the pool
+     * @param message message to send
+     */
+    public void sendMessageToMatch(String matchId, Message message) {
+        PoolMatch poolMatch = poolMatches.get(matchId);
+
+        if (poolMatch == null) {
+            sendMessageToAll(message);
+            return;
+        }
+
+        for (String username : poolMatch.getPlayers()) {
+            sendMessage(username, message);
+        }
+    }
+
     /**
      * Sends a message to a client
      *
@@ -505,7 +1325,7 @@ public class Server implements Runnable {
             try {
                 Thread.sleep(1000);
             } catch (InterruptedException e) {
-                LOGGER.severe(e.getMessage());
+                // the server is shut down
                 Thread.currentThread().interrupt();
             }
         }
@@ -0,0 +1,262 @@
+package network.server;
+
+import network.message.Message;
+
+import java.io.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the traffic that reaches a {@link Server Server} in a compact file, to be played again on a new server by
+ * {@link TrafficReplay TrafficReplay}. Every event is recorded with its arrival time and the id of the connection
+ * that sent it: the logins, the messages, the disconnections and the ends of the timers of the main game, whose
+ * effects do not come from the clients. The messages are serialized on the thread that receives them and written
+ * in background, so that the server never waits for the file.
+ * <p>
+ * The file is compressed with gzip: it starts with a header holding the seed of the main game, its rules and the
+ * configuration of the server, then a record for each event made of its type, the time elapsed since the previous
+ * record and the id of the connection, both as variable length numbers, and the data of the event
+ */
+public class TrafficCapture implements Closeable {
+    static final int MAGIC = 0x41445243;
+    static final int VERSION = 1;
+
+    static final byte CONNECT = 0;
+    static final byte MESSAGE = 1;
+    static final byte DISCONNECT = 2;
+    static final byte MOVE_TIMEOUT = 3;
+    static final byte LOBBY_TIMEOUT = 4;
+
+    /**
+     * The id of the connections the capture does not know, as the ones refused before logging in
+     */
+    static final int UNKNOWN_CONNECTION = 0;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final ExecutorService writer;
+    private final AtomicInteger pending = new AtomicInteger();
+    private long lastNanos;
+
+    private final Map<Connection, Integer> connectionIds = new IdentityHashMap<>();
+    private int nextConnectionId = 1;
+
+    /**
+     * Creates the capture file and writes its header
+     *
+     * @param path          the path of the file, replaced if it exists
+     * @param seed          the seed of the main game
+     * @param bot           {@code true} if the terminator plays in the main game
+     * @param skullNum      the number of skulls of the main game
+     * @param configuration the configuration file of the server, in json
+     * @throws IOException if the file can not be written
+     */
+    public TrafficCapture(String path, long seed, boolean bot, int skullNum, String configuration) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(path), BUFFER_SIZE, true), BUFFER_SIZE));
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "traffic-capture");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastNanos = System.nanoTime();
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeBoolean(bot);
+        out.writeByte(skullNum);
+        out.writeLong(System.currentTimeMillis());
+        out.writeUTF(configuration);
+        out.flush();
+    }
+
+    /**
+     * Records the login of a client, once the server has handled it: the token issued lets the replay recognize the
+     * messages of the client
+     *
+     * @param connection the connection of the client
+     * @param username   the username of the client
+     * @param arrival    the {@link System#nanoTime() time} the login arrived
+     */
+    void connect(Connection connection, String username, long arrival) {
+        int id;
+
+        synchronized (connectionIds) {
+            id = nextConnectionId++;
+            connectionIds.put(connection, id);
+        }
+
+        String token = connection.getToken() != null ? connection.getToken() : "";
+
+        write(CONNECT, arrival, id, data -> {
+            data.writeUTF(username);
+            data.writeUTF(token);
+        });
+    }
+
+    /**
+     * Records a message sent to the server
+     *
+     * @param connection the connection of the sender, {@code null} if he is not connected
+     * @param message    the message
+     * @param arrival    the {@link System#nanoTime() time} the message arrived
+     */
+    void message(Connection connection, Message message, long arrival) {
+        byte[] bytes = serialize(message);
+
+        if (bytes != null) {
+            write(MESSAGE, arrival, idOf(connection), data -> {
+                writeVarLong(data, bytes.length);
+                data.write(bytes);
+            });
+        }
+    }
+
+    /**
+     * Records the disconnection of a client, the connections never logged in are not recorded
+     *
+     * @param connection the connection of the client
+     */
+    void disconnect(Connection connection) {
+        int id = idOf(connection);
+
+        if (id != UNKNOWN_CONNECTION) {
+            write(DISCONNECT, System.nanoTime(), id, data -> { });
+        }
+    }
+
+    /**
+     * Records the end of the move time of a player
+     *
+     * @param connection the connection of the player
+     * @param username   the username of the player
+     */
+    void moveTimeout(Connection connection, String username) {
+        write(MOVE_TIMEOUT, System.nanoTime(), idOf(connection), data -> data.writeUTF(username));
+    }
+
+    /**
+     * Records the end of the lobby timer of the main game
+     */
+    void lobbyTimeout() {
+        write(LOBBY_TIMEOUT, System.nanoTime(), UNKNOWN_CONNECTION, data -> { });
+    }
+
+    private int idOf(Connection connection) {
+        if (connection == null) {
+            return UNKNOWN_CONNECTION;
+        }
+
+        synchronized (connectionIds) {
+            return connectionIds.getOrDefault(connection, UNKNOWN_CONNECTION);
+        }
+    }
+
+    /**
+     * Queues a record to be written, the file is flushed whenever no record is left to write
+     */
+    private void write(byte type, long arrival, int connectionId, RecordData recordData) {
+        pending.incrementAndGet();
+
+        try {
+            writer.execute(() -> {
+                try {
+                    out.writeByte(type);
+                    writeVarLong(out, zigZag(arrival - lastNanos));
+                    writeVarLong(out, connectionId);
+                    recordData.write(out);
+                    lastNanos = arrival;
+
+                    if (pending.decrementAndGet() == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    Server.LOGGER.log(Level.SEVERE, "Traffic capture failed: {0}", e.getMessage());
+                    writer.shutdownNow();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the capture is closed
+            pending.decrementAndGet();
+        }
+    }
+
+    private static byte[] serialize(Message message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeObject(message);
+        } catch (IOException e) {
+            Server.LOGGER.log(Level.WARNING, "Message not captured: {0}", message);
+            return null;
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the records still queued and closes the file
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                Server.LOGGER.warning("Traffic capture closed before writing every record");
+            }
+
+            out.close();
+        } catch (IOException e) {
+            Server.LOGGER.log(Level.SEVERE, "Traffic capture not closed: {0}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static void writeVarLong(DataOutput data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        data.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput data) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = data.readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Malformed variable length number");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @FunctionalInterface
+    private interface RecordData {
+        void write(DataOutput data) throws IOException;
+    }
+}
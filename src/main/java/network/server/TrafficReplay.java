@@ -0,0 +1,393 @@
+package network.server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import controller.MatchShellPool;
+import network.message.Message;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Plays the traffic recorded by a {@link TrafficCapture TrafficCapture} on a new {@link Server Server} started
+ * without network, to measure how long the server takes to handle each message and how much it allocates. The
+ * events are played one at a time on the calling thread, at the pace they were recorded or as fast as possible.
+ * <p>
+ * The new server has the configuration of the recorded one and the same seed, so its main game is the same game,
+ * and saves its matches in a temporary directory. Its timers are disabled: the ends of the lobby and move timers are
+ * played where they were recorded, the default answers given at the end of a prompt are recorded as messages. The
+ * players played by the server are not started, their recorded messages are played instead. The matches of the pool
+ * form on their own while the traffic is played, so only the main game is played exactly as recorded
+ */
+public class TrafficReplay {
+    /**
+     * Time in seconds of the timers of the new server, that never end during a replay
+     */
+    private static final int DISABLED_TIMER = 24 * 60 * 60;
+    private static final long SHELL_WAIT = 30_000;
+
+    private final Server server;
+    private final Map<Integer, ReplayConnection> connections = new HashMap<>();
+    private final Map<String, String> tokens = new HashMap<>();
+    private final AtomicLong sentMessages = new AtomicLong();
+
+    private TrafficReplay(Server server) {
+        this.server = server;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java -cp server.jar network.server.TrafficReplay captureFile [paced/fast]");
+            return;
+        }
+
+        boolean paced = args.length > 1 && args[1].equalsIgnoreCase("paced");
+
+        Server.LOGGER.setLevel(Level.WARNING);
+        replay(args[0], paced).print(System.out);
+        System.exit(0);
+    }
+
+    /**
+     * Plays a capture on a new server
+     *
+     * @param capturePath the path of the capture file
+     * @param paced       {@code true} to play the events at the pace they were recorded, {@code false} to play them
+     *                    as fast as possible
+     * @return the measures of the replay
+     * @throws IOException if the capture can not be read
+     */
+    public static Report replay(String capturePath, boolean paced) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(capturePath))))) {
+            if (in.readInt() != TrafficCapture.MAGIC || in.readByte() != TrafficCapture.VERSION) {
+                throw new StreamCorruptedException("Not a traffic capture: " + capturePath);
+            }
+
+            long seed = in.readLong();
+            boolean bot = in.readBoolean();
+            int skullNum = in.readByte();
+            long recordedAt = in.readLong();
+            JsonObject configuration = new JsonParser().parse(in.readUTF()).getAsJsonObject();
+
+            TrafficReplay replay = new TrafficReplay(startServer(configuration, seed, bot, skullNum));
+            Report report = new Report(recordedAt);
+
+            try {
+                replay.play(in, paced, report);
+            } finally {
+                replay.server.shutdown();
+            }
+
+            report.sentMessages = replay.sentMessages.get();
+            return report;
+        }
+    }
+
+    /**
+     * Starts the new server and waits for the shell of its main game, that would otherwise be built from other
+     * random numbers
+     */
+    private static Server startServer(JsonObject configuration, long seed, boolean bot, int skullNum) throws IOException {
+        configuration.remove("capture_file");
+        configuration.addProperty("seed", seed);
+        configuration.addProperty("start_time", DISABLED_TIMER);
+        configuration.addProperty("move_time", DISABLED_TIMER);
+        configuration.addProperty("ai_players", 0);
+        configuration.addProperty("ai_takeover", false);
+        configuration.addProperty("save_directory", Files.createTempDirectory("replay-saves").toString());
+
+        Path conf = Files.createTempFile("replay", ".json");
+        Files.write(conf, configuration.toString().getBytes(StandardCharsets.UTF_8));
+        conf.toFile().deleteOnExit();
+
+        Server server = new Server(bot, skullNum, conf.toString(), false);
+        MatchShellPool shellPool = server.getShellPool();
+        long deadline = System.currentTimeMillis() + SHELL_WAIT;
+
+        while (shellPool != null && shellPool.getReadyShells() == 0 && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        return server;
+    }
+
+    private void play(DataInputStream in, boolean paced, Report report) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = threads instanceof com.sun.management.ThreadMXBean ?
+                (com.sun.management.ThreadMXBean) threads : null;
+        long threadId = Thread.currentThread().getId();
+
+        long start = System.nanoTime();
+        long recordedTime = 0;
+
+        while (true) {
+            int type = in.read();
+            if (type < 0) {
+                break;
+            }
+
+            Event event;
+
+            try {
+                recordedTime += TrafficCapture.unZigZag(TrafficCapture.readVarLong(in));
+                event = readEvent((byte) type, (int) TrafficCapture.readVarLong(in), in);
+            } catch (EOFException e) {
+                // the server was stopped before closing the capture
+                report.truncated = true;
+                break;
+            }
+
+            if (paced) {
+                long wait = start + recordedTime - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+
+            long allocated = allocation != null ? allocation.getThreadAllocatedBytes(threadId) : 0;
+            long eventStart = System.nanoTime();
+
+            event.play();
+
+            long latency = System.nanoTime() - eventStart;
+            allocated = allocation != null ? allocation.getThreadAllocatedBytes(threadId) - allocated : -1;
+            report.add(event.kind, latency, allocated);
+        }
+
+        report.replayTime = System.nanoTime() - start;
+        report.recordedTime = recordedTime;
+    }
+
+    private Event readEvent(byte type, int connectionId, DataInputStream in) throws IOException {
+        switch (type) {
+            case TrafficCapture.CONNECT:
+                String username = in.readUTF();
+                String token = in.readUTF();
+                return new Event("CONNECT", () -> connect(connectionId, username, token));
+            case TrafficCapture.MESSAGE:
+                byte[] bytes = new byte[(int) TrafficCapture.readVarLong(in)];
+                in.readFully(bytes);
+
+                Message message = readMessage(bytes);
+                return new Event(message.getContent().name(), () -> server.onMessage(message));
+            case TrafficCapture.DISCONNECT:
+                return new Event("DISCONNECT", () -> {
+                    ReplayConnection connection = connections.get(connectionId);
+                    if (connection != null) {
+                        connection.disconnect();
+                    }
+                });
+            case TrafficCapture.MOVE_TIMEOUT:
+                String timedOut = in.readUTF();
+                return new Event("MOVE_TIMEOUT", () -> {
+                    Connection connection = server.getConnection(timedOut);
+                    if (connection != null) {
+                        server.onMoveTimeout(connection, timedOut);
+                    }
+                });
+            case TrafficCapture.LOBBY_TIMEOUT:
+                return new Event("LOBBY_TIMEOUT", () -> server.getGameManager().onTimerRun());
+            default:
+                throw new StreamCorruptedException("Unknown event type " + type);
+        }
+    }
+
+    /**
+     * Logs in a client, the token the new server gives him replaces the recorded one in his next messages
+     */
+    private void connect(int connectionId, String username, String recordedToken) {
+        ReplayConnection connection = new ReplayConnection(server, sentMessages);
+        connections.put(connectionId, connection);
+
+        server.login(username, connection);
+
+        if (!recordedToken.isEmpty() && connection.getToken() != null) {
+            tokens.put(recordedToken, connection.getToken());
+        }
+    }
+
+    /**
+     * Reads a recorded message replacing the recorded tokens with the ones of the new server
+     */
+    private Message readMessage(byte[] bytes) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            {
+                enableResolveObject(true);
+            }
+
+            @Override
+            protected Object resolveObject(Object obj) {
+                String token = obj instanceof String ? tokens.get(obj) : null;
+                return token != null ? token : obj;
+            }
+        }) {
+            return (Message) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    private static class Event {
+        private final String kind;
+        private final Runnable action;
+
+        private Event(String kind, Runnable action) {
+            this.kind = kind;
+            this.action = action;
+        }
+
+        private void play() {
+            action.run();
+        }
+    }
+
+    /**
+     * The connection of a recorded client, the messages of the server are only counted
+     */
+    private static class ReplayConnection extends Connection {
+        private final Server server;
+        private final AtomicLong sentMessages;
+        private volatile boolean connected = true;
+
+        private ReplayConnection(Server server, AtomicLong sentMessages) {
+            this.server = server;
+            this.sentMessages = sentMessages;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+
+        @Override
+        public void sendMessage(Message message) {
+            sentMessages.incrementAndGet();
+        }
+
+        @Override
+        public void disconnect() {
+            if (connected) {
+                connected = false;
+                server.onDisconnect(this);
+            }
+        }
+
+        @Override
+        public void ping() {
+            // a recorded client is always reachable
+        }
+    }
+
+    /**
+     * The measures of a replay: the time and the memory allocated to handle each kind of event
+     */
+    public static class Report {
+        private final long recordedAt;
+        private final Map<String, KindStats> kinds = new TreeMap<>();
+        private long[] latencies = new long[1024];
+        private int events;
+        private long allocated;
+        private long replayTime;
+        private long recordedTime;
+        private long sentMessages;
+        private boolean truncated;
+
+        private Report(long recordedAt) {
+            this.recordedAt = recordedAt;
+        }
+
+        private void add(String kind, long latency, long allocatedBytes) {
+            if (events == latencies.length) {
+                latencies = Arrays.copyOf(latencies, events * 2);
+            }
+
+            latencies[events++] = latency;
+            allocated += Math.max(allocatedBytes, 0);
+            kinds.computeIfAbsent(kind, k -> new KindStats()).add(latency, allocatedBytes);
+        }
+
+        /**
+         * @return the number of events played
+         */
+        public int getEvents() {
+            return events;
+        }
+
+        /**
+         * @param kind the content of a message or the kind of an event, as {@code CONNECT}
+         * @return the number of events of the kind played
+         */
+        public int getEvents(String kind) {
+            KindStats stats = kinds.get(kind);
+            return stats != null ? stats.count : 0;
+        }
+
+        /**
+         * @return the number of messages the server sent to the clients
+         */
+        public long getSentMessages() {
+            return sentMessages;
+        }
+
+        /**
+         * @return {@code true} if the capture ended in the middle of an event
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Prints the measures
+         *
+         * @param out where to print
+         */
+        public void print(PrintStream out) {
+            double seconds = replayTime / 1e9;
+            long[] sorted = Arrays.copyOf(latencies, events);
+            Arrays.sort(sorted);
+
+            out.printf("capture            recorded on %s, %.2f s long%s%n", new Date(recordedAt), recordedTime / 1e9,
+                    truncated ? ", truncated" : "");
+            out.printf("events             %d replayed in %.2f s, %.0f events/s%n", events, seconds, events / seconds);
+            if (events > 0) {
+                out.printf("latency            p50 %.1f us, p99 %.1f us, max %.1f us%n", percentile(sorted, 0.5) / 1e3,
+                        percentile(sorted, 0.99) / 1e3, sorted[events - 1] / 1e3);
+                out.printf("allocation         %.1f KB per event%n", allocated / 1024.0 / events);
+            }
+            out.printf("sent messages      %d%n", sentMessages);
+
+            out.println();
+            out.printf("%-24s %8s %12s %12s %12s%n", "event", "count", "mean us", "max us", "KB/event");
+            kinds.forEach((kind, stats) -> out.printf("%-24s %8d %12.1f %12.1f %12.1f%n", kind, stats.count,
+                    stats.time / 1e3 / stats.count, stats.maxTime / 1e3, stats.allocated / 1024.0 / stats.count));
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+        }
+    }
+
+    private static class KindStats {
+        private int count;
+        private long time;
+        private long maxTime;
+        private long allocated;
+
+        private void add(long latency, long allocatedBytes) {
+            ++count;
+            time += latency;
+            maxTime = Math.max(maxTime, latency);
+            allocated += Math.max(allocatedBytes, 0);
+        }
+    }
+}
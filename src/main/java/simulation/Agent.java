@@ -0,0 +1,21 @@
+package simulation;
+
+import network.message.Message;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A player of a headless match. Every time it is his turn the {@link MatchSimulator MatchSimulator} generates the
+ * candidate messages of the player and plays the first one, in the order given by the agent, that the match accepts
+ */
+public interface Agent {
+
+    /**
+     * Orders the candidate messages of the player, the preferred first
+     *
+     * @param candidates the candidate messages, ordered in place
+     * @param random     the seeded source of randomness of the match, the only one an agent can use
+     */
+    void order(List<Message> candidates, Random random);
+}
@@ -0,0 +1,287 @@
+package simulation;
+
+import controller.GameManager;
+import controller.ai.MoveGenerator;
+import enumerations.GameState;
+import enumerations.MessageStatus;
+import enumerations.PlayerColor;
+import enumerations.PossibleGameState;
+import model.Game;
+import model.cards.Card;
+import model.cards.WeaponCard;
+import model.player.KillShot;
+import model.player.UserPlayer;
+import network.message.LobbyMessage;
+import network.message.Message;
+import network.message.Response;
+import network.server.Server;
+import utility.WeaponParser;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+
+/**
+ * Plays {@link GameManager#headless(boolean, int, long) headless matches} for balance testing: no server, socket or
+ * view is involved, the players are {@link Agent Agents} that send their messages straight to the
+ * {@link GameManager GameManager}. Matches are spread over the cores with a fork/join pool and every match is seeded
+ * from the seed of the run and its index, so that any match of a report can be played again alone
+ */
+public class MatchSimulator {
+    /**
+     * Messages after which a match that is not ended is aborted
+     */
+    private static final int MAX_ACTIONS = 5000;
+    /**
+     * Matches played by a task without splitting it
+     */
+    private static final int BATCH_SIZE = 8;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int playersNum;
+    private final boolean terminator;
+    private final int skullNum;
+    private final Agent agent;
+
+    /**
+     * Creates a simulator of matches all with the same rules and players
+     *
+     * @param playersNum the number of players of each match
+     * @param terminator {@code true} if the terminator plays
+     * @param skullNum   the number of skulls of each match
+     * @param agent      the agent that plays for every player
+     */
+    public MatchSimulator(int playersNum, boolean terminator, int skullNum, Agent agent) {
+        int maxPlayers = terminator ? PlayerColor.values().length - 1 : PlayerColor.values().length;
+
+        if (playersNum < 3 || playersNum > maxPlayers) {
+            throw new IllegalArgumentException("A match is played by 3 to " + maxPlayers + " players");
+        }
+
+        this.playersNum = playersNum;
+        this.terminator = terminator;
+        this.skullNum = skullNum;
+        this.agent = agent;
+    }
+
+    /**
+     * Plays a set of matches
+     *
+     * @param matches     the number of matches
+     * @param seed        the seed of the run
+     * @param parallelism the number of threads playing the matches
+     * @return the statistics of the matches
+     */
+    public SimulationReport run(int matches, long seed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            long start = System.nanoTime();
+            SimulationReport report = pool.invoke(new MatchBatch(seed, 0, matches));
+            report.setElapsedNanos(System.nanoTime() - start);
+
+            for (Card weapon : WeaponParser.parseCards().toList()) {
+                report.addKnownWeapon(((WeaponCard) weapon).getName());
+            }
+
+            return report;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param seed  the seed of the run
+     * @param index the index of a match in the run
+     * @return the seed of the match
+     */
+    public static long getMatchSeed(long seed, int index) {
+        return seed + index * SEED_GAMMA;
+    }
+
+    /**
+     * Plays a single match
+     *
+     * @param matchSeed the seed of the match
+     * @param report    the report where the statistics of the match are added
+     */
+    public void play(long matchSeed, SimulationReport report) {
+        Random random = new Random(matchSeed);
+        GameManager match = GameManager.headless(terminator, skullNum, random.nextLong());
+        int actions = 0;
+        int turns = 0;
+
+        try {
+            joinLobby(match);
+
+            if (!match.startMatch()) {
+                throw new IllegalStateException("Match not started");
+            }
+
+            String turnOwner = match.getTurnOwnerUsername();
+
+            while (match.getGameState() != PossibleGameState.GAME_ENDED) {
+                match = actions < MAX_ACTIONS ? playActingPlayer(match, random, report) : null;
+
+                if (match == null) {
+                    Server.LOGGER.log(Level.WARNING, "Match {0} aborted after {1} actions", new Object[]{Long.toString(matchSeed), actions});
+                    report.addAbortedMatch(actions);
+                    return;
+                }
+
+                ++actions;
+
+                if (match.getGameState() != PossibleGameState.GAME_ENDED && !match.getTurnOwnerUsername().equals(turnOwner)) {
+                    turnOwner = match.getTurnOwnerUsername();
+                    ++turns;
+                }
+            }
+        } catch (RuntimeException e) {
+            Server.LOGGER.log(Level.WARNING, "Match " + matchSeed + " aborted after " + actions + " actions", e);
+            report.addAbortedMatch(actions);
+            return;
+        }
+
+        addResult(match.getGameInstance(), actions, turns + 1, report);
+    }
+
+    private void joinLobby(GameManager match) {
+        int joined = 0;
+
+        for (PlayerColor color : PlayerColor.values()) {
+            if (joined == playersNum) {
+                return;
+            }
+
+            if (isAccepted(match.onSimulatedMessage(new LobbyMessage("player" + (joined + 1), null, color, false)))) {
+                ++joined;
+            }
+        }
+    }
+
+    /**
+     * Plays the first message of the next {@link GameManager#getActingPlayers() acting player}, in the order of his
+     * agent, that the match accepts. A refused message leaves the match as it was, while a message that breaks the
+     * match halfway is counted and the match goes on from a {@link GameManager#fork() fork} taken before it
+     *
+     * @return the match after the message, {@code null} if no message is accepted
+     */
+    private GameManager playActingPlayer(GameManager match, Random random, SimulationReport report) {
+        String username = match.getActingPlayers().get(0);
+        List<Message> candidates = MoveGenerator.generate(match, username, null);
+
+        Map<Message, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < candidates.size(); ++i) {
+            indexes.put(candidates.get(i), i);
+        }
+
+        List<Message> ordered = new ArrayList<>(candidates);
+        agent.order(ordered, random);
+
+        GameManager current = match;
+        GameManager backup = match.fork();
+
+        for (Message candidate : ordered) {
+            try {
+                if (isAccepted(current.onSimulatedMessage(candidates.get(indexes.get(candidate))))) {
+                    return current;
+                }
+            } catch (RuntimeException e) {
+                report.addBrokenMessage();
+
+                // candidates refer to the cards of their match, so they are generated again on the copy
+                current = backup;
+                backup = current.fork();
+                candidates = MoveGenerator.generate(current, username, null);
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isAccepted(Message response) {
+        return !(response instanceof Response) || ((Response) response).getStatus() != MessageStatus.ERROR;
+    }
+
+    private static void addResult(Game game, int actions, int turns, SimulationReport report) {
+        List<KillShot> killShots = new ArrayList<>(game.getKillShotTrack());
+        killShots.addAll(game.getFinalFrenzyKillShots());
+
+        int overkills = (int) killShots.stream().filter(killShot -> killShot.getPoints() > 1).count();
+        report.addMatch(actions, turns, game.getState() == GameState.FINAL_FRENZY, killShots.size(), overkills);
+
+        int bestPoints = game.getPlayers().stream().mapToInt(UserPlayer::getPoints).max().orElse(0);
+
+        for (UserPlayer player : game.getPlayers()) {
+            for (WeaponCard weapon : player.getWeapons()) {
+                report.addWeapon(weapon.getName(), player.getPoints() == bestPoints);
+            }
+        }
+    }
+
+    /**
+     * Plays a range of matches, split in halves until it is small enough
+     */
+    private class MatchBatch extends RecursiveTask<SimulationReport> {
+        private static final long serialVersionUID = 3542906118425310764L;
+
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        MatchBatch(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= BATCH_SIZE) {
+                SimulationReport report = new SimulationReport();
+
+                for (int i = from; i < to; ++i) {
+                    play(getMatchSeed(seed, i), report);
+                }
+
+                return report;
+            }
+
+            int middle = (from + to) >>> 1;
+            MatchBatch left = new MatchBatch(seed, from, middle);
+            left.fork();
+
+            SimulationReport right = new MatchBatch(seed, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Runs the simulator from the command line, the arguments are all optional:
+     * {@code [matches] [players] [terminator] [skulls] [random|scripted] [seed] [threads]}
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int playersNum = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        boolean terminator = args.length > 2 && Boolean.parseBoolean(args[2]);
+        int skullNum = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        Agent agent = args.length > 4 && args[4].equalsIgnoreCase("scripted") ? new ScriptedAgent() : new RandomAgent();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        // the matches log every lobby and turn change
+        Server.LOGGER.setLevel(Level.WARNING);
+
+        System.out.printf("%d matches, %d players, terminator %b, %d skulls, %s, seed %d, %d threads%n%n",
+                matches, playersNum, terminator, skullNum, agent.getClass().getSimpleName(), seed, threads);
+
+        new MatchSimulator(playersNum, terminator, skullNum, agent).run(matches, seed, threads).print(System.out);
+    }
+}
@@ -0,0 +1,21 @@
+package simulation;
+
+import enumerations.MessageContent;
+import network.message.Message;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Agent that plays a random accepted message, ending the turn only when nothing else is accepted
+ */
+public class RandomAgent implements Agent {
+
+    @Override
+    public void order(List<Message> candidates, Random random) {
+        Collections.shuffle(candidates, random);
+        candidates.sort(Comparator.comparing(message -> message.getContent() == MessageContent.PASS_TURN));
+    }
+}
@@ -0,0 +1,41 @@
+package simulation;
+
+import enumerations.MessageContent;
+import network.message.Message;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Agent that follows a fixed script: it shoots whenever it can, otherwise it picks, reloads and moves, in this order.
+ * Messages of the same kind are chosen at random
+ */
+public class ScriptedAgent implements Agent {
+    /**
+     * Kinds of message in order of preference, the ones missing come last
+     */
+    private static final List<MessageContent> SCRIPT = List.of(
+            MessageContent.DISCARD_POWERUP,
+            MessageContent.BOT_SPAWN,
+            MessageContent.SHOOT,
+            MessageContent.BOT_ACTION,
+            MessageContent.MOVE_PICK,
+            MessageContent.RELOAD,
+            MessageContent.MOVE,
+            MessageContent.POWERUP_USAGE,
+            MessageContent.PASS_TURN
+    );
+
+    @Override
+    public void order(List<Message> candidates, Random random) {
+        Collections.shuffle(candidates, random);
+        candidates.sort(Comparator.comparingInt(ScriptedAgent::getPriority));
+    }
+
+    private static int getPriority(Message message) {
+        int priority = SCRIPT.indexOf(message.getContent());
+        return priority >= 0 ? priority : SCRIPT.size();
+    }
+}
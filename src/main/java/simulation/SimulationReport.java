@@ -0,0 +1,206 @@
+package simulation;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistics of a set of headless matches. Each task of the {@link MatchSimulator MatchSimulator} fills its own
+ * report and the reports are merged when the tasks are joined, so that no statistic is shared between threads
+ */
+public class SimulationReport {
+    private int matches;
+    private int abortedMatches;
+    private int brokenMessages;
+    private long actions;
+    private long turns;
+    private int longestMatch;
+    private int frenzyMatches;
+    private int killShots;
+    private int overkills;
+    private long elapsedNanos;
+
+    private final Map<Integer, Integer> killShotsPerMatch = new TreeMap<>();
+    private final Map<String, WeaponStats> weaponStats = new TreeMap<>();
+
+    /**
+     * Adds an ended match
+     *
+     * @param actionsNum   the number of messages played
+     * @param turnsNum     the number of turns played
+     * @param frenzy       {@code true} if the final frenzy was reached
+     * @param killShotsNum the number of killshots
+     * @param overkillsNum the number of killshots that were overkills
+     */
+    void addMatch(int actionsNum, int turnsNum, boolean frenzy, int killShotsNum, int overkillsNum) {
+        ++matches;
+        actions += actionsNum;
+        turns += turnsNum;
+        longestMatch = Math.max(longestMatch, turnsNum);
+
+        if (frenzy) {
+            ++frenzyMatches;
+        }
+
+        killShots += killShotsNum;
+        overkills += overkillsNum;
+        killShotsPerMatch.merge(killShotsNum, 1, Integer::sum);
+    }
+
+    /**
+     * Adds a match that could not be played to its end, its messages still count for the throughput
+     *
+     * @param actionsNum the number of messages played before the match was aborted
+     */
+    void addAbortedMatch(int actionsNum) {
+        ++abortedMatches;
+        actions += actionsNum;
+    }
+
+    /**
+     * Counts a message that threw an exception while the match was handling it, instead of being accepted or refused
+     */
+    void addBrokenMessage() {
+        ++brokenMessages;
+    }
+
+    /**
+     * Adds a weapon held by a player at the end of a match
+     *
+     * @param weapon the name of the weapon
+     * @param won    {@code true} if the player won the match
+     */
+    void addWeapon(String weapon, boolean won) {
+        WeaponStats stats = weaponStats.computeIfAbsent(weapon, name -> new WeaponStats());
+        ++stats.held;
+
+        if (won) {
+            ++stats.won;
+        }
+    }
+
+    /**
+     * Adds a weapon that must appear in the report even if it is never held
+     *
+     * @param weapon the name of the weapon
+     */
+    void addKnownWeapon(String weapon) {
+        weaponStats.computeIfAbsent(weapon, name -> new WeaponStats());
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Adds to this report the statistics of another one
+     *
+     * @param other the other report
+     * @return this report
+     */
+    SimulationReport merge(SimulationReport other) {
+        matches += other.matches;
+        abortedMatches += other.abortedMatches;
+        brokenMessages += other.brokenMessages;
+        actions += other.actions;
+        turns += other.turns;
+        longestMatch = Math.max(longestMatch, other.longestMatch);
+        frenzyMatches += other.frenzyMatches;
+        killShots += other.killShots;
+        overkills += other.overkills;
+
+        other.killShotsPerMatch.forEach((killShotsNum, count) -> killShotsPerMatch.merge(killShotsNum, count, Integer::sum));
+        other.weaponStats.forEach((weapon, stats) -> {
+            WeaponStats merged = weaponStats.computeIfAbsent(weapon, name -> new WeaponStats());
+            merged.held += stats.held;
+            merged.won += stats.won;
+        });
+
+        return this;
+    }
+
+    /**
+     * @return the number of matches played to their end
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * @return the number of matches that could not be played to their end
+     */
+    public int getAbortedMatches() {
+        return abortedMatches;
+    }
+
+    /**
+     * @return the number of messages that threw an exception while a match was handling them
+     */
+    public int getBrokenMessages() {
+        return brokenMessages;
+    }
+
+    /**
+     * @return the number of messages played in all the matches
+     */
+    public long getActions() {
+        return actions;
+    }
+
+    /**
+     * @return the number of matches that reached the final frenzy
+     */
+    public int getFrenzyMatches() {
+        return frenzyMatches;
+    }
+
+    /**
+     * @return for each number of killshots the number of matches that ended with it
+     */
+    public Map<Integer, Integer> getKillShotsPerMatch() {
+        return new TreeMap<>(killShotsPerMatch);
+    }
+
+    /**
+     * @param weapon the name of a weapon
+     * @return the share of the players holding the weapon at the end of a match that won it, {@code NaN} if the
+     * weapon was never held
+     */
+    public double getWinRate(String weapon) {
+        WeaponStats stats = weaponStats.get(weapon);
+        return stats != null && stats.held > 0 ? (double) stats.won / stats.held : Double.NaN;
+    }
+
+    /**
+     * Prints the report
+     *
+     * @param out the stream where the report is printed
+     */
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        int played = Math.max(1, matches);
+
+        out.printf("matches            %d ended, %d aborted in %.2f s%n", matches, abortedMatches, seconds);
+        out.printf("throughput         %.1f games/s, %.0f actions/s%n",
+                (matches + abortedMatches) / seconds, actions / seconds);
+        out.printf("game length        %.1f turns on average, %d at most%n", (double) turns / played, longestMatch);
+        out.printf("final frenzy       %.1f%% of the matches%n", 100.0 * frenzyMatches / played);
+        out.printf("killshots          %.2f per match, %.1f%% overkills%n",
+                (double) killShots / played, 100.0 * overkills / Math.max(1, killShots));
+        out.printf("broken messages    %d%n", brokenMessages);
+
+        out.println();
+        out.printf("%-10s %8s%n", "killshots", "matches");
+        killShotsPerMatch.forEach((killShotsNum, count) -> out.printf("%-10d %8d%n", killShotsNum, count));
+
+        out.println();
+        out.printf("%-24s %8s %8s%n", "weapon", "held", "win rate");
+        weaponStats.forEach((weapon, stats) -> out.printf("%-24s %8d %7.1f%%%n", weapon, stats.held,
+                stats.held > 0 ? 100.0 * stats.won / stats.held : 0.0));
+    }
+
+    private static class WeaponStats {
+        private int held;
+        private int won;
+    }
+}
@@ -14,6 +14,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class AmmoTileParser {
     private AmmoTileParser() {
@@ -21,6 +22,27 @@ public class AmmoTileParser {
     }
 
     public static Deck parseCards() {
+        return parseCards(new Random());
+    }
+
+    /**
+     * Takes all the ammo tiles from the {@link CardCatalog catalog} shuffling them with a given source of randomness
+     *
+     * @param random the source of randomness used to shuffle the deck
+     * @return a deck of all the AmmoTile
+     */
+    public static Deck parseCards(Random random) {
+        Deck deck = CardCatalog.getAmmoTiles();
+        deck.shuffle(random);
+        return deck;
+    }
+
+    /**
+     * Parse all the ammo tiles from ammotiles.json
+     *
+     * @return a deck of all the AmmoTile in the order of the file
+     */
+    static Deck parseJson() {
         Deck deck = new Deck(true);
 
         String path = "json/ammotiles.json";
@@ -51,7 +73,6 @@ public class AmmoTileParser {
             }
         }
 
-        deck.shuffle();
         return deck;
     }
 }
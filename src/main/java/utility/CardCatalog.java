@@ -0,0 +1,267 @@
+package utility;
+
+import model.cards.*;
+import model.cards.weaponstates.WeaponState;
+import network.server.Server;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Catalog of all the cards of the game. The json files of the cards are validated and parsed when the project is
+ * built, by the {@link #main(String[]) main} method, and the three decks are saved in the classes as a serialized
+ * catalog that is read only once at runtime. The decks given to the games are {@link Deck#copyOf(Deck) copies} of the
+ * ones of the catalog: their cards are shared until they are drawn and the weapons are copied then. If the catalog is
+ * missing, like when the classes are not built by maven, the json files are parsed instead.
+ * The cards of the catalog are the definitions shared by all the matches: only the state of a weapon belongs to a
+ * match, so a card can be rebuilt from its identifier and the state of its weapon
+ */
+public class CardCatalog {
+    public static final String CATALOG_PATH = "catalog/cards.bin";
+
+    private static Deck weapons;
+    private static Deck powerups;
+    private static Deck ammoTiles;
+
+    private static Map<Integer, WeaponCard> weaponsById;
+    private static Map<String, PowerupCard> powerupsByImage;
+    private static Map<String, AmmoTile> ammoTilesByImage;
+
+    private CardCatalog() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return an unshuffled copy of the deck of all the weapons
+     */
+    public static Deck getWeapons() {
+        load();
+        return Deck.copyOf(weapons);
+    }
+
+    /**
+     * @return an unshuffled copy of the deck of all the powerups
+     */
+    public static Deck getPowerups() {
+        load();
+        return Deck.copyOf(powerups);
+    }
+
+    /**
+     * @return an unshuffled copy of the deck of all the ammo tiles
+     */
+    public static Deck getAmmoTiles() {
+        load();
+        return Deck.copyOf(ammoTiles);
+    }
+
+    /**
+     * @param id     the id of the weapon
+     * @param status the {@link WeaponCard#status() status} of the weapon
+     * @return a new copy of the weapon with the given status, {@code null} if there is no weapon with that id
+     */
+    public static WeaponCard getWeapon(int id, int status) {
+        load();
+        WeaponCard definition = weaponsById.get(id);
+
+        if (definition == null) {
+            return null;
+        }
+
+        WeaponCard weapon = new WeaponCard(definition);
+        weapon.setStatus(WeaponState.fromStatus(status));
+        return weapon;
+    }
+
+    /**
+     * @param imagePath the image of the powerup, that identifies both its kind and its color
+     * @param id        the id of the card in the match
+     * @return a new powerup with the given id, {@code null} if there is no powerup with that image
+     */
+    public static PowerupCard getPowerup(String imagePath, int id) {
+        load();
+        PowerupCard definition = powerupsByImage.get(imagePath);
+
+        if (definition == null) {
+            return null;
+        }
+
+        return new PowerupCard(definition.getName(), imagePath, definition.getValue(), definition.getBaseEffect(), id);
+    }
+
+    /**
+     * @param imagePath the image of the ammo tile, that identifies its content
+     * @return the shared ammo tile, {@code null} if there is no ammo tile with that image
+     */
+    public static AmmoTile getAmmoTile(String imagePath) {
+        load();
+        return ammoTilesByImage.get(imagePath);
+    }
+
+    /**
+     * Tells if a card is made of the definitions of the catalog, and so can be rebuilt from its identifier. The
+     * catalog is not loaded to answer, before it is loaded no card is shared
+     *
+     * @param card the card
+     * @return {@code true} if the card shares its definition with the catalog
+     */
+    public static synchronized boolean isShared(Card card) {
+        if (weaponsById == null) {
+            return false;
+        }
+
+        if (card instanceof WeaponCard) {
+            WeaponCard definition = weaponsById.get(((WeaponCard) card).getId());
+            return definition != null && definition.getBaseEffect() == ((WeaponCard) card).getBaseEffect();
+        }
+
+        if (card instanceof PowerupCard) {
+            PowerupCard definition = powerupsByImage.get(card.getImagePath());
+            return definition != null && definition.getBaseEffect() == ((PowerupCard) card).getBaseEffect() &&
+                    definition.getValue() == ((PowerupCard) card).getValue();
+        }
+
+        return card.equals(ammoTilesByImage.get(card.getImagePath()));
+    }
+
+    /**
+     * Reads the catalog the first time it is needed, parsing the json files if it can not be read
+     */
+    private static synchronized void load() {
+        if (weapons != null) {
+            return;
+        }
+
+        InputStream stream = CardCatalog.class.getClassLoader().getResourceAsStream(CATALOG_PATH);
+
+        if (stream != null) {
+            try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(stream))) {
+                setDecks((Deck[]) in.readObject());
+                return;
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                Server.LOGGER.log(Level.WARNING, "Card catalog not readable, the json files are parsed", e);
+            }
+        }
+
+        setDecks(parseDecks());
+    }
+
+    private static void setDecks(Deck[] decks) {
+        Map<Integer, WeaponCard> weaponIndex = new HashMap<>();
+        Map<String, PowerupCard> powerupIndex = new HashMap<>();
+        Map<String, AmmoTile> ammoTileIndex = new HashMap<>();
+
+        for (Card card : decks[0].getCards()) {
+            weaponIndex.put(((WeaponCard) card).getId(), (WeaponCard) card);
+        }
+
+        for (Card card : decks[1].getCards()) {
+            powerupIndex.putIfAbsent(card.getImagePath(), (PowerupCard) card);
+        }
+
+        for (Card card : decks[2].getCards()) {
+            ammoTileIndex.putIfAbsent(card.getImagePath(), (AmmoTile) card);
+        }
+
+        weapons = decks[0];
+        powerups = decks[1];
+        ammoTiles = decks[2];
+        weaponsById = weaponIndex;
+        powerupsByImage = powerupIndex;
+        ammoTilesByImage = ammoTileIndex;
+    }
+
+    /**
+     * Parses and validates the json files of the cards
+     *
+     * @return the decks of the weapons, of the powerups and of the ammo tiles, in the order of the files
+     * @throws IllegalStateException if a card is not valid
+     */
+    static Deck[] parseDecks() {
+        Deck[] decks = {WeaponParser.parseJson(), PowerupParser.parseJson(), AmmoTileParser.parseJson()};
+
+        validate(decks[0], decks[1], decks[2]);
+        return decks;
+    }
+
+    /**
+     * Checks that no deck is empty, that each card has an existing image, that each weapon has a unique id, a
+     * cost and a base effect and that the cards with the same image are the same
+     */
+    private static void validate(Deck weaponDeck, Deck powerupDeck, Deck ammoTileDeck) {
+        Set<Integer> weaponIds = new HashSet<>();
+        Map<String, Card> cardsByImage = new HashMap<>();
+
+        for (Deck deck : new Deck[]{weaponDeck, powerupDeck, ammoTileDeck}) {
+            List<Card> cards = deck.getCards();
+
+            if (cards.isEmpty()) {
+                throw new IllegalStateException("Empty deck in the card files");
+            }
+
+            for (Card card : cards) {
+                validateImage(card, cardsByImage);
+
+                if (card instanceof WeaponCard) {
+                    validateWeapon((WeaponCard) card, weaponIds);
+                }
+            }
+        }
+    }
+
+    private static void validateImage(Card card, Map<String, Card> cardsByImage) {
+        String imagePath = card.getImagePath();
+
+        if (imagePath == null || CardCatalog.class.getResource(imagePath) == null) {
+            throw new IllegalStateException("Missing image " + imagePath + " of " + card);
+        }
+
+        Card sameImage = cardsByImage.putIfAbsent(imagePath, card);
+
+        if (sameImage != null && !(card instanceof WeaponCard) && !sameDefinition(sameImage, card)) {
+            throw new IllegalStateException("Different cards with the image " + imagePath);
+        }
+    }
+
+    private static boolean sameDefinition(Card first, Card second) {
+        if (first instanceof PowerupCard && second instanceof PowerupCard) {
+            return ((PowerupCard) first).getBaseEffect() == ((PowerupCard) second).getBaseEffect() &&
+                    ((PowerupCard) first).getValue() == ((PowerupCard) second).getValue();
+        }
+
+        return first.equals(second);
+    }
+
+    private static void validateWeapon(WeaponCard weapon, Set<Integer> weaponIds) {
+        if (!weaponIds.add(weapon.getId())) {
+            throw new IllegalStateException("Duplicated weapon id " + weapon.getId());
+        }
+
+        if (weapon.getCost() == null || weapon.getBaseEffect() == null) {
+            throw new IllegalStateException("Weapon " + weapon.getName() + " without cost or base effect");
+        }
+    }
+
+    /**
+     * Validates the json files of the cards and writes the catalog, it is run by maven after the compilation
+     *
+     * @param args the output directory of the classes
+     * @throws IOException if the catalog can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: CardCatalog <classes directory>");
+        }
+
+        Path catalog = Paths.get(args[0], CATALOG_PATH);
+        Files.createDirectories(catalog.getParent());
+
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(catalog)))) {
+            out.writeObject(parseDecks());
+        }
+    }
+}
@@ -32,6 +32,15 @@ public class InputValidator {
     }
 
     public static boolean validatePosition(PlayerPosition position) {
+        return validatePosition(position, Game.getInstance().getGameMap());
+    }
+
+    /**
+     * @param position the position to validate
+     * @param gameMap  the map where the position must be
+     * @return {@code true} if the position is a square of the map
+     */
+    public static boolean validatePosition(PlayerPosition position, GameMap gameMap) {
         if (position == null) {
             return false;
         }
@@ -46,7 +55,7 @@ public class InputValidator {
             return false;
         }
 
-        return Game.getInstance().getGameMap().getSquare(position) != null;
+        return gameMap.getSquare(position) != null;
     }
 
     public static boolean validateInput(Message checkingMessage) {
@@ -41,6 +41,10 @@ public class MessageBuilder {
         return new GameVoteMessage(username, token, vote);
     }
 
+    public static MatchPreferencesMessage buildMatchPreferencesMessage(String token, String username, int skullNum, Boolean terminator) {
+        return new MatchPreferencesMessage(username, token, skullNum, terminator);
+    }
+
     /**
      * Create a {@link DiscardPowerupRequest DiscardPowerupRequest} object from the actual
      * {@code player} and his {@code powerupCard}
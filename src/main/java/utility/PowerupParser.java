@@ -17,13 +17,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Map;
 
 import static utility.WeaponParser.parseIntJsonArray;
 
 public class PowerupParser {
     private static final String TARGET = "target";
-    private static int ids = 0;
 
     private PowerupParser() {
         throw new IllegalStateException("Utility class");
@@ -35,6 +35,27 @@ public class PowerupParser {
      * @return {@code deck} of all the powerups
      */
     public static Deck parseCards() {
+        return parseCards(new Random());
+    }
+
+    /**
+     * Takes all the powerups from the {@link CardCatalog catalog} shuffling them with a given source of randomness
+     *
+     * @param random the source of randomness used to shuffle the deck
+     * @return {@code deck} of all the powerups
+     */
+    public static Deck parseCards(Random random) {
+        Deck deck = CardCatalog.getPowerups();
+        deck.shuffle(random);
+        return deck;
+    }
+
+    /**
+     * Parse all the powerups from powerup.json
+     *
+     * @return {@code deck} of all the powerups in the order of the file
+     */
+    static Deck parseJson() {
         Deck deck = new Deck(true);
         String path = "json/powerups.json";
 
@@ -52,14 +73,13 @@ public class PowerupParser {
         for (JsonElement je : powerups) {
             JsonObject jo = je.getAsJsonObject();
 
-            List<PowerupCard> cards = parseColor(jo);
+            List<PowerupCard> cards = parseColor(jo, deck.numOfCards());
 
             for (Card card : cards) {
                 deck.addCard(card);
             }
         }
 
-        deck.shuffle();
         return deck;
     }
 
@@ -67,9 +87,10 @@ public class PowerupParser {
      * Parses PowerupCard for each color
      *
      * @param jsonObject JsonObject of a powerup
+     * @param firstId    the id of the first parsed card, the next ones follow it
      * @return a list of PowerupCard
      */
-    private static List<PowerupCard> parseColor(JsonObject jsonObject) {
+    private static List<PowerupCard> parseColor(JsonObject jsonObject, int firstId) {
         String name = jsonObject.get("title").getAsString();
         String description = jsonObject.get("description").getAsString();
         JsonArray values = jsonObject.getAsJsonArray("values");
@@ -106,8 +127,7 @@ public class PowerupParser {
             Ammo ammo = Ammo.valueOf(jo.get("color").getAsString());
 
             for (int i = 0; i < quantity; ++i) {
-                cards.add(new PowerupCard(name, imagePath, ammo, effect, ids));
-                ++ids;
+                cards.add(new PowerupCard(name, imagePath, ammo, effect, firstId + cards.size()));
             }
         }
 
@@ -33,6 +33,27 @@ public class WeaponParser {
      * @return a deck of all the WeaponCard
      */
     public static Deck parseCards() {
+        return parseCards(new Random());
+    }
+
+    /**
+     * Takes all the weapons from the {@link CardCatalog catalog} shuffling them with a given source of randomness
+     *
+     * @param random the source of randomness used to shuffle the deck
+     * @return a deck of all the WeaponCard
+     */
+    public static Deck parseCards(Random random) {
+        Deck deck = CardCatalog.getWeapons();
+        deck.shuffle(random);
+        return deck;
+    }
+
+    /**
+     * Parse all the weapons from weapons.json
+     *
+     * @return a deck of all the WeaponCard in the order of the file
+     */
+    static Deck parseJson() {
         Deck deck = new Deck();
 
         String path = "json/weapons.json";
@@ -73,7 +94,6 @@ public class WeaponParser {
             deck.addCard((new WeaponCard(name, imagePath, baseEffect, id, cost, secondaryEffects, new SemiChargedWeapon())));
         }
 
-        deck.shuffle();
         return deck;
     }
 
@@ -0,0 +1,85 @@
+package utility.persistency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only journal of the actions applied to a {@link controller.GameManager GameManager} and of the snapshots
+ * taken of it. Records are queued by the thread of the match to the {@link SaveStore SaveStore} that writes them in
+ * background together with the ones of the other matches.
+ * Each journal record carries a sequence number and a snapshot always carries the sequence of the last action it
+ * contains so that replay only applies the newer records
+ */
+class GameJournal {
+    static final byte ACTION_RECORD = 0;
+    static final byte CONNECTION_RECORD = 1;
+
+    private final SaveStore store;
+    private final String matchId;
+    private final AtomicLong sequence;
+    private int entriesSinceSnapshot;
+
+    /**
+     * Creates the journal of a match
+     *
+     * @param store   the store where the records are written
+     * @param matchId the id of the match
+     */
+    GameJournal(SaveStore store, String matchId) {
+        this.store = store;
+        this.matchId = matchId;
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * @return the store where the records are written
+     */
+    SaveStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return the sequence number of the last action queued to the journal
+     */
+    long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Sets the sequence number from which the journal continues, used after a game is reloaded
+     *
+     * @param lastSequence the sequence number of the last applied action
+     */
+    void setSequence(long lastSequence) {
+        sequence.set(lastSequence);
+    }
+
+    /**
+     * @return the number of records queued since the last snapshot
+     */
+    synchronized int getEntriesSinceSnapshot() {
+        return entriesSinceSnapshot;
+    }
+
+    /**
+     * Queues a new record at the end of the journal
+     *
+     * @param type    the type of the record, {@link #ACTION_RECORD} or {@link #CONNECTION_RECORD}
+     * @param payload the serialized message
+     */
+    synchronized void append(byte type, byte[] payload) {
+        ++entriesSinceSnapshot;
+        store.append(matchId, sequence.incrementAndGet(), type, payload);
+    }
+
+    /**
+     * Queues a new snapshot, once it is written a new journal segment is started as every record is contained in it
+     *
+     * @param snapshot    the detached copy of the game to be encoded
+     * @param captureTime the time in nanoseconds spent by the thread of the match to copy the game
+     * @param finished    {@code true} if the match is over
+     */
+    synchronized void snapshot(PersistencyClass snapshot, long captureTime, boolean finished) {
+        entriesSinceSnapshot = 0;
+        store.snapshot(matchId, sequence.get(), snapshot, captureTime, finished);
+    }
+}
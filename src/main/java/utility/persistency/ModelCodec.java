@@ -0,0 +1,475 @@
+package utility.persistency;
+
+import enumerations.*;
+import exceptions.file.SnapshotFormatException;
+import model.Game;
+import model.cards.AmmoTile;
+import model.cards.Card;
+import model.cards.Deck;
+import model.cards.PowerupCard;
+import model.cards.WeaponCard;
+import model.map.CardSquare;
+import model.map.GameMap;
+import model.map.SpawnSquare;
+import model.map.Square;
+import model.player.*;
+import utility.CardCatalog;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binary schema of the {@link Game Game} in a snapshot. Cards are written by their identifiers and rebuilt from the
+ * {@link CardCatalog CardCatalog}, the map is written by its id and only the cards placed on it are saved
+ */
+public class ModelCodec {
+    private static final int WEAPON_CARD = 0;
+    private static final int POWERUP_CARD = 1;
+    private static final int AMMO_TILE = 2;
+
+    private ModelCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Writes the whole state of a game
+     *
+     * @param out  the snapshot writer
+     * @param game the game to write
+     */
+    public static void writeGame(SnapshotOutput out, Game game) {
+        out.writeEnum(game.getState());
+        out.writeBoolean(game.isGameStarted());
+        out.writeInt(game.getKillShotNum());
+        writeKillShots(out, game.getKillShotTrack());
+        writeKillShots(out, game.getFinalFrenzyKillShots());
+
+        out.writeInt(game.getPlayers().size());
+        for (UserPlayer player : game.getPlayers()) {
+            writeUserPlayer(out, player);
+        }
+
+        out.writeBoolean(game.isBotPresent());
+        out.writeBoolean(game.getBot() != null);
+        if (game.getBot() != null) {
+            writeBot(out, (Bot) game.getBot());
+        }
+
+        writeDeck(out, game.getWeaponsCardsDeck());
+        writeDeck(out, game.getPowerupCardsDeck());
+        writeDeck(out, game.getAmmoTileDeck());
+
+        out.writeBoolean(game.getGameMap() != null);
+        if (game.getGameMap() != null) {
+            writeMap(out, game.getGameMap());
+        }
+
+        out.writeLong(game.getRandom().getState());
+    }
+
+    /**
+     * Reads a game written by {@link #writeGame(SnapshotOutput, Game) writeGame}
+     *
+     * @param in the snapshot reader
+     * @return a detached game not bound to the singleton instance
+     */
+    public static Game readGame(SnapshotInput in) {
+        GameState state = in.readEnum(GameState.class);
+        boolean gameStarted = in.readBoolean();
+        int killShotNum = in.readInt();
+        List<KillShot> killShotsTrack = readKillShots(in);
+        List<KillShot> finalFrenzyKillShots = readKillShots(in);
+
+        int playersCount = in.readInt();
+        List<UserPlayer> players = new ArrayList<>(playersCount);
+        for (int i = 0; i < playersCount; ++i) {
+            players.add(readUserPlayer(in));
+        }
+
+        boolean botPresent = in.readBoolean();
+        Bot bot = in.readBoolean() ? readBot(in) : null;
+
+        Deck weaponsCardsDeck = readDeck(in);
+        Deck powerupCardsDeck = readDeck(in);
+        Deck ammoTileDeck = readDeck(in);
+
+        GameMap gameMap = in.readBoolean() ? readMap(in) : null;
+
+        Game game = new Game(state, gameStarted, players, bot, botPresent, killShotNum, killShotsTrack, finalFrenzyKillShots,
+                weaponsCardsDeck, powerupCardsDeck, ammoTileDeck, gameMap);
+
+        if (in.getVersion() >= 2) {
+            game.getRandom().setState(in.readLong());
+        }
+
+        return game;
+    }
+
+    /**
+     * Writes a position that can be {@code null}
+     *
+     * @param out      the snapshot writer
+     * @param position the position to write
+     */
+    public static void writePosition(SnapshotOutput out, PlayerPosition position) {
+        out.writeBoolean(position != null);
+
+        if (position != null) {
+            out.writeInt(position.getRow());
+            out.writeInt(position.getColumn());
+        }
+    }
+
+    public static PlayerPosition readPosition(SnapshotInput in) {
+        return in.readBoolean() ? new PlayerPosition(in.readInt(), in.readInt()) : null;
+    }
+
+    /**
+     * Writes a list of positions that can be {@code null}
+     *
+     * @param out       the snapshot writer
+     * @param positions the positions to write
+     */
+    public static void writePositions(SnapshotOutput out, List<PlayerPosition> positions) {
+        out.writeBoolean(positions != null);
+
+        if (positions != null) {
+            out.writeInt(positions.size());
+
+            for (PlayerPosition position : positions) {
+                writePosition(out, position);
+            }
+        }
+    }
+
+    public static List<PlayerPosition> readPositions(SnapshotInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        int count = in.readInt();
+        List<PlayerPosition> positions = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            positions.add(readPosition(in));
+        }
+
+        return positions;
+    }
+
+    private static void writeKillShots(SnapshotOutput out, List<KillShot> killShots) {
+        out.writeInt(killShots.size());
+
+        for (KillShot killShot : killShots) {
+            out.writeString(killShot.getKiller());
+            out.writeInt(killShot.getPoints());
+        }
+    }
+
+    private static List<KillShot> readKillShots(SnapshotInput in) {
+        int count = in.readInt();
+        List<KillShot> killShots = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            killShots.add(new KillShot(in.readString(), in.readInt()));
+        }
+
+        return killShots;
+    }
+
+    private static void writePlayer(SnapshotOutput out, Player player) {
+        out.writeString(player.getUsername());
+        out.writeEnum(player.getColor());
+        writePosition(out, player.getPosition());
+        out.writeInt(player.getPoints());
+        writePlayerBoard(out, player.getPlayerBoard());
+    }
+
+    private static void writeUserPlayer(SnapshotOutput out, UserPlayer player) {
+        writePlayer(out, player);
+
+        Set<PossibleAction> possibleActions = player.getPossibleActions();
+        out.writeBoolean(possibleActions != null);
+        if (possibleActions != null) {
+            out.writeInt(possibleActions.size());
+            for (PossibleAction possibleAction : possibleActions) {
+                out.writeEnum(possibleAction);
+            }
+        }
+
+        out.writeEnum(player.getPlayerState());
+
+        WeaponCard[] weapons = player.getWeapons();
+        out.writeInt(weapons.length);
+        for (WeaponCard weapon : weapons) {
+            writeCard(out, weapon);
+        }
+
+        PowerupCard[] powerups = player.getPowerups();
+        out.writeInt(powerups.length);
+        for (PowerupCard powerup : powerups) {
+            writeCard(out, powerup);
+        }
+
+        writeNullableCard(out, player.getSpawningCard());
+        out.writeBoolean(player.isFirstPlayer());
+    }
+
+    private static UserPlayer readUserPlayer(SnapshotInput in) {
+        String username = in.readString();
+        PlayerColor color = in.readEnum(PlayerColor.class);
+        PlayerPosition position = readPosition(in);
+        int points = in.readInt();
+        UserPlayer player = new UserPlayer(username, color, readPlayerBoard(in));
+
+        player.setPosition(position);
+        player.setPoints(points);
+
+        if (in.readBoolean()) {
+            int count = in.readInt();
+            EnumSet<PossibleAction> possibleActions = EnumSet.noneOf(PossibleAction.class);
+
+            for (int i = 0; i < count; ++i) {
+                possibleActions.add(in.readEnum(PossibleAction.class));
+            }
+
+            player.setPossibleActions(possibleActions);
+        } else {
+            player.setPossibleActions(null);
+        }
+
+        player.setPlayerState(in.readEnum(PossiblePlayerState.class));
+
+        int weaponsCount = in.readInt();
+        List<WeaponCard> weapons = new ArrayList<>(weaponsCount);
+        for (int i = 0; i < weaponsCount; ++i) {
+            weapons.add((WeaponCard) readCard(in));
+        }
+        player.setWeapons(weapons);
+
+        int powerupsCount = in.readInt();
+        List<PowerupCard> powerups = new ArrayList<>(powerupsCount);
+        for (int i = 0; i < powerupsCount; ++i) {
+            powerups.add((PowerupCard) readCard(in));
+        }
+        player.setPowerups(powerups);
+
+        player.setSpawningCard((PowerupCard) readNullableCard(in));
+        if (in.readBoolean()) {
+            player.setFirstPlayer();
+        }
+
+        return player;
+    }
+
+    private static void writeBot(SnapshotOutput out, Bot bot) {
+        writePlayer(out, bot);
+        out.writeBoolean(bot.isSpawnTurn());
+    }
+
+    private static Bot readBot(SnapshotInput in) {
+        // the username of the terminator is fixed
+        in.readString();
+        PlayerColor color = in.readEnum(PlayerColor.class);
+        PlayerPosition position = readPosition(in);
+        int points = in.readInt();
+        Bot bot = new Bot(color, readPlayerBoard(in));
+
+        bot.setPosition(position);
+        bot.setPoints(points);
+        bot.setSpawnTurn(in.readBoolean());
+
+        return bot;
+    }
+
+    private static void writePlayerBoard(SnapshotOutput out, PlayerBoard playerBoard) {
+        out.writeStrings(playerBoard.getDamages());
+        out.writeStrings(playerBoard.getMarks());
+        out.writeInt(playerBoard.getSkulls());
+
+        AmmoQuantity ammo = playerBoard.getAmmo();
+        out.writeInt(ammo.getRedAmmo());
+        out.writeInt(ammo.getBlueAmmo());
+        out.writeInt(ammo.getYellowAmmo());
+
+        out.writeEnum(playerBoard.getBoardState());
+        out.writeBoolean(playerBoard.isBoardFlipped());
+    }
+
+    private static PlayerBoard readPlayerBoard(SnapshotInput in) {
+        List<String> damages = in.readStrings();
+        List<String> marks = in.readStrings();
+        int skulls = in.readInt();
+        AmmoQuantity ammo = new AmmoQuantity(in.readInt(), in.readInt(), in.readInt());
+
+        return new PlayerBoard(damages, marks, skulls, ammo, in.readEnum(PlayerBoardState.class), in.readBoolean());
+    }
+
+    private static void writeDeck(SnapshotOutput out, Deck deck) {
+        out.writeBoolean(deck != null);
+
+        if (deck != null) {
+            writeCards(out, deck.getCards());
+
+            List<Card> discard = deck.getDiscardedCards();
+            out.writeBoolean(discard != null);
+            if (discard != null) {
+                writeCards(out, discard);
+            }
+        }
+    }
+
+    private static Deck readDeck(SnapshotInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        List<Card> cards = readCards(in);
+        return Deck.restore(cards, in.readBoolean() ? readCards(in) : null);
+    }
+
+    private static void writeCards(SnapshotOutput out, List<Card> cards) {
+        out.writeInt(cards.size());
+
+        for (Card card : cards) {
+            writeCard(out, card);
+        }
+    }
+
+    private static List<Card> readCards(SnapshotInput in) {
+        int count = in.readInt();
+        List<Card> cards = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            cards.add(readCard(in));
+        }
+
+        return cards;
+    }
+
+    private static void writeNullableCard(SnapshotOutput out, Card card) {
+        out.writeBoolean(card != null);
+
+        if (card != null) {
+            writeCard(out, card);
+        }
+    }
+
+    private static Card readNullableCard(SnapshotInput in) {
+        return in.readBoolean() ? readCard(in) : null;
+    }
+
+    private static void writeCard(SnapshotOutput out, Card card) {
+        if (card instanceof WeaponCard) {
+            WeaponCard weapon = (WeaponCard) card;
+
+            out.writeInt(WEAPON_CARD);
+            out.writeInt(weapon.getId());
+            out.writeInt(weapon.status());
+        } else if (card instanceof PowerupCard) {
+            PowerupCard powerup = (PowerupCard) card;
+
+            out.writeInt(POWERUP_CARD);
+            out.writeString(powerup.getImagePath());
+            out.writeInt(powerup.getId());
+        } else {
+            AmmoTile ammoTile = (AmmoTile) card;
+            AmmoQuantity ammo = ammoTile.getAmmoOnTile();
+
+            out.writeInt(AMMO_TILE);
+            out.writeString(ammoTile.getImagePath());
+            out.writeInt(ammo.getRedAmmo());
+            out.writeInt(ammo.getBlueAmmo());
+            out.writeInt(ammo.getYellowAmmo());
+            out.writeBoolean(ammoTile.isPickPowerup());
+        }
+    }
+
+    private static Card readCard(SnapshotInput in) {
+        int cardType = in.readInt();
+
+        switch (cardType) {
+            case WEAPON_CARD:
+                return readWeapon(in.readInt(), in.readInt());
+
+            case POWERUP_CARD:
+                String powerupImage = in.readString();
+                PowerupCard powerup = CardCatalog.getPowerup(powerupImage, in.readInt());
+
+                if (powerup == null) {
+                    throw new SnapshotFormatException("Unknown powerup " + powerupImage);
+                }
+
+                return powerup;
+
+            case AMMO_TILE:
+                String imagePath = in.readString();
+                AmmoTile ammoTile = new AmmoTile(imagePath, new AmmoQuantity(in.readInt(), in.readInt(), in.readInt()), in.readBoolean());
+
+                // the tiles of the catalog are shared by all the matches
+                return ammoTile.equals(CardCatalog.getAmmoTile(imagePath)) ? CardCatalog.getAmmoTile(imagePath) : ammoTile;
+
+            default:
+                throw new SnapshotFormatException("Unknown card type " + cardType);
+        }
+    }
+
+    private static WeaponCard readWeapon(int id, int status) {
+        WeaponCard weapon;
+
+        try {
+            weapon = CardCatalog.getWeapon(id, status);
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Unknown weapon status " + status);
+        }
+
+        if (weapon == null) {
+            throw new SnapshotFormatException("Unknown weapon " + id);
+        }
+
+        return weapon;
+    }
+
+    private static void writeMap(SnapshotOutput out, GameMap gameMap) {
+        out.writeInt(gameMap.getMapID());
+
+        for (Square[] row : gameMap.getRooms()) {
+            for (Square square : row) {
+                if (square instanceof SpawnSquare) {
+                    for (WeaponCard weapon : ((SpawnSquare) square).getWeapons()) {
+                        writeNullableCard(out, weapon);
+                    }
+                } else if (square instanceof CardSquare) {
+                    CardSquare cardSquare = (CardSquare) square;
+
+                    out.writeBoolean(cardSquare.isAmmoTilePresent());
+                    if (cardSquare.isAmmoTilePresent()) {
+                        writeCard(out, cardSquare.getAmmoTile());
+                    }
+                }
+            }
+        }
+    }
+
+    private static GameMap readMap(SnapshotInput in) {
+        GameMap gameMap = new GameMap(in.readInt());
+
+        for (Square[] row : gameMap.getRooms()) {
+            for (Square square : row) {
+                if (square instanceof SpawnSquare) {
+                    SpawnSquare spawnSquare = (SpawnSquare) square;
+
+                    for (int slot = 0; slot < spawnSquare.getWeapons().length; ++slot) {
+                        spawnSquare.setWeapon(slot, (WeaponCard) readNullableCard(in));
+                    }
+                } else if (square instanceof CardSquare && in.readBoolean()) {
+                    ((CardSquare) square).setAmmoTile((AmmoTile) readCard(in));
+                }
+            }
+        }
+
+        return gameMap;
+    }
+}
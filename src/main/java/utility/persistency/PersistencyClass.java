@@ -16,9 +16,11 @@ class PersistencyClass implements Serializable {
     private GameManager gameManager;
     private TurnManager turnManager;
     private ArrayList<NotTransientPlayer> playersCopy;
+    private long sequence;
 
-    PersistencyClass(GameManager gameManager) {
+    PersistencyClass(GameManager gameManager, long sequence) {
         this.gameManager = gameManager;
+        this.sequence = sequence;
         this.turnManager = gameManager.getRoundManager().getTurnManager();
         this.playersCopy = setPlayersCopy();
     }
@@ -35,6 +37,13 @@ class PersistencyClass implements Serializable {
         return this.playersCopy;
     }
 
+    /**
+     * @return the sequence of the last journaled action contained in this snapshot
+     */
+    long getSequence() {
+        return this.sequence;
+    }
+
     private ArrayList<NotTransientPlayer> setPlayersCopy() {
         Game gameSaved = gameManager.getGameInstance();
         ArrayList<NotTransientPlayer> notTransientPlayers = new ArrayList<>();
@@ -1,64 +1,365 @@
 package utility.persistency;
 
 import controller.GameManager;
+import enumerations.PossibleGameState;
+import exceptions.file.SnapshotFormatException;
 import exceptions.game.ReloadException;
+import model.Game;
+import model.player.UserPlayer;
+import network.message.Message;
 import network.server.Server;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 public class SaveGame {
+    /**
+     * System property with the directory of the saves of the servers that do not configure one
+     */
+    public static final String SAVE_DIRECTORY_PROPERTY = "adrenaline.saves";
+    private static final String DEFAULT_SAVE_DIRECTORY = "saves";
+
+    /**
+     * Files of the single save used before the saves were kept per match, still loaded if no other save exists
+     */
+    private static final String LEGACY_SNAPSHOT_FILE = "gameSaved.adrenaline";
+    private static final String LEGACY_JOURNAL_FILE = "gameSaved.journal";
+
+    /**
+     * Number of journal records after which a new snapshot compacts the journal
+     */
+    private static final int SNAPSHOT_INTERVAL = 64;
+
+    private static final Map<File, SaveStore> stores = new HashMap<>();
+    private static final Map<String, GameJournal> journals = new ConcurrentHashMap<>();
 
     private SaveGame() {
         throw new IllegalStateException("Utility Class");
     }
 
     /**
-     * Method used to store locally the status of the {@link model.Game Game} whenever used
+     * @return the directory of the saves when none is configured, the {@value #SAVE_DIRECTORY_PROPERTY} system
+     * property if set
+     */
+    public static File getDefaultDirectory() {
+        return new File(System.getProperty(SAVE_DIRECTORY_PROPERTY, DEFAULT_SAVE_DIRECTORY));
+    }
+
+    /**
+     * @param directory the directory of the saves
+     * @return the store of the saves of the directory, opened the first time it is needed
+     */
+    private static SaveStore getStore(File directory) {
+        File key = directory.getAbsoluteFile();
+
+        synchronized (stores) {
+            return stores.computeIfAbsent(key, SaveStore::new);
+        }
+    }
+
+    /**
+     * Writes the saves still queued for a directory and closes its store, the journals of its matches are forgotten.
+     * The store is opened again if a match is saved there later
+     *
+     * @param directory the directory of the saves
+     */
+    public static void closeStore(File directory) {
+        SaveStore saveStore;
+
+        synchronized (stores) {
+            saveStore = stores.remove(directory.getAbsoluteFile());
+        }
+
+        if (saveStore != null) {
+            journals.values().removeIf(journal -> journal.getStore() == saveStore);
+            saveStore.close();
+        }
+    }
+
+    /**
+     * @param gameManager the {@link GameManager GameManager} of the match
+     * @return the journal of the match, created the first time it is needed
+     */
+    private static GameJournal getJournal(GameManager gameManager) {
+        return journals.computeIfAbsent(gameManager.getMatchId(),
+                matchId -> new GameJournal(getStore(gameManager.getSaveDirectory()), matchId));
+    }
+
+    /**
+     * Method used to store locally a full snapshot of the status of the {@link model.Game Game}. The calling thread only
+     * takes a detached copy of the game with {@link GameManager#snapshot() snapshot}, the copy is then encoded and
+     * written in background while the game goes on. Once written a new journal segment is started. The snapshot of an
+     * ended match marks its save as finished
      *
      * @param gameManager the only needed parameter used to save the status
      */
     public static void saveGame(GameManager gameManager) {
-        PersistencyClass persistencyClass = new PersistencyClass(gameManager);
+        GameJournal gameJournal = getJournal(gameManager);
+        boolean finished = gameManager.getGameState() == PossibleGameState.GAME_ENDED;
+        long captureStart = System.nanoTime();
 
-        try (FileOutputStream gameSaved = new FileOutputStream(new File("gameSaved.adrenaline"))) {
-            ObjectOutputStream outGame = new ObjectOutputStream(gameSaved);
+        PersistencyClass persistencyClass = new PersistencyClass(gameManager.snapshot(), gameJournal.getSequence());
+        gameJournal.snapshot(persistencyClass, System.nanoTime() - captureStart, finished);
 
-            outGame.writeObject(persistencyClass);
-            Server.LOGGER.log(Level.INFO, "Game State saved after valid action");
+        if (finished) {
+            journals.remove(gameManager.getMatchId());
+        }
+    }
+
+    /**
+     * @param gameManager the {@link GameManager GameManager} of a match
+     * @return the copy and write times and the size of the last snapshot written in the store of the match,
+     * {@code null} if none has been written yet
+     */
+    public static SnapshotStatistics getLastSnapshotStatistics(GameManager gameManager) {
+        return getStore(gameManager.getSaveDirectory()).getLastSnapshotStatistics();
+    }
 
-            outGame.close();
-        } catch (FileNotFoundException e) {
-            // never reached we create the file we need each time
+    /**
+     * Serializes a {@link Message Message} before it is handled, as handling can modify it
+     *
+     * @param message the message to be journaled
+     * @return the serialized message or {@code null} if it can not be serialized
+     */
+    public static byte[] encodeMessage(Message message) {
+        try {
+            return serialize(message);
         } catch (IOException e) {
             Server.LOGGER.severe(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends an already handled message to the journal of its match
+     *
+     * @param gameManager       the {@link GameManager GameManager} of the match
+     * @param encodedMessage    the message serialized with {@link #encodeMessage(Message) encodeMessage}
+     * @param connectionMessage {@code true} if the message was handled as a connection message
+     */
+    public static void journalMessage(GameManager gameManager, byte[] encodedMessage, boolean connectionMessage) {
+        if (encodedMessage != null) {
+            getJournal(gameManager).append(connectionMessage ? GameJournal.CONNECTION_RECORD : GameJournal.ACTION_RECORD, encodedMessage);
         }
     }
 
-    public static GameManager loadGame(Server server, int startTime) {
-            PersistencyClass persistencyClass;
+    /**
+     * @param gameManager the {@link GameManager GameManager} of the match
+     * @return {@code true} if the journal of the match is long enough to be compacted into a new snapshot
+     */
+    public static boolean isSnapshotDue(GameManager gameManager) {
+        return getJournal(gameManager).getEntriesSinceSnapshot() >= SNAPSHOT_INTERVAL;
+    }
+
+    /**
+     * Reloads every unfinished match of the store. The saves are decoded in parallel, then each match is restored in
+     * its {@link model.Game Game} and the actions journaled after its snapshot are applied again. The requested match
+     * becomes the main game of the server, the others are reloaded as
+     * {@link GameManager#reloadedPoolMatch(Server, GameManager) matches of the pool}. A match with a player already
+     * in another reloaded match is skipped
+     *
+     * @param server        the server of the reloaded matches
+     * @param startTime     the lobby timeout time in seconds
+     * @param matchId       the id of the main match, {@code null} to choose the most recently saved one
+     * @param saveDirectory the directory of the saves
+     * @return the {@link GameManager GameManagers} of the reloaded matches, the main one first
+     */
+    public static List<GameManager> loadGames(Server server, int startTime, String matchId, File saveDirectory) {
+        try {
+            List<SavedMatch> savedMatches = new ArrayList<>(restoreUnfinishedMatches(saveDirectory));
+            SavedMatch mainMatch = null;
 
-        try (FileInputStream gameSaved = new FileInputStream(new File("gameSaved.adrenaline"))) {
-            ObjectInputStream inGame = new ObjectInputStream(gameSaved);
+            for (SavedMatch match : savedMatches) {
+                if (matchId == null || match.matchId.equals(matchId)) {
+                    mainMatch = match;
+                    break;
+                }
+            }
 
-            // first I read the saved State of the Game
-            persistencyClass = (PersistencyClass) inGame.readObject();
+            if (mainMatch == null && matchId == null) {
+                mainMatch = loadLegacySave();
+            }
 
-            // then I restart the beginning class of each Game
-            GameManager newGameManager = new GameManager(server, persistencyClass.getGameManager(), startTime);
+            if (mainMatch != null) {
+                savedMatches.remove(mainMatch);
 
-            // in the end I set back the state of the real Game
-            newGameManager.getGameInstance().loadGame(persistencyClass.getGameManager().getGameInstance(), persistencyClass.getPlayersCopy());
+                List<GameManager> gameManagers = new ArrayList<>();
+                gameManagers.add(restoreMatch(server, startTime, mainMatch, saveDirectory, false));
+                Set<String> players = new HashSet<>(usernames(gameManagers.get(0)));
+
+                for (SavedMatch poolMatch : savedMatches) {
+                    restorePoolMatch(server, poolMatch, saveDirectory, players).ifPresent(gameManagers::add);
+                }
+
+                return gameManagers;
+            }
 
-            // in the end I also set back the TurnManager to the new GameManager
-            newGameManager.getRoundManager().initTurnManager(persistencyClass.getTurnManager());
-            return newGameManager;
-        } catch (FileNotFoundException e) {
             Server.LOGGER.severe("There exist no file to be loaded!");
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException | ClassNotFoundException | SnapshotFormatException e) {
             Server.LOGGER.severe(e.getMessage());
         }
 
         throw new ReloadException();
     }
+
+    /**
+     * Restores a match as a match of the pool unless one of its players is already in another restored match. A
+     * match that can not be restored is logged and skipped, so that it does not prevent the others from being reloaded
+     *
+     * @param players the players of the matches already restored, the ones of this match are added
+     */
+    private static Optional<GameManager> restorePoolMatch(Server server, SavedMatch savedMatch, File saveDirectory, Set<String> players) {
+        List<String> matchPlayers = usernames(savedMatch.persistencyClass.getGameManager());
+
+        if (matchPlayers.stream().anyMatch(players::contains)) {
+            Server.LOGGER.log(Level.WARNING, "Match {0} not reloaded, one of its players is in another match", savedMatch.matchId);
+            return Optional.empty();
+        }
+
+        try {
+            GameManager poolMatch = restoreMatch(server, 0, savedMatch, saveDirectory, true);
+            players.addAll(matchPlayers);
+            return Optional.of(poolMatch);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            Server.LOGGER.log(Level.SEVERE, "Match {0} can not be reloaded: {1}", new Object[]{savedMatch.matchId, e.getMessage()});
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> usernames(GameManager gameManager) {
+        return gameManager.getGameInstance().getPlayers().stream().map(UserPlayer::getUsername).collect(Collectors.toList());
+    }
+
+    /**
+     * Decodes in parallel the latest snapshot and the journal of every unfinished match of the store. A match whose
+     * save can not be read is logged and skipped
+     *
+     * @param saveDirectory the directory of the saves
+     * @return the decoded saves, the most recently saved first
+     */
+    static List<SavedMatch> restoreUnfinishedMatches(File saveDirectory) {
+        SaveStore saveStore = getStore(saveDirectory);
+
+        List<SavedMatch> savedMatches = saveStore.getUnfinishedMatches().parallelStream()
+                .map(entry -> {
+                    try {
+                        return new SavedMatch(entry.getMatchId(), saveStore.readSnapshot(entry), saveStore.readJournal(entry));
+                    } catch (IOException | ClassNotFoundException | SnapshotFormatException e) {
+                        Server.LOGGER.log(Level.SEVERE, "Save of match {0} can not be read: {1}",
+                                new Object[]{entry.getMatchId(), e.getMessage()});
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Server.LOGGER.log(Level.INFO, "{0} unfinished matches found: {1}", new Object[]{savedMatches.size(),
+                savedMatches.stream().map(match -> match.matchId).collect(Collectors.joining(", "))});
+
+        return savedMatches;
+    }
+
+    private static SavedMatch loadLegacySave() throws IOException, ClassNotFoundException {
+        File legacySnapshot = new File(LEGACY_SNAPSHOT_FILE);
+
+        if (!legacySnapshot.exists()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(legacySnapshot.toPath(), StandardOpenOption.READ)) {
+            PersistencyClass persistencyClass = SnapshotCodec.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+
+            return new SavedMatch(persistencyClass.getGameManager().getMatchId(), persistencyClass,
+                    SaveStore.readRecords(new File(LEGACY_JOURNAL_FILE), persistencyClass.getSequence()));
+        }
+    }
+
+    private static GameManager restoreMatch(Server server, int startTime, SavedMatch savedMatch, File saveDirectory, boolean poolMatch) throws IOException, ClassNotFoundException {
+        PersistencyClass persistencyClass = savedMatch.persistencyClass;
+
+        // first I restart the beginning class of each Game
+        GameManager newGameManager = poolMatch ? GameManager.reloadedPoolMatch(server, persistencyClass.getGameManager()) :
+                new GameManager(server, persistencyClass.getGameManager(), startTime);
+        newGameManager.setSaveDirectory(saveDirectory);
+        Game previous = Game.bind(newGameManager.getGameInstance());
+
+        try {
+            restoreState(newGameManager, savedMatch);
+        } finally {
+            Game.bind(previous);
+        }
+
+        Server.LOGGER.log(Level.INFO, "Match {0} reloaded", newGameManager.getMatchId());
+        return newGameManager;
+    }
+
+    private static void restoreState(GameManager newGameManager, SavedMatch savedMatch) throws IOException, ClassNotFoundException {
+        PersistencyClass persistencyClass = savedMatch.persistencyClass;
+
+        // then I set back the state of the real Game
+        newGameManager.getGameInstance().loadGame(persistencyClass.getGameManager().getGameInstance(), persistencyClass.getPlayersCopy());
+
+        // in the end I also set back the TurnManager to the new GameManager
+        newGameManager.getRoundManager().initTurnManager(persistencyClass.getTurnManager());
+
+        // then the actions done after the snapshot are applied again and a new snapshot starts a new journal segment
+        replayJournal(newGameManager, persistencyClass.getSequence(), savedMatch.records);
+        saveGame(newGameManager);
+    }
+
+    /**
+     * Applies to the reloaded game every message journaled after its snapshot
+     *
+     * @param gameManager      the reloaded {@link GameManager GameManager}
+     * @param snapshotSequence the sequence of the last action contained in the snapshot
+     * @param records          the journal records that come after the snapshot
+     * @throws IOException            if a message can not be read
+     * @throws ClassNotFoundException if a message can not be read
+     */
+    private static void replayJournal(GameManager gameManager, long snapshotSequence, List<SaveStore.JournalRecord> records) throws IOException, ClassNotFoundException {
+        long lastSequence = snapshotSequence;
+        int replayed = 0;
+
+        for (SaveStore.JournalRecord journalRecord : records) {
+            try (ObjectInputStream inMessage = new ObjectInputStream(new ByteArrayInputStream(journalRecord.getPayload()))) {
+                gameManager.replay((Message) inMessage.readObject(), journalRecord.getType() == GameJournal.CONNECTION_RECORD);
+            }
+
+            lastSequence = journalRecord.getSequence();
+            ++replayed;
+        }
+
+        getJournal(gameManager).setSequence(lastSequence);
+        Server.LOGGER.log(Level.INFO, "{0} journaled actions replayed", replayed);
+    }
+
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The decoded save of a match: its latest snapshot and the journal records that come after it
+     */
+    static class SavedMatch {
+        private final String matchId;
+        private final PersistencyClass persistencyClass;
+        private final List<SaveStore.JournalRecord> records;
+
+        SavedMatch(String matchId, PersistencyClass persistencyClass, List<SaveStore.JournalRecord> records) {
+            this.matchId = matchId;
+            this.persistencyClass = persistencyClass;
+            this.records = new ArrayList<>(records);
+        }
+    }
 }
@@ -0,0 +1,690 @@
+package utility.persistency;
+
+import network.server.Server;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * On disk store of the saved matches. The snapshots of every match are appended to a single data file, the journal of
+ * each match is split in segments (a new one is started by every snapshot) and an index maps each match id to the
+ * offset of its latest snapshot and to its current journal segment.
+ * All the writes are done by a single background thread that drains every pending record at once, forces them to disk
+ * and rewrites the index once per batch (group commit). Snapshots and journals are read through memory mapped files
+ */
+class SaveStore {
+    private static final int INDEX_MAGIC = 0x41445849;
+    private static final int INDEX_VERSION = 1;
+    private static final String INDEX_FILE = "index.dat";
+    private static final long SHUTDOWN_TIMEOUT = 5000;
+
+    /**
+     * Number of finished matches kept in the store
+     */
+    private static final int RETAINED_FINISHED = 8;
+    /**
+     * Maximum number of unfinished matches kept in the store, the least recently saved are dropped first
+     */
+    private static final int RETAINED_UNFINISHED = 32;
+    /**
+     * Unfinished matches not saved for this long are considered abandoned and dropped
+     */
+    private static final long RETENTION_TIME = TimeUnit.DAYS.toMillis(7);
+    /**
+     * Minimum size of superseded snapshots in the data file before it is compacted
+     */
+    private static final long COMPACTION_THRESHOLD = 1024L * 1024L;
+
+    private final File directory;
+    private final Map<String, IndexEntry> index;
+    private int dataGeneration;
+    private FileChannel dataChannel;
+
+    private final BlockingQueue<PendingWrite> pendingWrites;
+    private final Thread writer;
+    private final Object writtenLock = new Object();
+    private long submittedWrites;
+    private long completedWrites;
+
+    private volatile SnapshotStatistics lastSnapshotStatistics;
+
+    /**
+     * Opens the store in the specified directory, creating it if missing, and starts its writing thread
+     *
+     * @param directory the directory of the store
+     */
+    SaveStore(File directory) {
+        this.directory = directory;
+        this.index = new HashMap<>();
+        this.pendingWrites = new LinkedBlockingQueue<>();
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            Server.LOGGER.log(Level.SEVERE, "Save directory {0} can not be created", directory);
+        }
+
+        readIndex();
+
+        writer = new Thread(this::writeLoop, "save-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitWrites(SHUTDOWN_TIMEOUT)));
+    }
+
+    /**
+     * Queues a new journal record of a match
+     *
+     * @param matchId  the id of the match
+     * @param sequence the sequence number of the record
+     * @param type     the type of the record
+     * @param payload  the serialized message
+     */
+    void append(String matchId, long sequence, byte type, byte[] payload) {
+        submit(new PendingWrite(matchId, sequence, type, payload));
+    }
+
+    /**
+     * Queues a new snapshot of a match, once written it starts a new journal segment
+     *
+     * @param matchId     the id of the match
+     * @param sequence    the sequence of the last journal record contained in the snapshot
+     * @param snapshot    the detached copy of the match to be encoded
+     * @param captureTime the time in nanoseconds spent by the thread of the match to copy it
+     * @param finished    {@code true} if the match is over
+     */
+    void snapshot(String matchId, long sequence, PersistencyClass snapshot, long captureTime, boolean finished) {
+        submit(new PendingWrite(matchId, sequence, snapshot, captureTime, finished));
+    }
+
+    private void submit(PendingWrite pendingWrite) {
+        synchronized (writtenLock) {
+            ++submittedWrites;
+        }
+
+        pendingWrites.add(pendingWrite);
+    }
+
+    /**
+     * Waits until every queued record has been written
+     *
+     * @param timeout maximum time to wait in milliseconds
+     */
+    /**
+     * Writes the pending records, then stops the writing thread and closes the data file. The store can not be used
+     * once closed
+     */
+    void close() {
+        awaitWrites(SHUTDOWN_TIMEOUT);
+        writer.interrupt();
+
+        try {
+            writer.join(SHUTDOWN_TIMEOUT);
+
+            if (dataChannel != null) {
+                dataChannel.close();
+            }
+        } catch (IOException e) {
+            Server.LOGGER.log(Level.SEVERE, "Save store not closed: {0}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void awaitWrites(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        synchronized (writtenLock) {
+            long remaining = timeout;
+
+            while (completedWrites < submittedWrites && remaining > 0) {
+                try {
+                    writtenLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * @return the statistics of the last snapshot written, {@code null} if none has been written yet
+     */
+    SnapshotStatistics getLastSnapshotStatistics() {
+        return lastSnapshotStatistics;
+    }
+
+    /**
+     * @return the entries of the unfinished matches, the most recently saved first
+     */
+    synchronized List<IndexEntry> getUnfinishedMatches() {
+        List<IndexEntry> unfinished = new ArrayList<>();
+
+        for (IndexEntry entry : index.values()) {
+            if (!entry.finished) {
+                unfinished.add(entry);
+            }
+        }
+
+        unfinished.sort(Comparator.comparingLong(IndexEntry::getLastSaved).reversed());
+        return unfinished;
+    }
+
+    /**
+     * Reads the latest snapshot of a match mapping it in memory
+     *
+     * @param entry the index entry of the match
+     * @return the decoded snapshot
+     * @throws IOException            if the snapshot can not be read
+     * @throws ClassNotFoundException if a snapshot saved with Java serialization can not be deserialized
+     */
+    PersistencyClass readSnapshot(IndexEntry entry) throws IOException, ClassNotFoundException {
+        try (FileChannel channel = FileChannel.open(dataFile(entry.dataGeneration).toPath(), StandardOpenOption.READ)) {
+            return SnapshotCodec.decode(channel.map(FileChannel.MapMode.READ_ONLY, entry.snapshotOffset, entry.snapshotLength));
+        }
+    }
+
+    /**
+     * Reads the journal segment of a match mapping it in memory. A record truncated by a crash while it was being
+     * written ends the reading
+     *
+     * @param entry the index entry of the match
+     * @return the records that come after the latest snapshot, in the order they were written
+     * @throws IOException if the segment can not be read
+     */
+    List<JournalRecord> readJournal(IndexEntry entry) throws IOException {
+        return readRecords(segmentFile(entry.matchId, entry.journalSegment), entry.snapshotSequence);
+    }
+
+    /**
+     * Reads a journal file mapping it in memory
+     *
+     * @param journalFile   the journal file
+     * @param afterSequence the sequence of the last action contained in the snapshot
+     * @return the records that come after the snapshot, in the order they were written
+     * @throws IOException if the file can not be read
+     */
+    static List<JournalRecord> readRecords(File journalFile, long afterSequence) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+
+        if (!journalFile.exists()) {
+            return records;
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            while (buffer.remaining() >= JournalRecord.HEADER_SIZE) {
+                int length = buffer.getInt();
+                long recordSequence = buffer.getLong();
+                byte type = buffer.get();
+
+                if (length < 0 || buffer.remaining() < length) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+
+                if (recordSequence > afterSequence) {
+                    records.add(new JournalRecord(recordSequence, type, payload));
+                }
+            }
+        }
+
+        return records;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pendingWrites.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            pendingWrites.drainTo(batch);
+
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                Server.LOGGER.log(Level.SEVERE, "Save store write failed: {0}", e.getMessage());
+            }
+
+            synchronized (writtenLock) {
+                completedWrites += batch.size();
+                writtenLock.notifyAll();
+            }
+
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a batch of records. For every match only its last snapshot of the batch is written, the records that
+     * come before it are already contained in it and are skipped. Snapshots are appended and forced to the data file,
+     * then the index is rewritten once and only then the journal records are appended to the new segments
+     *
+     * @param batch the records to write
+     * @throws IOException if the batch can not be written
+     */
+    private void writeBatch(List<PendingWrite> batch) throws IOException {
+        Map<String, List<PendingWrite>> byMatch = new LinkedHashMap<>();
+
+        for (PendingWrite pendingWrite : batch) {
+            byMatch.computeIfAbsent(pendingWrite.matchId, k -> new ArrayList<>()).add(pendingWrite);
+        }
+
+        Map<String, List<PendingWrite>> records = new LinkedHashMap<>();
+        List<File> supersededSegments = new ArrayList<>();
+        boolean snapshotsWritten = false;
+
+        for (Map.Entry<String, List<PendingWrite>> match : byMatch.entrySet()) {
+            List<PendingWrite> writes = match.getValue();
+            int lastSnapshot = -1;
+
+            for (int i = 0; i < writes.size(); ++i) {
+                if (writes.get(i).isSnapshot()) {
+                    lastSnapshot = i;
+                }
+            }
+
+            if (lastSnapshot != -1) {
+                File oldSegment = appendSnapshot(writes.get(lastSnapshot));
+                snapshotsWritten = true;
+
+                if (oldSegment != null) {
+                    supersededSegments.add(oldSegment);
+                }
+            }
+
+            records.put(match.getKey(), writes.subList(lastSnapshot + 1, writes.size()));
+        }
+
+        if (snapshotsWritten) {
+            dataChannel().force(false);
+            applyRetention(supersededSegments);
+            writeIndex();
+            compactIfNeeded();
+
+            for (File segment : supersededSegments) {
+                Files.deleteIfExists(segment.toPath());
+            }
+        }
+
+        for (Map.Entry<String, List<PendingWrite>> match : records.entrySet()) {
+            if (!match.getValue().isEmpty()) {
+                appendRecords(match.getKey(), match.getValue());
+            }
+        }
+    }
+
+    /**
+     * Encodes a snapshot at the end of the data file and points the index entry of its match to it
+     *
+     * @param snapshot the queued snapshot
+     * @return the journal segment superseded by the snapshot, {@code null} if the match had none
+     * @throws IOException if the snapshot can not be written
+     */
+    private File appendSnapshot(PendingWrite snapshot) throws IOException {
+        long writeStart = System.nanoTime();
+        ByteBuffer buffer = SnapshotCodec.encode(snapshot.snapshot);
+        int length = buffer.remaining();
+
+        FileChannel channel = dataChannel();
+        long offset = channel.size();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+
+        File oldSegment;
+
+        synchronized (this) {
+            IndexEntry previous = index.get(snapshot.matchId);
+            int segment = previous != null ? previous.journalSegment + 1 : 0;
+
+            oldSegment = previous != null ? segmentFile(previous.matchId, previous.journalSegment) : null;
+            index.put(snapshot.matchId, new IndexEntry(snapshot.matchId, dataGeneration, offset, length,
+                    snapshot.sequence, segment, snapshot.finished, System.currentTimeMillis()));
+        }
+
+        lastSnapshotStatistics = new SnapshotStatistics(snapshot.captureTime, System.nanoTime() - writeStart, length);
+        Server.LOGGER.log(Level.INFO, "Match {0} saved: {1}", new Object[]{snapshot.matchId, lastSnapshotStatistics});
+
+        return oldSegment;
+    }
+
+    private void appendRecords(String matchId, List<PendingWrite> records) throws IOException {
+        IndexEntry entry;
+
+        synchronized (this) {
+            entry = index.get(matchId);
+        }
+
+        if (entry == null) {
+            Server.LOGGER.log(Level.SEVERE, "Journal records of match {0} without a snapshot", matchId);
+            return;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(segmentFile(matchId, entry.journalSegment), true)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+
+            for (PendingWrite record : records) {
+                data.writeInt(record.payload.length);
+                data.writeLong(record.sequence);
+                data.writeByte(record.type);
+                data.write(record.payload);
+            }
+
+            data.flush();
+            out.getChannel().force(false);
+        }
+    }
+
+    /**
+     * Drops from the index the oldest finished matches and the unfinished ones that have been abandoned, their
+     * journal segments are deleted together with the superseded ones
+     *
+     * @param deletedSegments the list of segments to delete once the index has been written
+     */
+    private synchronized void applyRetention(List<File> deletedSegments) {
+        long now = System.currentTimeMillis();
+        List<IndexEntry> finished = new ArrayList<>();
+        List<IndexEntry> unfinished = new ArrayList<>();
+
+        for (IndexEntry entry : index.values()) {
+            if (entry.finished) {
+                finished.add(entry);
+            } else if (now - entry.lastSaved > RETENTION_TIME) {
+                dropEntry(entry, deletedSegments);
+            } else {
+                unfinished.add(entry);
+            }
+        }
+
+        dropOldest(finished, RETAINED_FINISHED, deletedSegments);
+        dropOldest(unfinished, RETAINED_UNFINISHED, deletedSegments);
+    }
+
+    private void dropOldest(List<IndexEntry> entries, int retained, List<File> deletedSegments) {
+        if (entries.size() <= retained) {
+            return;
+        }
+
+        entries.sort(Comparator.comparingLong(IndexEntry::getLastSaved));
+
+        for (IndexEntry entry : entries.subList(0, entries.size() - retained)) {
+            dropEntry(entry, deletedSegments);
+        }
+    }
+
+    private void dropEntry(IndexEntry entry, List<File> deletedSegments) {
+        index.remove(entry.matchId);
+        deletedSegments.add(segmentFile(entry.matchId, entry.journalSegment));
+        Server.LOGGER.log(Level.INFO, "Saved match {0} dropped from the store", entry.matchId);
+    }
+
+    /**
+     * Rewrites the data file with only the latest snapshot of each match once the superseded snapshots are both
+     * bigger than the live ones and than {@link #COMPACTION_THRESHOLD}. The new file has a new generation number so
+     * that the old one stays valid until the index pointing to the new one has been written
+     *
+     * @throws IOException if the data file can not be compacted
+     */
+    private void compactIfNeeded() throws IOException {
+        long liveBytes;
+        List<IndexEntry> entries;
+
+        synchronized (this) {
+            entries = new ArrayList<>(index.values());
+        }
+
+        liveBytes = entries.stream().mapToLong(entry -> entry.snapshotLength).sum();
+        long deadBytes = dataChannel().size() - liveBytes;
+
+        if (deadBytes < COMPACTION_THRESHOLD || deadBytes < liveBytes) {
+            return;
+        }
+
+        int oldGeneration = dataGeneration;
+        File compacted = dataFile(oldGeneration + 1);
+
+        try (FileChannel out = FileChannel.open(compacted.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long offset = 0;
+
+            synchronized (this) {
+                for (IndexEntry entry : entries) {
+                    long copied = 0;
+
+                    while (copied < entry.snapshotLength) {
+                        copied += dataChannel.transferTo(entry.snapshotOffset + copied, entry.snapshotLength - copied, out);
+                    }
+
+                    index.put(entry.matchId, entry.moved(oldGeneration + 1, offset));
+                    offset += entry.snapshotLength;
+                }
+            }
+
+            out.force(false);
+        }
+
+        dataChannel.close();
+        dataChannel = null;
+        dataGeneration = oldGeneration + 1;
+
+        writeIndex();
+        Files.deleteIfExists(dataFile(oldGeneration).toPath());
+
+        Server.LOGGER.log(Level.INFO, "Save store compacted: {0} bytes of old snapshots removed", deadBytes);
+    }
+
+    private FileChannel dataChannel() throws IOException {
+        if (dataChannel == null) {
+            dataChannel = FileChannel.open(dataFile(dataGeneration).toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        return dataChannel;
+    }
+
+    private File dataFile(int generation) {
+        return new File(directory, "snapshots-" + generation + ".dat");
+    }
+
+    private File segmentFile(String matchId, int segment) {
+        return new File(directory, matchId + "-" + segment + ".journal");
+    }
+
+    /**
+     * Writes the index to a temporary file and moves it over the previous one
+     *
+     * @throws IOException if the index can not be written
+     */
+    private void writeIndex() throws IOException {
+        File tempFile = new File(directory, INDEX_FILE + ".tmp");
+
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+
+            synchronized (this) {
+                data.writeInt(INDEX_MAGIC);
+                data.writeInt(INDEX_VERSION);
+                data.writeInt(dataGeneration);
+                data.writeInt(index.size());
+
+                for (IndexEntry entry : index.values()) {
+                    data.writeUTF(entry.matchId);
+                    data.writeLong(entry.snapshotOffset);
+                    data.writeInt(entry.snapshotLength);
+                    data.writeLong(entry.snapshotSequence);
+                    data.writeInt(entry.journalSegment);
+                    data.writeBoolean(entry.finished);
+                    data.writeLong(entry.lastSaved);
+                }
+            }
+
+            data.flush();
+            out.getChannel().force(false);
+        }
+
+        Path indexPath = new File(directory, INDEX_FILE).toPath();
+
+        try {
+            Files.move(tempFile.toPath(), indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), indexPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private synchronized void readIndex() {
+        File indexFile = new File(directory, INDEX_FILE);
+
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (data.readInt() != INDEX_MAGIC || data.readInt() != INDEX_VERSION) {
+                Server.LOGGER.log(Level.SEVERE, "Unknown save index format in {0}", indexFile);
+                return;
+            }
+
+            dataGeneration = data.readInt();
+            int entries = data.readInt();
+
+            for (int i = 0; i < entries; ++i) {
+                String matchId = data.readUTF();
+                IndexEntry entry = new IndexEntry(matchId, dataGeneration, data.readLong(), data.readInt(),
+                        data.readLong(), data.readInt(), data.readBoolean(), data.readLong());
+                index.put(matchId, entry);
+            }
+        } catch (IOException e) {
+            index.clear();
+            Server.LOGGER.log(Level.SEVERE, "Save index can not be read: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Position of the latest snapshot and of the journal segment of a saved match
+     */
+    static class IndexEntry {
+        private final String matchId;
+        private final int dataGeneration;
+        private final long snapshotOffset;
+        private final int snapshotLength;
+        private final long snapshotSequence;
+        private final int journalSegment;
+        private final boolean finished;
+        private final long lastSaved;
+
+        IndexEntry(String matchId, int dataGeneration, long snapshotOffset, int snapshotLength, long snapshotSequence,
+                   int journalSegment, boolean finished, long lastSaved) {
+            this.matchId = matchId;
+            this.dataGeneration = dataGeneration;
+            this.snapshotOffset = snapshotOffset;
+            this.snapshotLength = snapshotLength;
+            this.snapshotSequence = snapshotSequence;
+            this.journalSegment = journalSegment;
+            this.finished = finished;
+            this.lastSaved = lastSaved;
+        }
+
+        private IndexEntry moved(int newGeneration, long newOffset) {
+            return new IndexEntry(matchId, newGeneration, newOffset, snapshotLength, snapshotSequence, journalSegment,
+                    finished, lastSaved);
+        }
+
+        String getMatchId() {
+            return matchId;
+        }
+
+        long getSnapshotSequence() {
+            return snapshotSequence;
+        }
+
+        long getLastSaved() {
+            return lastSaved;
+        }
+    }
+
+    /**
+     * A record read from a journal segment
+     */
+    static class JournalRecord {
+        private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Byte.BYTES;
+
+        private final long sequence;
+        private final byte type;
+        private final byte[] payload;
+
+        JournalRecord(long sequence, byte type, byte[] payload) {
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * A record waiting to be written: a journal record or a snapshot
+     */
+    private static class PendingWrite {
+        private final String matchId;
+        private final long sequence;
+        private final byte type;
+        private final byte[] payload;
+        private final PersistencyClass snapshot;
+        private final long captureTime;
+        private final boolean finished;
+
+        PendingWrite(String matchId, long sequence, byte type, byte[] payload) {
+            this.matchId = matchId;
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+            this.snapshot = null;
+            this.captureTime = 0;
+            this.finished = false;
+        }
+
+        PendingWrite(String matchId, long sequence, PersistencyClass snapshot, long captureTime, boolean finished) {
+            this.matchId = matchId;
+            this.sequence = sequence;
+            this.type = -1;
+            this.payload = null;
+            this.snapshot = snapshot;
+            this.captureTime = captureTime;
+            this.finished = finished;
+        }
+
+        boolean isSnapshot() {
+            return snapshot != null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package utility.persistency;
+
+import controller.GameManager;
+import exceptions.file.SnapshotFormatException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary format of the snapshots. A snapshot is framed as
+ * {@code [int magic][short version][int length][body][int crc32 of the body]} and its body contains the sequence of
+ * the last journaled action followed by the {@link GameManager GameManager} written with
+ * {@link GameManager#writeSnapshot(SnapshotOutput) writeSnapshot}.
+ * Snapshots saved before this format existed are plain Java serialization streams: they are read as version 0 and
+ * migrated to the current version the next time the game is saved
+ */
+class SnapshotCodec {
+    private static final int MAGIC = 0x41445253;
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    /**
+     * Version written by this server, increased every time the schema changes
+     */
+    static final short CURRENT_VERSION = 2;
+
+    private SnapshotCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Encodes a snapshot in the current version
+     *
+     * @param persistencyClass the snapshot to encode
+     * @return the encoded snapshot
+     */
+    static ByteBuffer encode(PersistencyClass persistencyClass) {
+        SnapshotOutput out = new SnapshotOutput();
+
+        out.writeLong(persistencyClass.getSequence());
+        persistencyClass.getGameManager().writeSnapshot(out);
+
+        ByteBuffer body = out.toByteBuffer();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer encoded = ByteBuffer.allocate(HEADER_SIZE + body.remaining() + Integer.BYTES);
+        encoded.putInt(MAGIC);
+        encoded.putShort(CURRENT_VERSION);
+        encoded.putInt(body.remaining());
+        encoded.put(body);
+        encoded.putInt((int) crc.getValue());
+        encoded.flip();
+
+        return encoded;
+    }
+
+    /**
+     * Decodes a snapshot of any known version
+     *
+     * @param buffer the encoded snapshot, it can be memory mapped
+     * @return the decoded snapshot, its game is detached from the singleton instance
+     * @throws IOException            if a version 0 snapshot can not be read
+     * @throws ClassNotFoundException if a version 0 snapshot can not be deserialized
+     */
+    static PersistencyClass decode(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        if (buffer.remaining() >= Short.BYTES && buffer.getShort(buffer.position()) == JAVA_SERIALIZATION_MAGIC) {
+            return decodeJavaSerialization(buffer);
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new SnapshotFormatException("Not a snapshot");
+            }
+
+            short version = buffer.getShort();
+            int length = buffer.getInt();
+
+            ByteBuffer body = buffer.slice();
+            body.limit(length);
+            buffer.position(buffer.position() + length);
+
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+
+            if ((int) crc.getValue() != buffer.getInt()) {
+                throw new SnapshotFormatException("Snapshot checksum mismatch");
+            }
+
+            return decodeBody(version, new SnapshotInput(body, version));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SnapshotFormatException("Truncated snapshot");
+        }
+    }
+
+    /**
+     * Reads the body of a snapshot. Older versions are migrated here to the current model: version 1 does not contain
+     * the state of the source of randomness of the game, that starts from a random seed
+     *
+     * @param version the version of the snapshot
+     * @param in      the snapshot reader
+     * @return the decoded snapshot
+     */
+    private static PersistencyClass decodeBody(short version, SnapshotInput in) {
+        switch (version) {
+            case 1:
+            case 2:
+                long sequence = in.readLong();
+                GameManager gameManager = GameManager.readSnapshot(in);
+                in.expectEnd();
+
+                return new PersistencyClass(gameManager, sequence);
+
+            default:
+                throw new SnapshotFormatException("Unsupported snapshot version " + version);
+        }
+    }
+
+    private static PersistencyClass decodeJavaSerialization(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteBufferInputStream(buffer))) {
+            return (PersistencyClass) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package utility.persistency;
+
+import exceptions.file.SnapshotFormatException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of the binary snapshot format written by {@link SnapshotOutput SnapshotOutput}. It reads directly
+ * from a buffer that can be memory mapped
+ */
+public class SnapshotInput {
+    private final ByteBuffer buffer;
+    private final short version;
+    private final List<String> strings;
+
+    SnapshotInput(ByteBuffer buffer, short version) {
+        this.buffer = buffer;
+        this.version = version;
+        this.strings = new ArrayList<>();
+    }
+
+    /**
+     * @return the version of the snapshot being read, so that the fields added later are only read when present
+     */
+    public short getVersion() {
+        return version;
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public int readInt() {
+        long value = readLong();
+
+        if (value > Integer.MAX_VALUE) {
+            throw new SnapshotFormatException("Integer out of range: " + value);
+        }
+
+        return (int) value;
+    }
+
+    public int readSignedInt() {
+        long value = readLong();
+
+        if (value > 0xFFFFFFFFL) {
+            throw new SnapshotFormatException("Integer out of range: " + value);
+        }
+
+        int encoded = (int) value;
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    public long readLong() {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new SnapshotFormatException("Malformed variable length quantity");
+    }
+
+    public String readString() {
+        int tag = readInt();
+
+        if (tag == 0) {
+            return null;
+        }
+
+        if (tag > 1) {
+            if (tag - 2 >= strings.size()) {
+                throw new SnapshotFormatException("Unknown string reference " + tag);
+            }
+
+            return strings.get(tag - 2);
+        }
+
+        byte[] bytes = new byte[readInt()];
+        buffer.get(bytes);
+
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    /**
+     * Reads an enum constant that can be {@code null}
+     *
+     * @param enumType the class of the enum
+     * @param <E>      the type of the enum
+     * @return the constant read
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> enumType) {
+        String name = readString();
+
+        try {
+            return name != null ? Enum.valueOf(enumType, name) : null;
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Unknown " + enumType.getSimpleName() + " constant " + name);
+        }
+    }
+
+    public List<String> readStrings() {
+        int count = readInt();
+        List<String> values = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            values.add(readString());
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a list of integers that can be {@code null}
+     *
+     * @return the integers read
+     */
+    public List<Integer> readInts() {
+        if (!readBoolean()) {
+            return null;
+        }
+
+        int count = readInt();
+        List<Integer> values = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            values.add(readInt());
+        }
+
+        return values;
+    }
+
+    /**
+     * Fails if the end of the buffer has not been reached, as it means that the snapshot does not match its schema
+     */
+    void expectEnd() {
+        if (buffer.hasRemaining()) {
+            throw new SnapshotFormatException(buffer.remaining() + " unexpected bytes at the end of the snapshot");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package utility.persistency;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming writer of the binary snapshot format. Integers are written as variable length quantities and every
+ * string is written only the first time it appears, later occurrences refer to it by index. Enum constants are
+ * written by name so that reordering them does not break the saved snapshots
+ */
+public class SnapshotOutput {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private byte[] buffer;
+    private int size;
+    private final Map<String, Integer> strings;
+
+    public SnapshotOutput() {
+        this.buffer = new byte[INITIAL_CAPACITY];
+        this.strings = new HashMap<>();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (size + needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + needed));
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non negative integer using one byte every seven bits
+     *
+     * @param value the integer to write
+     */
+    public void writeInt(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value can not be written: " + value);
+        }
+
+        writeLong(value);
+    }
+
+    /**
+     * Writes an integer that can be negative, small absolute values take a single byte
+     *
+     * @param value the integer to write
+     */
+    public void writeSignedInt(int value) {
+        writeLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    /**
+     * Writes a non negative long using one byte every seven bits
+     *
+     * @param value the long to write
+     */
+    public void writeLong(long value) {
+        ensureCapacity(10);
+
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a string that can be {@code null}
+     *
+     * @param value the string to write
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeInt(0);
+            return;
+        }
+
+        Integer index = strings.get(value);
+
+        if (index != null) {
+            writeInt(index + 2);
+            return;
+        }
+
+        strings.put(value, strings.size());
+        writeInt(1);
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Writes an enum constant that can be {@code null}
+     *
+     * @param value the constant to write
+     */
+    public void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    public void writeStrings(List<String> values) {
+        writeInt(values.size());
+
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    /**
+     * Writes a list of integers that can be {@code null}
+     *
+     * @param values the integers to write
+     */
+    public void writeInts(List<Integer> values) {
+        writeBoolean(values != null);
+
+        if (values != null) {
+            writeInt(values.size());
+
+            for (Integer value : values) {
+                writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a read only view of the bytes written
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, size).asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,48 @@
+package utility.persistency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings and size of a snapshot written by {@link SaveGame SaveGame}
+ */
+public class SnapshotStatistics {
+    private final long captureTime;
+    private final long writeTime;
+    private final long bytesWritten;
+
+    SnapshotStatistics(long captureTime, long writeTime, long bytesWritten) {
+        this.captureTime = captureTime;
+        this.writeTime = writeTime;
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * @return the time in nanoseconds the thread of the match spent copying the game
+     */
+    public long getCaptureTime() {
+        return captureTime;
+    }
+
+    /**
+     * @return the time in nanoseconds the background writer spent serializing and writing the copy
+     */
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    /**
+     * @return the size in bytes of the snapshot file
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotStatistics{" +
+                "captureTime=" + TimeUnit.NANOSECONDS.toMicros(captureTime) + " us" +
+                ", writeTime=" + TimeUnit.NANOSECONDS.toMillis(writeTime) + " ms" +
+                ", bytesWritten=" + bytesWritten +
+                '}';
+    }
+}
@@ -1,9 +1,43 @@
 package view.cli;
 
+import java.io.InputStream;
 import java.io.PrintStream;
 
+/**
+ * Stream of the CLI, the frames printed after each clear of the console reach the terminal through a
+ * {@link TerminalScreen TerminalScreen} that only sends what changed from the frame shown
+ */
 class AdrenalinePrintStream extends PrintStream {
+    private final TerminalScreen screen;
+
     AdrenalinePrintStream() {
-        super(System.out, true);
+        this(new TerminalScreen(System.out));
+    }
+
+    private AdrenalinePrintStream(TerminalScreen screen) {
+        super(screen, true);
+        this.screen = screen;
+    }
+
+    /**
+     * @param in the input of the terminal
+     * @return the input that shows the frame printed before each read and keeps track of what the user types
+     */
+    InputStream terminalInput(InputStream in) {
+        return new TerminalInput(in, screen);
+    }
+
+    /**
+     * @return the number of bytes printed by the CLI
+     */
+    long getPrintedBytes() {
+        return screen.getReceivedBytes();
+    }
+
+    /**
+     * @return the number of bytes actually sent to the terminal
+     */
+    long getTerminalBytes() {
+        return screen.getWrittenBytes();
     }
 }
@@ -32,8 +32,8 @@ public class Cli extends ClientGameManager implements DisconnectionListener {
     public Cli() {
         super();
 
-        this.in = new Scanner(System.in);
         this.out = new AdrenalinePrintStream();
+        this.in = new Scanner(out.terminalInput(System.in));
     }
 
     /**
@@ -796,6 +796,7 @@ public class Cli extends ClientGameManager implements DisconnectionListener {
     @Override
     public void notifyGameEnd(List<PlayerPoints> winners) {
         printWinners(winners);
+        LOGGER.log(INFO, "{0} bytes printed, {1} bytes sent to the terminal", new Object[]{out.getPrintedBytes(), out.getTerminalBytes()});
     }
 
     /**
@@ -0,0 +1,46 @@
+package view.cli;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input of the terminal that {@link TerminalScreen#present() presents} the frame before waiting for the user and
+ * {@link TerminalScreen#echo(String) records} the characters he types, which the terminal shows by itself
+ */
+class TerminalInput extends FilterInputStream {
+    private final TerminalScreen screen;
+
+    /**
+     * @param in     the input of the terminal
+     * @param screen the screen of the terminal
+     */
+    TerminalInput(InputStream in, TerminalScreen screen) {
+        super(in);
+        this.screen = screen;
+    }
+
+    @Override
+    public int read() throws IOException {
+        screen.present();
+        int b = super.read();
+
+        if (b >= 0) {
+            screen.echo(String.valueOf((char) b));
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        screen.present();
+        int read = super.read(b, off, len);
+
+        if (read > 0) {
+            screen.echo(new String(b, off, read));
+        }
+
+        return read;
+    }
+}
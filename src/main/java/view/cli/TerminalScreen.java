@@ -0,0 +1,599 @@
+package view.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Double buffered model of the terminal. Everything printed after a {@link AnsiCode#CLEAR_CONSOLE clear} is drawn
+ * into a grid of cells instead of being sent to the terminal; when the printing stops, or before the user is asked
+ * for an input, the grid is compared with the one shown and only the changed cells are sent, each preceded by the
+ * cursor addressing code of its position. Frames that do not fit the terminal, or a terminal whose size is not known,
+ * are printed as they are
+ */
+class TerminalScreen extends OutputStream {
+    private static final long PRESENT_DELAY = 30;
+    private static final int TAB_SIZE = 8;
+    private static final int MAX_SKIPPED_CELLS = 4;
+
+    private static final String ESCAPE = "\u001B";
+    private static final String ERASE_LINE = "\u001B[K";
+    private static final String ERASE_BELOW = "\u001B[J";
+
+    private static final Cell BLANK = new Cell(" ", "");
+
+    private final PrintStream terminal;
+    private final int rows;
+    private final int columns;
+    private final CharsetDecoder decoder;
+    private final Timer presentTimer;
+
+    private ByteBuffer undecoded;
+    private TimerTask presentTask;
+
+    private final StringBuilder passthrough;
+    private final StringBuilder frameText;
+    private final StringBuilder sequence;
+    private boolean framing;
+    private boolean dirty;
+    private char highSurrogate;
+
+    private List<List<Cell>> back;
+    private int row;
+    private int column;
+    private String style;
+
+    private List<List<Cell>> front;
+    private int realRow;
+    private int realColumn;
+    private String realStyle;
+
+    private long receivedBytes;
+    private long writtenBytes;
+
+    /**
+     * @param terminal the stream of the terminal
+     */
+    TerminalScreen(PrintStream terminal) {
+        this(terminal, detectSize());
+    }
+
+    private TerminalScreen(PrintStream terminal, int[] size) {
+        this(terminal, size[0], size[1]);
+    }
+
+    /**
+     * @param terminal the stream of the terminal
+     * @param rows     the rows of the terminal, zero if they are not known
+     * @param columns  the columns of the terminal, zero if they are not known
+     */
+    TerminalScreen(PrintStream terminal, int rows, int columns) {
+        this.terminal = terminal;
+        this.rows = rows;
+        this.columns = columns;
+        this.decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.presentTimer = new Timer("terminal-screen", true);
+
+        this.undecoded = ByteBuffer.allocate(0);
+        this.passthrough = new StringBuilder();
+        this.frameText = new StringBuilder();
+        this.sequence = new StringBuilder();
+        this.back = new ArrayList<>();
+        this.style = "";
+        this.realStyle = "";
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::present));
+    }
+
+    /**
+     * Reads the size of the terminal from the {@code LINES} and {@code COLUMNS} variables or from {@code stty}
+     *
+     * @return the rows and the columns of the terminal, zeros if they are not known
+     */
+    private static int[] detectSize() {
+        try {
+            String lines = System.getenv("LINES");
+            String cols = System.getenv("COLUMNS");
+
+            if (lines != null && cols != null) {
+                return new int[]{Integer.parseInt(lines.trim()), Integer.parseInt(cols.trim())};
+            }
+
+            if (System.getProperty("os.name").toLowerCase().startsWith("windows")) {
+                return new int[]{0, 0};
+            }
+
+            Process stty = new ProcessBuilder("sh", "-c", "stty size < /dev/tty").redirectErrorStream(true).start();
+            String[] size = new String(stty.getInputStream().readAllBytes()).trim().split("\\s+");
+
+            if (stty.waitFor(1, TimeUnit.SECONDS) && stty.exitValue() == 0 && size.length == 2) {
+                return new int[]{Integer.parseInt(size[0]), Integer.parseInt(size[1])};
+            }
+        } catch (IOException | NumberFormatException e) {
+            // the size stays unknown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return new int[]{0, 0};
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        receivedBytes += len;
+
+        ByteBuffer input = ByteBuffer.allocate(undecoded.remaining() + len);
+        input.put(undecoded).put(b, off, len).flip();
+
+        CharBuffer chars = CharBuffer.allocate(input.remaining());
+        decoder.decode(input, chars, false);
+        chars.flip();
+
+        undecoded = input.slice();
+
+        while (chars.hasRemaining()) {
+            process(chars.get());
+        }
+    }
+
+    /**
+     * Sends at once what is printed as it is, while the frames wait for the printing to stop
+     */
+    @Override
+    public synchronized void flush() {
+        flushPassthrough();
+
+        if (dirty) {
+            if (presentTask != null) {
+                presentTask.cancel();
+            }
+
+            presentTask = new TimerTask() {
+                @Override
+                public void run() {
+                    present();
+                }
+            };
+            presentTimer.schedule(presentTask, PRESENT_DELAY);
+        }
+    }
+
+    private void process(char c) {
+        if (sequence.length() > 0) {
+            processSequence(c);
+            return;
+        }
+
+        if (c == '\u001B') {
+            sequence.append(c);
+            return;
+        }
+
+        if (!framing) {
+            passthrough.append(c);
+            return;
+        }
+
+        frameText.append(c);
+        dirty = true;
+
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+            return;
+        }
+
+        switch (c) {
+            case '\n':
+                ++row;
+                column = 0;
+                break;
+            case '\r':
+                column = 0;
+                break;
+            case '\t':
+                do {
+                    put(" ");
+                } while (framing && column % TAB_SIZE != 0);
+                break;
+            default:
+                put(highSurrogate != 0 ? new String(new char[]{highSurrogate, c}) : String.valueOf(c));
+                break;
+        }
+
+        highSurrogate = 0;
+
+        if (framing && row >= rows) {
+            overflow();
+        }
+    }
+
+    private void processSequence(char c) {
+        sequence.append(c);
+
+        if (sequence.length() == 2 && c != '[') {
+            // not a control sequence, it is kept only when printed as it is
+            endSequence();
+            return;
+        }
+
+        if (sequence.length() == 2 || c < '@' || c > '~') {
+            return;
+        }
+
+        String params = sequence.substring(2, sequence.length() - 1);
+
+        if (c == 'J' && (params.equals("2") || params.equals("3")) && rows > 0 && columns > 0) {
+            sequence.setLength(0);
+            startFrame();
+            return;
+        }
+
+        if (!framing) {
+            endSequence();
+            return;
+        }
+
+        frameText.append(sequence);
+        dirty = true;
+
+        int first = parameter(params, 0, 1);
+
+        switch (c) {
+            case 'm':
+                style = params.isEmpty() || params.equals("0") ? "" : style + sequence;
+                break;
+            case 'A':
+                row = Math.max(0, row - first);
+                break;
+            case 'B':
+                row += first;
+                break;
+            case 'C':
+                column += first;
+                break;
+            case 'D':
+                column = Math.max(0, column - first);
+                break;
+            case 'H':
+            case 'f':
+                row = Math.max(0, first - 1);
+                column = Math.max(0, parameter(params, 1, 1) - 1);
+                break;
+            case 'J':
+                eraseBelow(back, row, column);
+                break;
+            case 'K':
+                eraseLine(back, row, column, parameter(params, 0, 0));
+                break;
+            default:
+                break;
+        }
+
+        sequence.setLength(0);
+
+        if (row >= rows || column >= columns) {
+            overflow();
+        }
+    }
+
+    private void endSequence() {
+        (framing ? frameText : passthrough).append(sequence);
+        sequence.setLength(0);
+    }
+
+    private static int parameter(String params, int index, int defaultValue) {
+        String[] values = params.split(";");
+
+        if (index >= values.length || values[index].isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(values[index]);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Starts drawing a new frame, the one shown stays on the terminal until the new one is presented
+     */
+    private void startFrame() {
+        framing = true;
+        dirty = true;
+        frameText.setLength(0);
+        frameText.append(AnsiCode.CLEAR_CONSOLE);
+
+        back = new ArrayList<>();
+        row = 0;
+        column = 0;
+    }
+
+    /**
+     * The frame does not fit the terminal: it is printed as it is, the terminal will scroll
+     */
+    private void overflow() {
+        framing = false;
+        dirty = false;
+        front = null;
+
+        passthrough.append(frameText);
+        frameText.setLength(0);
+    }
+
+    private void put(String text) {
+        if (column >= columns) {
+            // the character is already in the text of the frame
+            overflow();
+            return;
+        }
+
+        setCell(back, row, column, new Cell(text, style));
+        ++column;
+    }
+
+    private static void setCell(List<List<Cell>> grid, int row, int column, Cell cell) {
+        while (grid.size() <= row) {
+            grid.add(new ArrayList<>());
+        }
+
+        List<Cell> line = grid.get(row);
+
+        while (line.size() < column) {
+            line.add(BLANK);
+        }
+
+        if (line.size() == column) {
+            line.add(cell);
+        } else {
+            line.set(column, cell);
+        }
+    }
+
+    private static Cell getCell(List<List<Cell>> grid, int row, int column) {
+        if (row >= grid.size() || column >= grid.get(row).size()) {
+            return BLANK;
+        }
+
+        return grid.get(row).get(column);
+    }
+
+    private static void eraseBelow(List<List<Cell>> grid, int row, int column) {
+        eraseLine(grid, row, column, 0);
+
+        while (grid.size() > row + 1) {
+            grid.remove(grid.size() - 1);
+        }
+    }
+
+    private static void eraseLine(List<List<Cell>> grid, int row, int column, int mode) {
+        if (row >= grid.size()) {
+            return;
+        }
+
+        List<Cell> line = grid.get(row);
+
+        if (mode == 2) {
+            line.clear();
+        } else if (mode == 1) {
+            for (int i = 0; i <= column && i < line.size(); ++i) {
+                line.set(i, BLANK);
+            }
+        } else if (column < line.size()) {
+            line.subList(column, line.size()).clear();
+        }
+    }
+
+    /**
+     * Sends to the terminal the cells of the frame that differ from the ones shown, then puts the cursor where the
+     * printing stopped
+     */
+    synchronized void present() {
+        if (presentTask != null) {
+            presentTask.cancel();
+            presentTask = null;
+        }
+
+        flushPassthrough();
+
+        if (!framing || !dirty) {
+            return;
+        }
+
+        StringBuilder out = new StringBuilder();
+
+        if (front == null) {
+            out.append(AnsiCode.CLEAR_CONSOLE);
+            front = new ArrayList<>();
+            realRow = 0;
+            realColumn = 0;
+        }
+
+        for (int r = 0; r < back.size(); ++r) {
+            List<Cell> line = back.get(r);
+
+            for (int c = 0; c < line.size(); ++c) {
+                Cell cell = line.get(c);
+
+                if (!cell.equals(getCell(front, r, c))) {
+                    skipTo(out, line, r, c);
+                    setStyle(out, cell.style);
+                    out.append(cell.text);
+
+                    // the cursor stays on the last column until the next character is printed
+                    realColumn = c + 1 < columns ? c + 1 : -1;
+                }
+            }
+
+            if (r < front.size() && front.get(r).size() > line.size()) {
+                moveTo(out, r, line.size());
+                setStyle(out, "");
+                out.append(ERASE_LINE);
+            }
+        }
+
+        if (front.size() > back.size()) {
+            moveTo(out, back.size(), 0);
+            setStyle(out, "");
+            out.append(ERASE_BELOW);
+        }
+
+        moveTo(out, row, column);
+        setStyle(out, style);
+
+        emit(out.toString());
+
+        front = copy(back);
+        dirty = false;
+    }
+
+    /**
+     * Moves the cursor forward on the same line by printing again the few cells in between, which is shorter than a
+     * cursor addressing code
+     */
+    private void skipTo(StringBuilder out, List<Cell> line, int r, int c) {
+        if (realRow == r && realColumn >= 0 && realColumn < c && c - realColumn <= MAX_SKIPPED_CELLS) {
+            for (int i = realColumn; i < c; ++i) {
+                setStyle(out, line.get(i).style);
+                out.append(line.get(i).text);
+            }
+
+            realColumn = c;
+            return;
+        }
+
+        moveTo(out, r, c);
+    }
+
+    private void moveTo(StringBuilder out, int r, int c) {
+        if (realRow != r || realColumn != c) {
+            out.append(ESCAPE).append('[').append(r + 1).append(';').append(c + 1).append('H');
+            realRow = r;
+            realColumn = c;
+        }
+    }
+
+    private void setStyle(StringBuilder out, String cellStyle) {
+        if (!realStyle.equals(cellStyle)) {
+            out.append(AnsiCode.RESET).append(cellStyle);
+            realStyle = cellStyle;
+        }
+    }
+
+    /**
+     * Records the input typed by the user, that the terminal already shows where the cursor was left
+     *
+     * @param input the characters typed
+     */
+    synchronized void echo(String input) {
+        if (!framing || front == null) {
+            return;
+        }
+
+        for (char c : input.toCharArray()) {
+            if (c == '\n') {
+                ++row;
+                column = 0;
+                ++realRow;
+                realColumn = 0;
+            } else if (c != '\r') {
+                Cell cell = new Cell(String.valueOf(c), realStyle);
+                setCell(back, row, column, cell);
+                setCell(front, realRow, realColumn, cell);
+                ++column;
+                ++realColumn;
+            }
+
+            frameText.append(c);
+        }
+
+        if (realRow >= rows || realColumn >= columns) {
+            // the terminal scrolled or wrapped the line, what it shows is not known anymore
+            front = null;
+            dirty = true;
+        }
+    }
+
+    private void flushPassthrough() {
+        if (passthrough.length() > 0) {
+            emit(passthrough.toString());
+            passthrough.setLength(0);
+        }
+    }
+
+    private void emit(String text) {
+        byte[] bytes = text.getBytes();
+        writtenBytes += bytes.length;
+
+        terminal.write(bytes, 0, bytes.length);
+        terminal.flush();
+    }
+
+    private static List<List<Cell>> copy(List<List<Cell>> grid) {
+        List<List<Cell>> copy = new ArrayList<>(grid.size());
+
+        for (List<Cell> line : grid) {
+            copy.add(new ArrayList<>(line));
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return the number of bytes printed by the client
+     */
+    synchronized long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    /**
+     * @return the number of bytes sent to the terminal
+     */
+    synchronized long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * A character on the terminal with the codes of its colors
+     */
+    private static class Cell {
+        private final String text;
+        private final String style;
+
+        Cell(String text, String style) {
+            this.text = text;
+            this.style = style;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Cell cell = (Cell) o;
+            return text.equals(cell.text) && style.equals(cell.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, style);
+        }
+    }
+}
@@ -15,7 +15,7 @@ import java.util.List;
 /**
  * Controller that handles the color pick
  */
-public class ColorPickSceneController {
+public class ColorPickSceneController implements SceneController {
     private GuiManager guiManager;
 
     @FXML
@@ -36,10 +36,15 @@ public class ColorPickSceneController {
     @FXML
     public void initialize() {
         guiManager = GuiManager.getInstance();
+
+        bindEvents();
+    }
+
+    @Override
+    public void onShow() {
         guiManager.setColorPickSceneController(this);
 
         sendColorRequest();
-        bindEvents();
     }
 
     /**
@@ -80,7 +85,7 @@ public class ColorPickSceneController {
      */
     private void onBackButtonClick() {
         guiManager.closeConnection();
-        GuiManager.setLayout(mainPane.getScene(), "fxml/connectionScene.fxml");
+        GuiManager.setLayout(mainPane.getScene(), SceneCache.CONNECTION_SCENE);
     }
 
     /**
@@ -137,7 +142,7 @@ public class ColorPickSceneController {
             onBackButtonClick();
 
         } else {
-            LobbySceneController lobbySceneController = GuiManager.setLayout(mainPane.getScene(), "fxml/lobbyScene.fxml");
+            LobbySceneController lobbySceneController = GuiManager.setLayout(mainPane.getScene(), SceneCache.LOBBY_SCENE);
 
             if (lobbySceneController != null) {
                 lobbySceneController.updateLobbyList();
@@ -17,7 +17,7 @@ import utility.ServerAddressValidator;
 /**
  * Controller that handles the connection to the server
  */
-public class ConnectionSceneController {
+public class ConnectionSceneController implements SceneController {
     private final PseudoClass errorPseudo = PseudoClass.getPseudoClass("error");
     private GuiManager guiManager;
 
@@ -39,12 +39,16 @@ public class ConnectionSceneController {
     @FXML
     public void initialize() {
         guiManager = GuiManager.getInstance();
-        guiManager.setConnectionSceneController(this);
 
         bindEvents();
         setInputFormat();
     }
 
+    @Override
+    public void onShow() {
+        guiManager.setConnectionSceneController(this);
+    }
+
     /**
      * Binds click events
      */
@@ -90,7 +94,7 @@ public class ConnectionSceneController {
      * Handles the back button click
      */
     private void onBackButtonClick() {
-        GuiManager.setLayout(mainPane.getScene(), "fxml/menuScene.fxml");
+        GuiManager.setLayout(mainPane.getScene(), SceneCache.MENU_SCENE);
     }
 
     /**
@@ -137,7 +141,7 @@ public class ConnectionSceneController {
      */
     void onConnectionResponse(ConnectionResponse response) {
         if (response.getStatus() == MessageStatus.OK) {
-            GuiManager.setLayout(mainPane.getScene(), "fxml/colorPickScene.fxml");
+            GuiManager.setLayout(mainPane.getScene(), SceneCache.COLOR_PICK_SCENE);
         } else {
             GuiManager.showDialog((Stage) mainPane.getScene().getWindow(), GuiManager.ERROR_DIALOG_TITLE, response.getMessage());
 
@@ -151,7 +155,7 @@ public class ConnectionSceneController {
      **/
     void onReconnectionResponse() {
         GameSceneController gameSceneController =
-                GuiManager.setLayout(mainPane.getScene(), "fxml/gameScene.fxml");
+                GuiManager.setLayout(mainPane.getScene(), SceneCache.GAME_SCENE);
 
         if (gameSceneController != null) {
             gameSceneController.setupGame(guiManager.getGameSerialized());
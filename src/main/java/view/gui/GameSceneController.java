@@ -41,7 +41,7 @@ import java.util.stream.Collectors;
 /**
  * Class for the graphical interface of the game
  */
-public class GameSceneController {
+public class GameSceneController implements SceneController {
     private static final String USERNAME_PROPERTY = "username";
 
     private static final double OPAQUE = 0.2;
@@ -121,7 +121,8 @@ public class GameSceneController {
     private List<ImageView> weaponSlotList;
     private List<ImageView> ammoTiles;
     private List<ImageView> killshotsImages;
-    private List<ImageView> playerFigures;
+    private List<ImageView[]> killshotSlots;
+    private Map<String, ImageView> playerFigures;
     private Map<String, Ammo> weaponColor;
 
     private String infoPanelUsername = null;
@@ -129,15 +130,22 @@ public class GameSceneController {
     @FXML
     private void initialize() {
         guiManager = GuiManager.getInstance();
-        guiManager.setGameSceneController(this);
 
         ammoTiles = new ArrayList<>();
-        playerFigures = new ArrayList<>();
+        playerFigures = new HashMap<>();
         killshotsImages = new ArrayList<>();
+        killshotSlots = new ArrayList<>();
         weaponSlotList = List.of(blueWeapon0, blueWeapon1, blueWeapon2, redWeapon0, redWeapon1, redWeapon2,
                 yellowWeapon0, yellowWeapon1, yellowWeapon2);
     }
 
+    @Override
+    public void onShow() {
+        guiManager.setGameSceneController(this);
+
+        SceneCache.prefetch(SceneCache.END_GAME_SCENE);
+    }
+
     /**
      * Setups the board and binds all the events
      *
@@ -146,7 +154,7 @@ public class GameSceneController {
     void setupGame(GameSerialized gameSerialized) {
         GameMap gameMap = gameSerialized.getGameMap();
 
-        map.setImage(new Image(gameMap.getImagePath()));
+        map.setImage(ImageCache.get(gameMap.getImagePath()));
         pointLabel.setText("Points: " + gameSerialized.getPoints());
 
         setPlayerIcons(gameSerialized);
@@ -154,6 +162,7 @@ public class GameSceneController {
         bindWeaponZoom();
         bindPanels();
 
+        buildBoardNodes(gameSerialized);
         updateMap(gameSerialized);
     }
 
@@ -294,7 +303,7 @@ public class GameSceneController {
             Image image;
 
             if (weaponCards.get(i) != null) {
-                image = new Image(weaponCards.get(i).getImagePath());
+                image = ImageCache.get(weaponCards.get(i).getImagePath());
                 weaponSlotList.get(i).setImage(image);
                 weaponColor.put(image.getUrl(), weaponCards.get(i).getCost()[0]);
             } else {
@@ -305,25 +314,19 @@ public class GameSceneController {
     }
 
     /**
-     * Sets ammo tiles on the map
+     * Builds once the nodes of the board that are updated by each state: an ammo tile for each square holding one, a
+     * figure for each player and the skulls and drops of the killshots track
      *
-     * @param gameMap map of the game
+     * @param gameSerialized state of the game at the time of the join
      */
-    private void setAmmoTiles(GameMap gameMap) {
-        for (ImageView ammoTile : ammoTiles) {
-            boardArea.getChildren().remove(ammoTile);
-        }
-        ammoTiles.clear();
+    private void buildBoardNodes(GameSerialized gameSerialized) {
+        GameMap gameMap = gameSerialized.getGameMap();
 
         for (int y = 0; y < GameMap.MAX_COLUMNS; ++y) {
             for (int x = 0; x < GameMap.MAX_ROWS; ++x) {
                 Square square = gameMap.getSquare(x, y);
                 if (square != null && square.getSquareType() == SquareType.TILE) {
-                    CardSquare cardSquare = (CardSquare) square;
-
-                    ImageView ammoTile = (cardSquare.isAmmoTilePresent() && cardSquare.getAmmoTile() != null) ?
-                            new ImageView(cardSquare.getAmmoTile().getImagePath()) : new ImageView();
-
+                    ImageView ammoTile = new ImageView();
                     ammoTile.setFitHeight(32);
                     ammoTile.setFitWidth(32);
 
@@ -335,23 +338,52 @@ public class GameSceneController {
                 }
             }
         }
+
+        for (Player player : gameSerialized.getAllPlayers()) {
+            getPlayerFigure(player);
+        }
+
+        for (int i = 0; i < gameSerialized.getKillShotNum(); ++i) {
+            getKillshotSlot(i, gameSerialized.getKillShotNum());
+        }
+    }
+
+    /**
+     * Sets ammo tiles on the map, only the squares whose tile changed are redrawn
+     *
+     * @param gameMap map of the game
+     */
+    private void setAmmoTiles(GameMap gameMap) {
+        int tileIndex = 0;
+
+        for (int y = 0; y < GameMap.MAX_COLUMNS; ++y) {
+            for (int x = 0; x < GameMap.MAX_ROWS; ++x) {
+                Square square = gameMap.getSquare(x, y);
+                if (square != null && square.getSquareType() == SquareType.TILE) {
+                    CardSquare cardSquare = (CardSquare) square;
+
+                    Image image = (cardSquare.isAmmoTilePresent() && cardSquare.getAmmoTile() != null) ?
+                            ImageCache.get(cardSquare.getAmmoTile().getImagePath()) : null;
+
+                    setImage(ammoTiles.get(tileIndex), image);
+                    ++tileIndex;
+                }
+            }
+        }
     }
 
     /**
-     * Sets players on the map
+     * Sets players on the map, only the figures that moved, appeared or disappeared are redrawn
      *
      * @param mapID      id of the map
      * @param allPlayers list of players
      */
     private void setPlayersOnMap(int mapID, List<Player> allPlayers) {
-        for (ImageView playerFigure : playerFigures) {
-            boardArea.getChildren().remove(playerFigure);
-        }
-
-        playerFigures.clear();
-
         for (int i = 0; i < allPlayers.size(); ++i) {
             Player player = allPlayers.get(i);
+            ImageView playerFigure = getPlayerFigure(player);
+
+            setVisible(playerFigure, player.getPosition() != null);
 
             if (player.getPosition() != null) {
 
@@ -362,19 +394,28 @@ public class GameSceneController {
                     }
                 }
 
-                ImageView playerFigure = new ImageView(getColorFigurePath(player.getColor()));
-
-                StackPane.setAlignment(playerFigure, Pos.TOP_LEFT);
-                StackPane.setMargin(playerFigure, MapInsetsHelper.getPlayerInsets(mapID, player.getPosition().getRow(), player.getPosition().getColumn(), count));
-
-                boardArea.getChildren().add(playerFigure);
-                playerFigures.add(playerFigure);
+                setMargin(playerFigure, MapInsetsHelper.getPlayerInsets(mapID, player.getPosition().getRow(), player.getPosition().getColumn(), count));
             }
         }
     }
 
     /**
-     * Sets skulls and drops on the killshots track
+     * @param player a player
+     * @return the figure of the player on the board, added hidden the first time he is seen
+     */
+    private ImageView getPlayerFigure(Player player) {
+        return playerFigures.computeIfAbsent(player.getUsername(), username -> {
+            ImageView playerFigure = new ImageView(ImageCache.get(getColorFigurePath(player.getColor())));
+            playerFigure.setVisible(false);
+            StackPane.setAlignment(playerFigure, Pos.TOP_LEFT);
+
+            boardArea.getChildren().add(playerFigure);
+            return playerFigure;
+        });
+    }
+
+    /**
+     * Sets skulls and drops on the killshots track, only the slots whose killshot changed are redrawn
      *
      * @param gameSerialized state of the game
      */
@@ -383,67 +424,105 @@ public class GameSceneController {
         int killShotNum = gameSerialized.getKillShotNum();
 
         killShots.subList(killShotNum, killShots.size()).clear();
+        killShots.addAll(gameSerialized.getFinalFrenzyKillShots());
 
-        for (ImageView killShot : killshotsImages) {
-            boardArea.getChildren().remove(killShot);
-        }
-
-        killshotsImages.clear();
+        for (int i = 0; i < killShots.size(); ++i) {
+            KillShot killShot = killShots.get(i);
+            ImageView[] slot = getKillshotSlot(i, killShotNum);
 
-        killShots.addAll(gameSerialized.getFinalFrenzyKillShots());
+            setVisible(slot[0], killShot == null);
 
+            Image drop = killShot != null ?
+                    ImageCache.get(getDropPath(guiManager.getPlayerByName(killShot.getKiller()).getColor())) : null;
+            int points = killShot != null ? killShot.getPoints() : 0;
 
-        double startingLeftMargin = MapInsetsHelper.killShotTrackInsets.getLeft() + (8 - killShotNum) * MapInsetsHelper.KILLSHOT_TRACK_HORIZONTAL_OFFSET;
-        double topMargin = MapInsetsHelper.killShotTrackInsets.getTop();
+            setImage(slot[1], points > 1 ? drop : null);
+            setImage(slot[2], points > 0 ? drop : null);
+            setImage(slot[3], points > 2 ? drop : null);
+        }
+    }
 
-        for (int i = 0; i < killShots.size(); ++i) {
-            KillShot killShot = killShots.get(i);
-            double horizontalOffset = (killShotNum - i <= 0) ? MapInsetsHelper.KILLSHOT_TRACK_TINY_HORIZONTAL_OFFSET : MapInsetsHelper.KILLSHOT_TRACK_HORIZONTAL_OFFSET;
+    /**
+     * Returns the nodes of a slot of the killshots track: the skull and the drops of a kill, the upper, middle and
+     * lower one. The nodes of the final frenzy killshots are added the first time they are needed
+     *
+     * @param index       index of the slot, the final frenzy ones follow the skulls
+     * @param killShotNum number of skulls of the game
+     * @return the skull followed by the three drops
+     */
+    private ImageView[] getKillshotSlot(int index, int killShotNum) {
+        while (killshotSlots.size() <= index) {
+            int slotIndex = killshotSlots.size();
 
-            if (killShot == null) {
-                ImageView skull = new ImageView("/img/skull.png");
-                skull.setFitWidth(KILLSHOT_TRACK_SKULL_WIDTH);
-                skull.setFitHeight(KILLSHOT_TRACK_SKULL_HEIGHT);
+            double leftMargin = MapInsetsHelper.killShotTrackInsets.getLeft() + (8 - killShotNum) * MapInsetsHelper.KILLSHOT_TRACK_HORIZONTAL_OFFSET;
+            for (int i = 0; i < slotIndex; ++i) {
+                leftMargin += (killShotNum - i <= 0) ? MapInsetsHelper.KILLSHOT_TRACK_TINY_HORIZONTAL_OFFSET : MapInsetsHelper.KILLSHOT_TRACK_HORIZONTAL_OFFSET;
+            }
 
-                StackPane.setAlignment(skull, Pos.TOP_LEFT);
-                StackPane.setMargin(skull, new Insets(topMargin, 0, 0, startingLeftMargin));
+            double topMargin = MapInsetsHelper.killShotTrackInsets.getTop();
 
-                boardArea.getChildren().add(skull);
-                killshotsImages.add(skull);
-            } else {
-                PlayerColor playerColor = guiManager.getPlayerByName(killShot.getKiller()).getColor();
-                String dropPath = getDropPath(playerColor);
+            ImageView skull = new ImageView(ImageCache.get("/img/skull.png"));
+            skull.setFitWidth(KILLSHOT_TRACK_SKULL_WIDTH);
+            skull.setFitHeight(KILLSHOT_TRACK_SKULL_HEIGHT);
+            skull.setVisible(false);
 
-                if (killShot.getPoints() > 1) {
-                    addDropToKillshotTrack(dropPath, topMargin - MapInsetsHelper.KILLSHOT_TRACK_VERTICAL_OFFSET, startingLeftMargin);
-                }
+            ImageView[] slot = {skull,
+                    new ImageView(),
+                    new ImageView(),
+                    new ImageView()};
+            double[] topMargins = {topMargin,
+                    topMargin - MapInsetsHelper.KILLSHOT_TRACK_VERTICAL_OFFSET,
+                    topMargin,
+                    topMargin + MapInsetsHelper.KILLSHOT_TRACK_VERTICAL_OFFSET};
 
-                addDropToKillshotTrack(dropPath, topMargin, startingLeftMargin);
+            for (int i = 0; i < slot.length; ++i) {
+                StackPane.setAlignment(slot[i], Pos.TOP_LEFT);
+                StackPane.setMargin(slot[i], new Insets(topMargins[i], 0, 0, leftMargin));
 
-                if (killShot.getPoints() > 2) {
-                    addDropToKillshotTrack(dropPath, topMargin + MapInsetsHelper.KILLSHOT_TRACK_VERTICAL_OFFSET, startingLeftMargin);
-                }
+                boardArea.getChildren().add(slot[i]);
+                killshotsImages.add(slot[i]);
             }
 
-            startingLeftMargin += horizontalOffset;
+            killshotSlots.add(slot);
         }
 
+        return killshotSlots.get(index);
     }
 
     /**
-     * Adds a drop to the killshot track
+     * Changes the image of a node of the board only if it is a different one
      *
-     * @param dropPath   path of the drop
-     * @param topMargin  top margin
-     * @param leftMargin left margin
+     * @param imageView node of the board
+     * @param image     image to show, {@code null} for none
      */
-    private void addDropToKillshotTrack(String dropPath, double topMargin, double leftMargin) {
-        ImageView drop = new ImageView(dropPath);
-        StackPane.setAlignment(drop, Pos.TOP_LEFT);
-        StackPane.setMargin(drop, new Insets(topMargin, 0, 0, leftMargin));
+    private static void setImage(ImageView imageView, Image image) {
+        if (imageView.getImage() != image) {
+            imageView.setImage(image);
+        }
+    }
 
-        boardArea.getChildren().add(drop);
-        killshotsImages.add(drop);
+    /**
+     * Shows or hides a node of the board only if it changes
+     *
+     * @param node    node of the board
+     * @param visible {@code true} to show it
+     */
+    private static void setVisible(Node node, boolean visible) {
+        if (node.isVisible() != visible) {
+            node.setVisible(visible);
+        }
+    }
+
+    /**
+     * Moves a node of the board only if its position changes, as a new margin asks the board for a new layout
+     *
+     * @param node   node of the board
+     * @param margin margin of the node
+     */
+    private static void setMargin(Node node, Insets margin) {
+        if (!margin.equals(StackPane.getMargin(node))) {
+            StackPane.setMargin(node, margin);
+        }
     }
 
     /**
@@ -553,7 +632,7 @@ public class GameSceneController {
             ammotile.opacityProperty().setValue(value);
         }
 
-        for (ImageView playerFigure : playerFigures) {
+        for (ImageView playerFigure : playerFigures.values()) {
             playerFigure.opacityProperty().setValue(value);
         }
 
@@ -767,7 +846,7 @@ public class GameSceneController {
 
         AnchorPane anchorPane = new AnchorPane();
 
-        ImageView playerBoardImageView = new ImageView(getPlayerBoardPath(playerColor, playerBoard));
+        ImageView playerBoardImageView = new ImageView(ImageCache.get(getPlayerBoardPath(playerColor, playerBoard)));
         playerBoardImageView.setFitWidth(PLAYER_BOARD_WIDTH);
         playerBoardImageView.setFitHeight(PLAYER_BOARD_HEIGHT);
 
@@ -807,21 +886,21 @@ public class GameSceneController {
         AmmoQuantity ammoQuantity = player.getPlayerBoard().getAmmo();
 
         for (int i = 0; i < ammoQuantity.getRedAmmo(); ++i) {
-            ImageView redAmmo = new ImageView("/img/ammo/redAmmo.png");
+            ImageView redAmmo = new ImageView(ImageCache.get("/img/ammo/redAmmo.png"));
             AnchorPane.setLeftAnchor(redAmmo, MapInsetsHelper.firstAmmoInsets.getLeft() + i * MapInsetsHelper.AMMO_HORIZONTAL_OFFSET);
             AnchorPane.setTopAnchor(redAmmo, MapInsetsHelper.firstAmmoInsets.getTop());
             ((AnchorPane) infoPanel.getCenter()).getChildren().add(redAmmo);
         }
 
         for (int i = 0; i < ammoQuantity.getYellowAmmo(); ++i) {
-            ImageView yellowAmmo = new ImageView("/img/ammo/yellowAmmo.png");
+            ImageView yellowAmmo = new ImageView(ImageCache.get("/img/ammo/yellowAmmo.png"));
             AnchorPane.setLeftAnchor(yellowAmmo, MapInsetsHelper.secondAmmoInsets.getLeft() + i * MapInsetsHelper.AMMO_HORIZONTAL_OFFSET);
             AnchorPane.setTopAnchor(yellowAmmo, MapInsetsHelper.secondAmmoInsets.getTop());
             ((AnchorPane) infoPanel.getCenter()).getChildren().add(yellowAmmo);
         }
 
         for (int i = 0; i < ammoQuantity.getBlueAmmo(); ++i) {
-            ImageView blueAmmo = new ImageView("/img/ammo/blueAmmo.png");
+            ImageView blueAmmo = new ImageView(ImageCache.get("/img/ammo/blueAmmo.png"));
             AnchorPane.setLeftAnchor(blueAmmo, MapInsetsHelper.thirdAmmoInsets.getLeft() + i * MapInsetsHelper.AMMO_HORIZONTAL_OFFSET);
             AnchorPane.setTopAnchor(blueAmmo, MapInsetsHelper.thirdAmmoInsets.getTop());
             ((AnchorPane) infoPanel.getCenter()).getChildren().add(blueAmmo);
@@ -840,7 +919,7 @@ public class GameSceneController {
             String username = damages.get(i);
             PlayerColor damageDealerColor = guiManager.getPlayerByName(username).getColor();
 
-            ImageView drop = new ImageView(getDropPath(damageDealerColor));
+            ImageView drop = new ImageView(ImageCache.get(getDropPath(damageDealerColor)));
             AnchorPane.setLeftAnchor(drop, MapInsetsHelper.damageInsets.getLeft() + i * MapInsetsHelper.DAMAGE_HORIZONTAL_OFFSET);
             AnchorPane.setTopAnchor(drop, MapInsetsHelper.damageInsets.getTop());
 
@@ -860,7 +939,7 @@ public class GameSceneController {
             String username = marks.get(i);
             PlayerColor markDealerColor = guiManager.getPlayerByName(username).getColor();
 
-            ImageView drop = new ImageView(getDropPath(markDealerColor));
+            ImageView drop = new ImageView(ImageCache.get(getDropPath(markDealerColor)));
             AnchorPane.setLeftAnchor(drop, MapInsetsHelper.marksInsets.getLeft() + i * MapInsetsHelper.MARKS_HORIZONTAL_OFFSET);
             AnchorPane.setTopAnchor(drop, MapInsetsHelper.marksInsets.getTop());
 
@@ -885,7 +964,7 @@ public class GameSceneController {
         weaponHBox.setSpacing(20);
 
         for (WeaponCard weapon : weapons) {
-            ImageView weaponImage = new ImageView(weapon.getImagePath());
+            ImageView weaponImage = new ImageView(ImageCache.get(weapon.getImagePath()));
 
             weaponImage.setFitHeight(WEAPON_CARD_HEIGHT);
             weaponImage.setFitWidth(WEAPON_CARD_WIDTH);
@@ -900,7 +979,7 @@ public class GameSceneController {
         }
 
         if (botcard) {
-            ImageView weaponImage = new ImageView("/img/weapons/bot_front.png");
+            ImageView weaponImage = new ImageView(ImageCache.get("/img/weapons/bot_front.png"));
 
             weaponImage.setFitHeight(WEAPON_CARD_HEIGHT);
             weaponImage.setFitWidth(WEAPON_CARD_WIDTH);
@@ -928,7 +1007,7 @@ public class GameSceneController {
         powerupHBox.setSpacing(20);
 
         for (PowerupCard powerup : powerups) {
-            ImageView powerupImage = new ImageView(powerup.getImagePath());
+            ImageView powerupImage = new ImageView(ImageCache.get(powerup.getImagePath()));
             powerupImage.setFitWidth(POWERUP_CARD_WIDTH);
             powerupImage.setFitHeight(POWERUP_CARD_HEIGHT);
             powerupHBox.getChildren().add(powerupImage);
@@ -954,7 +1033,7 @@ public class GameSceneController {
         int skullNum = playerBoard.getSkulls();
 
         for (int i = 0; i < skullNum; ++i) {
-            ImageView skull = new ImageView("/img/skull.png");
+            ImageView skull = new ImageView(ImageCache.get("/img/skull.png"));
             skull.setFitWidth(PLAYER_BOARD_SKULL_WIDTH);
             skull.setFitHeight(PLAYER_BOARD_SKULL_HEIGHT);
 
@@ -1013,7 +1092,7 @@ public class GameSceneController {
         botHBox.setAlignment(Pos.BASELINE_CENTER);
         botHBox.setSpacing(20);
 
-        ImageView backButton = new ImageView("/img/scenes/backbutton.png");
+        ImageView backButton = new ImageView(ImageCache.get("/img/scenes/backbutton.png"));
         backButton.getStyleClass().add(CSS_BUTTON);
         backButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> hideActionPanel());
         botHBox.getChildren().add(backButton);
@@ -1040,7 +1119,7 @@ public class GameSceneController {
         for (int i = 0; i < powerups.size(); i++) {
             final int powerupIndex = i;
 
-            ImageView img = new ImageView(powerups.get(i).getImagePath());
+            ImageView img = new ImageView(ImageCache.get(powerups.get(i).getImagePath()));
             img.getStyleClass().add(CSS_BUTTON);
             img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> onClickPowerupSpawn(powerupIndex));
             hBox.getChildren().add(img);
@@ -1278,7 +1357,7 @@ public class GameSceneController {
             final int weaponIndex = i;
             WeaponCard weaponCard = weaponCards.get(i);
             if (weaponCard != null) {
-                ImageView img = new ImageView(weaponCard.getImagePath());
+                ImageView img = new ImageView(ImageCache.get(weaponCard.getImagePath()));
                 img.getStyleClass().add(CSS_BUTTON);
                 img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> onWeaponCardPickClick(pickPosition, weaponCards.get(weaponIndex)));
                 hBox.getChildren().add(img);
@@ -1314,7 +1393,7 @@ public class GameSceneController {
             setActionPanelBottom();
 
             HBox botHBox = (HBox) actionPanel.getBottom();
-            ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+            ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
             nextButton.getStyleClass().add(CSS_BUTTON);
 
             nextButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> onCheckWeaponSwap(pickPosition, weaponCard, getMultiplePowerupIndexes()));
@@ -1352,7 +1431,7 @@ public class GameSceneController {
             vBox.getChildren().add(hBox);
 
             for (WeaponCard discardingWeap : weaponCards) {
-                ImageView img = new ImageView(discardingWeap.getImagePath());
+                ImageView img = new ImageView(ImageCache.get(discardingWeap.getImagePath()));
                 img.getStyleClass().add(CSS_BUTTON);
                 img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> sendPickRequest(pickPosition, weaponCard, paymentPowerups, discardingWeap));
                 hBox.getChildren().add(img);
@@ -1470,7 +1549,7 @@ public class GameSceneController {
         setActionPanelBottom();
 
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         nextButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> chooseShootWeapon(moveBeforeShoot, getReloadWeaponIndexes()));
@@ -1518,7 +1597,7 @@ public class GameSceneController {
         vBox.getChildren().add(hBox);
 
         for (WeaponCard weaponCard : shootCards) {
-            ImageView img = new ImageView(weaponCard.getImagePath());
+            ImageView img = new ImageView(ImageCache.get(weaponCard.getImagePath()));
             img.getStyleClass().add(CSS_BUTTON);
             img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> chooseWeaponEffect(moveBeforeShoot, rechargingWeapons, weaponCard));
             hBox.getChildren().add(img);
@@ -1586,7 +1665,7 @@ public class GameSceneController {
 
             Ammo[] effectCost = weaponEffect.getCost().toArray();
             for (int j = 0; j < effectCost.length; j++) {
-                ImageView ammoImage = new ImageView("/img/ammo/" + effectCost[j].name().toLowerCase() + "Ammo.png");
+                ImageView ammoImage = new ImageView(ImageCache.get("/img/ammo/" + effectCost[j].name().toLowerCase() + "Ammo.png"));
                 Insets margin = new Insets(MapInsetsHelper.ammoEffectCostInsets.getTop(), 0, 0, MapInsetsHelper.ammoEffectCostInsets.getLeft() - j * MapInsetsHelper.AMMO_EFFECT_COST_HORIZONTAL_OFFSET);
                 StackPane.setMargin(ammoImage, margin);
                 StackPane.setAlignment(ammoImage, Pos.TOP_LEFT);
@@ -1629,7 +1708,7 @@ public class GameSceneController {
         setActionPanelBottom();
 
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         nextButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
@@ -1987,7 +2066,7 @@ public class GameSceneController {
      */
     private void addNextButton(ShootRequest.ShootRequestBuilder shootRequestBuilder, List<TargetType> targets, Map<String, String> properties) {
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         List<TargetType> newTargets = (targets.size() == 1) ? List.of() : targets.subList(1, targets.size());
@@ -2107,7 +2186,7 @@ public class GameSceneController {
         }
 
         for (String move : moveOrder) {
-            ImageView img = new ImageView("/img/scenes/" + move + "button.png");
+            ImageView img = new ImageView(ImageCache.get("/img/scenes/" + move + "button.png"));
             img.getStyleClass().add(CSS_BUTTON);
 
             img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
@@ -2272,7 +2351,7 @@ public class GameSceneController {
         List<String> moveOrder = new ArrayList<>(List.of(BEFORE, AFTER));
 
         for (String move : moveOrder) {
-            ImageView img = new ImageView("/img/scenes/" + move + "button.png");
+            ImageView img = new ImageView(ImageCache.get("/img/scenes/" + move + "button.png"));
             img.getStyleClass().add(CSS_BUTTON);
 
             img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
@@ -2333,7 +2412,7 @@ public class GameSceneController {
             if (powerupCards.get(i).getName().equals(GuiManager.TELEPORTER) || powerupCards.get(i).getName().equals(GuiManager.NEWTON)) {
                 final int powerupIndex = i;
 
-                ImageView img = new ImageView(powerupCards.get(i).getImagePath());
+                ImageView img = new ImageView(ImageCache.get(powerupCards.get(i).getImagePath()));
                 img.getStyleClass().add(CSS_BUTTON);
                 img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> onPowerupUseClick(powerupIndex));
                 hBox.getChildren().add(img);
@@ -2378,7 +2457,7 @@ public class GameSceneController {
         setActionPanelBottom();
 
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         nextButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
@@ -2677,7 +2756,7 @@ public class GameSceneController {
         List<Ammo> ammoList = List.of(Ammo.RED, Ammo.BLUE, Ammo.YELLOW);
 
         for (Ammo ammo : ammoList) {
-            ImageView img = new ImageView("/img/ammo/" + ammo.name().toLowerCase() + "Ammo.png");
+            ImageView img = new ImageView(ImageCache.get("/img/ammo/" + ammo.name().toLowerCase() + "Ammo.png"));
             img.getStyleClass().add(CSS_BUTTON);
 
             img.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
@@ -2732,7 +2811,7 @@ public class GameSceneController {
         setActionPanelBottom();
 
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         nextButton.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> reloadPaymentPowerups(getReloadWeaponIndexes()));
@@ -2936,7 +3015,7 @@ public class GameSceneController {
         setActionPanelBottom();
 
         HBox botHBox = (HBox) actionPanel.getBottom();
-        ImageView nextButton = new ImageView(NEXT_BUTTON_PATH);
+        ImageView nextButton = new ImageView(ImageCache.get(NEXT_BUTTON_PATH));
         nextButton.getStyleClass().add(CSS_BUTTON);
 
         botHBox.getChildren().add(nextButton);
@@ -3167,7 +3246,7 @@ public class GameSceneController {
      * @param players player of the leaderboard
      */
     void onGameEnd(List<PlayerPoints> players) {
-        EndGameSceneController endGameSceneController = GuiManager.setLayout(mainPane.getScene(), "fxml/endGameScene.fxml");
+        EndGameSceneController endGameSceneController = GuiManager.setLayout(mainPane.getScene(), SceneCache.END_GAME_SCENE);
 
         if (endGameSceneController != null) {
             endGameSceneController.setData(players);
@@ -8,10 +8,17 @@ import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Gui extends Application {
     @Override
     public void start(Stage stage) {
+        GuiManager.getInstance();
+        ImageCache.preload();
+        SceneCache.prefetchStartupScenes();
+
         stage.setMaximized(true);
         stage.setFullScreen(true);
         stage.setFullScreenExitHint("");
@@ -24,8 +31,11 @@ public class Gui extends Application {
 
         stage.setScene(new Scene(new Pane()));
 
-        GuiManager.setLayout(stage.getScene(), "fxml/menuScene.fxml");
+        GuiManager.setLayout(stage.getScene(), SceneCache.MENU_SCENE);
         stage.show();
+
+        Logger.getLogger("adrenaline_client").log(Level.INFO, "Client started in {0} ms",
+                ManagementFactory.getRuntimeMXBean().getUptime());
     }
 
     @Override
@@ -9,7 +9,6 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -18,8 +17,8 @@ import network.message.ConnectionResponse;
 import network.message.GameVoteResponse;
 import network.message.Response;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -32,9 +31,12 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
     private ColorPickSceneController colorPickSceneController;
     private LobbySceneController lobbySceneController;
     private GameSceneController gameSceneController;
+    private volatile StateRenderer stateRenderer;
+    private final long startTime;
 
     private GuiManager() {
         super();
+        startTime = System.nanoTime();
     }
 
     public static GuiManager getInstance() {
@@ -52,17 +54,22 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
      * @return the scene controller
      */
     static <T> T setLayout(Scene scene, String path) {
-        FXMLLoader loader = new FXMLLoader(GuiManager.class.getClassLoader().getResource(path));
-
-        Pane pane;
-        try {
-            pane = loader.load();
-            scene.setRoot(pane);
-        } catch (IOException e) {
-            Logger.getLogger("adrenaline_client").severe(e.getMessage());
+        long start = System.nanoTime();
+        FXMLLoader loader = SceneCache.take(path);
+
+        if (loader == null) {
             return null;
         }
 
+        scene.setRoot(loader.getRoot());
+
+        if (loader.getController() instanceof SceneController) {
+            ((SceneController) loader.getController()).onShow();
+        }
+
+        Logger.getLogger("adrenaline_client").log(Level.INFO, "Scene {0} shown in {1} ms",
+                new Object[]{path, (System.nanoTime() - start) / 1000000});
+
         return loader.getController();
     }
 
@@ -74,16 +81,14 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
      * @param text   text of the dialog
      */
     static void showDialog(Stage window, String title, String text) {
-        FXMLLoader loader = new FXMLLoader(GuiManager.class.getClassLoader().getResource("fxml/dialogScene.fxml"));
+        FXMLLoader loader = SceneCache.take(SceneCache.DIALOG_SCENE);
 
-        Scene dialogScene;
-        try {
-            dialogScene = new Scene(loader.load(), 600, 300);
-        } catch (IOException e) {
-            Logger.getLogger("adrenaline_client").severe(e.getMessage());
+        if (loader == null) {
             return;
         }
 
+        Scene dialogScene = new Scene(loader.getRoot(), 600, 300);
+
         Stage dialog = new Stage();
         dialog.setScene(dialogScene);
         dialog.initOwner(window);
@@ -113,6 +118,64 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
 
     void setGameSceneController(GameSceneController gameSceneController) {
         this.gameSceneController = gameSceneController;
+
+        if (stateRenderer != null) {
+            stateRenderer.stop();
+        }
+
+        stateRenderer = new StateRenderer(gameSceneController::onStateUpdate, startTime);
+        stateRenderer.start();
+    }
+
+    /**
+     * Runs an action of the game scene on the JavaFX thread after the latest state has been drawn
+     *
+     * @param action the action
+     */
+    private void runOnGameScene(Runnable action) {
+        Platform.runLater(() -> {
+            if (stateRenderer != null) {
+                stateRenderer.flush();
+            }
+
+            action.run();
+        });
+    }
+
+    /**
+     * @return the number of game states drawn by the game scene
+     */
+    public long getRenderedFrames() {
+        return stateRenderer != null ? stateRenderer.getRenderedFrames() : 0;
+    }
+
+    /**
+     * @return the number of game states replaced by a newer one before the game scene could draw them
+     */
+    public long getDroppedFrames() {
+        return stateRenderer != null ? stateRenderer.getDroppedFrames() : 0;
+    }
+
+    /**
+     * @return the average time in microseconds taken by the game scene to draw a game state
+     */
+    public long getAverageFrameTime() {
+        return stateRenderer != null ? stateRenderer.getAverageFrameTime() : 0;
+    }
+
+    /**
+     * @return the longest time in microseconds taken by the game scene to draw a game state
+     */
+    public long getLongestFrameTime() {
+        return stateRenderer != null ? stateRenderer.getLongestFrameTime() : 0;
+    }
+
+    /**
+     * @return the time in milliseconds from the start of the client to the first game state drawn, -1 if none was
+     * drawn yet
+     */
+    public long getFirstRenderTime() {
+        return stateRenderer != null ? stateRenderer.getFirstRenderTime() : -1;
     }
 
     @Override
@@ -154,19 +217,19 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
 
     @Override
     public void firstPlayerCommunication(String username) {
-        Platform.runLater(() ->
+        runOnGameScene(() ->
                 gameSceneController.setTurnOwnerIcon(username));
     }
 
     @Override
     public void notYourTurn(String turnOwner) {
-        Platform.runLater(() ->
+        runOnGameScene(() ->
                 gameSceneController.notYourTurn(turnOwner));
     }
 
     @Override
     public void displayActions(List<PossibleAction> possibleActions) {
-        Platform.runLater(() ->
+        runOnGameScene(() ->
                 gameSceneController.displayAction(possibleActions)
         );
     }
@@ -180,14 +243,14 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
                 Platform.runLater(lobbySceneController::onGameStart);
             }
         } else {
-            Platform.runLater(gameSceneController::onStateUpdate);
+            stateRenderer.requestRender();
         }
     }
 
     @Override
     public void responseError(String error) {
         if (gameSceneController != null) {
-            Platform.runLater(() ->
+            runOnGameScene(() ->
                     gameSceneController.onError(error));
         } else if (lobbySceneController != null) {
             Platform.runLater(() ->
@@ -200,110 +263,110 @@ public class GuiManager extends ClientGameManager implements DisconnectionListen
 
     @Override
     public void botSpawn() {
-        Platform.runLater(() -> gameSceneController.spawnBot(false));
+        runOnGameScene(() -> gameSceneController.spawnBot(false));
     }
 
     @Override
     public void botRespawn() {
-        Platform.runLater(() -> gameSceneController.spawnBot(true));
+        runOnGameScene(() -> gameSceneController.spawnBot(true));
     }
 
     @Override
     public void spawn() {
-        Platform.runLater(gameSceneController::spawn);
+        runOnGameScene(gameSceneController::spawn);
     }
 
     @Override
     public void move() {
-        Platform.runLater(() -> gameSceneController.move("Move", 3));
+        runOnGameScene(() -> gameSceneController.move("Move", 3));
     }
 
     @Override
     public void moveAndPick() {
-        Platform.runLater(() -> gameSceneController.moveAndPick("Move and Pick", 1));
+        runOnGameScene(() -> gameSceneController.moveAndPick("Move and Pick", 1));
     }
 
     @Override
     public void shoot() {
-        Platform.runLater(gameSceneController::shoot);
+        runOnGameScene(gameSceneController::shoot);
     }
 
     @Override
     public void adrenalinePick() {
-        Platform.runLater(() -> gameSceneController.moveAndPick("Adrenaline Move and Pick", 2));
+        runOnGameScene(() -> gameSceneController.moveAndPick("Adrenaline Move and Pick", 2));
     }
 
     @Override
     public void adrenalineShoot() {
-        Platform.runLater(() -> gameSceneController.moveShoot("Adrenaline Shoot", 1, false));
+        runOnGameScene(() -> gameSceneController.moveShoot("Adrenaline Shoot", 1, false));
     }
 
     @Override
     public void frenzyMove() {
-        Platform.runLater(() -> gameSceneController.move("Frenzy Move", 4));
+        runOnGameScene(() -> gameSceneController.move("Frenzy Move", 4));
     }
 
     @Override
     public void frenzyPick() {
-        Platform.runLater(() -> gameSceneController.moveAndPick("Frenzy Move and Pick", 2));
+        runOnGameScene(() -> gameSceneController.moveAndPick("Frenzy Move and Pick", 2));
     }
 
     @Override
     public void frenzyShoot() {
-        Platform.runLater(() -> gameSceneController.moveShoot("Frenzy Shoot", 1, true));
+        runOnGameScene(() -> gameSceneController.moveShoot("Frenzy Shoot", 1, true));
     }
 
     @Override
     public void lightFrenzyPick() {
-        Platform.runLater(() -> gameSceneController.moveAndPick("Light Frenzy Move and Pick", 3));
+        runOnGameScene(() -> gameSceneController.moveAndPick("Light Frenzy Move and Pick", 3));
     }
 
     @Override
     public void lightFrenzyShoot() {
-        Platform.runLater(() -> gameSceneController.moveShoot("Light Frenzy Shoot", 2, true));
+        runOnGameScene(() -> gameSceneController.moveShoot("Light Frenzy Shoot", 2, true));
     }
 
     @Override
     public void botAction() {
-        Platform.runLater(gameSceneController::botAction);
+        runOnGameScene(gameSceneController::botAction);
     }
 
     @Override
     public void targetingScope() {
-        Platform.runLater(gameSceneController::targetingScope);
+        runOnGameScene(gameSceneController::targetingScope);
     }
 
     @Override
     public void tagbackGrenade() {
-        Platform.runLater(gameSceneController::tagbackGrenade);
+        runOnGameScene(gameSceneController::tagbackGrenade);
     }
 
     @Override
     public void reload() {
-        Platform.runLater(gameSceneController::reload);
+        runOnGameScene(gameSceneController::reload);
     }
 
     @Override
     public void powerup() {
-        Platform.runLater(gameSceneController::powerup);
+        runOnGameScene(gameSceneController::powerup);
     }
 
     @Override
     public void passTurn() {
-        Platform.runLater(gameSceneController::passTurn);
+        runOnGameScene(gameSceneController::passTurn);
     }
 
     @Override
     public void onPlayerDisconnect(String username) {
         if (gameSceneController != null) {
-            Platform.runLater(() -> gameSceneController.onPlayerDisconnect(username));
+            runOnGameScene(() -> gameSceneController.onPlayerDisconnect(username));
         }
     }
 
     @Override
     public void notifyGameEnd(List<PlayerPoints> winners) {
         if (gameSceneController != null) {
-            Platform.runLater(() -> gameSceneController.onGameEnd(winners));
+            runOnGameScene(() -> gameSceneController.onGameEnd(winners));
         }
     }
 
@@ -0,0 +1,149 @@
+package view.gui;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Client-wide cache of the images of the GUI keyed by their resource path, e.g. {@code /img/skull.png}. The least
+ * recently used images are evicted once the decoded ones exceed the memory budget. The art of the game is preloaded
+ * by a background thread while the player is still in the menus
+ */
+class ImageCache {
+    private static final long MEMORY_BUDGET = 256L * 1024 * 1024;
+    private static final String[] PRELOADED_DIRS = {"img/weapons", "img/powerups", "img/ammotiles", "img/players",
+            "img/boards", "img/ammo", "img/maps", "img/scenes"};
+
+    private static final Logger LOGGER = Logger.getLogger("adrenaline_client");
+    private static final Map<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private static long usedMemory;
+
+    private ImageCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param path the resource path of the image
+     * @return the image, decoded only the first time it is asked or after it has been evicted
+     */
+    static Image get(String path) {
+        synchronized (images) {
+            Image image = images.get(path);
+
+            if (image != null) {
+                return image;
+            }
+        }
+
+        // decoded outside the lock, two threads asking the same image at once may both decode it
+        Image image = new Image(path);
+
+        synchronized (images) {
+            Image cached = images.putIfAbsent(path, image);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            usedMemory += memoryOf(image);
+            evict();
+        }
+
+        return image;
+    }
+
+    private static void evict() {
+        Iterator<Image> iterator = images.values().iterator();
+
+        while (usedMemory > MEMORY_BUDGET && images.size() > 1 && iterator.hasNext()) {
+            usedMemory -= memoryOf(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static long memoryOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * @return the memory in bytes taken by the decoded images in the cache
+     */
+    static long getUsedMemory() {
+        synchronized (images) {
+            return usedMemory;
+        }
+    }
+
+    /**
+     * Starts decoding on a background thread the art of the weapons, powerups, ammo tiles, players, boards, maps and buttons
+     */
+    static void preload() {
+        Thread preloader = new Thread(() -> {
+            long start = System.nanoTime();
+            int preloaded = 0;
+
+            for (String dir : PRELOADED_DIRS) {
+                for (String path : listImages(dir)) {
+                    get(path);
+                    ++preloaded;
+                }
+            }
+
+            LOGGER.log(Level.INFO, "{0} images preloaded in {1} ms", new Object[]{preloaded, (System.nanoTime() - start) / 1000000});
+        }, "image-preloader");
+
+        preloader.setDaemon(true);
+        preloader.setPriority(Thread.MIN_PRIORITY);
+        preloader.start();
+    }
+
+    /**
+     * Lists the images of a resource directory, both from the classes directory and from the client jar
+     *
+     * @param dir the directory, without the leading slash
+     * @return the resource paths of the images
+     */
+    private static List<String> listImages(String dir) {
+        URL url = ImageCache.class.getClassLoader().getResource(dir);
+
+        if (url == null) {
+            return List.of();
+        }
+
+        try {
+            if (url.getProtocol().equals("jar")) {
+                URL jarUrl = new URL(url.getPath().substring(0, url.getPath().indexOf('!')));
+
+                try (JarFile jar = new JarFile(Paths.get(jarUrl.toURI()).toFile())) {
+                    return jar.stream()
+                            .map(ZipEntry::getName)
+                            .filter(name -> name.startsWith(dir + "/") && name.endsWith(".png") && name.indexOf('/', dir.length() + 1) < 0)
+                            .map(name -> "/" + name)
+                            .collect(Collectors.toList());
+                }
+            }
+
+            try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+                return files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(".png"))
+                        .map(name -> "/" + dir + "/" + name)
+                        .collect(Collectors.toList());
+            }
+        } catch (IOException | URISyntaxException e) {
+            LOGGER.log(Level.WARNING, "Images of {0} not preloaded: {1}", new Object[]{dir, e.getMessage()});
+            return List.of();
+        }
+    }
+}
@@ -18,7 +18,7 @@ import java.util.List;
 /**
  * Controller that handles the lobby scene
  */
-public class LobbySceneController {
+public class LobbySceneController implements SceneController {
     private GuiManager guiManager;
 
     @FXML
@@ -39,11 +39,20 @@ public class LobbySceneController {
     @FXML
     public void initialize() {
         guiManager = GuiManager.getInstance();
-        guiManager.setLobbySceneController(this);
 
         bindEvents();
     }
 
+    /**
+     * The game scene is built while the players wait in the lobby
+     */
+    @Override
+    public void onShow() {
+        guiManager.setLobbySceneController(this);
+
+        SceneCache.prefetch(SceneCache.GAME_SCENE);
+    }
+
     /**
      * Binds click events
      */
@@ -80,7 +89,7 @@ public class LobbySceneController {
      */
     private void onBackButtonClick() {
         guiManager.closeConnection();
-        GuiManager.setLayout(mainPane.getScene(), "fxml/connectionScene.fxml");
+        GuiManager.setLayout(mainPane.getScene(), SceneCache.CONNECTION_SCENE);
     }
 
     /**
@@ -107,7 +116,7 @@ public class LobbySceneController {
      */
     void onGameStart() {
         GameSceneController gameSceneController =
-                GuiManager.setLayout(mainPane.getScene(), "fxml/gameScene.fxml");
+                GuiManager.setLayout(mainPane.getScene(), SceneCache.GAME_SCENE);
 
         if (gameSceneController != null) {
             gameSceneController.setupGame(guiManager.getGameSerialized());
@@ -30,6 +30,6 @@ public class MenuSceneController {
      * Handles the start button click
      */
     private void onStartButtonClick() {
-        GuiManager.setLayout(mainPane.getScene(), "fxml/connectionScene.fxml");
+        GuiManager.setLayout(mainPane.getScene(), SceneCache.CONNECTION_SCENE);
     }
 }
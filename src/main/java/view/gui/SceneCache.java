@@ -0,0 +1,89 @@
+package view.gui;
+
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds the scenes of the GUI from their FXML files on background threads before they are needed. Each scene is
+ * shown once, as its controller keeps the state of that visit, so when a scene that can be shown again is taken a
+ * new one is built in its place
+ */
+class SceneCache {
+    static final String MENU_SCENE = "fxml/menuScene.fxml";
+    static final String CONNECTION_SCENE = "fxml/connectionScene.fxml";
+    static final String COLOR_PICK_SCENE = "fxml/colorPickScene.fxml";
+    static final String LOBBY_SCENE = "fxml/lobbyScene.fxml";
+    static final String GAME_SCENE = "fxml/gameScene.fxml";
+    static final String END_GAME_SCENE = "fxml/endGameScene.fxml";
+    static final String DIALOG_SCENE = "fxml/dialogScene.fxml";
+
+    private static final List<String> STARTUP_SCENES = List.of(MENU_SCENE, CONNECTION_SCENE, COLOR_PICK_SCENE,
+            LOBBY_SCENE, DIALOG_SCENE);
+
+    private static final Logger LOGGER = Logger.getLogger("adrenaline_client");
+    private static final Map<String, Future<FXMLLoader>> scenes = new ConcurrentHashMap<>();
+    private static final ExecutorService loaders = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), runnable -> {
+                Thread thread = new Thread(runnable, "scene-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private SceneCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Starts building in parallel the scenes shown before the game
+     */
+    static void prefetchStartupScenes() {
+        for (String path : STARTUP_SCENES) {
+            prefetch(path);
+        }
+    }
+
+    /**
+     * Starts building a scene, if one is not already built or being built
+     *
+     * @param path path of the FXML file
+     */
+    static void prefetch(String path) {
+        scenes.computeIfAbsent(path, p -> loaders.submit(() -> load(p)));
+    }
+
+    /**
+     * Takes a scene, waiting for it if it is still being built or building it now if it was never asked
+     *
+     * @param path path of the FXML file
+     * @return the loader of the scene, with its root and its controller, {@code null} if it could not be built
+     */
+    static FXMLLoader take(String path) {
+        Future<FXMLLoader> scene = scenes.remove(path);
+
+        if (STARTUP_SCENES.contains(path)) {
+            prefetch(path);
+        }
+
+        try {
+            return scene != null ? scene.get() : load(path);
+        } catch (ExecutionException | IOException e) {
+            LOGGER.log(Level.SEVERE, "Scene {0} not built: {1}", new Object[]{path, e.getMessage()});
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static FXMLLoader load(String path) throws IOException {
+        FXMLLoader loader = new FXMLLoader(SceneCache.class.getClassLoader().getResource(path));
+        loader.load();
+        return loader;
+    }
+}
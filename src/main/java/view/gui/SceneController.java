@@ -0,0 +1,12 @@
+package view.gui;
+
+/**
+ * Controller of a scene that is built in advance by the {@link SceneCache SceneCache}: building it only wires its
+ * nodes, what the scene does with the server and the {@link GuiManager GuiManager} starts when it is shown
+ */
+interface SceneController {
+    /**
+     * Called on the JavaFX thread once the scene is shown
+     */
+    void onShow();
+}
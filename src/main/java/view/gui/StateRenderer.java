@@ -0,0 +1,111 @@
+package view.gui;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Renders the game state on the JavaFX thread at most once per pulse: a state update only marks the state as changed
+ * and the next pulse draws the latest one, so the states received in between are dropped without being drawn.
+ * The time taken by each drawing and the time from the start of the client to the first one are recorded
+ */
+class StateRenderer extends AnimationTimer {
+    private final Runnable render;
+    private final long startTime;
+    private final AtomicBoolean pending;
+
+    private final AtomicLong renderedFrames;
+    private final AtomicLong droppedFrames;
+    private final AtomicLong totalFrameTime;
+    private final AtomicLong longestFrameTime;
+    private final AtomicLong firstRenderTime;
+
+    /**
+     * @param render    the drawing of the latest state, run on the JavaFX thread
+     * @param startTime the {@link System#nanoTime() time} when the client started
+     */
+    StateRenderer(Runnable render, long startTime) {
+        this.render = render;
+        this.startTime = startTime;
+        this.pending = new AtomicBoolean();
+        this.renderedFrames = new AtomicLong();
+        this.droppedFrames = new AtomicLong();
+        this.totalFrameTime = new AtomicLong();
+        this.longestFrameTime = new AtomicLong();
+        this.firstRenderTime = new AtomicLong(-1);
+    }
+
+    /**
+     * Marks the state as changed, it can be called from any thread
+     */
+    void requestRender() {
+        if (pending.getAndSet(true)) {
+            // the previous state has not been drawn yet and never will be
+            droppedFrames.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        flush();
+    }
+
+    /**
+     * Draws at once the changed state, if any. It is run before the actions of the game scene so that they always
+     * see the latest state drawn
+     */
+    void flush() {
+        if (pending.getAndSet(false)) {
+            long start = System.nanoTime();
+            render.run();
+            long end = System.nanoTime();
+
+            renderedFrames.incrementAndGet();
+            totalFrameTime.addAndGet(end - start);
+            longestFrameTime.accumulateAndGet(end - start, Math::max);
+
+            if (firstRenderTime.compareAndSet(-1, (end - startTime) / 1000000)) {
+                Logger.getLogger("adrenaline_client").log(Level.INFO, "First game state drawn {0} ms after the start of the client", firstRenderTime.get());
+            }
+        }
+    }
+
+    /**
+     * @return the number of states drawn
+     */
+    long getRenderedFrames() {
+        return renderedFrames.get();
+    }
+
+    /**
+     * @return the number of states replaced by a newer one before being drawn
+     */
+    long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * @return the average time in microseconds taken to draw a state
+     */
+    long getAverageFrameTime() {
+        long frames = renderedFrames.get();
+        return frames > 0 ? totalFrameTime.get() / frames / 1000 : 0;
+    }
+
+    /**
+     * @return the longest time in microseconds taken to draw a state
+     */
+    long getLongestFrameTime() {
+        return longestFrameTime.get() / 1000;
+    }
+
+    /**
+     * @return the time in milliseconds from the start of the client to the first state drawn, -1 if none was drawn
+     */
+    long getFirstRenderTime() {
+        return firstRenderTime.get();
+    }
+}
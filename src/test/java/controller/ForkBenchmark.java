@@ -0,0 +1,90 @@
+package controller;
+
+import enumerations.PlayerColor;
+import model.Game;
+import network.message.DiscardPowerupRequest;
+import network.message.LobbyMessage;
+import network.server.Server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the time and the memory allocated to fork a match with {@link GameManager#fork() fork} and with a
+ * Java serialization round trip, the only full copy available before. Run it with the test classpath (and
+ * {@code --add-opens java.base/java.lang=ALL-UNNAMED} for the mocked server on recent JDKs), the number of iterations
+ * is the optional argument
+ */
+public class ForkBenchmark {
+    private static final int WARMUP_ITERATIONS = 20000;
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        // a serialization round trip is about a thousand times slower than a fork
+        int javaIterations = Math.max(1, iterations / 100);
+
+        Game.getInstance().init();
+        GameManager gameManager = new GameManager(mock(Server.class), false, 8, 10000);
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+        gameManager.onMessage(new DiscardPowerupRequest(gameManager.getTurnOwnerUsername(), null, 0));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            gameManager.fork();
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS / 100; ++i) {
+            javaCopy(gameManager);
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            gameManager.fork();
+        }
+        long forkTime = System.nanoTime() - start;
+        long forkBytes = allocatedBytes() - allocated;
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < javaIterations; ++i) {
+            javaCopy(gameManager);
+        }
+        long javaTime = System.nanoTime() - start;
+        long javaBytes = allocatedBytes() - allocated;
+
+        System.out.printf("%-20s %12s %14s%n", "copy", "us/op", "bytes/op");
+        print("fork", forkTime, forkBytes, iterations);
+        print("java serialization", javaTime, javaBytes, javaIterations);
+    }
+
+    private static void print(String copy, long time, long bytes, int iterations) {
+        System.out.printf("%-20s %12.2f %14d%n", copy, time / 1000.0 / iterations, bytes / iterations);
+    }
+
+    @SuppressWarnings("restriction")
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Object javaCopy(GameManager gameManager) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(gameManager);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
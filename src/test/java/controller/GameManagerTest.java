@@ -2,12 +2,25 @@ package controller;
 
 import enumerations.*;
 import model.Game;
+import model.cards.Deck;
+import model.cards.PowerupCard;
 import model.player.Player;
+import model.player.UserPlayer;
 import model.player.PlayerPosition;
 import network.message.*;
 import network.server.Server;
+import utility.PowerupParser;
+import utility.persistency.SaveGame;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +32,9 @@ class GameManagerTest {
     private Server server;
     private Game game;
 
+    @TempDir
+    Path saves;
+
     @BeforeEach
     void before() {
         server = mock(Server.class);
@@ -27,16 +43,27 @@ class GameManagerTest {
         game.init();
     }
 
+    @AfterEach
+    void closeSaves() {
+        SaveGame.closeStore(saves.toFile());
+    }
+
+    private GameManager newGameManager(boolean terminator, int skullNum, int lobbyTimeoutTime) {
+        GameManager newGameManager = new GameManager(server, terminator, skullNum, lobbyTimeoutTime);
+        newGameManager.setSaveDirectory(saves.toFile());
+        return newGameManager;
+    }
+
     @Test
     void constructor() {
-        gameManager = new GameManager(server, true, 8, 100);
+        gameManager = newGameManager(true, 8, 100);
 
         gameManager = new GameManager(server, mock(GameManager.class), 100);
     }
 
     @Test
     void generalMethods() {
-        gameManager = new GameManager(server, true, 8, 100);
+        gameManager = newGameManager(true, 8, 100);
         assertEquals(game, gameManager.getGameInstance());
 
         gameManager.changeState(PossibleGameState.GAME_STARTED);
@@ -45,7 +72,7 @@ class GameManagerTest {
 
     @Test
     void lobby() {
-        gameManager = new GameManager(server, true, 8, 10000);
+        gameManager = newGameManager(true, 8, 10000);
 
         Response response = (Response) gameManager.onMessage(
                 new LobbyMessage("tose", null, PlayerColor.GREY, false));
@@ -154,7 +181,7 @@ class GameManagerTest {
 
     @Test
     void gameWithBot() {
-        gameManager = new GameManager(server, true, 8, 10000);
+        gameManager = newGameManager(true, 8, 10000);
 
         Response response = (Response) gameManager.onMessage(
                 new LobbyMessage("tose", null, PlayerColor.GREY, false));
@@ -244,7 +271,7 @@ class GameManagerTest {
 
     @Test
     void gameWithoutBot() {
-        gameManager = new GameManager(server, false, 8, 10000);
+        gameManager = newGameManager(false, 8, 10000);
 
         Response response = (Response) gameManager.onMessage(
                 new LobbyMessage("tose", null, PlayerColor.GREY, false));
@@ -331,7 +358,7 @@ class GameManagerTest {
 
     @Test
     void damageCount() {
-        gameManager = new GameManager(server, true, 8, 10000);
+        gameManager = newGameManager(true, 8, 10000);
 
         GameManager.DamageCountWrapper damageCountWrapper1 = gameManager.new DamageCountWrapper(1, 10);
         GameManager.DamageCountWrapper damageCountWrapper2 = gameManager.new DamageCountWrapper(2, 10);
@@ -358,8 +385,298 @@ class GameManagerTest {
 
     @Test
     void shootParameters() {
-        gameManager = new GameManager(server, true, 8, 10000);
+        gameManager = newGameManager(true, 8, 10000);
 
         gameManager.new ShootParameters(mock(ShootRequest.class), false);
     }
+
+    @Test
+    void snapshot() {
+        gameManager = newGameManager(false, 8, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+        assertEquals(PossibleGameState.GAME_STARTED, gameManager.getGameState());
+
+        GameManager snapshot = gameManager.snapshot();
+        String turnOwner = gameManager.getTurnOwnerUsername();
+
+        assertNotSame(game, snapshot.getGameInstance());
+        assertEquals(turnOwner, snapshot.getTurnOwnerUsername());
+        assertSame(snapshot.getGameInstance().getPlayerByName(turnOwner), snapshot.getRoundManager().getTurnManager().getTurnOwner());
+
+        Response response = (Response) gameManager.onMessage(new DiscardPowerupRequest(turnOwner, null, 0));
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        assertNotNull(game.getPlayerByName(turnOwner).getPosition());
+        assertNull(snapshot.getGameInstance().getPlayerByName(turnOwner).getPosition());
+        assertEquals(2, ((UserPlayer) snapshot.getGameInstance().getPlayerByName(turnOwner)).getPowerups().length);
+        assertEquals(PossiblePlayerState.FIRST_SPAWN, ((UserPlayer) snapshot.getGameInstance().getPlayerByName(turnOwner)).getPlayerState());
+    }
+
+    @Test
+    void copiesOwnRandom() {
+        gameManager = newGameManager(false, 8, 10000);
+        game.setSeed(27);
+        long expected = new Random(27).nextLong();
+
+        GameManager snapshot = gameManager.snapshot();
+        GameManager fork = snapshot.fork();
+        fork.getGameInstance().getRandom().nextLong();
+
+        // the snapshot draws the numbers of the game, the forks only advance the snapshot
+        assertEquals(expected, game.getRandom().nextLong());
+        assertNotEquals(expected, snapshot.getGameInstance().getRandom().nextLong());
+        assertNotSame(game.getRandom(), snapshot.getGameInstance().getRandom());
+
+        game.setSeed(27);
+        assertEquals(expected, gameManager.snapshot().getGameInstance().getRandom().nextLong());
+    }
+
+    @Test
+    void allowedMessages() {
+        gameManager = newGameManager(false, 8, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        assertTrue(gameManager.getAllowedMessages("tose").isEmpty());
+
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+
+        for (Player p : gameManager.getGameInstance().getPlayers()) {
+            if (!p.getUsername().equals(turnOwner)) {
+                assertTrue(gameManager.getAllowedMessages(p.getUsername()).isEmpty());
+            }
+        }
+
+        assertEquals(EnumSet.of(MessageContent.DISCARD_POWERUP), gameManager.getAllowedMessages(turnOwner));
+
+        Response response = (Response) gameManager.onMessage(new PassTurnRequest(turnOwner, null));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+
+        response = (Response) gameManager.onMessage(new DiscardPowerupRequest(turnOwner, null, 0));
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        // without the terminator its action is never offered
+        assertEquals(EnumSet.of(MessageContent.POWERUP_USAGE, MessageContent.MOVE, MessageContent.MOVE_PICK,
+                MessageContent.SHOOT), gameManager.getAllowedMessages(turnOwner));
+
+        response = (Response) gameManager.onMessage(new ReloadRequest(turnOwner, null, List.of(0), List.of()));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+
+        gameManager.changeState(PossibleGameState.ACTIONS_DONE);
+        assertEquals(EnumSet.of(MessageContent.POWERUP_USAGE, MessageContent.RELOAD, MessageContent.PASS_TURN),
+                gameManager.getAllowedMessages(turnOwner));
+
+        gameManager.changeState(PossibleGameState.GRANADE_USAGE);
+        assertTrue(gameManager.getAllowedMessages(turnOwner).isEmpty());
+    }
+
+    @Test
+    void parallelGrenadePrompt() throws Exception {
+        gameManager = newGameManager(false, 8, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+        gameManager.onMessage(new DiscardPowerupRequest(turnOwner, null, 0));
+        UserPlayer shooter = (UserPlayer) game.getPlayerByName(turnOwner);
+
+        List<UserPlayer> damaged = new ArrayList<>();
+        Deck powerups = PowerupParser.parseCards();
+        while (damaged.size() < 2) {
+            PowerupCard card = (PowerupCard) powerups.draw();
+            if (card.getName().equals("TAGBACK GRENADE")) {
+                UserPlayer grenadeUser = game.getPlayers().stream()
+                        .filter(player -> player != shooter && !damaged.contains(player))
+                        .findFirst().orElseThrow();
+
+                grenadeUser.addPowerup(card);
+                grenadeUser.setPosition(shooter.getPosition());
+                grenadeUser.setPlayerState(PossiblePlayerState.PLAYING);
+                damaged.add(grenadeUser);
+            }
+        }
+
+        TurnManager turnManager = gameManager.getRoundManager().getTurnManager();
+        turnManager.setDamagedPlayers(new ArrayList<>(damaged));
+        turnManager.setMarkedByGrenadePlayer(shooter);
+        turnManager.setMarkingTerminator(false);
+        turnManager.setSecondAction(false);
+        turnManager.startGrenadePrompt();
+        gameManager.changeState(PossibleGameState.GRANADE_USAGE);
+
+        String first = damaged.get(0).getUsername();
+        String second = damaged.get(1).getUsername();
+        int grenadeIndex = damaged.get(0).getPowerups().length - 1;
+
+        assertEquals(List.of(first, second), gameManager.getActingPlayers());
+        assertEquals(EnumSet.of(MessageContent.POWERUP_USAGE, MessageContent.PASS_TURN), gameManager.getAllowedMessages(first));
+        assertEquals(EnumSet.of(MessageContent.POWERUP_USAGE, MessageContent.PASS_TURN), gameManager.getAllowedMessages(second));
+        assertTrue(gameManager.getAllowedMessages(turnOwner).isEmpty());
+
+        // both are asked at the same time, the second one can answer first
+        Response response = (Response) gameManager.onMessage(new PassTurnRequest(second, null));
+        assertEquals(MessageStatus.OK, response.getStatus());
+        assertEquals(List.of(first), gameManager.getActingPlayers());
+        assertEquals(PossibleGameState.GRANADE_USAGE, gameManager.getGameState());
+
+        response = (Response) gameManager.onMessage(new PassTurnRequest(second, null));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+
+        response = (Response) gameManager.onMessage(new PowerupRequest.PowerupRequestBuilder(first, null, List.of(grenadeIndex + 1)).build());
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+        assertEquals(List.of(first), gameManager.getActingPlayers());
+
+        // the grenades are used once everyone has answered
+        response = (Response) gameManager.onMessage(new PowerupRequest.PowerupRequestBuilder(first, null, List.of(grenadeIndex)).build());
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        assertEquals(PossibleGameState.SECOND_ACTION, gameManager.getGameState());
+        assertEquals(List.of(turnOwner), gameManager.getActingPlayers());
+        assertEquals(turnOwner, gameManager.getTurnOwnerUsername());
+        assertEquals(List.of(first), shooter.getPlayerBoard().getMarks());
+        assertEquals(0, damaged.get(0).getPowerupOccurrences("TAGBACK GRENADE"));
+        assertEquals(1, damaged.get(1).getPowerupOccurrences("TAGBACK GRENADE"));
+    }
+
+    @Test
+    void parallelRespawnPrompt() {
+        gameManager = newGameManager(false, 8, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+        gameManager.onMessage(new DiscardPowerupRequest(turnOwner, null, 0));
+        UserPlayer shooter = (UserPlayer) game.getPlayerByName(turnOwner);
+
+        List<UserPlayer> dead = new ArrayList<>();
+        for (UserPlayer player : game.getPlayers()) {
+            if (player != shooter && dead.size() < 2) {
+                player.setPosition(shooter.getPosition());
+                player.setPlayerState(PossiblePlayerState.PLAYING);
+                player.getPlayerBoard().addDamage(shooter, 11);
+                dead.add(player);
+            }
+        }
+
+        gameManager.changeState(PossibleGameState.ACTIONS_DONE);
+        Response response = (Response) gameManager.onMessage(new PassTurnRequest(turnOwner, null));
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        String first = dead.get(0).getUsername();
+        String second = dead.get(1).getUsername();
+
+        // the turn stays to the shooter while both the dead players are asked at the same time
+        assertEquals(PossibleGameState.MANAGE_DEATHS, gameManager.getGameState());
+        assertEquals(turnOwner, gameManager.getTurnOwnerUsername());
+        assertTrue(gameManager.isPromptInProgress());
+        assertEquals(List.of(first, second), gameManager.getActingPlayers());
+        assertEquals(EnumSet.of(MessageContent.DISCARD_POWERUP), gameManager.getAllowedMessages(first));
+        assertEquals(EnumSet.of(MessageContent.DISCARD_POWERUP), gameManager.getAllowedMessages(second));
+        assertTrue(gameManager.getAllowedMessages(turnOwner).isEmpty());
+        assertEquals(UserPlayerState.DEAD, gameManager.getUserPlayerState(first));
+        assertEquals(UserPlayerState.FIRST_ACTION, gameManager.getUserPlayerState(turnOwner));
+        assertNotNull(dead.get(0).getSpawningCard());
+        assertNotNull(dead.get(1).getSpawningCard());
+
+        DiscardPowerupRequest promptDefault = (DiscardPowerupRequest) gameManager.getPromptDefault(first, null);
+        assertEquals(3, promptDefault.getPowerup());
+        assertNull(gameManager.getPromptDefault(turnOwner, null));
+
+        response = (Response) gameManager.onMessage(new DiscardPowerupRequest(second, null, 4));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+
+        // the second one can answer first, nobody respawns until everyone has chosen
+        response = (Response) gameManager.onMessage(new DiscardPowerupRequest(second, null, 3));
+        assertEquals(MessageStatus.OK, response.getStatus());
+        assertEquals(List.of(first), gameManager.getActingPlayers());
+        assertNull(dead.get(1).getPosition());
+
+        response = (Response) gameManager.onMessage(new DiscardPowerupRequest(second, null, 3));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+
+        response = (Response) gameManager.onMessage(promptDefault);
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        assertEquals(PossibleGameState.GAME_STARTED, gameManager.getGameState());
+        assertFalse(gameManager.isPromptInProgress());
+        assertNotEquals(turnOwner, gameManager.getTurnOwnerUsername());
+        assertEquals(6, game.remainingSkulls());
+
+        for (UserPlayer player : dead) {
+            assertNotNull(player.getPosition());
+            assertNull(player.getSpawningCard());
+            assertEquals(0, player.getPlayerBoard().getDamageCount());
+        }
+    }
+
+    @Test
+    void moveTimeout() {
+        gameManager = newGameManager(false, 5, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+        UserPlayer idlePlayer = (UserPlayer) game.getPlayerByName(turnOwner);
+        String other = game.getPlayers().stream().map(UserPlayer::getUsername).filter(username -> !username.equals(turnOwner)).findFirst().orElseThrow();
+
+        Response response = (Response) gameManager.onConnectionMessage(new PassTurnRequest(other, null));
+        assertEquals(MessageStatus.ERROR, response.getStatus());
+        assertEquals(turnOwner, gameManager.getTurnOwnerUsername());
+
+        // the player that has not spawned yet is spawned and his turn is passed, he stays connected
+        response = (Response) gameManager.onConnectionMessage(new PassTurnRequest(turnOwner, null));
+        assertEquals(MessageStatus.OK, response.getStatus());
+        assertNotEquals(turnOwner, gameManager.getTurnOwnerUsername());
+        assertNotNull(idlePlayer.getPosition());
+        assertEquals(PossiblePlayerState.PLAYING, idlePlayer.getPlayerState());
+        assertEquals(PossibleGameState.GAME_STARTED, gameManager.getGameState());
+    }
+
+    @Test
+    void moveTimeoutMissingTerminatorAction() {
+        gameManager = newGameManager(true, 5, 10000);
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+
+        String turnOwner = gameManager.getTurnOwnerUsername();
+        assertEquals(MessageStatus.OK, ((Response) gameManager.onMessage(new BotSpawnRequest(turnOwner, null, RoomColor.BLUE))).getStatus());
+        assertEquals(MessageStatus.OK, ((Response) gameManager.onMessage(new DiscardPowerupRequest(turnOwner, null, 0))).getStatus());
+
+        // both actions done in a later turn, the terminator action is still missing
+        ((UserPlayer) game.getPlayerByName(turnOwner)).addAction(PossibleAction.BOT_ACTION);
+        gameManager.changeState(PossibleGameState.MISSING_TERMINATOR_ACTION);
+        PlayerPosition botPosition = new PlayerPosition(game.getBot().getPosition());
+
+        Response response = (Response) gameManager.onConnectionMessage(new PassTurnRequest(turnOwner, null));
+        assertEquals(MessageStatus.OK, response.getStatus());
+
+        // nobody else has spawned, the terminator moves to a square from which it sees nobody
+        assertEquals(1, botPosition.distanceOf(game.getBot().getPosition()));
+        assertNotEquals(turnOwner, gameManager.getTurnOwnerUsername());
+        assertEquals(PossibleGameState.GAME_STARTED, gameManager.getGameState());
+    }
 }
@@ -0,0 +1,65 @@
+package controller;
+
+import enumerations.PlayerColor;
+import enumerations.PossibleGameState;
+import network.message.LobbyMessage;
+import network.server.Server;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchShellPoolTest {
+
+    @BeforeAll
+    static void before() {
+        Server.LOGGER.setLevel(Level.WARNING);
+    }
+
+    private static void awaitReady(MatchShellPool pool, int shells) throws InterruptedException {
+        for (int i = 0; i < 200 && pool.getReadyShells() < shells; ++i) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(shells, pool.getReadyShells());
+    }
+
+    @Test
+    void matchStartsWithReadyShell() throws InterruptedException {
+        MatchShellPool pool = new MatchShellPool(1);
+        awaitReady(pool, 1);
+
+        GameManager match = GameManager.headless(false, 5, 27);
+        match.setShellPool(pool);
+
+        match.onSimulatedMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        match.onSimulatedMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        match.onSimulatedMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+
+        assertEquals(-1, match.getSetupTime());
+        assertTrue(match.startMatch());
+
+        assertEquals(PossibleGameState.GAME_STARTED, match.getGameState());
+        assertTrue(match.getSetupTime() >= 0);
+        assertEquals(1, pool.getReadyTaken());
+        assertEquals(0, pool.getMissingTaken());
+        assertNotNull(match.getGameInstance().getGameMap());
+        assertTrue(match.getGameInstance().getWeaponsCardsDeck().numOfCards() > 0);
+
+        // the shell taken is replaced by a new one
+        awaitReady(pool, 1);
+        pool.shutdown();
+    }
+
+    @Test
+    void emptyPool() {
+        MatchShellPool pool = new MatchShellPool(0);
+
+        assertNull(pool.take());
+        assertEquals(1, pool.getMissingTaken());
+        assertEquals(0, pool.getReadyShells());
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package controller;
+
+import enumerations.PlayerColor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+    private static final long WAIT_TIME = 10000;
+
+    private Matchmaker matchmaker;
+
+    @BeforeEach
+    void before() {
+        matchmaker = new Matchmaker(5, false, WAIT_TIME, 0);
+    }
+
+    private void join(String username, long now) {
+        matchmaker.addPlayer(username);
+        assertTrue(matchmaker.join(username, PlayerColor.values()[username.length() % PlayerColor.values().length], now));
+    }
+
+    @Test
+    void fullMatchFormsAtOnce() {
+        for (int i = 1; i <= 4; ++i) {
+            join("p" + i, i);
+        }
+        assertTrue(matchmaker.formMatches(10, 5).isEmpty());
+
+        join("p5", 5);
+        List<Matchmaker.MatchGroup> groups = matchmaker.formMatches(10, 5);
+
+        assertEquals(1, groups.size());
+        assertEquals(5, groups.get(0).getTickets().size());
+        assertEquals(5, groups.get(0).getSkullNum());
+        assertFalse(groups.get(0).isTerminator());
+        assertEquals("p1", groups.get(0).getTickets().get(0).getUsername());
+        assertEquals(0, matchmaker.getWaitingPlayers());
+        assertFalse(matchmaker.contains("p1"));
+    }
+
+    @Test
+    void notJoinedPlayersWait() {
+        matchmaker.addPlayer("p1");
+
+        assertTrue(matchmaker.contains("p1"));
+        assertEquals(0, matchmaker.getWaitingPlayers());
+        assertFalse(matchmaker.setMapVote("p1", 5));
+        assertFalse(matchmaker.setPreferences("p1", 3, null));
+        assertFalse(matchmaker.join("p2", PlayerColor.GREEN, 0));
+
+        assertTrue(matchmaker.join("p1", PlayerColor.GREEN, 0));
+        assertFalse(matchmaker.join("p1", PlayerColor.GREEN, 0));
+    }
+
+    @Test
+    void preferencesSplitMatches() {
+        for (int i = 1; i <= 4; ++i) {
+            join("t" + i, i);
+            assertTrue(matchmaker.setPreferences("t" + i, 8, true));
+        }
+        for (int i = 1; i <= 3; ++i) {
+            join("n" + i, 10 + i);
+            assertTrue(matchmaker.setPreferences("n" + i, 0, false));
+        }
+
+        List<Matchmaker.MatchGroup> groups = matchmaker.formMatches(20, 5);
+
+        assertEquals(1, groups.size());
+        assertEquals(4, groups.get(0).getTickets().size());
+        assertEquals(8, groups.get(0).getSkullNum());
+        assertTrue(groups.get(0).isTerminator());
+        assertEquals(3, matchmaker.getWaitingPlayers());
+    }
+
+    @Test
+    void smallMatchFormsAfterWaitTime() {
+        join("p1", 0);
+        join("p2", 1000);
+        assertTrue(matchmaker.formMatches(WAIT_TIME, 5).isEmpty());
+
+        join("p3", 2000);
+        assertTrue(matchmaker.formMatches(WAIT_TIME - 1, 5).isEmpty());
+
+        List<Matchmaker.MatchGroup> groups = matchmaker.formMatches(WAIT_TIME, 5);
+        assertEquals(1, groups.size());
+        assertEquals(3, groups.get(0).getTickets().size());
+    }
+
+    @Test
+    void mapVotesChoosePlayers() {
+        join("p1", 0);
+        matchmaker.setMapVote("p1", 2);
+        for (int i = 2; i <= 6; ++i) {
+            join("p" + i, i);
+            matchmaker.setMapVote("p" + i, i == 6 ? 2 : 3);
+        }
+
+        List<MatchTicket> tickets = matchmaker.formMatches(10, 5).get(0).getTickets();
+
+        assertEquals(5, tickets.size());
+        assertEquals("p1", tickets.get(0).getUsername());
+        assertEquals("p6", tickets.get(1).getUsername());
+        assertTrue(matchmaker.contains("p5"));
+    }
+
+    @Test
+    void poolLimit() {
+        for (int i = 1; i <= 10; ++i) {
+            join("p" + i, i);
+        }
+
+        assertEquals(1, matchmaker.formMatches(20, 1).size());
+        assertEquals(5, matchmaker.getWaitingPlayers());
+        assertEquals(0, matchmaker.formMatches(20, 0).size());
+        assertEquals(1, matchmaker.formMatches(20, 1).size());
+        assertEquals(2, matchmaker.getFormedMatches());
+    }
+
+    @Test
+    void waitStats() {
+        join("p1", 0);
+        join("p2", 2000);
+        join("p3", 4000);
+
+        matchmaker.formMatches(WAIT_TIME, 5);
+
+        assertEquals(WAIT_TIME, matchmaker.getLongestWait());
+        assertEquals((3 * WAIT_TIME - 6000) / 3, matchmaker.getAverageWait());
+        assertEquals(6.0, matchmaker.getMatchesPerMinute(WAIT_TIME), 0.001);
+    }
+}
@@ -0,0 +1,92 @@
+package controller;
+
+import enumerations.PlayerColor;
+import model.Game;
+import model.player.KillShot;
+import model.player.PlayerBoard;
+import model.player.PlayerPoints;
+import network.message.LobbyMessage;
+import network.server.Server;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ScoreboardTest {
+    private GameManager gameManager;
+    private Game game;
+
+    @BeforeEach
+    void before() {
+        game = Game.getInstance();
+        game.init();
+
+        gameManager = new GameManager(mock(Server.class), false, 8, 10000);
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+    }
+
+    @Test
+    void liveStandings() {
+        assertEquals(0, gameManager.getProjectedPoints("tose"));
+        assertEquals(5, gameManager.getStandings().size());
+
+        PlayerBoard gioBoard = game.getPlayerByName("gio").getPlayerBoard();
+        gioBoard.addDamage(game.getPlayerByName("tose"), 3);
+        gioBoard.addDamage(game.getPlayerByName("piro"), 2);
+
+        // first blood and the most damage
+        assertEquals(9, gameManager.getProjectedPoints("tose"));
+        assertEquals(6, gameManager.getProjectedPoints("piro"));
+
+        gioBoard.addDamage(game.getPlayerByName("piro"), 2);
+        assertEquals(7, gameManager.getProjectedPoints("tose"));
+        assertEquals(8, gameManager.getProjectedPoints("piro"));
+
+        List<PlayerPoints> standings = gameManager.getStandings();
+        assertEquals("piro", standings.get(0).getUserName());
+        assertEquals("tose", standings.get(1).getUserName());
+
+        game.addKillShot(new KillShot("tose", 2));
+        gameManager.getScoreboard().onKillShot();
+        assertEquals(15, gameManager.getProjectedPoints("tose"));
+
+        gioBoard.onDeath();
+        assertEquals(8, gameManager.getProjectedPoints("tose"));
+        assertEquals(0, gameManager.getProjectedPoints("piro"));
+    }
+
+    @Test
+    void finalizePoints() {
+        PlayerBoard toseBoard = game.getPlayerByName("tose").getPlayerBoard();
+        toseBoard.addDamage(game.getPlayerByName("gio"), 1);
+        toseBoard.addDamage(game.getPlayerByName("test1"), 1);
+        game.getPlayerByName("piro").getPlayerBoard().addDamage(game.getPlayerByName("test1"), 1);
+
+        int gioProjected = gameManager.getProjectedPoints("gio");
+        int test1Projected = gameManager.getProjectedPoints("test1");
+
+        // ties are won by the first damage dealer
+        assertEquals(9, gioProjected);
+        assertEquals(6 + 9, test1Projected);
+
+        gameManager.getScoreboard().finalizePoints();
+        assertEquals(gioProjected, game.getPlayerByName("gio").getPoints());
+        assertEquals(test1Projected, game.getPlayerByName("test1").getPoints());
+    }
+
+    @Test
+    void rebuiltOnNewGame() {
+        Scoreboard scoreboard = gameManager.getScoreboard();
+        assertSame(scoreboard, gameManager.getScoreboard());
+
+        game.init();
+        assertFalse(scoreboard.isAttachedTo(game));
+    }
+}
@@ -0,0 +1,72 @@
+package controller.ai;
+
+import controller.GameManager;
+import enumerations.MessageStatus;
+import enumerations.PlayerColor;
+import model.Game;
+import model.player.UserPlayer;
+import network.message.LobbyMessage;
+import network.message.Message;
+import network.message.Response;
+import network.server.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MonteCarloSearchTest {
+    private static final long MOVE_TIME = 300;
+
+    private GameManager gameManager;
+    private MonteCarloSearch search;
+
+    @BeforeEach
+    void before() {
+        Game.getInstance().init();
+
+        gameManager = new GameManager(mock(Server.class), false, 8, 10000);
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        search = new MonteCarloSearch(2);
+    }
+
+    @AfterEach
+    void after() {
+        search.shutdown();
+    }
+
+    @Test
+    void acceptedMessagesWithinDeadline() {
+        for (int i = 0; i < 6; ++i) {
+            String turnOwner = gameManager.getTurnOwnerUsername();
+            UserPlayer player = (UserPlayer) gameManager.getGameInstance().getPlayerByName(turnOwner);
+            int powerups = player.getPowerups().length;
+
+            long start = System.nanoTime();
+            Message chosen = search.search(gameManager.snapshot(), turnOwner, "token", MOVE_TIME);
+            long elapsed = (System.nanoTime() - start) / 1000000;
+
+            assertNotNull(chosen);
+            assertTrue(elapsed < MOVE_TIME + 200, "search took " + elapsed + " ms");
+
+            // the search only plays on copies
+            assertSame(gameManager.getGameInstance(), Game.getInstance());
+            assertEquals(powerups, player.getPowerups().length);
+
+            Message response = gameManager.onMessage(chosen);
+            assertNotEquals(MessageStatus.ERROR, ((Response) response).getStatus());
+        }
+    }
+
+    @Test
+    void noMessageOutOfTurn() {
+        String other = gameManager.getTurnOwnerUsername().equals("tose") ? "gio" : "tose";
+        assertNull(search.search(gameManager.snapshot(), other, "token", MOVE_TIME));
+    }
+}
@@ -3,6 +3,7 @@ package exceptions;
 import exceptions.cards.*;
 import exceptions.command.InvalidCommandException;
 import exceptions.file.JsonFileNotFoundException;
+import exceptions.file.SnapshotFormatException;
 import exceptions.utility.InvalidPropertiesException;
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +31,7 @@ class ExceptionsTest {
     void fileTest() {
         assertThrows(JsonFileNotFoundException.class, () -> { throw new JsonFileNotFoundException(); });
         assertThrows(JsonFileNotFoundException.class, () -> { throw new JsonFileNotFoundException("message"); });
+        assertThrows(SnapshotFormatException.class, () -> { throw new SnapshotFormatException("message"); });
     }
 
     @Test
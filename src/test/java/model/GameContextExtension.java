@@ -0,0 +1,39 @@
+package model;
+
+import org.junit.jupiter.api.extension.*;
+
+/**
+ * Gives each test class and each test its own {@link Game Game}, bound to the thread running it with
+ * {@link Game#bind(Game) bind} and seeded from the name of the test, so that the tests can run in parallel without
+ * sharing the singleton instance and always draw the same cards. It is registered for all the tests through the
+ * extension autodetection of JUnit
+ */
+public class GameContextExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        bindNewGame(context);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        bindNewGame(context);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        // the tests of the class go on with the game of the class
+        bindNewGame(context.getParent().orElse(context));
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Game.unbind();
+    }
+
+    private static void bindNewGame(ExtensionContext context) {
+        Game game = Game.newDetachedGame();
+        game.setSeed(context.getUniqueId().hashCode());
+        Game.bind(game);
+    }
+}
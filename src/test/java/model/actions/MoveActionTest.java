@@ -4,6 +4,7 @@ import enumerations.PlayerColor;
 import enumerations.PossibleAction;
 import exceptions.actions.InvalidActionException;
 import model.Game;
+import model.map.GameMap;
 import model.player.PlayerBoard;
 import model.player.PlayerPosition;
 import model.player.UserPlayer;
@@ -42,4 +43,23 @@ class MoveActionTest {
         action = new MoveAction(moving, new PlayerPosition(0,1), PossibleAction.SHOOT);
         assertThrows(NullPointerException.class, action::validate);
     }
+
+    @Test
+    void moveActionOnGivenMap() throws Exception {
+        UserPlayer moving = new UserPlayer("1", PlayerColor.GREEN, new PlayerBoard());
+        Game.getInstance().setGameMap(3);
+        moving.setPosition(new PlayerPosition(0, 2));
+
+        MoveAction action = new MoveAction(moving, new PlayerPosition(0, 3), PossibleAction.MOVE);
+        assertTrue(action.validate());
+
+        action = new MoveAction(moving, new PlayerPosition(0, 3), PossibleAction.MOVE, new GameMap(1));
+        assertThrows(InvalidActionException.class, action::validate);
+
+        action = new MoveAction(moving, new PlayerPosition(1, 3), PossibleAction.MOVE, new GameMap(1));
+        assertTrue(action.validate());
+
+        action.execute();
+        assertEquals(new PlayerPosition(1, 3), moving.getPosition());
+    }
 }
@@ -70,6 +70,39 @@ class DeckTest {
         noGarbage.flush();
     }
 
+    @Test
+    void copyOf() {
+        garbage.addCard(mock(UsableCard.class));
+        garbage.addCard(mock(UsableCard.class));
+        garbage.discardCard(mock(UsableCard.class));
+
+        Deck copy = Deck.copyOf(garbage);
+        Card drawn = copy.draw();
+        copy.discardCard(drawn);
+
+        // the copy changes without touching the original deck and the other way round
+        assertEquals(2, garbage.numOfCards());
+        assertEquals(1, garbage.numOfDiscards());
+        assertEquals(1, copy.numOfCards());
+        assertEquals(2, copy.numOfDiscards());
+
+        garbage.flush();
+        assertEquals(1, copy.numOfCards());
+    }
+
+    @Test
+    void copiedWeaponsAreNotShared() {
+        Deck deck = WeaponParser.parseCards();
+        Deck copy = Deck.copyOf(deck);
+
+        WeaponCard original = (WeaponCard) deck.getCards().get(0);
+        WeaponCard drawn = (WeaponCard) copy.draw();
+
+        assertEquals(original, drawn);
+        assertNotSame(original, drawn);
+        assertNotSame(drawn, deck.draw());
+    }
+
     @Test
     void weaponDeck() {
         Deck deck = WeaponParser.parseCards();
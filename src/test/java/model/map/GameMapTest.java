@@ -1,10 +1,15 @@
 package model.map;
 
+import enumerations.Ammo;
 import enumerations.PlayerColor;
 import enumerations.RoomColor;
 import exceptions.game.*;
 import exceptions.map.MapUnknowException;
 import model.Game;
+import model.cards.AmmoTile;
+import model.cards.WeaponCard;
+import model.cards.weaponstates.ChargedWeapon;
+import model.cards.weaponstates.UnchargedWeapon;
 import model.player.PlayerBoard;
 import model.player.PlayerPosition;
 import model.player.UserPlayer;
@@ -107,4 +112,30 @@ class GameMapTest {
         assertEquals( 2, gameMap.getRoom(RoomColor.GREY).size());
         assertEquals( 1, gameMap.getRoom(RoomColor.PURPLE).size());
     }
+
+    @Test
+    void copy() {
+        GameMap gameMap = new GameMap(GameMap.MAP_1);
+        AmmoTile ammoTile = mock(AmmoTile.class);
+        WeaponCard weapon = mock(WeaponCard.class);
+        ((CardSquare) gameMap.getSquare(0, 0)).setAmmoTile(ammoTile);
+        ((SpawnSquare) gameMap.getSquare(0, 2)).addWeapon(new WeaponCard("weapon", "", null, 0, new Ammo[0], null, new ChargedWeapon()));
+
+        GameMap copy = new GameMap(gameMap);
+        assertNotSame(gameMap.getSquare(0, 0), copy.getSquare(0, 0));
+        assertNull(copy.getSquare(0, 3));
+        assertSame(ammoTile, ((CardSquare) copy.getSquare(0, 0)).getAmmoTile());
+
+        ((CardSquare) gameMap.getSquare(0, 0)).setAmmoTile(mock(AmmoTile.class));
+        assertSame(ammoTile, ((CardSquare) copy.getSquare(0, 0)).getAmmoTile());
+
+        WeaponCard copiedWeapon = ((SpawnSquare) copy.getSquare(0, 2)).getWeapons()[0];
+        assertEquals(((SpawnSquare) gameMap.getSquare(0, 2)).getWeapons()[0], copiedWeapon);
+
+        ((SpawnSquare) gameMap.getSquare(0, 2)).getWeapons()[0].setStatus(new UnchargedWeapon());
+        assertEquals(WeaponCard.CHARGED, copiedWeapon.status());
+
+        ((SpawnSquare) gameMap.getSquare(0, 2)).addWeapon(weapon);
+        assertNull(((SpawnSquare) copy.getSquare(0, 2)).getWeapons()[1]);
+    }
 }
@@ -0,0 +1,324 @@
+package network.client;
+
+import controller.GameManager;
+import enumerations.*;
+import model.GameSerialized;
+import model.map.GameMap;
+import model.player.PlayerPoints;
+import model.player.PlayerPosition;
+import model.player.UserPlayer;
+import network.message.*;
+import network.server.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utility.persistency.SaveGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ClientGameManagerTest {
+    @TempDir
+    Path saves;
+
+    private GameManager gameManager;
+    private String username;
+    private TestClient client;
+    private TestClientGameManager clientGameManager;
+
+    @BeforeEach
+    void before() throws Exception {
+        gameManager = new GameManager(mock(Server.class), false, 5, 10000);
+        gameManager.setSaveDirectory(saves.toFile());
+
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+
+        username = gameManager.getTurnOwnerUsername();
+        assertEquals(MessageStatus.OK, ((Response) gameManager.onMessage(new DiscardPowerupRequest(username, null, 0))).getStatus());
+
+        client = new TestClient(username);
+        clientGameManager = new TestClientGameManager();
+        clientGameManager.createConnection(client);
+
+        // the player joined the lobby, then the game started on his turn
+        clientGameManager.onUpdate(new Response("Player added to lobby", MessageStatus.OK));
+        clientGameManager.onUpdate(gameState());
+        clientGameManager.onUpdate(new GameStartMessage(username));
+        clientGameManager.doAction(PossibleAction.MOVE);
+    }
+
+    @AfterEach
+    void after() {
+        clientGameManager.closeConnection();
+        SaveGame.closeStore(saves.toFile());
+    }
+
+    @Test
+    void moveConfirmed() {
+        GameSerialized received = clientGameManager.getGameSerialized();
+        PlayerPosition target = reachablePosition(received);
+
+        assertTrue(clientGameManager.sendRequest(new MoveRequest(username, null, target)));
+
+        // the prediction is shown before the server answers, the state received is left untouched
+        assertEquals(target, positionOf(clientGameManager.getGameSerialized()));
+        assertNotEquals(target, positionOf(received));
+        assertEquals(1, clientGameManager.getActionPredictor().getPredicted());
+
+        assertEquals(MessageStatus.OK, ((Response) gameManager.onMessage(client.sent.get(0))).getStatus());
+        GameStateMessage serverState = gameState();
+        clientGameManager.onUpdate(serverState);
+
+        assertSame(serverState.getGameSerialized(), clientGameManager.getGameSerialized());
+        assertEquals(1, clientGameManager.getActionPredictor().getConfirmed());
+        assertEquals(0, clientGameManager.getActionPredictor().getRolledBack());
+    }
+
+    @Test
+    void refusedMoveRolledBack() {
+        GameSerialized received = clientGameManager.getGameSerialized();
+
+        assertTrue(clientGameManager.sendRequest(new MoveRequest(username, null, reachablePosition(received))));
+        assertNotSame(received, clientGameManager.getGameSerialized());
+
+        clientGameManager.onUpdate(new Response("Invalid Move", MessageStatus.ERROR));
+
+        assertSame(received, clientGameManager.getGameSerialized());
+        assertEquals(1, clientGameManager.getActionPredictor().getRolledBack());
+    }
+
+    @Test
+    void unsentMoveRolledBack() {
+        GameSerialized received = clientGameManager.getGameSerialized();
+        client.failing = true;
+
+        assertFalse(clientGameManager.sendRequest(new MoveRequest(username, null, reachablePosition(received))));
+
+        assertSame(received, clientGameManager.getGameSerialized());
+        assertEquals(1, clientGameManager.getActionPredictor().getPredicted());
+        assertEquals(1, clientGameManager.getActionPredictor().getRolledBack());
+    }
+
+    @Test
+    void invalidMoveNotPredicted() {
+        GameSerialized received = clientGameManager.getGameSerialized();
+
+        assertTrue(clientGameManager.sendRequest(new MoveRequest(username, null, new PlayerPosition(5, 5))));
+
+        // the request is sent anyway, the server refuses it
+        assertSame(received, clientGameManager.getGameSerialized());
+        assertEquals(1, client.sent.size());
+        assertEquals(0, clientGameManager.getActionPredictor().getPredicted());
+    }
+
+    private GameStateMessage gameState() {
+        return new GameStateMessage(username, gameManager.getTurnOwnerUsername(), false,
+                gameManager.getAllowedMessages(username), List.of());
+    }
+
+    private PlayerPosition positionOf(GameSerialized state) {
+        return state.getPlayers().stream()
+                .filter(player -> player.getUsername().equals(username))
+                .map(UserPlayer::getPosition)
+                .findFirst().orElseThrow();
+    }
+
+    /**
+     * @return a square of the map a single move away from the player
+     */
+    private PlayerPosition reachablePosition(GameSerialized state) {
+        PlayerPosition position = positionOf(state);
+        GameMap map = state.getGameMap();
+
+        for (int i = 0; i < map.getRooms().length; ++i) {
+            for (int j = 0; j < map.getRooms()[i].length; ++j) {
+                PlayerPosition target = new PlayerPosition(i, j);
+
+                if (map.getRooms()[i][j] != null && position.distanceOf(target, map) == 1) {
+                    return target;
+                }
+            }
+        }
+
+        return fail("No square next to the player");
+    }
+
+    /**
+     * Client that records the messages sent instead of sending them, or fails to send them
+     */
+    private static class TestClient extends Client {
+        private static final long serialVersionUID = -2618340771562718826L;
+
+        private final transient List<Message> sent = new ArrayList<>();
+        private transient boolean failing;
+
+        TestClient(String username) throws RemoteException {
+            super(username, "test", 0, null);
+            UnicastRemoteObject.unexportObject(this, true);
+        }
+
+        @Override
+        public void startConnection() {
+            // nothing to connect to
+        }
+
+        @Override
+        public void sendMessage(Message message) throws IOException {
+            if (failing) {
+                throw new IOException("Connection lost");
+            }
+
+            sent.add(message);
+        }
+
+        @Override
+        public void close() {
+            pingTimer.cancel();
+        }
+    }
+
+    /**
+     * Client game manager without a view
+     */
+    private static class TestClientGameManager extends ClientGameManager {
+        @Override
+        public void connectionResponse(ConnectionResponse response) {
+        }
+
+        @Override
+        public void loadResponse() {
+        }
+
+        @Override
+        public void askColor(List<PlayerColor> availableColors) {
+        }
+
+        @Override
+        public void lobbyJoinResponse(Response response) {
+        }
+
+        @Override
+        public void playersLobbyUpdate(List<String> users) {
+        }
+
+        @Override
+        public void voteResponse(GameVoteResponse gameVoteResponse) {
+        }
+
+        @Override
+        public void firstPlayerCommunication(String username) {
+        }
+
+        @Override
+        public void notYourTurn(String turnOwner) {
+        }
+
+        @Override
+        public void displayActions(List<PossibleAction> possibleActions) {
+        }
+
+        @Override
+        public void gameStateUpdate() {
+        }
+
+        @Override
+        public void responseError(String error) {
+        }
+
+        @Override
+        public void botSpawn() {
+        }
+
+        @Override
+        public void botRespawn() {
+        }
+
+        @Override
+        public void spawn() {
+        }
+
+        @Override
+        public void move() {
+        }
+
+        @Override
+        public void moveAndPick() {
+        }
+
+        @Override
+        public void shoot() {
+        }
+
+        @Override
+        public void adrenalinePick() {
+        }
+
+        @Override
+        public void adrenalineShoot() {
+        }
+
+        @Override
+        public void frenzyMove() {
+        }
+
+        @Override
+        public void frenzyPick() {
+        }
+
+        @Override
+        public void frenzyShoot() {
+        }
+
+        @Override
+        public void lightFrenzyPick() {
+        }
+
+        @Override
+        public void lightFrenzyShoot() {
+        }
+
+        @Override
+        public void botAction() {
+        }
+
+        @Override
+        public void targetingScope() {
+        }
+
+        @Override
+        public void tagbackGrenade() {
+        }
+
+        @Override
+        public void reload() {
+        }
+
+        @Override
+        public void powerup() {
+        }
+
+        @Override
+        public void passTurn() {
+        }
+
+        @Override
+        public void onPlayerDisconnect(String username) {
+        }
+
+        @Override
+        public void notifyGameEnd(List<PlayerPoints> winners) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package network.client;
+
+import enumerations.MessageContent;
+import network.message.ColorRequest;
+import network.message.ConnectionResponse;
+import network.message.Message;
+import network.server.LoopbackServer;
+import network.server.Server;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Measures the time the server takes to answer a request of a client connected through a
+ * {@link LoopbackServer LoopbackServer}, so without any network, serialization copies included. Run it with the test
+ * classpath, the number of iterations is the optional argument
+ */
+public class LoopbackBenchmark {
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final String CONF = "{\"start_time\": 10, \"move_time\": 60, \"socket_port\": 0, \"rmi_port\": 0, \"match_shells\": 0}";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        Server.LOGGER.setLevel(Level.WARNING);
+        Path conf = Files.createTempFile("loopback", ".json");
+        Files.write(conf, CONF.getBytes(StandardCharsets.UTF_8));
+        conf.toFile().deleteOnExit();
+
+        LoopbackServer loopbackServer = new LoopbackServer(new Server(false, 5, conf.toString(), false));
+        LoopbackClient client = new LoopbackClient("tose", loopbackServer, () -> { });
+        client.startConnection();
+        client.setToken(((ConnectionResponse) next(client)).getNewToken());
+
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            roundTrip(client);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            roundTrip(client);
+        }
+        long time = System.nanoTime() - start;
+
+        System.out.printf("%-20s %12s%n", "request", "us/op");
+        System.out.printf("%-20s %12.2f%n", "color request", time / 1000.0 / iterations);
+
+        client.close();
+        System.exit(0);
+    }
+
+    private static void roundTrip(LoopbackClient client) {
+        client.sendMessage(new ColorRequest(client.getUsername(), client.getToken()));
+
+        if (next(client).getContent() != MessageContent.COLOR_RESPONSE) {
+            throw new IllegalStateException("Unexpected response");
+        }
+    }
+
+    /**
+     * The server has already answered when the request returns
+     */
+    private static Message next(LoopbackClient client) {
+        List<Message> messages = client.receiveMessages();
+
+        if (messages.size() != 1) {
+            throw new IllegalStateException("Expected one message, received " + messages);
+        }
+
+        return messages.get(0);
+    }
+}
@@ -0,0 +1,130 @@
+package network.client;
+
+import enumerations.MessageContent;
+import enumerations.MessageStatus;
+import network.message.*;
+import network.server.LoopbackServer;
+import network.server.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoopbackClientTest {
+    private static final String CONF = "{\"start_time\": 1, \"move_time\": 60, \"socket_port\": 0, \"rmi_port\": 0, " +
+            "\"match_shells\": 0, \"save_directory\": \"%s\"}";
+
+    @TempDir
+    Path saves;
+
+    private Server server;
+    private LoopbackServer loopbackServer;
+    private Map<Client, List<Message>> received;
+
+    /**
+     * Set by the clients that are not expected to be disconnected, on the thread of their ping timer
+     */
+    private AtomicBoolean unexpectedDisconnection;
+
+    @BeforeAll
+    static void before() {
+        Server.LOGGER.setLevel(Level.WARNING);
+    }
+
+    @BeforeEach
+    void startServer() throws Exception {
+        Path conf = Files.createTempFile("loopback", ".json");
+        Files.write(conf, String.format(CONF, saves.toString().replace("\\", "\\\\")).getBytes(StandardCharsets.UTF_8));
+        conf.toFile().deleteOnExit();
+
+        server = new Server(false, 5, conf.toString(), false);
+        loopbackServer = new LoopbackServer(server);
+        received = new HashMap<>();
+        unexpectedDisconnection = new AtomicBoolean();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.shutdown();
+        assertFalse(unexpectedDisconnection.get());
+    }
+
+    @Test
+    void playersJoinAndGameStarts() throws Exception {
+        List<LoopbackClient> clients = new ArrayList<>();
+
+        for (String username : new String[]{"tose", "gio", "piro"}) {
+            LoopbackClient client = new LoopbackClient(username, loopbackServer, () -> unexpectedDisconnection.set(true));
+            client.startConnection();
+            clients.add(client);
+
+            ConnectionResponse connectionResponse = (ConnectionResponse) awaitMessage(client, MessageContent.CONNECTION_RESPONSE);
+            assertEquals(MessageStatus.OK, connectionResponse.getStatus());
+            client.setToken(connectionResponse.getNewToken());
+
+            client.sendMessage(new ColorRequest(username, client.getToken()));
+            ColorResponse colorResponse = (ColorResponse) awaitMessage(client, MessageContent.COLOR_RESPONSE);
+
+            client.sendMessage(new LobbyMessage(username, client.getToken(), colorResponse.getColorList().get(0), false));
+        }
+
+        for (LoopbackClient client : clients) {
+            assertNotNull(awaitMessage(client, MessageContent.READY));
+            client.close();
+        }
+
+        assertTrue(loopbackServer.getMessagesToServer() >= 9);
+        assertTrue(loopbackServer.getMessagesToClients() >= 9);
+    }
+
+    @Test
+    void refusedClientDisconnected() throws Exception {
+        AtomicBoolean disconnected = new AtomicBoolean();
+
+        LoopbackClient first = new LoopbackClient("tose", loopbackServer, () -> unexpectedDisconnection.set(true));
+        first.startConnection();
+        awaitMessage(first, MessageContent.CONNECTION_RESPONSE);
+
+        LoopbackClient second = new LoopbackClient("tose", loopbackServer, () -> disconnected.set(true));
+        second.startConnection();
+
+        assertEquals(MessageStatus.ERROR, ((ConnectionResponse) awaitMessage(second, MessageContent.CONNECTION_RESPONSE)).getStatus());
+        assertTrue(disconnected.get());
+
+        first.close();
+    }
+
+    /**
+     * Waits for the next message of a kind sent to a client, the messages before it are skipped
+     */
+    private Message awaitMessage(Client client, MessageContent content) throws InterruptedException {
+        List<Message> messages = received.computeIfAbsent(client, c -> new ArrayList<>());
+
+        for (int i = 0; i < 200; ++i) {
+            messages.addAll(client.receiveMessages());
+
+            while (!messages.isEmpty()) {
+                Message message = messages.remove(0);
+
+                if (message.getContent() == content) {
+                    return message;
+                }
+            }
+
+            Thread.sleep(25);
+        }
+
+        fail("No " + content + " received");
+        return null;
+    }
+}
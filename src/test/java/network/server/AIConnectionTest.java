@@ -0,0 +1,171 @@
+package network.server;
+
+import controller.GameManager;
+import enumerations.MessageContent;
+import enumerations.PossibleGameState;
+import enumerations.PossiblePlayerState;
+import model.player.UserPlayer;
+import network.message.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIConnectionTest {
+    private static final String CONF = "{\"start_time\": 1, \"move_time\": 60, \"socket_port\": 0, \"rmi_port\": 0, " +
+            "\"match_shells\": 0, \"match_pool_size\": 1, \"ai_takeover\": true, \"ai_move_time\": 100, " +
+            "\"save_directory\": \"%s\"}";
+
+    @TempDir
+    Path saves;
+
+    private Server server;
+    private LoopbackServer loopbackServer;
+
+    @BeforeAll
+    static void before() {
+        Server.LOGGER.setLevel(Level.WARNING);
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        Path conf = Files.createTempFile("takeover", ".json");
+        Files.write(conf, String.format(CONF, saves.toString().replace("\\", "\\\\")).getBytes(StandardCharsets.UTF_8));
+        conf.toFile().deleteOnExit();
+
+        server = new Server(false, 5, conf.toString(), false);
+        loopbackServer = new LoopbackServer(server);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.shutdown();
+    }
+
+    @Test
+    void mainGameSeatPlayedByServer() throws Exception {
+        Map<String, LoopbackConnection> connections = joinMatch("tose", "gio", "piro");
+
+        String turnOwner = server.snapshotGame("tose").getTurnOwnerUsername();
+        connections.get(turnOwner).disconnect();
+
+        // the game does not end, the server plays the turn of the player that left
+        assertTrue(server.getConnection(turnOwner) instanceof AIConnection);
+        await(() -> !server.snapshotGame(turnOwner).getTurnOwnerUsername().equals(turnOwner));
+
+        GameManager game = server.snapshotGame(turnOwner);
+        assertNotEquals(PossibleGameState.GAME_ENDED, game.getGameState());
+        assertEquals(PossiblePlayerState.PLAYING, ((UserPlayer) game.getGameInstance().getPlayerByName(turnOwner)).getPlayerState());
+
+        assertSeatGivenBack(turnOwner);
+    }
+
+    @Test
+    void poolMatchSeatPlayedByServer() throws Exception {
+        joinMatch("tose", "gio", "piro");
+        Map<String, LoopbackConnection> connections = joinMatch("a", "b", "c");
+
+        GameManager poolMatch = server.snapshotGame("a");
+        assertNotEquals(server.getGameManager().getMatchId(), poolMatch.getMatchId());
+
+        String player = poolMatch.getTurnOwnerUsername();
+        connections.get(player).disconnect();
+
+        assertTrue(server.getConnection(player) instanceof AIConnection);
+        await(() -> !server.snapshotGame(player).getTurnOwnerUsername().equals(player));
+        assertNotEquals(PossibleGameState.GAME_ENDED, server.snapshotGame(player).getGameState());
+
+        assertSeatGivenBack(player);
+    }
+
+    /**
+     * Connects the players and waits for their match to start
+     *
+     * @return the connections of the players
+     */
+    private Map<String, LoopbackConnection> joinMatch(String... usernames) throws InterruptedException {
+        Map<String, LoopbackConnection> connections = new LinkedHashMap<>();
+        Map<String, Queue<Message>> received = new LinkedHashMap<>();
+
+        for (String username : usernames) {
+            Queue<Message> messages = new ConcurrentLinkedQueue<>();
+            LoopbackConnection connection = loopbackServer.connect(messages::add, () -> { });
+            connections.put(username, connection);
+            received.put(username, messages);
+
+            connection.send(new ConnectionRequest(username));
+            String token = ((ConnectionResponse) awaitMessage(messages, MessageContent.CONNECTION_RESPONSE)).getNewToken();
+            connection.send(new ColorRequest(username, token));
+            ColorResponse colorResponse = (ColorResponse) awaitMessage(messages, MessageContent.COLOR_RESPONSE);
+            connection.send(new LobbyMessage(username, token, colorResponse.getColorList().get(0), false));
+        }
+
+        for (Queue<Message> messages : received.values()) {
+            assertNotNull(awaitMessage(messages, MessageContent.READY));
+        }
+
+        return connections;
+    }
+
+    /**
+     * The player logs in again and gets back the seat played by the server
+     */
+    private void assertSeatGivenBack(String username) throws InterruptedException {
+        Queue<Message> messages = new ConcurrentLinkedQueue<>();
+        LoopbackConnection connection = loopbackServer.connect(messages::add, () -> { });
+
+        AIConnection seatPlayer = (AIConnection) server.getConnection(username);
+        connection.send(new ConnectionRequest(username));
+
+        ReconnectionMessage reconnection = (ReconnectionMessage) awaitMessage(messages, MessageContent.RECONNECTION);
+        assertSame(connection, server.getConnection(username));
+        assertEquals(reconnection.getNewToken(), connection.getToken());
+        assertFalse(seatPlayer.isConnected());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 400; ++i) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+
+            Thread.sleep(25);
+        }
+
+        fail("Condition not reached");
+    }
+
+    /**
+     * Waits for the next message of a kind sent to a client, the messages before it are skipped
+     */
+    private static Message awaitMessage(Queue<Message> messages, MessageContent content) throws InterruptedException {
+        for (int i = 0; i < 200; ++i) {
+            Message message;
+
+            while ((message = messages.poll()) != null) {
+                if (message.getContent() == content) {
+                    return message;
+                }
+            }
+
+            Thread.sleep(25);
+        }
+
+        fail("No " + content + " received");
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+package network.server;
+
+import enumerations.MessageContent;
+import model.Game;
+import model.cards.Card;
+import model.player.UserPlayer;
+import network.message.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficReplayTest {
+    private static final String CONF = "{\"start_time\": 1, \"move_time\": 60, \"socket_port\": 0, \"rmi_port\": 0, " +
+            "\"match_shells\": 1, \"seed\": 27, \"capture_file\": \"%s\", \"save_directory\": \"%s\"}";
+
+    @TempDir
+    Path saves;
+
+    private Server server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    @BeforeAll
+    static void before() {
+        Server.LOGGER.setLevel(Level.WARNING);
+    }
+
+    @Test
+    void replayPlaysTheSameGame() throws Exception {
+        Path capturePath = Files.createTempFile("traffic", ".capture");
+        capturePath.toFile().deleteOnExit();
+
+        server = new Server(false, 5, writeConf(capturePath), false);
+        LoopbackServer loopbackServer = new LoopbackServer(server);
+        Map<LoopbackConnection, Queue<Message>> clients = new LinkedHashMap<>();
+
+        for (String username : new String[]{"tose", "gio", "piro"}) {
+            Queue<Message> messages = new ConcurrentLinkedQueue<>();
+            LoopbackConnection connection = loopbackServer.connect(messages::add, () -> { });
+            clients.put(connection, messages);
+
+            connection.send(new ConnectionRequest(username));
+            String token = ((ConnectionResponse) awaitMessage(messages, MessageContent.CONNECTION_RESPONSE)).getNewToken();
+            connection.send(new ColorRequest(username, token));
+            ColorResponse colorResponse = (ColorResponse) awaitMessage(messages, MessageContent.COLOR_RESPONSE);
+            connection.send(new LobbyMessage(username, token, colorResponse.getColorList().get(0), false));
+        }
+
+        for (Queue<Message> messages : clients.values()) {
+            assertNotNull(awaitMessage(messages, MessageContent.READY));
+        }
+
+        Game recorded = server.getGameManager().getGameInstance();
+        server.getCapture().close();
+
+        // the new server plays on a new game
+        Game.bind(Game.newDetachedGame());
+        TrafficReplay.Report report = TrafficReplay.replay(capturePath.toString(), false);
+        Game replayed = Game.getInstance();
+
+        assertFalse(report.isTruncated());
+        assertEquals(3, report.getEvents("CONNECT"));
+        assertEquals(3, report.getEvents("COLOR"));
+        assertEquals(3, report.getEvents("GET_IN_LOBBY"));
+        assertEquals(1, report.getEvents("LOBBY_TIMEOUT"));
+        assertTrue(report.getSentMessages() >= 9);
+
+        assertTrue(replayed.isGameStarted());
+        assertEquals(usernames(recorded.getPlayers()), usernames(replayed.getPlayers()));
+        assertEquals(imagePaths(recorded.getWeaponsCardsDeck().toList()), imagePaths(replayed.getWeaponsCardsDeck().toList()));
+
+        clients.keySet().forEach(LoopbackConnection::disconnect);
+    }
+
+    @Test
+    void notACapture() throws Exception {
+        Path path = Files.createTempFile("traffic", ".capture");
+        path.toFile().deleteOnExit();
+
+        assertThrows(IOException.class, () -> TrafficReplay.replay(path.toString(), false));
+    }
+
+    @Test
+    void variableLengthNumbers() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long[] values = {0, 1, -1, 127, 128, Long.MAX_VALUE, Long.MIN_VALUE, -123456789L};
+
+        for (long value : values) {
+            TrafficCapture.writeVarLong(out, TrafficCapture.zigZag(value));
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : values) {
+            assertEquals(value, TrafficCapture.unZigZag(TrafficCapture.readVarLong(in)));
+        }
+
+        assertEquals(1, bytesOf(0));
+        assertEquals(1, bytesOf(TrafficCapture.zigZag(-1)));
+        assertEquals(2, bytesOf(128));
+    }
+
+    private static int bytesOf(long value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TrafficCapture.writeVarLong(new DataOutputStream(bytes), value);
+        return bytes.size();
+    }
+
+    private String writeConf(Path capturePath) throws IOException {
+        Path conf = Files.createTempFile("capture", ".json");
+        String json = String.format(CONF, escape(capturePath), escape(saves));
+        Files.write(conf, json.getBytes(StandardCharsets.UTF_8));
+        conf.toFile().deleteOnExit();
+
+        return conf.toString();
+    }
+
+    private static String escape(Path path) {
+        return path.toString().replace("\\", "\\\\");
+    }
+
+    private static List<String> usernames(List<UserPlayer> players) {
+        return players.stream().map(UserPlayer::getUsername).collect(Collectors.toList());
+    }
+
+    private static List<String> imagePaths(List<Card> cards) {
+        return cards.stream().map(Card::getImagePath).collect(Collectors.toList());
+    }
+
+    /**
+     * Waits for the next message of a kind sent to a client, the messages before it are skipped
+     */
+    private static Message awaitMessage(Queue<Message> messages, MessageContent content) throws InterruptedException {
+        for (int i = 0; i < 200; ++i) {
+            Message message;
+
+            while ((message = messages.poll()) != null) {
+                if (message.getContent() == content) {
+                    return message;
+                }
+            }
+
+            Thread.sleep(25);
+        }
+
+        fail("No " + content + " received");
+        return null;
+    }
+}
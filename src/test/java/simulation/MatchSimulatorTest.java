@@ -0,0 +1,48 @@
+package simulation;
+
+import network.server.Server;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSimulatorTest {
+
+    @BeforeAll
+    static void before() {
+        Server.LOGGER.setLevel(Level.WARNING);
+    }
+
+    @Test
+    void matchesEnd() {
+        SimulationReport report = new MatchSimulator(3, false, 5, new ScriptedAgent()).run(4, 11, 2);
+
+        assertEquals(4, report.getMatches());
+        assertEquals(0, report.getAbortedMatches());
+        assertTrue(report.getActions() > 0);
+        assertEquals(4, report.getKillShotsPerMatch().values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void seededMatchesRepeat() {
+        MatchSimulator simulator = new MatchSimulator(4, false, 5, new RandomAgent());
+
+        SimulationReport parallel = simulator.run(4, 42, 2);
+        SimulationReport sequential = simulator.run(4, 42, 1);
+
+        assertEquals(parallel.getActions(), sequential.getActions());
+        assertEquals(parallel.getBrokenMessages(), sequential.getBrokenMessages());
+        assertEquals(parallel.getKillShotsPerMatch(), sequential.getKillShotsPerMatch());
+        assertEquals(parallel.getWinRate("Lock Rifle"), sequential.getWinRate("Lock Rifle"));
+    }
+
+    @Test
+    void invalidPlayersNum() {
+        RandomAgent agent = new RandomAgent();
+
+        assertThrows(IllegalArgumentException.class, () -> new MatchSimulator(2, false, 5, agent));
+        assertThrows(IllegalArgumentException.class, () -> new MatchSimulator(5, true, 5, agent));
+    }
+}
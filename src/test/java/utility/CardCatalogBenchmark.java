@@ -0,0 +1,61 @@
+package utility;
+
+import model.cards.Deck;
+
+import java.util.Random;
+
+/**
+ * Compares the time needed to build the three decks of a match by parsing the json files of the cards, as it was done
+ * for each match before, and by copying the decks of the {@link CardCatalog CardCatalog}, also reporting the time the
+ * catalog takes to be read the first time. Run it with the test classpath after {@code mvn process-classes}, the
+ * number of iterations is the optional argument
+ */
+public class CardCatalogBenchmark {
+    private static final int WARMUP_ITERATIONS = 500;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Random random = new Random(27);
+
+        long start = System.nanoTime();
+        CardCatalog.getWeapons();
+        long catalogLoad = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        parseJson(random);
+        long firstParse = System.nanoTime() - start;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            parseJson(random);
+            copyCatalog(random);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            parseJson(random);
+        }
+        long parseTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            copyCatalog(random);
+        }
+        long copyTime = System.nanoTime() - start;
+
+        System.out.printf("%-20s %12s %12s%n", "decks", "first (us)", "us/match");
+        System.out.printf("%-20s %12.2f %12.2f%n", "json parsing", firstParse / 1000.0, parseTime / 1000.0 / iterations);
+        System.out.printf("%-20s %12.2f %12.2f%n", "card catalog", catalogLoad / 1000.0, copyTime / 1000.0 / iterations);
+    }
+
+    private static void parseJson(Random random) {
+        for (Deck deck : new Deck[]{WeaponParser.parseJson(), PowerupParser.parseJson(), AmmoTileParser.parseJson()}) {
+            deck.shuffle(random);
+        }
+    }
+
+    private static void copyCatalog(Random random) {
+        WeaponParser.parseCards(random);
+        PowerupParser.parseCards(random);
+        AmmoTileParser.parseCards(random);
+    }
+}
@@ -0,0 +1,123 @@
+package utility;
+
+import model.cards.*;
+import model.cards.weaponstates.ChargedWeapon;
+import model.cards.weaponstates.UnchargedWeapon;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardCatalogTest {
+
+    @Test
+    void catalogMatchesJsonFiles() {
+        assertSameCards(WeaponParser.parseJson(), CardCatalog.getWeapons());
+        assertSameCards(PowerupParser.parseJson(), CardCatalog.getPowerups());
+        assertSameCards(AmmoTileParser.parseJson(), CardCatalog.getAmmoTiles());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        Deck first = CardCatalog.getWeapons();
+        Deck second = CardCatalog.getWeapons();
+        int numOfCards = second.numOfCards();
+
+        WeaponCard drawn = (WeaponCard) first.draw();
+        drawn.setStatus(new ChargedWeapon());
+
+        assertEquals(numOfCards - 1, first.numOfCards());
+        assertEquals(numOfCards, second.numOfCards());
+
+        WeaponCard other = (WeaponCard) second.draw();
+        assertEquals(drawn.getId(), other.getId());
+        assertNotSame(drawn, other);
+        assertNotEquals(drawn.status(), other.status());
+    }
+
+    @Test
+    void seededShuffle() {
+        assertSameCards(WeaponParser.parseCards(new Random(27)), WeaponParser.parseCards(new Random(27)));
+        assertSameCards(PowerupParser.parseCards(new Random(27)), PowerupParser.parseCards(new Random(27)));
+        assertSameCards(AmmoTileParser.parseCards(new Random(27)), AmmoTileParser.parseCards(new Random(27)));
+    }
+
+    @Test
+    void sharedCardsSerializedByReference() throws IOException, ClassNotFoundException {
+        WeaponCard weapon = (WeaponCard) CardCatalog.getWeapons().draw();
+        weapon.setStatus(new UnchargedWeapon());
+        PowerupCard powerup = (PowerupCard) CardCatalog.getPowerups().draw();
+        AmmoTile ammoTile = (AmmoTile) CardCatalog.getAmmoTiles().draw();
+
+        WeaponCard weaponCopy = (WeaponCard) roundTrip(weapon);
+        assertNotSame(weapon, weaponCopy);
+        assertEquals(weapon, weaponCopy);
+        assertEquals(WeaponCard.UNCHARGED, weaponCopy.status());
+        assertSame(weapon.getBaseEffect(), weaponCopy.getBaseEffect());
+        assertTrue(serializedSize(weapon) < 200);
+
+        PowerupCard powerupCopy = (PowerupCard) roundTrip(powerup);
+        assertEquals(powerup, powerupCopy);
+        assertSame(powerup.getBaseEffect(), powerupCopy.getBaseEffect());
+
+        assertSame(ammoTile, roundTrip(ammoTile));
+    }
+
+    @Test
+    void otherCardsSerializedWhole() throws IOException, ClassNotFoundException {
+        CardCatalog.getWeapons();
+        WeaponCard weapon = (WeaponCard) WeaponParser.parseJson().draw();
+        weapon.setStatus(new ChargedWeapon());
+
+        assertFalse(CardCatalog.isShared(weapon));
+
+        WeaponCard weaponCopy = (WeaponCard) roundTrip(weapon);
+        assertEquals(weapon, weaponCopy);
+        assertEquals(WeaponCard.CHARGED, weaponCopy.status());
+        assertTrue(serializedSize(weapon) > 1000);
+    }
+
+    private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private static int serializedSize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        return bytes.size();
+    }
+
+    private static void assertSameCards(Deck expected, Deck actual) {
+        List<Card> expectedCards = expected.getCards();
+        List<Card> actualCards = actual.getCards();
+
+        assertEquals(expectedCards.size(), actualCards.size());
+
+        for (int i = 0; i < expectedCards.size(); ++i) {
+            Card expectedCard = expectedCards.get(i);
+            Card actualCard = actualCards.get(i);
+
+            assertEquals(expectedCard.getClass(), actualCard.getClass());
+            assertEquals(expectedCard.getImagePath(), actualCard.getImagePath());
+
+            if (expectedCard instanceof WeaponCard) {
+                assertEquals(((WeaponCard) expectedCard).getId(), ((WeaponCard) actualCard).getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package utility.persistency;
+
+import controller.GameManager;
+import enumerations.MessageStatus;
+import enumerations.PlayerColor;
+import enumerations.PossibleGameState;
+import model.Game;
+import model.player.UserPlayer;
+import network.message.LobbyMessage;
+import network.message.PassTurnRequest;
+import network.message.Response;
+import network.server.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SaveGameTest {
+    @TempDir
+    Path saves;
+
+    @AfterEach
+    void closeSaves() {
+        SaveGame.closeStore(saves.toFile());
+    }
+
+    @Test
+    void everyUnfinishedMatchReloaded() throws InterruptedException {
+        Server server = mock(Server.class);
+        GameManager first = startMatch(server, "tose", "gio", "piro");
+        savedBefore();
+        GameManager second = startMatch(server, "a", "b", "c");
+        SaveGame.closeStore(saves.toFile());
+
+        List<GameManager> reloaded = SaveGame.loadGames(server, 10, null, saves.toFile());
+
+        assertEquals(2, reloaded.size());
+
+        // the most recently saved match is the main game
+        assertEquals(second.getMatchId(), reloaded.get(0).getMatchId());
+        assertSame(Game.getInstance(), reloaded.get(0).getGameInstance());
+        assertEquals(List.of("a", "b", "c"), sortedUsernames(reloaded.get(0)));
+
+        assertEquals(first.getMatchId(), reloaded.get(1).getMatchId());
+        assertNotSame(Game.getInstance(), reloaded.get(1).getGameInstance());
+        assertEquals(List.of("gio", "piro", "tose"), sortedUsernames(reloaded.get(1)));
+        assertEquals(first.getTurnOwnerUsername(), reloaded.get(1).getTurnOwnerUsername());
+    }
+
+    @Test
+    void requestedMatchIsTheMainGame() {
+        Server server = mock(Server.class);
+        GameManager first = startMatch(server, "tose", "gio", "piro");
+        startMatch(server, "a", "b", "c");
+        SaveGame.closeStore(saves.toFile());
+
+        List<GameManager> reloaded = SaveGame.loadGames(server, 10, first.getMatchId(), saves.toFile());
+
+        assertEquals(2, reloaded.size());
+        assertEquals(first.getMatchId(), reloaded.get(0).getMatchId());
+        assertSame(Game.getInstance(), reloaded.get(0).getGameInstance());
+    }
+
+    @Test
+    void matchWithPlayerOfAnotherMatchSkipped() throws InterruptedException {
+        Server server = mock(Server.class);
+        startMatch(server, "tose", "gio", "piro");
+        savedBefore();
+        GameManager second = startMatch(server, "tose", "b", "c");
+        SaveGame.closeStore(saves.toFile());
+
+        List<GameManager> reloaded = SaveGame.loadGames(server, 10, null, saves.toFile());
+
+        assertEquals(1, reloaded.size());
+        assertEquals(second.getMatchId(), reloaded.get(0).getMatchId());
+    }
+
+    @Test
+    void reloadedMatchDrawsTheSameNumbers() {
+        Server server = mock(Server.class);
+        GameManager live = startMatch(server, "tose", "gio", "piro");
+
+        // the players that do not spawn in time spawn at random, the journaled timeouts draw from the source of randomness
+        for (int i = 0; i < 2; ++i) {
+            Response response = (Response) live.onConnectionMessage(new PassTurnRequest(live.getTurnOwnerUsername(), null));
+            assertEquals(MessageStatus.OK, response.getStatus());
+        }
+
+        SaveGame.closeStore(saves.toFile());
+
+        GameManager reloaded = SaveGame.loadGames(server, 10, live.getMatchId(), saves.toFile()).get(0);
+        Game liveGame = live.getGameInstance();
+        Game reloadedGame = reloaded.getGameInstance();
+
+        assertEquals(live.getTurnOwnerUsername(), reloaded.getTurnOwnerUsername());
+        for (UserPlayer player : liveGame.getPlayers()) {
+            assertEquals(player.getPosition(), reloadedGame.getPlayerByName(player.getUsername()).getPosition());
+        }
+
+        // the next spawns and reshuffles are the same as in the live match
+        assertEquals(liveGame.getRandom().getState(), reloadedGame.getRandom().getState());
+        assertEquals(liveGame.getRandom().nextLong(), reloadedGame.getRandom().nextLong());
+    }
+
+    /**
+     * Writes the saves of the matches started so far, so that the next match is saved later
+     */
+    private void savedBefore() throws InterruptedException {
+        SaveGame.closeStore(saves.toFile());
+        Thread.sleep(10);
+    }
+
+    private GameManager startMatch(Server server, String... players) {
+        GameManager match = GameManager.poolMatch(server, false, 5);
+        match.setSaveDirectory(saves.toFile());
+
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < players.length; ++i) {
+            match.onMessage(new LobbyMessage(players[i], null, colors[i], false));
+        }
+
+        assertTrue(match.startMatch());
+        assertEquals(PossibleGameState.GAME_STARTED, match.getGameState());
+        return match;
+    }
+
+    private static List<String> sortedUsernames(GameManager gameManager) {
+        return gameManager.getGameInstance().getPlayers().stream().map(UserPlayer::getUsername).sorted().collect(Collectors.toList());
+    }
+}
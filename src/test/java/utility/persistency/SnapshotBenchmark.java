@@ -0,0 +1,97 @@
+package utility.persistency;
+
+import controller.GameManager;
+import enumerations.PlayerColor;
+import model.Game;
+import network.message.DiscardPowerupRequest;
+import network.message.LobbyMessage;
+import network.server.Server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares save and load time and size of a snapshot written with Java serialization and with the binary
+ * {@link SnapshotCodec SnapshotCodec}. Run it with the test classpath (and {@code --add-opens java.base/java.lang=ALL-UNNAMED}
+ * for the mocked server on recent JDKs), the number of iterations is the optional argument
+ */
+public class SnapshotBenchmark {
+    private static final int WARMUP_ITERATIONS = 500;
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        Game.getInstance().init();
+        GameManager gameManager = new GameManager(mock(Server.class), false, 8, 10000);
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+        gameManager.onMessage(new DiscardPowerupRequest(gameManager.getTurnOwnerUsername(), null, 0));
+
+        PersistencyClass snapshot = new PersistencyClass(gameManager.snapshot(), 0);
+
+        byte[] serialized = javaSerialize(snapshot);
+        ByteBuffer encoded = SnapshotCodec.encode(snapshot);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            javaDeserialize(javaSerialize(snapshot));
+            SnapshotCodec.decode(SnapshotCodec.encode(snapshot));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            javaSerialize(snapshot);
+        }
+        long javaSave = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            javaDeserialize(serialized);
+        }
+        long javaLoad = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            SnapshotCodec.encode(snapshot);
+        }
+        long codecSave = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            SnapshotCodec.decode(encoded.duplicate());
+        }
+        long codecLoad = System.nanoTime() - start;
+
+        System.out.printf("%-20s %10s %12s %12s%n", "format", "bytes", "save us/op", "load us/op");
+        print("java serialization", serialized.length, javaSave, javaLoad, iterations);
+        print("snapshot v" + SnapshotCodec.CURRENT_VERSION, encoded.remaining(), codecSave, codecLoad, iterations);
+    }
+
+    private static void print(String format, int bytes, long save, long load, int iterations) {
+        System.out.printf("%-20s %10d %12.1f %12.1f%n", format, bytes, save / 1000.0 / iterations, load / 1000.0 / iterations);
+    }
+
+    private static byte[] javaSerialize(PersistencyClass snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(snapshot);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void javaDeserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.readObject();
+        }
+    }
+}
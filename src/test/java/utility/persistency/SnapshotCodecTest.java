@@ -0,0 +1,106 @@
+package utility.persistency;
+
+import controller.GameManager;
+import enumerations.MessageStatus;
+import enumerations.PlayerColor;
+import enumerations.PossibleGameState;
+import exceptions.file.SnapshotFormatException;
+import model.Game;
+import model.cards.Card;
+import model.player.UserPlayer;
+import network.message.DiscardPowerupRequest;
+import network.message.LobbyMessage;
+import network.message.Response;
+import network.server.Server;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SnapshotCodecTest {
+    private GameManager gameManager;
+
+    @BeforeEach
+    void before() {
+        Game.getInstance().init();
+
+        gameManager = new GameManager(mock(Server.class), false, 8, 10000);
+        gameManager.onMessage(new LobbyMessage("tose", null, PlayerColor.GREY, false));
+        gameManager.onMessage(new LobbyMessage("gio", null, PlayerColor.BLUE, false));
+        gameManager.onMessage(new LobbyMessage("piro", null, PlayerColor.GREEN, false));
+        gameManager.onMessage(new LobbyMessage("test1", null, PlayerColor.PURPLE, false));
+        gameManager.onMessage(new LobbyMessage("test2", null, PlayerColor.YELLOW, false));
+        assertEquals(PossibleGameState.GAME_STARTED, gameManager.getGameState());
+
+        Response response = (Response) gameManager.onMessage(new DiscardPowerupRequest(gameManager.getTurnOwnerUsername(), null, 0));
+        assertEquals(MessageStatus.OK, response.getStatus());
+    }
+
+    @Test
+    void roundTrip() throws IOException, ClassNotFoundException {
+        ByteBuffer encoded = SnapshotCodec.encode(new PersistencyClass(gameManager.snapshot(), 42));
+        PersistencyClass decoded = SnapshotCodec.decode(encoded.duplicate());
+
+        assertEquals(42, decoded.getSequence());
+        assertEquals(encoded, SnapshotCodec.encode(decoded));
+
+        GameManager decodedManager = decoded.getGameManager();
+        Game decodedGame = decodedManager.getGameInstance();
+        Game game = Game.getInstance();
+        String turnOwner = gameManager.getTurnOwnerUsername();
+
+        assertEquals(gameManager.getMatchId(), decodedManager.getMatchId());
+        assertEquals(gameManager.getGameState(), decodedManager.getGameState());
+        assertNotSame(game, decodedGame);
+        assertSame(decodedGame.getPlayerByName(turnOwner), decodedManager.getRoundManager().getTurnManager().getTurnOwner());
+
+        for (UserPlayer player : game.getPlayers()) {
+            UserPlayer decodedPlayer = (UserPlayer) decodedGame.getPlayerByName(player.getUsername());
+
+            assertEquals(player.getPosition(), decodedPlayer.getPosition());
+            assertEquals(player.getPlayerState(), decodedPlayer.getPlayerState());
+            assertEquals(player.getPossibleActions(), decodedPlayer.getPossibleActions());
+            assertArrayEquals(player.getPowerups(), decodedPlayer.getPowerups());
+            assertEquals(player.getPlayerBoard().getAmmo(), decodedPlayer.getPlayerBoard().getAmmo());
+        }
+
+        Card topWeapon = game.getWeaponsCardsDeck().getCards().get(0);
+        assertEquals(topWeapon, decodedGame.getWeaponsCardsDeck().getCards().get(0));
+        assertEquals(game.getPowerupCardsDeck().getCards(), decodedGame.getPowerupCardsDeck().getCards());
+        assertEquals(game.getAmmoTileDeck().numOfCards(), decodedGame.getAmmoTileDeck().numOfCards());
+    }
+
+    @Test
+    void corruptedSnapshot() {
+        ByteBuffer encoded = SnapshotCodec.encode(new PersistencyClass(gameManager.snapshot(), 0));
+        int last = encoded.limit() - Integer.BYTES - 1;
+        encoded.put(last, (byte) (encoded.get(last) ^ 0x01));
+
+        assertThrows(SnapshotFormatException.class, () -> SnapshotCodec.decode(encoded));
+
+        ByteBuffer truncated = SnapshotCodec.encode(new PersistencyClass(gameManager.snapshot(), 0));
+        truncated.limit(truncated.limit() / 2);
+
+        assertThrows(SnapshotFormatException.class, () -> SnapshotCodec.decode(truncated));
+    }
+
+    @Test
+    void javaSerializedSnapshot() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new PersistencyClass(gameManager.snapshot(), 7));
+        }
+
+        PersistencyClass decoded = SnapshotCodec.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertEquals(7, decoded.getSequence());
+        assertEquals(gameManager.getMatchId(), decoded.getGameManager().getMatchId());
+    }
+}
@@ -0,0 +1,122 @@
+package view.cli;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TerminalScreenTest {
+    private static final String CLEAR = AnsiCode.CLEAR_CONSOLE;
+    private static final String RED = "\u001B[31m";
+
+    private ByteArrayOutputStream terminal;
+    private TerminalScreen screen;
+
+    @BeforeEach
+    void before() {
+        terminal = new ByteArrayOutputStream();
+        screen = new TerminalScreen(new PrintStream(terminal), 5, 20);
+    }
+
+    @Test
+    void onlyChangedCellsSent() {
+        // the first clear is not part of a frame yet
+        assertEquals("\u001B[H" + CLEAR + "ab\u001B[2;1Hcd", draw(CLEAR + "ab\ncd"));
+
+        assertEquals("\u001B[2;1Hxy", draw(CLEAR + "ab\nxy"));
+        assertEquals("", draw(CLEAR + "ab\nxy"));
+    }
+
+    @Test
+    void shortGapsPrintedAgain() {
+        draw(CLEAR + "abcdef");
+
+        assertEquals("\u001B[1;2HBcdeF", draw(CLEAR + "aBcdeF"));
+    }
+
+    @Test
+    void shorterLinesErased() {
+        draw(CLEAR + "abcd\nef");
+
+        assertEquals("\u001B[1;3H\u001B[K\u001B[2;3H", draw(CLEAR + "ab\nef"));
+    }
+
+    @Test
+    void fewerLinesErased() {
+        draw(CLEAR + "ab\ncd\nef");
+
+        assertEquals("\u001B[2;1H\u001B[J\u001B[1;3H", draw(CLEAR + "ab"));
+    }
+
+    @Test
+    void stylesReset() {
+        assertEquals("\u001B[H" + CLEAR + AnsiCode.RESET + RED + "ab" + AnsiCode.RESET + "c",
+                draw(CLEAR + RED + "ab" + AnsiCode.RESET + "c"));
+
+        // only the cell whose style changed is sent again
+        assertEquals("\u001B[1;3H" + AnsiCode.RESET + RED + "c" + AnsiCode.RESET, draw(CLEAR + RED + "abc" + AnsiCode.RESET));
+    }
+
+    @Test
+    void overflowPrintedAsItIs() {
+        draw(CLEAR + "ab");
+
+        String tall = CLEAR + "1\n2\n3\n4\n5\n6";
+        assertEquals(tall, draw(tall));
+
+        // the terminal scrolled, the next frame is drawn from scratch
+        assertEquals("\u001B[H" + CLEAR + "ab", draw(CLEAR + "ab"));
+    }
+
+    @Test
+    void wideLinePrintedAsItIs() {
+        String wide = CLEAR + "abcdefghijklmnopqrstuvwxyz";
+
+        assertEquals("\u001B[H" + wide, draw(wide));
+    }
+
+    @Test
+    void unknownSizePrintedAsItIs() {
+        screen = new TerminalScreen(new PrintStream(terminal), 0, 0);
+
+        assertEquals(CLEAR + "ab\ncd", draw(CLEAR + "ab\ncd"));
+    }
+
+    @Test
+    void typedInputErased() {
+        draw(CLEAR + "name: ");
+
+        screen.echo("bob\n");
+
+        // the typed characters are shown by the terminal, the new frame erases them
+        assertEquals("\u001B[1;7H\u001B[K", draw(CLEAR + "name: "));
+    }
+
+    @Test
+    void typedInputKept() {
+        draw(CLEAR + "name: ");
+
+        screen.echo("bob");
+
+        // the frame already shown by the terminal only needs the cursor moved
+        assertEquals("\u001B[2;1Hok", draw(CLEAR + "name: bob\nok"));
+    }
+
+    /**
+     * Prints a text on the screen and presents it
+     *
+     * @return the bytes sent to the terminal
+     */
+    private String draw(String text) {
+        terminal.reset();
+
+        byte[] bytes = text.getBytes();
+        screen.write(bytes, 0, bytes.length);
+        screen.present();
+
+        return terminal.toString();
+    }
+}